@@ -0,0 +1,59 @@
+package de.jobst.resulter.adapter.driven.inmemory;
+
+import de.jobst.resulter.application.port.AnalysisResultRepository;
+import de.jobst.resulter.domain.ResultListId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@ConditionalOnProperty(name = "resulter.repository.inmemory", havingValue = "true")
+public class InMemoryAnalysisResultRepository implements AnalysisResultRepository {
+
+    private record Key(ResultListId resultListId, String analysisType, String parameters) {}
+
+    private record StoredResult(long version, byte[] payload) {}
+
+    private final Map<ResultListId, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Key, StoredResult> results = new ConcurrentHashMap<>();
+    // increased by invalidateAll, part of the version of every result list
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Override
+    public long currentVersion(ResultListId resultListId) {
+        return epoch.get() + versions.getOrDefault(resultListId, 0L);
+    }
+
+    @Override
+    public Optional<byte[]> find(ResultListId resultListId, String analysisType, String parameters) {
+        return Optional.ofNullable(results.get(new Key(resultListId, analysisType, parameters)))
+                .filter(result -> result.version() == currentVersion(resultListId))
+                .map(StoredResult::payload);
+    }
+
+    @Override
+    public synchronized boolean save(
+            ResultListId resultListId, String analysisType, String parameters, long version, byte[] payload) {
+        if (version != currentVersion(resultListId)) {
+            return false;
+        }
+        results.put(new Key(resultListId, analysisType, parameters), new StoredResult(version, payload));
+        return true;
+    }
+
+    @Override
+    public synchronized long invalidate(ResultListId resultListId) {
+        versions.merge(resultListId, 1L, Long::sum);
+        results.keySet().removeIf(key -> key.resultListId().equals(resultListId));
+        return currentVersion(resultListId);
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        epoch.incrementAndGet();
+        results.clear();
+    }
+}
@@ -3,6 +3,7 @@ package de.jobst.resulter.adapter.driven.inmemory;
 import de.jobst.resulter.application.port.CountryRepository;
 import de.jobst.resulter.domain.Country;
 import de.jobst.resulter.domain.CountryId;
+import de.jobst.resulter.domain.CountryName;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -15,18 +16,20 @@ import org.springframework.stereotype.Repository;
 public class InMemoryCountryRepository implements CountryRepository {
 
     private final Map<CountryId, Country> countries = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Country, CountryName, CountryId> byName = SecondaryIndex.of(Country::getName);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Country> savedCountrys = new ArrayList<>();
 
     @Override
-    public Country save(Country country) {
+    public synchronized Country save(Country country) {
         Country savedCountry;
         if (ObjectUtils.isEmpty(country.getId()) || country.getId().value() == 0) {
             savedCountry = new Country(CountryId.of(sequence.incrementAndGet()), country.getCode(), country.getName());
         } else {
             savedCountry = country;
         }
-        countries.put(country.getId(), savedCountry);
+        countries.put(savedCountry.getId(), savedCountry);
+        byName.put(savedCountry.getId(), savedCountry);
         savedCountrys.add(savedCountry);
         return savedCountry;
     }
@@ -54,11 +57,8 @@ public class InMemoryCountryRepository implements CountryRepository {
     }
 
     @Override
-    public Country findOrCreate(Country country) {
-        return countries.values().stream()
-                .filter(it -> Objects.equals(it.getName(), country.getName()))
-                .findAny()
-                .orElseGet(() -> save(country));
+    public synchronized Country findOrCreate(Country country) {
+        return byName.first(country.getName()).map(countries::get).orElseGet(() -> save(country));
     }
 
     @Override
@@ -16,11 +16,13 @@ import java.util.concurrent.atomic.AtomicLong;
 public class InMemoryCourseRepository implements CourseRepository {
 
     private final Map<CourseId, Course> courses = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Course, Course.DomainKey, CourseId> byDomainKey =
+            SecondaryIndex.of(Course::getDomainKey);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Course> savedCourses = new ArrayList<>();
 
     @Override
-    public Course save(Course course) {
+    public synchronized Course save(Course course) {
         Course savedCourse;
         if (ObjectUtils.isEmpty(course.getId()) || course.getId().value() == 0) {
             savedCourse = new Course(
@@ -34,6 +36,7 @@ public class InMemoryCourseRepository implements CourseRepository {
             savedCourse = course;
         }
         courses.put(savedCourse.getId(), savedCourse);
+        byDomainKey.put(savedCourse.getId(), savedCourse);
         savedCourses.add(savedCourse);
         return savedCourse;
     }
@@ -49,12 +52,8 @@ public class InMemoryCourseRepository implements CourseRepository {
     }
 
     @Override
-    public Course findOrCreate(Course course) {
-        return courses.values()
-            .stream()
-            .filter(it -> Objects.equals(it.getCourseName(), course.getCourseName()))
-            .findAny()
-            .orElseGet(() -> save(course));
+    public synchronized Course findOrCreate(Course course) {
+        return byDomainKey.first(course.getDomainKey()).map(courses::get).orElseGet(() -> save(course));
     }
 
     @Override
@@ -1,8 +1,10 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
 import de.jobst.resulter.application.port.CupRepository;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.domain.Cup;
 import de.jobst.resulter.domain.CupId;
+import de.jobst.resulter.domain.CupName;
 import de.jobst.resulter.domain.EventId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,15 +23,20 @@ import org.springframework.stereotype.Repository;
 public class InMemoryCupRepository implements CupRepository {
 
     private final Map<CupId, Cup> cups = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Cup, CupName, CupId> byName = SecondaryIndex.of(Cup::getName);
+    private final SecondaryIndex<Cup, EventId, CupId> byEvent =
+            SecondaryIndex.ofMany(cup -> List.copyOf(cup.getEventIds()));
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Cup> savedCups = new ArrayList<>();
 
     @Override
-    public Cup save(Cup cup) {
+    public synchronized Cup save(Cup cup) {
         if (ObjectUtils.isEmpty(cup.getId()) || cup.getId().value() == 0) {
             cup.setId(CupId.of(sequence.incrementAndGet()));
         }
         cups.put(cup.getId(), cup);
+        byName.put(cup.getId(), cup);
+        byEvent.put(cup.getId(), cup);
         savedCups.add(cup);
         return cup;
     }
@@ -45,27 +52,24 @@ public class InMemoryCupRepository implements CupRepository {
     }
 
     @Override
-    public Cup findOrCreate(Cup cup) {
-        return cups.values().stream()
-                .filter(it -> Objects.equals(it.getName(), cup.getName()))
-                .findAny()
-                .orElseGet(() -> save(cup));
+    public synchronized Cup findOrCreate(Cup cup) {
+        return byName.first(cup.getName()).map(cups::get).orElseGet(() -> save(cup));
     }
 
     @Override
-    public void deleteCup(Cup cup) {
+    public synchronized void deleteCup(Cup cup) {
         if (ObjectUtils.isEmpty(cup.getId()) || cup.getId().value() == 0) {
             return;
         }
         cups.remove(cup.getId());
+        byName.remove(cup.getId());
+        byEvent.remove(cup.getId());
         savedCups.remove(cup);
     }
 
     @Override
     public Collection<Cup> findByEvent(EventId eventId) {
-        return this.cups.values().stream()
-                .filter(it -> it.getEventIds().stream().anyMatch(x -> x.equals(eventId)))
-                .toList();
+        return byEvent.lookup(eventId, cups);
     }
 
     @Override
@@ -73,6 +77,15 @@ public class InMemoryCupRepository implements CupRepository {
         return new PageImpl<>(cups.values().stream().toList(), pageable, cups.size());
     }
 
+    @Override
+    public KeysetPage<Cup> findPage(
+            @Nullable String filterString,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        return OffsetKeysetPages.page(cups.values().stream().toList(), pageable, cursor);
+    }
+
     @SuppressWarnings("unused")
     public List<Cup> savedCups() {
         return savedCups;
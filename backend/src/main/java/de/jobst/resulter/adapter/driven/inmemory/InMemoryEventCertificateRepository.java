@@ -21,34 +21,41 @@ import org.springframework.stereotype.Repository;
 public class InMemoryEventCertificateRepository implements EventCertificateRepository {
 
     private final Map<EventCertificateId, EventCertificate> eventCertificates = new ConcurrentHashMap<>();
+    private final SecondaryIndex<EventCertificate, EventId, EventCertificateId> byEvent =
+            SecondaryIndex.of(EventCertificate::getEvent);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<EventCertificate> savedEventCertificates = new ArrayList<>();
 
     @NonNull
     @Override
-    public EventCertificate save(@NonNull EventCertificate eventCertificate) {
+    public synchronized EventCertificate save(@NonNull EventCertificate eventCertificate) {
         if (ObjectUtils.isEmpty(eventCertificate.getId())
                 || eventCertificate.getId().value() == 0) {
             eventCertificate.setId(EventCertificateId.of(sequence.incrementAndGet()));
         }
         eventCertificates.put(eventCertificate.getId(), eventCertificate);
+        byEvent.put(eventCertificate.getId(), eventCertificate);
         savedEventCertificates.add(eventCertificate);
         return eventCertificate;
     }
 
     @Override
-    public void delete(EventCertificate eventCertificate) {
+    public synchronized void delete(EventCertificate eventCertificate) {
         if (ObjectUtils.isEmpty(eventCertificate.getId())
                 || eventCertificate.getId().value() == 0) {
             return;
         }
         eventCertificates.remove(eventCertificate.getId());
+        byEvent.remove(eventCertificate.getId());
         savedEventCertificates.remove(eventCertificate);
     }
 
     @Override
-    public void deleteAllByEventId(EventId eventId) {
-        eventCertificates.values().removeIf(eventCertificate -> Objects.equals(eventCertificate.getEvent(), eventId));
+    public synchronized void deleteAllByEventId(EventId eventId) {
+        for (EventCertificateId id : byEvent.get(eventId)) {
+            eventCertificates.remove(id);
+            byEvent.remove(id);
+        }
         savedEventCertificates.removeIf(eventCertificate -> Objects.equals(eventCertificate.getEvent(), eventId));
     }
 
@@ -69,11 +76,7 @@ public class InMemoryEventCertificateRepository implements EventCertificateRepos
 
     @Override
     public List<EventCertificate> findAllByEvent(EventId id) {
-        List<EventCertificate> result = new ArrayList<>();
-        eventCertificates.values().stream()
-                .filter(eventCertificate -> Objects.equals(eventCertificate.getEvent(), id))
-                .forEach(result::add);
-        return result;
+        return byEvent.lookup(id, eventCertificates);
     }
 
     @Override
@@ -82,9 +85,9 @@ public class InMemoryEventCertificateRepository implements EventCertificateRepos
             return Map.of();
         }
 
-        return eventCertificates.entrySet().stream()
-                .filter(entry -> eventCertificateIds.contains(entry.getKey()))
-                .collect(java.util.stream.Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return eventCertificateIds.stream()
+                .filter(eventCertificates::containsKey)
+                .collect(java.util.stream.Collectors.toMap(id -> id, eventCertificates::get));
     }
 
     @Override
@@ -26,49 +26,68 @@ import java.util.concurrent.atomic.AtomicLong;
 public class InMemoryEventCertificateStatRepository implements EventCertificateStatRepository {
 
     private final Map<EventCertificateStatId, EventCertificateStat> eventCertificateStats = new ConcurrentHashMap<>();
+    private final SecondaryIndex<EventCertificateStat, EventId, EventCertificateStatId> byEvent =
+            SecondaryIndex.of(EventCertificateStat::getEvent);
+    private final SecondaryIndex<EventCertificateStat, PersonId, EventCertificateStatId> byPerson =
+            SecondaryIndex.of(EventCertificateStat::getPerson);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<EventCertificateStat> savedEventCertificateStats = new ArrayList<>();
 
     @Override
-    public EventCertificateStat save(EventCertificateStat eventCertificate) {
+    public synchronized EventCertificateStat save(EventCertificateStat eventCertificate) {
         if (ObjectUtils.isEmpty(eventCertificate.getId())
                 || eventCertificate.getId().value() == 0) {
             eventCertificate.setId(EventCertificateStatId.of(sequence.incrementAndGet()));
         }
-        eventCertificateStats.put(eventCertificate.getId(), eventCertificate);
+        put(eventCertificate);
         savedEventCertificateStats.add(eventCertificate);
         return eventCertificate;
     }
 
+    private void put(EventCertificateStat eventCertificate) {
+        eventCertificateStats.put(eventCertificate.getId(), eventCertificate);
+        byEvent.put(eventCertificate.getId(), eventCertificate);
+        byPerson.put(eventCertificate.getId(), eventCertificate);
+    }
+
+    private void remove(EventCertificateStatId id) {
+        eventCertificateStats.remove(id);
+        byEvent.remove(id);
+        byPerson.remove(id);
+    }
+
     @Override
-    public void delete(EventCertificateStat eventCertificate) {
+    public synchronized void delete(EventCertificateStat eventCertificate) {
         if (ObjectUtils.isEmpty(eventCertificate.getId())
                 || eventCertificate.getId().value() == 0) {
             return;
         }
-        eventCertificateStats.remove(eventCertificate.getId());
+        remove(eventCertificate.getId());
         savedEventCertificateStats.remove(eventCertificate);
     }
 
     @Override
-    public void deleteAllByEventId(EventId eventId) {
-        eventCertificateStats
-                .values()
-                .removeIf(eventCertificate -> eventCertificate.getEvent().equals(eventId));
+    public synchronized void deleteAllByEventId(EventId eventId) {
+        byEvent.get(eventId).forEach(this::remove);
         savedEventCertificateStats.removeIf(
                 eventCertificate -> eventCertificate.getEvent().equals(eventId));
     }
 
     @Override
-    public void deleteById(EventCertificateStatId id) {
-        eventCertificateStats.remove(id);
+    public synchronized void deleteById(EventCertificateStatId id) {
+        remove(id);
         savedEventCertificateStats.removeIf(
                 eventCertificate -> eventCertificate.getId().equals(id));
     }
 
     @Override
-    public long replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
-        throw new UnsupportedOperationException("Not implemented yet");
+    public synchronized long replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
+        List<EventCertificateStat> stats = byPerson.lookup(oldPersonId, eventCertificateStats);
+        for (EventCertificateStat stat : stats) {
+            stat.setPerson(newPersonId);
+            put(stat);
+        }
+        return stats.size();
     }
 
     @Override
@@ -88,11 +107,7 @@ public class InMemoryEventCertificateStatRepository implements EventCertificateS
 
     @Override
     public List<EventCertificateStat> findAllByEvent(EventId id) {
-        List<EventCertificateStat> result = new ArrayList<>();
-        eventCertificateStats.values().stream()
-                .filter(eventCertificate -> eventCertificate.getEvent().equals(id))
-                .forEach(result::add);
-        return result;
+        return byEvent.lookup(id, eventCertificateStats);
     }
 
     @Override
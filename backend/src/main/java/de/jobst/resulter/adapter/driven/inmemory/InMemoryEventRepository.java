@@ -1,8 +1,10 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
 import de.jobst.resulter.application.port.EventRepository;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.domain.Event;
 import de.jobst.resulter.domain.EventId;
+import de.jobst.resulter.domain.EventName;
 import org.apache.commons.lang3.ObjectUtils;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
@@ -21,26 +23,29 @@ import java.util.concurrent.atomic.AtomicLong;
 public class InMemoryEventRepository implements EventRepository {
 
     private final Map<EventId, Event> events = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Event, EventName, EventId> byName = SecondaryIndex.of(Event::getName);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Event> savedEvents = new ArrayList<>();
 
     @NonNull
     @Override
-    public Event save(@NonNull Event event) {
+    public synchronized Event save(@NonNull Event event) {
         if (ObjectUtils.isEmpty(event.getId()) || event.getId().value() == 0) {
             event.setId(EventId.of(sequence.incrementAndGet()));
         }
         events.put(event.getId(), event);
+        byName.put(event.getId(), event);
         savedEvents.add(event);
         return event;
     }
 
     @Override
-    public void deleteEvent(Event event) {
+    public synchronized void deleteEvent(Event event) {
         if (ObjectUtils.isEmpty(event.getId()) || event.getId().value() == 0) {
             return;
         }
         events.remove(event.getId());
+        byName.remove(event.getId());
         savedEvents.remove(event);
     }
 
@@ -55,12 +60,8 @@ public class InMemoryEventRepository implements EventRepository {
     }
 
     @Override
-    public Event findOrCreate(Event event) {
-        return events.values()
-            .stream()
-            .filter(it -> Objects.equals(it.getName(), event.getName()))
-            .findAny()
-            .orElseGet(() -> save(event));
+    public synchronized Event findOrCreate(Event event) {
+        return byName.first(event.getName()).map(events::get).orElseGet(() -> save(event));
     }
 
     @Override
@@ -68,6 +69,15 @@ public class InMemoryEventRepository implements EventRepository {
         return new PageImpl<>(new ArrayList<>(events.values()), pageable, events.size());
     }
 
+    @Override
+    public KeysetPage<Event> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        return OffsetKeysetPages.page(new ArrayList<>(events.values()), pageable, cursor);
+    }
+
     @Override
     public List<Event> findAllById(Collection<EventId> eventIds) {
         return eventIds.stream().map(x -> events.getOrDefault(x, null)).filter(Objects::nonNull).toList();
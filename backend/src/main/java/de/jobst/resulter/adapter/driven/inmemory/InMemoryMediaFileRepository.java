@@ -1,5 +1,6 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.MediaFileRepository;
 import de.jobst.resulter.domain.MediaFile;
 import de.jobst.resulter.domain.MediaFileId;
@@ -57,6 +58,15 @@ public class InMemoryMediaFileRepository implements MediaFileRepository {
         return new PageImpl<>(new ArrayList<>(mediaFiles.values()), pageable, mediaFiles.size());
     }
 
+    @Override
+    public KeysetPage<MediaFile> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        return OffsetKeysetPages.page(new ArrayList<>(mediaFiles.values()), pageable, cursor);
+    }
+
     @Override
     public Optional<MediaFile> findById(MediaFileId mediaFileId) {
         return Optional.ofNullable(mediaFiles.get(mediaFileId));
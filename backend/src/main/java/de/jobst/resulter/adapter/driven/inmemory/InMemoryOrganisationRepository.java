@@ -1,8 +1,10 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationRepository;
 import de.jobst.resulter.domain.Organisation;
 import de.jobst.resulter.domain.OrganisationId;
+import de.jobst.resulter.domain.OrganisationName;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -20,11 +22,13 @@ import org.springframework.stereotype.Repository;
 public class InMemoryOrganisationRepository implements OrganisationRepository {
 
     private final Map<OrganisationId, Organisation> organisations = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Organisation, OrganisationName, OrganisationId> byName =
+            SecondaryIndex.of(Organisation::getName);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Organisation> savedOrganisations = new ArrayList<>();
 
     @Override
-    public Organisation save(Organisation organisation) {
+    public synchronized Organisation save(Organisation organisation) {
         Organisation savedOrganisation;
         if (ObjectUtils.isEmpty(organisation.getId()) || organisation.getId().value() == 0) {
             savedOrganisation = new Organisation(
@@ -38,6 +42,7 @@ public class InMemoryOrganisationRepository implements OrganisationRepository {
             savedOrganisation = organisation;
         }
         organisations.put(savedOrganisation.getId(), savedOrganisation);
+        byName.put(savedOrganisation.getId(), savedOrganisation);
         savedOrganisations.add(savedOrganisation);
         return savedOrganisation;
     }
@@ -53,11 +58,8 @@ public class InMemoryOrganisationRepository implements OrganisationRepository {
     }
 
     @Override
-    public Organisation findOrCreate(Organisation organisation) {
-        return organisations.values().stream()
-                .filter(it -> Objects.equals(it.getName(), organisation.getName()))
-                .findAny()
-                .orElseGet(() -> save(organisation));
+    public synchronized Organisation findOrCreate(Organisation organisation) {
+        return byName.first(organisation.getName()).map(organisations::get).orElseGet(() -> save(organisation));
     }
 
     @Override
@@ -66,11 +68,12 @@ public class InMemoryOrganisationRepository implements OrganisationRepository {
     }
 
     @Override
-    public void deleteOrganisation(Organisation organisation) {
+    public synchronized void deleteOrganisation(Organisation organisation) {
         if (ObjectUtils.isEmpty(organisation.getId()) || organisation.getId().value() == 0) {
             return;
         }
         organisations.remove(organisation.getId());
+        byName.remove(organisation.getId());
         savedOrganisations.remove(organisation);
     }
 
@@ -82,13 +85,17 @@ public class InMemoryOrganisationRepository implements OrganisationRepository {
     }
 
     @Override
-    public Map<OrganisationId, Organisation> loadOrganisationTree(Set<OrganisationId> idSet) {
-        return null;
+    public Page<Organisation> findAll(@Nullable String filter, @NonNull Pageable pageable) {
+        return new PageImpl<>(new ArrayList<>(organisations.values()), pageable, organisations.size());
     }
 
     @Override
-    public Page<Organisation> findAll(@Nullable String filter, @NonNull Pageable pageable) {
-        return new PageImpl<>(new ArrayList<>(organisations.values()), pageable, organisations.size());
+    public KeysetPage<Organisation> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        return OffsetKeysetPages.page(new ArrayList<>(organisations.values()), pageable, cursor);
     }
 
     @NonNull
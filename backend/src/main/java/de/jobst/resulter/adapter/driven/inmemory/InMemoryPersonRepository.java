@@ -1,5 +1,6 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.PersonRepository;
 import de.jobst.resulter.domain.Person;
 import de.jobst.resulter.domain.PersonId;
@@ -21,11 +22,13 @@ import org.springframework.stereotype.Repository;
 public class InMemoryPersonRepository implements PersonRepository {
 
     private final Map<PersonId, Person> persons = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Person, Person.DomainKey, PersonId> byDomainKey =
+            SecondaryIndex.of(Person::getDomainKey);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Person> savedPersons = new ArrayList<>();
 
     @Override
-    public Person save(Person person) {
+    public synchronized Person save(Person person) {
         Person savedPerson;
         if (ObjectUtils.isEmpty(person.id()) || person.id().value() == 0) {
             savedPerson = new Person(
@@ -37,6 +40,7 @@ public class InMemoryPersonRepository implements PersonRepository {
             savedPerson = person;
         }
         persons.put(savedPerson.id(), savedPerson);
+        byDomainKey.put(savedPerson.id(), savedPerson);
         savedPersons.add(savedPerson);
         return savedPerson;
     }
@@ -52,15 +56,10 @@ public class InMemoryPersonRepository implements PersonRepository {
     }
 
     @Override
-    public PersonPerson findOrCreate(Person person) {
+    public synchronized PersonPerson findOrCreate(Person person) {
         return new PersonPerson(
                 person,
-                persons.values().stream()
-                        .filter(it -> Objects.equals(it.personName(), person.personName())
-                                && Objects.equals(it.birthDate(), person.birthDate())
-                                && Objects.equals(it.gender(), person.gender()))
-                        .findAny()
-                        .orElseGet(() -> save(person)));
+                byDomainKey.first(person.getDomainKey()).map(persons::get).orElseGet(() -> save(person)));
     }
 
     @Override
@@ -103,8 +102,22 @@ public class InMemoryPersonRepository implements PersonRepository {
     }
 
     @Override
-    public void delete(Person person) {
+    public KeysetPage<Person> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            boolean duplicates,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        List<Person> all = duplicates
+                ? findDuplicates(filter, Pageable.unpaged()).getContent()
+                : persons.values().stream().sorted().toList();
+        return OffsetKeysetPages.page(all, pageable, cursor);
+    }
+
+    @Override
+    public synchronized void delete(Person person) {
         persons.remove(person.id());
+        byDomainKey.remove(person.id());
     }
 
     @SuppressWarnings("unused")
@@ -124,8 +137,9 @@ public class InMemoryPersonRepository implements PersonRepository {
 
     @Override
     public Map<PersonId, Person> findAllById(Set<PersonId> idSet) {
-        return persons.values().stream()
-                .filter(person -> idSet.contains(person.id()))
+        return idSet.stream()
+                .map(persons::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toMap(Person::id, person -> person));
     }
 }
@@ -16,15 +16,19 @@ import org.springframework.stereotype.Repository;
 public class InMemoryRaceRepository implements RaceRepository {
 
     private final Map<RaceId, Race> races = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Race, Race.DomainKey, RaceId> byDomainKey = SecondaryIndex.of(Race::getDomainKey);
+    private final SecondaryIndex<Race, EventId, RaceId> byEvent = SecondaryIndex.of(Race::getEventId);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<Race> savedRaces = new ArrayList<>();
 
     @Override
-    public Race save(Race race) {
+    public synchronized Race save(Race race) {
         if (ObjectUtils.isEmpty(race.getId()) || race.getId().value() == 0) {
             race.setId(RaceId.of(sequence.incrementAndGet()));
         }
         races.put(race.getId(), race);
+        byDomainKey.put(race.getId(), race);
+        byEvent.put(race.getId(), race);
         savedRaces.add(race);
         return race;
     }
@@ -40,11 +44,10 @@ public class InMemoryRaceRepository implements RaceRepository {
     }
 
     @Override
-    public Race findOrCreate(Race race) {
-        return races.values().stream()
-                .filter(it -> Objects.equals(it.getEventId(), race.getEventId())
-                        && Objects.equals(it.getRaceNumber(), race.getRaceNumber()))
-                .findAny()
+    public synchronized Race findOrCreate(Race race) {
+        return byDomainKey
+                .first(race.getDomainKey())
+                .map(races::get)
                 .orElseGet(() -> save(race));
     }
 
@@ -55,8 +58,8 @@ public class InMemoryRaceRepository implements RaceRepository {
 
     @Override
     public List<Race> findAllByEventIds(List<EventId> eventIds) {
-        return races.values().stream()
-                .filter(race -> eventIds.contains(race.getEventId()))
+        return Set.copyOf(eventIds).stream()
+                .flatMap(eventId -> byEvent.lookup(eventId, races).stream())
                 .toList();
     }
 
@@ -14,29 +14,51 @@ import org.springframework.stereotype.Repository;
 public class InMemoryResultListRepository implements ResultListRepository {
 
     private final Map<ResultListId, ResultList> resultLists = new ConcurrentHashMap<>();
+    private final SecondaryIndex<ResultList, ResultList.DomainKey, ResultListId> byDomainKey =
+            SecondaryIndex.of(ResultList::getDomainKey);
+    private final SecondaryIndex<ResultList, EventId, ResultListId> byEvent = SecondaryIndex.of(ResultList::getEventId);
+    private final SecondaryIndex<ResultList, PersonId, ResultListId> byPerson =
+            SecondaryIndex.ofMany(InMemoryResultListRepository::personIds);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<ResultList> savedResultLists = new ArrayList<>();
 
     @Override
-    public ResultList save(ResultList resultList) {
+    public synchronized ResultList save(ResultList resultList) {
         if (ObjectUtils.isEmpty(resultList.getId()) || resultList.getId().value() == 0) {
             resultList.setId(ResultListId.of(sequence.incrementAndGet()));
         }
-        resultLists.put(resultList.getId(), resultList);
+        put(resultList);
         savedResultLists.add(resultList);
         return resultList;
     }
 
+    private void put(ResultList resultList) {
+        resultLists.put(resultList.getId(), resultList);
+        byDomainKey.put(resultList.getId(), resultList);
+        byEvent.put(resultList.getId(), resultList);
+        byPerson.put(resultList.getId(), resultList);
+    }
+
+    private static Collection<PersonId> personIds(ResultList resultList) {
+        if (resultList.getClassResults() == null) {
+            return List.of();
+        }
+        return resultList.getClassResults().stream()
+                .flatMap(classResult -> classResult.personResults().value().stream())
+                .map(PersonResult::personId)
+                .toList();
+    }
+
     @Override
     public List<ResultList> findAll() {
         return List.copyOf(resultLists.values());
     }
 
     @Override
-    public ResultList findOrCreate(ResultList resultList) {
-        return resultLists.values().stream()
-                .filter(it -> Objects.equals(it.getDomainKey(), resultList.getDomainKey()))
-                .findAny()
+    public synchronized ResultList findOrCreate(ResultList resultList) {
+        return byDomainKey
+                .first(resultList.getDomainKey())
+                .map(resultLists::get)
                 .orElseGet(() -> save(resultList));
     }
 
@@ -52,9 +74,7 @@ public class InMemoryResultListRepository implements ResultListRepository {
 
     @Override
     public Collection<ResultList> findByEventId(EventId id) {
-        return resultLists.values().stream()
-                .filter(it -> Objects.equals(it.getEventId(), id))
-                .toList();
+        return byEvent.lookup(id, resultLists);
     }
 
     @Override
@@ -63,36 +83,55 @@ public class InMemoryResultListRepository implements ResultListRepository {
             return List.of();
         }
 
-        Set<EventId> eventIdSet = new HashSet<>(eventIds);
-        return resultLists.values().stream()
-                .filter(it -> eventIdSet.contains(it.getEventId()))
+        return Set.copyOf(eventIds).stream()
+                .flatMap(eventId -> byEvent.lookup(eventId, resultLists).stream())
                 .toList();
     }
 
     @Override
     public Optional<ResultList> findById(ResultListId resultListId) {
-        return resultLists.values().stream()
-                .filter(it -> Objects.equals(it.getId(), resultListId))
-                .findAny();
+        return Optional.ofNullable(resultLists.get(resultListId));
     }
 
     @Override
     public ResultList findByResultListIdAndClassResultShortNameAndPersonId(
             ResultListId resultListId, ClassResultShortName classResultShortName, PersonId personId) {
-        return resultLists.values().stream()
-                .filter(it -> Objects.equals(it.getId(), resultListId))
+        return Optional.ofNullable(resultLists.get(resultListId))
                 .filter(it -> it.getClassResults().stream()
                         .anyMatch(
                                 classResult -> Objects.equals(classResult.classResultShortName(), classResultShortName)
                                         && classResult.personResults().value().stream()
                                                 .anyMatch(result -> Objects.equals(result.personId(), personId))))
-                .findAny()
                 .orElse(null);
     }
 
     @Override
-    public void replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
-        throw new UnsupportedOperationException("Not implemented yet");
+    public synchronized void replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
+        for (ResultList resultList : byPerson.lookup(oldPersonId, resultLists)) {
+            resultList.setClassResults(resultList.getClassResults().stream()
+                    .map(classResult -> new ClassResult(
+                            classResult.classResultName(),
+                            classResult.classResultShortName(),
+                            classResult.gender(),
+                            new PersonResults(classResult.personResults().value().stream()
+                                    .map(personResult -> replacePersonId(personResult, oldPersonId, newPersonId))
+                                    .toList()),
+                            classResult.courseId()))
+                    .toList());
+            put(resultList);
+        }
+    }
+
+    private static PersonResult replacePersonId(PersonResult personResult, PersonId oldPersonId, PersonId newPersonId) {
+        if (!Objects.equals(personResult.personId(), oldPersonId)) {
+            return personResult;
+        }
+        personResult.personRaceResults().value().forEach(raceResult -> raceResult.setPersonId(newPersonId));
+        return new PersonResult(
+                personResult.classResultShortName(),
+                newPersonId,
+                personResult.organisationId(),
+                personResult.personRaceResults());
     }
 
     @Override
@@ -1,13 +1,20 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
+import de.jobst.resulter.application.port.ClassGroupOption;
+import de.jobst.resulter.application.port.CourseGroupOption;
 import de.jobst.resulter.application.port.SplitTimeListRepository;
+import de.jobst.resulter.domain.ClassResult;
+import de.jobst.resulter.domain.ClassResultShortName;
+import de.jobst.resulter.domain.CourseId;
 import de.jobst.resulter.domain.PersonId;
+import de.jobst.resulter.domain.ResultList;
 import de.jobst.resulter.domain.ResultListId;
 import de.jobst.resulter.domain.SplitTimeList;
 import de.jobst.resulter.domain.SplitTimeListId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
@@ -17,19 +24,40 @@ import org.springframework.stereotype.Repository;
 public class InMemorySplitTimeListRepository implements SplitTimeListRepository {
 
     private final Map<SplitTimeListId, SplitTimeList> splitTimeLists = new ConcurrentHashMap<>();
+    private final SecondaryIndex<SplitTimeList, SplitTimeList.DomainKey, SplitTimeListId> byDomainKey =
+            SecondaryIndex.of(SplitTimeList::getDomainKey);
+    private final SecondaryIndex<SplitTimeList, ResultListId, SplitTimeListId> byResultList =
+            SecondaryIndex.of(SplitTimeList::getResultListId);
+    private final SecondaryIndex<SplitTimeList, PersonId, SplitTimeListId> byPerson =
+            SecondaryIndex.of(SplitTimeList::getPersonId);
     private final AtomicLong sequence = new AtomicLong(0);
     private final List<SplitTimeList> savedSplitTimeLists = new ArrayList<>();
+    private final InMemoryResultListRepository resultListRepository;
+    private final InMemoryCourseRepository courseRepository;
+
+    public InMemorySplitTimeListRepository(
+            InMemoryResultListRepository resultListRepository, InMemoryCourseRepository courseRepository) {
+        this.resultListRepository = resultListRepository;
+        this.courseRepository = courseRepository;
+    }
 
     @Override
-    public SplitTimeList save(SplitTimeList splitTimeList) {
+    public synchronized SplitTimeList save(SplitTimeList splitTimeList) {
         if (ObjectUtils.isEmpty(splitTimeList.getId()) || splitTimeList.getId().value() == 0) {
             splitTimeList.setId(SplitTimeListId.of(sequence.incrementAndGet()));
         }
-        splitTimeLists.put(splitTimeList.getId(), splitTimeList);
+        put(splitTimeList);
         savedSplitTimeLists.add(splitTimeList);
         return splitTimeList;
     }
 
+    private void put(SplitTimeList splitTimeList) {
+        splitTimeLists.put(splitTimeList.getId(), splitTimeList);
+        byDomainKey.put(splitTimeList.getId(), splitTimeList);
+        byResultList.put(splitTimeList.getId(), splitTimeList);
+        byPerson.put(splitTimeList.getId(), splitTimeList);
+    }
+
     @Override
     public List<SplitTimeList> findAll() {
         return List.copyOf(splitTimeLists.values());
@@ -41,10 +69,10 @@ public class InMemorySplitTimeListRepository implements SplitTimeListRepository
     }
 
     @Override
-    public SplitTimeList findOrCreate(SplitTimeList splitTimeList) {
-        return splitTimeLists.values().stream()
-                .filter(it -> Objects.equals(it.getDomainKey(), splitTimeList.getDomainKey()))
-                .findAny()
+    public synchronized SplitTimeList findOrCreate(SplitTimeList splitTimeList) {
+        return byDomainKey
+                .first(splitTimeList.getDomainKey())
+                .map(splitTimeLists::get)
                 .orElseGet(() -> save(splitTimeList));
     }
 
@@ -54,14 +82,31 @@ public class InMemorySplitTimeListRepository implements SplitTimeListRepository
     }
 
     @Override
-    public void replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
-        throw new UnsupportedOperationException("Not implemented yet");
+    public synchronized void replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
+        // the person of a split time list is final, so the moved lists are stored as copies with the same id
+        for (SplitTimeList splitTimeList : byPerson.lookup(oldPersonId, splitTimeLists)) {
+            put(new SplitTimeList(
+                    splitTimeList.getId(),
+                    splitTimeList.getEventId(),
+                    splitTimeList.getResultListId(),
+                    splitTimeList.getClassResultShortName(),
+                    newPersonId,
+                    splitTimeList.getRaceNumber(),
+                    splitTimeList.getSplitTimes()));
+        }
     }
 
     @Override
     public List<SplitTimeList> findByResultListId(ResultListId resultListId) {
-        return splitTimeLists.values().stream()
-                .filter(stl -> Objects.equals(stl.getResultListId(), resultListId))
+        return byResultList.lookup(resultListId, splitTimeLists);
+    }
+
+    @Override
+    public List<SplitTimeList> findByResultListIdAndClassResultShortNames(
+            ResultListId resultListId, Collection<ClassResultShortName> classResultShortNames) {
+        Set<ClassResultShortName> classes = Set.copyOf(classResultShortNames);
+        return byResultList.lookup(resultListId, splitTimeLists).stream()
+                .filter(splitTimeList -> classes.contains(splitTimeList.getClassResultShortName()))
                 .toList();
     }
 
@@ -71,11 +116,59 @@ public class InMemorySplitTimeListRepository implements SplitTimeListRepository
             return Set.of();
         }
 
-        Set<ResultListId> queryIds = new HashSet<>(resultListIds);
-        return splitTimeLists.values().stream()
-                .map(SplitTimeList::getResultListId)
-                .filter(queryIds::contains)
-                .collect(java.util.stream.Collectors.toSet());
+        Set<ResultListId> result = new HashSet<>();
+        for (ResultListId resultListId : resultListIds) {
+            if (byResultList.contains(resultListId)) {
+                result.add(resultListId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<ClassGroupOption> countRunnersByClass(ResultListId resultListId) {
+        return runnersByClass(resultListId).entrySet().stream()
+                .map(entry -> new ClassGroupOption(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public List<CourseGroupOption> countRunnersByCourse(ResultListId resultListId) {
+        Collection<ClassResult> classResults = resultListRepository
+                .findById(resultListId)
+                .map(ResultList::getClassResults)
+                .orElse(null);
+        if (classResults == null) {
+            return List.of();
+        }
+        Map<String, Integer> runnersByClass = runnersByClass(resultListId);
+        Map<CourseId, List<String>> classesByCourse = classResults.stream()
+                .filter(classResult -> classResult.courseId() != null)
+                .collect(Collectors.groupingBy(
+                        ClassResult::courseId,
+                        Collectors.mapping(classResult -> classResult.classResultShortName().value(),
+                                Collectors.toList())));
+        return classesByCourse.entrySet().stream()
+                .map(entry -> new CourseGroupOption(
+                        entry.getKey().value(),
+                        courseRepository
+                                .findById(entry.getKey())
+                                .map(course -> course.getCourseName().value())
+                                .orElse("Course " + entry.getKey().value()),
+                        entry.getValue().stream().sorted().toList(),
+                        entry.getValue().stream()
+                                .mapToInt(className -> runnersByClass.getOrDefault(className, 0))
+                                .sum()))
+                .sorted(Comparator.comparing(CourseGroupOption::courseName))
+                .toList();
+    }
+
+    private Map<String, Integer> runnersByClass(ResultListId resultListId) {
+        Map<String, Integer> runners = new TreeMap<>();
+        for (SplitTimeList splitTimeList : byResultList.lookup(resultListId, splitTimeLists)) {
+            runners.merge(splitTimeList.getClassResultShortName().value(), 1, Integer::sum);
+        }
+        return runners;
     }
 
     @SuppressWarnings("unused")
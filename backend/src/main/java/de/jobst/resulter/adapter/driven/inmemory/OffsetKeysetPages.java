@@ -0,0 +1,37 @@
+package de.jobst.resulter.adapter.driven.inmemory;
+
+import de.jobst.resulter.application.port.KeysetPage;
+import de.jobst.resulter.application.util.KeysetCursor;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Keyset pages of in-memory lists. The cursor of an in-memory list is simply the offset of the next page.
+ */
+final class OffsetKeysetPages {
+
+    private static final String SORT_KEY = "offset";
+
+    private OffsetKeysetPages() {}
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static <T> KeysetPage<T> page(List<T> all, Pageable pageable, @Nullable String cursor) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        if (cursor != null) {
+            List<@Nullable Object> values = KeysetCursor.decode(cursor, SORT_KEY);
+            if (values.size() != 1 || !(values.getFirst() instanceof Long next)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            offset = next;
+        }
+        int fromIndex = (int) Math.min(offset, all.size());
+        int toIndex = pageable.isPaged() ? Math.min(fromIndex + pageable.getPageSize(), all.size()) : all.size();
+        String nextCursor = toIndex < all.size()
+                ? KeysetCursor.encode(SORT_KEY, List.<@Nullable Object>of((long) toIndex))
+                : null;
+        return new KeysetPage<>(List.copyOf(all.subList(fromIndex, toIndex)), pageable, all.size(), false, nextCursor);
+    }
+}
@@ -0,0 +1,108 @@
+package de.jobst.resulter.adapter.driven.inmemory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Secondary index of an in-memory repository: the ids of the stored entities per key, e.g. the split time lists of a
+ * result list, so that queries by key do not scan all entities.
+ *
+ * <p>The keys of an entity are remembered with its id, because several domain classes are mutable and may have been
+ * changed in place before they are saved again. The repository updates the index whenever it puts or removes an
+ * entity, while holding its own lock.</p>
+ *
+ * @param <T> the entity
+ * @param <K> the key
+ * @param <I> the id of the entity
+ */
+final class SecondaryIndex<T, K, I> {
+
+    private final Function<T, Collection<@Nullable K>> keyFunction;
+    private final Map<K, Set<I>> idsByKey = new ConcurrentHashMap<>();
+    private final Map<I, Set<K>> keysById = new ConcurrentHashMap<>();
+
+    private SecondaryIndex(Function<T, Collection<@Nullable K>> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Index with at most one key per entity; entities without key are not indexed.
+     */
+    static <T, K, I> SecondaryIndex<T, K, I> of(Function<T, @Nullable K> keyFunction) {
+        return new SecondaryIndex<>(entity -> Collections.singletonList(keyFunction.apply(entity)));
+    }
+
+    /**
+     * Index with any number of keys per entity, e.g. all persons of a result list.
+     */
+    static <T, K, I> SecondaryIndex<T, K, I> ofMany(Function<T, Collection<@Nullable K>> keyFunction) {
+        return new SecondaryIndex<>(keyFunction);
+    }
+
+    void put(I id, T entity) {
+        remove(id);
+        Set<K> keys = new HashSet<>();
+        for (K key : keyFunction.apply(entity)) {
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        keys.forEach(key -> idsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id));
+        keysById.put(id, keys);
+    }
+
+    void remove(I id) {
+        Set<K> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (K key : keys) {
+            idsByKey.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    void clear() {
+        idsByKey.clear();
+        keysById.clear();
+    }
+
+    Set<I> get(K key) {
+        Set<I> ids = idsByKey.get(key);
+        return ids != null ? Set.copyOf(ids) : Set.of();
+    }
+
+    Optional<I> first(K key) {
+        Set<I> ids = idsByKey.get(key);
+        return ids != null ? ids.stream().findFirst() : Optional.empty();
+    }
+
+    boolean contains(K key) {
+        return idsByKey.containsKey(key);
+    }
+
+    /**
+     * @return the entities of all ids stored for the key, skipping ids no longer present in {@code entities}
+     */
+    List<T> lookup(K key, Map<I, T> entities) {
+        Set<I> ids = idsByKey.get(key);
+        if (ids == null) {
+            return List.of();
+        }
+        List<T> result = new ArrayList<>(ids.size());
+        for (I id : ids) {
+            T entity = entities.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
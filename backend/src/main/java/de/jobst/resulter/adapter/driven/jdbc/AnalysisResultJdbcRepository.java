@@ -0,0 +1,161 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.application.port.AnalysisResultRepository;
+import de.jobst.resulter.application.util.PrimaryReads;
+import de.jobst.resulter.domain.ResultListId;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC implementation of the analysis result repository. The version of a result list lives in
+ * {@code analysis_result_version}; a missing row means version {@code 0}. Invalidations run in their own
+ * transaction, as they are triggered after the commit of the changing transaction.
+ *
+ * <p>Versions and stored results are read with {@link PrimaryReads}: a lagging replica could still return a result
+ * stored before an import. Concurrent requests may compute and store the same analysis, so results are written with
+ * an upsert, {@code INSERT ... ON CONFLICT} on PostgreSQL and {@code MERGE} on other databases (H2).</p>
+ */
+@Repository
+@ConditionalOnProperty(name = "resulter.repository.inmemory", havingValue = "false")
+@Transactional(readOnly = true)
+public class AnalysisResultJdbcRepository implements AnalysisResultRepository {
+
+    static final String UPSERT_POSTGRES_SQL = """
+            INSERT INTO analysis_result (result_list_id, analysis_type, parameters, version, payload, created)
+            SELECT :resultListId, :analysisType, :parameters, :version, :payload, :created
+            WHERE COALESCE(
+                (SELECT version FROM analysis_result_version WHERE result_list_id = :resultListId), 0) = :version
+            ON CONFLICT (result_list_id, analysis_type, parameters)
+            DO UPDATE SET version = EXCLUDED.version, payload = EXCLUDED.payload, created = EXCLUDED.created
+            """;
+    static final String UPSERT_MERGE_SQL = """
+            MERGE INTO analysis_result r
+            USING (
+                SELECT CAST(:resultListId AS BIGINT) AS result_list_id,
+                    CAST(:analysisType AS VARCHAR(40)) AS analysis_type,
+                    CAST(:parameters AS VARCHAR(255)) AS parameters,
+                    CAST(:version AS BIGINT) AS version,
+                    CAST(:payload AS BLOB) AS payload,
+                    CAST(:created AS TIMESTAMP WITH TIME ZONE) AS created
+                WHERE COALESCE(
+                    (SELECT version FROM analysis_result_version WHERE result_list_id = :resultListId), 0) = :version
+            ) s
+            ON r.result_list_id = s.result_list_id AND r.analysis_type = s.analysis_type AND r.parameters = s.parameters
+            WHEN MATCHED THEN UPDATE SET version = s.version, payload = s.payload, created = s.created
+            WHEN NOT MATCHED THEN INSERT (result_list_id, analysis_type, parameters, version, payload, created)
+                VALUES (s.result_list_id, s.analysis_type, s.parameters, s.version, s.payload, s.created)
+            """;
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile @Nullable Boolean postgres;
+
+    public AnalysisResultJdbcRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long currentVersion(ResultListId resultListId) {
+        return PrimaryReads.call(() -> jdbcClient
+                .sql("SELECT version FROM analysis_result_version WHERE result_list_id = :resultListId")
+                .param("resultListId", resultListId.value())
+                .query(Long.class)
+                .optional()
+                .orElse(0L));
+    }
+
+    @Override
+    public Optional<byte[]> find(ResultListId resultListId, String analysisType, String parameters) {
+        return PrimaryReads.call(() -> jdbcClient
+                .sql(
+                        """
+                SELECT r.payload
+                FROM analysis_result r
+                WHERE r.result_list_id = :resultListId
+                  AND r.analysis_type = :analysisType
+                  AND r.parameters = :parameters
+                  AND r.version = COALESCE(
+                      (SELECT v.version FROM analysis_result_version v WHERE v.result_list_id = r.result_list_id), 0)
+                """)
+                .param("resultListId", resultListId.value())
+                .param("analysisType", analysisType)
+                .param("parameters", parameters)
+                .query((rs, rowNum) -> rs.getBytes("payload"))
+                .optional());
+    }
+
+    @Override
+    @Transactional
+    public boolean save(
+            ResultListId resultListId, String analysisType, String parameters, long version, byte[] payload) {
+        int written = jdbcClient
+                .sql(isPostgres() ? UPSERT_POSTGRES_SQL : UPSERT_MERGE_SQL)
+                .param("resultListId", resultListId.value())
+                .param("analysisType", analysisType)
+                .param("parameters", parameters)
+                .param("version", version)
+                .param("payload", payload)
+                .param("created", OffsetDateTime.now())
+                .update();
+        return written > 0;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class));
+            postgres = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long invalidate(ResultListId resultListId) {
+        jdbcClient
+                .sql(
+                        """
+                INSERT INTO analysis_result_version (result_list_id, version)
+                SELECT :resultListId, 0
+                WHERE NOT EXISTS (SELECT 1 FROM analysis_result_version WHERE result_list_id = :resultListId)
+                """)
+                .param("resultListId", resultListId.value())
+                .update();
+        jdbcClient
+                .sql("UPDATE analysis_result_version SET version = version + 1 WHERE result_list_id = :resultListId")
+                .param("resultListId", resultListId.value())
+                .update();
+        jdbcClient
+                .sql("DELETE FROM analysis_result WHERE result_list_id = :resultListId")
+                .param("resultListId", resultListId.value())
+                .update();
+        return currentVersion(resultListId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void invalidateAll() {
+        jdbcClient
+                .sql(
+                        """
+                INSERT INTO analysis_result_version (result_list_id, version)
+                SELECT l.id, 0
+                FROM result_list l
+                WHERE NOT EXISTS (SELECT 1 FROM analysis_result_version v WHERE v.result_list_id = l.id)
+                """)
+                .update();
+        jdbcClient.sql("UPDATE analysis_result_version SET version = version + 1").update();
+        jdbcClient.sql("DELETE FROM analysis_result").update();
+    }
+}
@@ -1,5 +1,6 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import java.util.Collection;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
@@ -58,4 +59,20 @@ public interface CupJdbcRepositoryCustom {
             @Nullable Integer yearFilter,
             @Nullable Long idFilter,
             Pageable pageable);
+
+    /**
+     * Keyset paginated variant of {@code findAllWithoutEvents} with the same filters.
+     *
+     * @param cursor    token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     * @return Page of CupDbo objects without loaded events
+     */
+    KeysetPage<CupDbo> findPageWithoutEvents(
+            @Nullable String nameFilter,
+            ExampleMatcher.StringMatcher nameMatcher,
+            @Nullable Integer yearFilter,
+            @Nullable Long idFilter,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
 }
@@ -1,13 +1,16 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.domain.CupType;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
@@ -23,10 +26,15 @@ import org.springframework.jdbc.core.simple.JdbcClient;
  */
 public class CupJdbcRepositoryImpl implements CupJdbcRepositoryCustom {
 
+    private static final KeysetQuery.Column<CupDbo> KEYSET_ID =
+            new KeysetQuery.Column<>("id", "id", false, CupDbo::getId);
+
     private final JdbcClient jdbcClient;
+    private final PageCountCache pageCountCache;
 
-    public CupJdbcRepositoryImpl(JdbcClient jdbcClient) {
+    public CupJdbcRepositoryImpl(JdbcClient jdbcClient, PageCountCache pageCountCache) {
         this.jdbcClient = jdbcClient;
+        this.pageCountCache = pageCountCache;
     }
 
     @Override
@@ -92,38 +100,56 @@ public class CupJdbcRepositoryImpl implements CupJdbcRepositoryCustom {
                 + whereClause.clause()
                 + " "
                 + orderByClause
-                + " LIMIT ? OFFSET ?";
+                + " LIMIT :limit OFFSET :offset";
 
         // Build count query
         String countQuery = "SELECT COUNT(*) FROM cup " + whereClause.clause();
 
-        // Execute queries
-        JdbcClient.StatementSpec querySpec = jdbcClient.sql(query);
-        JdbcClient.StatementSpec countSpec = jdbcClient.sql(countQuery);
-
-        // Add filter parameters if present
-        for (int i = 0; i < whereClause.params().size(); i++) {
-            querySpec = querySpec.param(whereClause.params().get(i));
-            countSpec = countSpec.param(whereClause.params().get(i));
-        }
-
         // Execute paginated query
-        List<CupDbo> cupDbos = querySpec
-                .param(pageable.getPageSize())
-                .param(pageable.getOffset())
+        List<CupDbo> cupDbos = jdbcClient
+                .sql(query)
+                .params(whereClause.params())
+                .param("limit", pageable.getPageSize())
+                .param("offset", pageable.getOffset())
                 .query(new CupDboRowMapper())
                 .list();
 
         // Get total count for pagination
-        Long total = countSpec.query(Long.class).single();
+        Long total = jdbcClient
+                .sql(countQuery)
+                .params(whereClause.params())
+                .query(Long.class)
+                .single();
 
         return new PageImpl<>(cupDbos, pageable, total != null ? total : 0L);
     }
 
+    @Override
+    public KeysetPage<CupDbo> findPageWithoutEvents(
+            @Nullable String nameFilter,
+            ExampleMatcher.StringMatcher nameMatcher,
+            @Nullable Integer yearFilter,
+            @Nullable Long idFilter,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        WhereClauseResult whereClause = buildWhereClause(nameFilter, nameMatcher, yearFilter, idFilter);
+        return KeysetQuery.of(pageable.getSort(), CupJdbcRepositoryImpl::keysetColumn, KEYSET_ID)
+                .page(
+                        jdbcClient,
+                        pageCountCache,
+                        new KeysetQuery.Statement(
+                                "SELECT id, name, type, year", "FROM cup", whereClause.clause(), whereClause.params()),
+                        new CupDboRowMapper(),
+                        pageable,
+                        cursor,
+                        countMode);
+    }
+
     /**
-     * Result of WHERE clause building with clause string and parameters.
+     * Result of WHERE clause building with clause string and named parameters.
      */
-    private record WhereClauseResult(String clause, List<Object> params) {}
+    private record WhereClauseResult(String clause, Map<String, Object> params) {}
 
     /**
      * Builds WHERE clause for filtering.
@@ -134,28 +160,28 @@ public class CupJdbcRepositoryImpl implements CupJdbcRepositoryCustom {
             @Nullable Integer yearFilter,
             @Nullable Long idFilter) {
         List<String> conditions = new ArrayList<>();
-        List<Object> params = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
 
         // Name filter
         if (nameFilter != null && !nameFilter.isBlank()) {
             if (nameMatcher == ExampleMatcher.StringMatcher.EXACT) {
-                conditions.add("LOWER(name) = ?");
+                conditions.add("LOWER(name) = :name");
             } else {
-                conditions.add("LOWER(name) LIKE ?");
+                conditions.add("LOWER(name) LIKE :name");
             }
-            params.add(buildLikePattern(nameFilter, nameMatcher));
+            params.put("name", buildLikePattern(nameFilter, nameMatcher));
         }
 
         // Year filter
         if (yearFilter != null) {
-            conditions.add("year = ?");
-            params.add(yearFilter);
+            conditions.add("year = :year");
+            params.put("year", yearFilter);
         }
 
         // ID filter
         if (idFilter != null) {
-            conditions.add("id = ?");
-            params.add(idFilter);
+            conditions.add("id = :id");
+            params.put("id", idFilter);
         }
 
         if (conditions.isEmpty()) {
@@ -218,6 +244,18 @@ public class CupJdbcRepositoryImpl implements CupJdbcRepositoryCustom {
         };
     }
 
+    /**
+     * Maps DBO property names to keyset columns, falling back to the id like {@link #mapSortProperty(String)}.
+     */
+    private static KeysetQuery.Column<CupDbo> keysetColumn(String property) {
+        return switch (CupDbo.mapOrdersDomainToDbo(Sort.Order.by(property))) {
+            case "name" -> new KeysetQuery.Column<>("name", "name", false, CupDbo::getName);
+            case "type" -> new KeysetQuery.Column<>("type", "type", false, x -> x.getType().name());
+            case "year" -> new KeysetQuery.Column<>("year", "year", false, CupDbo::getYear);
+            default -> KEYSET_ID;
+        };
+    }
+
     /**
      * RowMapper for CupDbo that does not load the MappedCollection.
      */
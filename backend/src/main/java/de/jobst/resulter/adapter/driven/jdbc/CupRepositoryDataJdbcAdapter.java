@@ -6,6 +6,7 @@ import com.turkraft.springfilter.transformer.FilterNodeTransformer;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformResult;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformer;
 import de.jobst.resulter.application.port.CupRepository;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.*;
 import java.util.List;
@@ -149,7 +150,48 @@ public class CupRepositoryDataJdbcAdapter implements CupRepository {
 
     @Override
     public Page<Cup> findAll(@Nullable String filter, Pageable pageable) {
-        Page<CupDbo> page;
+        CupFilter cupFilter = parseFilter(filter);
+
+        // Use optimized query without MappedCollection loading (for both filtered and unfiltered)
+        Page<CupDbo> page = cupJdbcRepository.findAllWithoutEvents(
+                cupFilter.name(),
+                cupFilter.nameMatcher(),
+                cupFilter.year(),
+                cupFilter.id(),
+                FilterAndSortConverter.mapOrderProperties(pageable, CupDbo::mapOrdersDomainToDbo));
+
+        List<CupDbo> cupDbos = page.getContent();
+
+        if (cupDbos.isEmpty()) {
+            return new PageImpl<>(java.util.Collections.emptyList(), pageable, 0);
+        }
+
+        return new PageImpl<>(
+                asCups(cupDbos),
+                FilterAndSortConverter.mapOrderProperties(page.getPageable(), CupDbo::mapOrdersDboToDomain),
+                page.getTotalElements());
+    }
+
+    @Override
+    public KeysetPage<Cup> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        CupFilter cupFilter = parseFilter(filter);
+        Pageable dboPageable = FilterAndSortConverter.mapOrderProperties(pageable, CupDbo::mapOrdersDomainToDbo);
+        KeysetPage<CupDbo> page = cupJdbcRepository.findPageWithoutEvents(
+                cupFilter.name(), cupFilter.nameMatcher(), cupFilter.year(), cupFilter.id(), dboPageable, cursor,
+                countMode);
+        return new KeysetPage<>(
+                page.content().isEmpty() ? List.of() : asCups(page.content()),
+                FilterAndSortConverter.mapOrderProperties(dboPageable, CupDbo::mapOrdersDboToDomain),
+                page.totalElements(),
+                page.totalEstimated(),
+                page.nextCursor());
+    }
+
+    private record CupFilter(
+            @Nullable String name, ExampleMatcher.StringMatcher nameMatcher, @Nullable Integer year, @Nullable Long id) {}
+
+    private CupFilter parseFilter(@Nullable String filter) {
         String nameFilter = null;
         ExampleMatcher.StringMatcher nameMatcher = ExampleMatcher.StringMatcher.CONTAINING;
         Integer yearFilter = null;
@@ -175,21 +217,10 @@ public class CupRepositoryDataJdbcAdapter implements CupRepository {
                         transformResult.filterMap().get("id").value().replace("'", ""));
             }
         }
+        return new CupFilter(nameFilter, nameMatcher, yearFilter, idFilter);
+    }
 
-        // Use optimized query without MappedCollection loading (for both filtered and unfiltered)
-        page = cupJdbcRepository.findAllWithoutEvents(
-                nameFilter,
-                nameMatcher,
-                yearFilter,
-                idFilter,
-                FilterAndSortConverter.mapOrderProperties(pageable, CupDbo::mapOrdersDomainToDbo));
-
-        List<CupDbo> cupDbos = page.getContent();
-
-        if (cupDbos.isEmpty()) {
-            return new PageImpl<>(java.util.Collections.emptyList(), pageable, 0);
-        }
-
+    private List<Cup> asCups(List<CupDbo> cupDbos) {
         // Batch load cup-event mappings for all queries
         List<Long> cupIds = cupDbos.stream()
                 .map(CupDbo::getId)
@@ -207,9 +238,6 @@ public class CupRepositoryDataJdbcAdapter implements CupRepository {
             cup.setEvents(events);
         });
 
-        return new PageImpl<>(
-                cupDbos.stream().map(CupDbo::asCup).toList(),
-                FilterAndSortConverter.mapOrderProperties(page.getPageable(), CupDbo::mapOrdersDboToDomain),
-                page.getTotalElements());
+        return cupDbos.stream().map(CupDbo::asCup).toList();
     }
 }
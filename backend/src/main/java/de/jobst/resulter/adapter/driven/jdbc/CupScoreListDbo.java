@@ -56,6 +56,10 @@ public class CupScoreListDbo {
     @Column("status")
     private String status = "COMPLETE";
 
+    @Column("input_hash")
+    @Nullable
+    private String inputHash;
+
     @MappedCollection(idColumn = "cup_score_list_id")
     private Set<CupScoreDbo> cupScores = new HashSet<>();
 
@@ -88,6 +92,7 @@ public class CupScoreListDbo {
                 null);
             cupScoreListDbo.setCreateTimeZone(
                 null != cupScoreList.getCreateTime() ? cupScoreList.getCreateTime().getZone().getId() : null);
+            cupScoreListDbo.setInputHash(cupScoreList.getInputHash());
         } else {
             cupScoreListDbo = new CupScoreListDbo(AggregateReference.to(cupScoreList.getCupId().value()),
                 AggregateReference.to(cupScoreList.getResultListId().value()),
@@ -95,6 +100,7 @@ public class CupScoreListDbo {
                 null != cupScoreList.getCreateTime() ? Timestamp.from(cupScoreList.getCreateTime().toInstant()) :
                 null,
                 null != cupScoreList.getCreateTime() ? cupScoreList.getCreateTime().getZone().getId() : null);
+            cupScoreListDbo.setInputHash(cupScoreList.getInputHash());
         }
         if (!cupScoreList.getCupScores().isEmpty()) {
             cupScoreListDbo.setCupScores(cupScoreList.getCupScores()
@@ -114,7 +120,8 @@ public class CupScoreListDbo {
                 it.getCreator(),
                 it.getCreateTime() != null ?
                 it.getCreateTime().toInstant().atZone(ZoneId.of(it.getCreateTimeZone())) :
-                null))
+                null,
+                it.getInputHash()))
             .toList();
     }
 }
@@ -0,0 +1,126 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.application.util.BatchUtils;
+import de.jobst.resulter.domain.CupScore;
+import de.jobst.resulter.domain.CupScoreList;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Replaces the cup scores of stored cup score lists by writing only the rows that differ.
+ *
+ * <p>Cup scores are identified by class and person, like the unique key of {@code cup_score}. Stored scores missing
+ * from the new list are deleted, scores with a different organisation or score are updated and new scores are
+ * inserted, each with a JDBC batch; unchanged rows are not touched. The list row itself gets the creator, time and
+ * input hash of the new calculation.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "resulter.repository.inmemory", havingValue = "false")
+@Slf4j
+public class CupScoreListDiffWriter {
+
+    static final String UPDATE_CUP_SCORE_LIST_SQL = "UPDATE cup_score_list "
+            + "SET creator = ?, create_time = ?, create_time_zone = ?, input_hash = ? WHERE id = ?";
+    static final String SELECT_CUP_SCORES_SQL = "SELECT cup_score_list_id, class_result_short_name, person_id, "
+            + "organisation_id, score FROM cup_score WHERE cup_score_list_id IN (:listIds)";
+    static final String DELETE_CUP_SCORE_SQL = "DELETE FROM cup_score "
+            + "WHERE cup_score_list_id = ? AND class_result_short_name = ? AND person_id = ?";
+    static final String UPDATE_CUP_SCORE_SQL = "UPDATE cup_score SET organisation_id = ?, score = ? "
+            + "WHERE cup_score_list_id = ? AND class_result_short_name = ? AND person_id = ?";
+    static final String INSERT_CUP_SCORE_SQL = "INSERT INTO cup_score "
+            + "(cup_score_list_id, class_result_short_name, person_id, organisation_id, score) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public CupScoreListDiffWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Writes the given cup score lists over the stored lists with the same ids, which must be persistent.
+     */
+    public Changes update(List<CupScoreList> cupScoreLists) {
+        if (cupScoreLists.isEmpty()) {
+            return new Changes(0, 0, 0);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CUP_SCORE_LIST_SQL, cupScoreLists.stream()
+                .map(cupScoreList -> new Object[] {
+                    cupScoreList.getCreator(),
+                    cupScoreList.getCreateTime() != null
+                            ? Timestamp.from(cupScoreList.getCreateTime().toInstant())
+                            : null,
+                    cupScoreList.getCreateTime() != null ? cupScoreList.getCreateTime().getZone().getId() : null,
+                    cupScoreList.getInputHash(),
+                    cupScoreList.getId().value()
+                })
+                .toList());
+
+        Map<Long, Map<ScoreKey, StoredScore>> storedScores = findStoredScores(
+                cupScoreLists.stream().map(cupScoreList -> cupScoreList.getId().value()).toList());
+
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (CupScoreList cupScoreList : cupScoreLists) {
+            long listId = cupScoreList.getId().value();
+            Map<ScoreKey, StoredScore> stored = new HashMap<>(storedScores.getOrDefault(listId, Map.of()));
+            Set<ScoreKey> written = new HashSet<>();
+            for (CupScore cupScore : cupScoreList.getCupScores()) {
+                ScoreKey key = new ScoreKey(cupScore.classResultShortName().value(), cupScore.personId().value());
+                if (!written.add(key)) {
+                    continue;
+                }
+                long organisationId = cupScore.organisationId().value();
+                StoredScore storedScore = stored.remove(key);
+                if (storedScore == null) {
+                    inserts.add(new Object[] {listId, key.classResultShortName(), key.personId(), organisationId,
+                        cupScore.score()});
+                } else if (!Objects.equals(storedScore.organisationId(), organisationId)
+                        || Double.compare(storedScore.score(), cupScore.score()) != 0) {
+                    updates.add(new Object[] {organisationId, cupScore.score(), listId, key.classResultShortName(),
+                        key.personId()});
+                }
+            }
+            stored.keySet().forEach(key ->
+                    deletes.add(new Object[] {listId, key.classResultShortName(), key.personId()}));
+        }
+        BatchUtils.processInBatches(deletes, batch -> jdbcTemplate.batchUpdate(DELETE_CUP_SCORE_SQL, batch));
+        BatchUtils.processInBatches(updates, batch -> jdbcTemplate.batchUpdate(UPDATE_CUP_SCORE_SQL, batch));
+        BatchUtils.processInBatches(inserts, batch -> jdbcTemplate.batchUpdate(INSERT_CUP_SCORE_SQL, batch));
+
+        Changes changes = new Changes(deletes.size(), updates.size(), inserts.size());
+        log.debug("Updated {} cup score lists: {}", cupScoreLists.size(), changes);
+        return changes;
+    }
+
+    private Map<Long, Map<ScoreKey, StoredScore>> findStoredScores(List<Long> listIds) {
+        Map<Long, Map<ScoreKey, StoredScore>> storedScores = new HashMap<>();
+        BatchUtils.processInBatches(listIds, batch -> namedParameterJdbcTemplate.query(
+                SELECT_CUP_SCORES_SQL, Map.of("listIds", batch), rs -> {
+                    long organisationId = rs.getLong("organisation_id");
+                    Long organisation = rs.wasNull() ? null : organisationId;
+                    storedScores.computeIfAbsent(rs.getLong("cup_score_list_id"), id -> new HashMap<>())
+                            .put(new ScoreKey(rs.getString("class_result_short_name"), rs.getLong("person_id")),
+                                    new StoredScore(organisation, rs.getDouble("score")));
+                }));
+        return storedScores;
+    }
+
+    /**
+     * Number of deleted, updated and inserted {@code cup_score} rows.
+     */
+    public record Changes(int deleted, int updated, int inserted) {}
+
+    private record ScoreKey(String classResultShortName, long personId) {}
+
+    private record StoredScore(@Nullable Long organisationId, double score) {}
+}
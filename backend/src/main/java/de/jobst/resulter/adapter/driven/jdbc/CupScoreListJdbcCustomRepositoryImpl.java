@@ -75,7 +75,7 @@ public class CupScoreListJdbcCustomRepositoryImpl implements CupScoreListJdbcCus
     public List<CupScoreListDbo> findByResultListIdWithoutCupScores(Long resultListId) {
         String query =
                 """
-            SELECT id, cup_id, result_list_id, creator, create_time, create_time_zone, status
+            SELECT id, cup_id, result_list_id, creator, create_time, create_time_zone, status, input_hash
             FROM cup_score_list
             WHERE result_list_id = :resultListId
             """;
@@ -91,7 +91,7 @@ public class CupScoreListJdbcCustomRepositoryImpl implements CupScoreListJdbcCus
     public List<CupScoreListDbo> findByResultListIdAndCupIdWithoutCupScores(Long resultListId, Long cupId) {
         String query =
                 """
-            SELECT id, cup_id, result_list_id, creator, create_time, create_time_zone, status
+            SELECT id, cup_id, result_list_id, creator, create_time, create_time_zone, status, input_hash
             FROM cup_score_list
             WHERE result_list_id = :resultListId AND cup_id = :cupId
             """;
@@ -112,7 +112,7 @@ public class CupScoreListJdbcCustomRepositoryImpl implements CupScoreListJdbcCus
 
         String query =
                 """
-            SELECT id, cup_id, result_list_id, creator, create_time, create_time_zone, status
+            SELECT id, cup_id, result_list_id, creator, create_time, create_time_zone, status, input_hash
             FROM cup_score_list
             WHERE result_list_id IN (:resultListIds) AND cup_id = :cupId
             """;
@@ -170,6 +170,7 @@ public class CupScoreListJdbcCustomRepositoryImpl implements CupScoreListJdbcCus
             // Use @With annotation to set id
             CupScoreListDbo dboWithId = dbo.withId(id);
             dboWithId.setStatus(status);
+            dboWithId.setInputHash(rs.getString("input_hash"));
 
             // cupScores will be populated later by batch loading
             dboWithId.setCupScores(new HashSet<>());
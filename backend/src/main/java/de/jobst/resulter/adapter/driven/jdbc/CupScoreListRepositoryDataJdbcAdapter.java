@@ -3,12 +3,16 @@ package de.jobst.resulter.adapter.driven.jdbc;
 import de.jobst.resulter.application.port.CupScoreListRepository;
 import de.jobst.resulter.domain.CupId;
 import de.jobst.resulter.domain.CupScoreList;
+import de.jobst.resulter.domain.CupScoreListId;
 import de.jobst.resulter.domain.EventId;
 import de.jobst.resulter.domain.PersonId;
 import de.jobst.resulter.domain.ResultListId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,12 +29,15 @@ public class CupScoreListRepositoryDataJdbcAdapter implements CupScoreListReposi
 
     private final CupScoreListJdbcRepository cupScoreListJdbcRepository;
     private final CupScoreListJdbcCustomRepository cupScoreListJdbcCustomRepository;
+    private final CupScoreListDiffWriter cupScoreListDiffWriter;
 
     public CupScoreListRepositoryDataJdbcAdapter(
             CupScoreListJdbcRepository cupScoreListJdbcRepository,
-            CupScoreListJdbcCustomRepository cupScoreListJdbcCustomRepository) {
+            CupScoreListJdbcCustomRepository cupScoreListJdbcCustomRepository,
+            CupScoreListDiffWriter cupScoreListDiffWriter) {
         this.cupScoreListJdbcRepository = cupScoreListJdbcRepository;
         this.cupScoreListJdbcCustomRepository = cupScoreListJdbcCustomRepository;
+        this.cupScoreListDiffWriter = cupScoreListDiffWriter;
     }
 
     @Override
@@ -52,6 +59,62 @@ public class CupScoreListRepositoryDataJdbcAdapter implements CupScoreListReposi
         return CupScoreListDbo.asCupScoreLists(savedCupScoreListDbos);
     }
 
+    @Override
+    @Transactional
+    public List<CupScoreList> saveAllChanged(List<CupScoreList> cupScoreLists) {
+        if (cupScoreLists.isEmpty()) {
+            return List.of();
+        }
+        // stored lists of the same domain keys, without their cup scores
+        Map<StoredKey, Long> storedIds = new HashMap<>();
+        cupScoreLists.stream()
+                .collect(Collectors.groupingBy(
+                        CupScoreList::getCupId,
+                        Collectors.mapping(x -> x.getResultListId().value(), Collectors.toSet())))
+                .forEach((cupId, resultListIds) -> cupScoreListJdbcCustomRepository
+                        .findByResultListIdsAndCupIdWithoutCupScores(resultListIds, cupId.value())
+                        .forEach(dbo -> storedIds.put(
+                                new StoredKey(dbo.getCupId().getId(), dbo.getResultListId().getId(), dbo.getStatus()),
+                                dbo.getId())));
+
+        List<CupScoreList> created = new ArrayList<>();
+        List<CupScoreList> changed = new ArrayList<>();
+        for (CupScoreList cupScoreList : cupScoreLists) {
+            Long storedId = storedIds.get(new StoredKey(cupScoreList.getCupId().value(),
+                    cupScoreList.getResultListId().value(), cupScoreList.getStatus()));
+            if (storedId == null) {
+                created.add(cupScoreList);
+            } else {
+                cupScoreList.setId(CupScoreListId.of(storedId));
+                changed.add(cupScoreList);
+            }
+        }
+        cupScoreListDiffWriter.update(changed);
+        List<CupScoreList> saved = new ArrayList<>(changed);
+        if (!created.isEmpty()) {
+            saved.addAll(saveAll(created));
+        }
+        return saved;
+    }
+
+    @Override
+    public Map<ResultListId, String> findInputHashesByResultListIdsAndCupId(
+            Collection<ResultListId> resultListIds, CupId cupId) {
+        if (resultListIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<ResultListId, String> inputHashes = new HashMap<>();
+        cupScoreListJdbcCustomRepository
+                .findByResultListIdsAndCupIdWithoutCupScores(
+                        resultListIds.stream().map(ResultListId::value).toList(), cupId.value())
+                .forEach(dbo -> {
+                    if (dbo.getInputHash() != null) {
+                        inputHashes.put(ResultListId.of(dbo.getResultListId().getId()), dbo.getInputHash());
+                    }
+                });
+        return inputHashes;
+    }
+
     @Override
     public List<CupScoreList> findAllByResultListId(ResultListId resultListId) {
         // 1. Load CupScoreListDbo without cupScores (avoiding N+1 queries)
@@ -149,6 +212,15 @@ public class CupScoreListRepositoryDataJdbcAdapter implements CupScoreListReposi
                 .collect(Collectors.groupingBy(CupScoreList::getResultListId));
     }
 
+    /**
+     * Domain key of a stored list; the status is compared case-insensitively like {@link #deleteAllByDomainKey}.
+     */
+    private record StoredKey(Long cupId, Long resultListId, String status) {
+        private StoredKey {
+            status = status.toLowerCase(Locale.ROOT);
+        }
+    }
+
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
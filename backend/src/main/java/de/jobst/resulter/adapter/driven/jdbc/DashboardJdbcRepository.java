@@ -3,12 +3,14 @@ package de.jobst.resulter.adapter.driven.jdbc;
 import de.jobst.resulter.application.port.DashboardRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * JDBC implementation of Dashboard Repository.
  * Uses native SQL queries for counting entities.
  */
 @Repository
+@Transactional(readOnly = true)
 public class DashboardJdbcRepository implements DashboardRepository {
 
     private final JdbcTemplate jdbcTemplate;
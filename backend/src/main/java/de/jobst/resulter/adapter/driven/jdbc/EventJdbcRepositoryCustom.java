@@ -1,5 +1,6 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import java.util.Collection;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
@@ -46,4 +47,18 @@ public interface EventJdbcRepositoryCustom {
      */
     Page<EventDbo> findAllWithoutOrganisations(
             @Nullable String nameFilter, ExampleMatcher.StringMatcher nameMatcher, Pageable pageable);
+
+    /**
+     * Keyset paginated variant of {@link #findAllWithoutOrganisations(String, ExampleMatcher.StringMatcher, Pageable)}.
+     *
+     * @param cursor    token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     * @return Page of EventDbo objects without loaded organisations
+     */
+    KeysetPage<EventDbo> findPageWithoutOrganisations(
+            @Nullable String nameFilter,
+            ExampleMatcher.StringMatcher nameMatcher,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
 }
@@ -1,14 +1,19 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.domain.Discipline;
 import de.jobst.resulter.domain.EventStatus;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
@@ -24,10 +29,17 @@ import org.springframework.jdbc.core.simple.JdbcClient;
  */
 public class EventJdbcRepositoryImpl implements EventJdbcRepositoryCustom {
 
+    private static final String SELECT_COLUMNS =
+            "SELECT id, name, start_time, start_time_zone, end_time, end_time_zone, state, discipline, aggregate_score";
+    private static final KeysetQuery.Column<EventDbo> KEYSET_ID =
+            new KeysetQuery.Column<>("id", "id", false, EventDbo::getId);
+
     private final JdbcClient jdbcClient;
+    private final PageCountCache pageCountCache;
 
-    public EventJdbcRepositoryImpl(JdbcClient jdbcClient) {
+    public EventJdbcRepositoryImpl(JdbcClient jdbcClient, PageCountCache pageCountCache) {
         this.jdbcClient = jdbcClient;
+        this.pageCountCache = pageCountCache;
     }
 
     @Override
@@ -61,56 +73,77 @@ public class EventJdbcRepositoryImpl implements EventJdbcRepositoryCustom {
     public Page<EventDbo> findAllWithoutOrganisations(
             @Nullable String nameFilter, ExampleMatcher.StringMatcher nameMatcher, Pageable pageable) {
         // Build WHERE clause
-        String whereClause = buildWhereClause(nameFilter, nameMatcher);
+        WhereClauseResult whereClause = buildWhereClause(nameFilter, nameMatcher);
 
         // Build ORDER BY clause from Pageable sort
         String orderByClause = buildOrderByClause(pageable.getSort());
 
         // Build main query with pagination
-        String query =
-                "SELECT id, name, start_time, start_time_zone, end_time, end_time_zone, state, discipline, aggregate_score "
-                        + "FROM event " + whereClause + " " + orderByClause + " LIMIT ? OFFSET ?";
+        String query = SELECT_COLUMNS + " FROM event " + whereClause.clause() + " " + orderByClause
+                + " LIMIT :limit OFFSET :offset";
 
         // Build count query
-        String countQuery = "SELECT COUNT(*) FROM event " + whereClause;
-
-        // Execute queries
-        JdbcClient.StatementSpec querySpec = jdbcClient.sql(query);
-        JdbcClient.StatementSpec countSpec = jdbcClient.sql(countQuery);
-
-        // Add filter parameter if present
-        if (nameFilter != null && !nameFilter.isBlank()) {
-            String pattern = buildLikePattern(nameFilter, nameMatcher);
-            querySpec = querySpec.param(pattern);
-            countSpec = countSpec.param(pattern);
-        }
+        String countQuery = "SELECT COUNT(*) FROM event " + whereClause.clause();
 
         // Execute paginated query
-        List<EventDbo> eventDbos = querySpec
-                .param(pageable.getPageSize())
-                .param(pageable.getOffset())
+        List<EventDbo> eventDbos = jdbcClient
+                .sql(query)
+                .params(whereClause.params())
+                .param("limit", pageable.getPageSize())
+                .param("offset", pageable.getOffset())
                 .query(new EventDboRowMapper())
                 .list();
 
         // Get total count for pagination
-        Long total = countSpec.query(Long.class).single();
+        Long total = jdbcClient
+                .sql(countQuery)
+                .params(whereClause.params())
+                .query(Long.class)
+                .single();
 
         return new PageImpl<>(eventDbos, pageable, total != null ? total : 0L);
     }
 
+    @Override
+    public KeysetPage<EventDbo> findPageWithoutOrganisations(
+            @Nullable String nameFilter,
+            ExampleMatcher.StringMatcher nameMatcher,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        WhereClauseResult whereClause = buildWhereClause(nameFilter, nameMatcher);
+        return KeysetQuery.of(pageable.getSort(), EventJdbcRepositoryImpl::keysetColumn, KEYSET_ID)
+                .page(
+                        jdbcClient,
+                        pageCountCache,
+                        new KeysetQuery.Statement(
+                                SELECT_COLUMNS, "FROM event", whereClause.clause(), whereClause.params()),
+                        new EventDboRowMapper(),
+                        pageable,
+                        cursor,
+                        countMode);
+    }
+
+    /**
+     * Result of WHERE clause building with clause string and named parameters.
+     */
+    private record WhereClauseResult(String clause, Map<String, Object> params) {}
+
     /**
      * Builds WHERE clause for name filtering.
      */
-    private String buildWhereClause(@Nullable String nameFilter, ExampleMatcher.StringMatcher nameMatcher) {
+    private WhereClauseResult buildWhereClause(@Nullable String nameFilter, ExampleMatcher.StringMatcher nameMatcher) {
+        Map<String, Object> params = new HashMap<>();
         if (nameFilter == null || nameFilter.isBlank()) {
-            return "";
+            return new WhereClauseResult("", params);
         }
+        params.put("name", buildLikePattern(nameFilter, nameMatcher));
 
         // For EXACT matching, use = operator, otherwise use LIKE
         if (nameMatcher == ExampleMatcher.StringMatcher.EXACT) {
-            return "WHERE LOWER(name) = ?";
+            return new WhereClauseResult("WHERE LOWER(name) = :name", params);
         } else {
-            return "WHERE LOWER(name) LIKE ?";
+            return new WhereClauseResult("WHERE LOWER(name) LIKE :name", params);
         }
     }
 
@@ -170,6 +203,28 @@ public class EventJdbcRepositoryImpl implements EventJdbcRepositoryCustom {
         };
     }
 
+    /**
+     * Maps DBO property names to keyset columns, falling back to the id like {@link #mapSortProperty(String)}.
+     */
+    private static KeysetQuery.Column<EventDbo> keysetColumn(String property) {
+        return switch (EventDbo.mapOrdersDomainToDbo(Sort.Order.by(property))) {
+            case "name" -> new KeysetQuery.Column<>("name", "name", false, EventDbo::getName);
+            case "startTime" -> new KeysetQuery.Column<>(
+                    "startTime", "start_time", true, x -> toOffsetDateTime(x.getStartTime()));
+            case "endTime" -> new KeysetQuery.Column<>(
+                    "endTime", "end_time", true, x -> toOffsetDateTime(x.getEndTime()));
+            case "state" -> new KeysetQuery.Column<>(
+                    "state", "state", true, x -> x.getState() != null ? x.getState().name() : null);
+            case "discipline" -> new KeysetQuery.Column<>(
+                    "discipline", "discipline", false, x -> x.getDiscipline().name());
+            default -> KEYSET_ID;
+        };
+    }
+
+    private static @Nullable OffsetDateTime toOffsetDateTime(@Nullable Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant().atOffset(ZoneOffset.UTC) : null;
+    }
+
     /**
      * RowMapper for EventDbo that does not load the MappedCollection.
      */
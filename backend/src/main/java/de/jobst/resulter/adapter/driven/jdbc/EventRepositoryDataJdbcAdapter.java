@@ -6,6 +6,7 @@ import com.turkraft.springfilter.transformer.FilterNodeTransformer;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformResult;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformer;
 import de.jobst.resulter.application.port.EventRepository;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationRepository;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.*;
@@ -203,7 +204,44 @@ public class EventRepositoryDataJdbcAdapter implements EventRepository {
 
     @Override
     public Page<Event> findAll(@Nullable String filter, Pageable pageable) {
-        Page<EventDbo> page;
+        NameFilter nameFilter = parseNameFilter(filter);
+
+        // Use optimized query without MappedCollection loading (for both filtered and unfiltered)
+        Page<EventDbo> page = eventJdbcRepository.findAllWithoutOrganisations(
+                nameFilter.value(),
+                nameFilter.matcher(),
+                FilterAndSortConverter.mapOrderProperties(pageable, EventDbo::mapOrdersDomainToDbo));
+
+        List<EventDbo> eventDbos = page.getContent();
+
+        if (eventDbos.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        return new PageImpl<>(
+                asEvents(eventDbos),
+                FilterAndSortConverter.mapOrderProperties(page.getPageable(), EventDbo::mapOrdersDboToDomain),
+                page.getTotalElements());
+    }
+
+    @Override
+    public KeysetPage<Event> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        NameFilter nameFilter = parseNameFilter(filter);
+        Pageable dboPageable = FilterAndSortConverter.mapOrderProperties(pageable, EventDbo::mapOrdersDomainToDbo);
+        KeysetPage<EventDbo> page = eventJdbcRepository.findPageWithoutOrganisations(
+                nameFilter.value(), nameFilter.matcher(), dboPageable, cursor, countMode);
+        return new KeysetPage<>(
+                page.content().isEmpty() ? List.of() : asEvents(page.content()),
+                FilterAndSortConverter.mapOrderProperties(dboPageable, EventDbo::mapOrdersDboToDomain),
+                page.totalElements(),
+                page.totalEstimated(),
+                page.nextCursor());
+    }
+
+    private record NameFilter(@Nullable String value, ExampleMatcher.StringMatcher matcher) {}
+
+    private NameFilter parseNameFilter(@Nullable String filter) {
         String nameFilter = null;
         ExampleMatcher.StringMatcher nameMatcher = ExampleMatcher.StringMatcher.CONTAINING;
 
@@ -219,19 +257,10 @@ public class EventRepositoryDataJdbcAdapter implements EventRepository {
                 nameMatcher = transformResult.filterMap().get("name").matcher();
             }
         }
+        return new NameFilter(nameFilter, nameMatcher);
+    }
 
-        // Use optimized query without MappedCollection loading (for both filtered and unfiltered)
-        page = eventJdbcRepository.findAllWithoutOrganisations(
-                nameFilter,
-                nameMatcher,
-                FilterAndSortConverter.mapOrderProperties(pageable, EventDbo::mapOrdersDomainToDbo));
-
-        List<EventDbo> eventDbos = page.getContent();
-
-        if (eventDbos.isEmpty()) {
-            return new PageImpl<>(Collections.emptyList(), pageable, 0);
-        }
-
+    private List<Event> asEvents(List<EventDbo> eventDbos) {
         // Batch load event-organisation mappings for all queries
         List<Long> eventIds =
                 eventDbos.stream().map(EventDbo::getId).filter(Objects::nonNull).toList();
@@ -249,19 +278,16 @@ public class EventRepositoryDataJdbcAdapter implements EventRepository {
         Map<Long, Organisation> orgMap = batchLoadOrganisations(eventDbos);
         Map<Long, EventCertificate> certMap = batchLoadPrimaryEventCertificates(eventDbos);
 
-        return new PageImpl<>(
-                eventDbos.stream()
-                        .map(x -> {
-                            Event event = EventDbo.asEvent(x, orgMap);
-                            EventCertificate cert = certMap.get(x.getId());
-                            if (cert != null) {
-                                event.setCertificate(cert.getId());
-                            }
-                            return event;
-                        })
-                        .toList(),
-                FilterAndSortConverter.mapOrderProperties(page.getPageable(), EventDbo::mapOrdersDboToDomain),
-                page.getTotalElements());
+        return eventDbos.stream()
+                .map(x -> {
+                    Event event = EventDbo.asEvent(x, orgMap);
+                    EventCertificate cert = certMap.get(x.getId());
+                    if (cert != null) {
+                        event.setCertificate(cert.getId());
+                    }
+                    return event;
+                })
+                .toList();
     }
 
     @Override
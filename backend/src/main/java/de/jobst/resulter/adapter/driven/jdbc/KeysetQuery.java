@@ -0,0 +1,174 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.application.port.KeysetPage;
+import de.jobst.resulter.application.util.KeysetCursor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * SQL parts of keyset (seek) pagination for a sort order.
+ *
+ * <p>Instead of skipping {@code OFFSET} rows, a page continues after the sort values of the last row of the previous
+ * page, carried by a {@link KeysetCursor} token. The unique id column is appended as last sort column, so that the
+ * order is total. Null values of nullable columns are always sorted last, in both directions and on all
+ * databases.</p>
+ *
+ * @param <T> type of the mapped rows, from which the values of the cursor are read
+ */
+final class KeysetQuery<T> {
+
+    /**
+     * @param property sort property, as used in the {@link Sort} of the query
+     * @param sql      qualified column
+     * @param value    reads the column value from a mapped row; strings, whole numbers, dates and timestamps are
+     *                 supported
+     */
+    record Column<T>(String property, String sql, boolean nullable, Function<T, @Nullable Object> value) {}
+
+    /**
+     * Filtered query of a list.
+     *
+     * @param select select list, e.g. {@code SELECT p.id, p.family_name}
+     * @param from   FROM clause including joins
+     * @param where  WHERE clause of the filter including the keyword, empty without filter; conditions are joined with
+     *               AND
+     * @param params parameters of the WHERE clause
+     */
+    record Statement(String select, String from, String where, Map<String, Object> params) {}
+
+    private record Order<T>(Column<T> column, boolean ascending) {}
+
+    private final List<Order<T>> orders;
+
+    private KeysetQuery(List<Order<T>> orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * @param columns resolves a sort property to its column
+     * @param id      unique, not nullable column used as tie-breaker
+     */
+    static <T> KeysetQuery<T> of(Sort sort, Function<String, Column<T>> columns, Column<T> id) {
+        List<Order<T>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Column<T> column = columns.apply(order.getProperty());
+            if (orders.stream().noneMatch(x -> x.column().sql().equals(column.sql()))) {
+                orders.add(new Order<>(column, order.isAscending()));
+            }
+        }
+        if (orders.stream().noneMatch(x -> x.column().sql().equals(id.sql()))) {
+            orders.add(new Order<>(id, true));
+        }
+        return new KeysetQuery<>(List.copyOf(orders));
+    }
+
+    /**
+     * Runs the statement: without a cursor the page of the pageable is returned, with the cursor of a previous page the
+     * page following it, ignoring the page number. The total is counted by {@code pageCountCache} in the given mode.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort order
+     */
+    KeysetPage<T> page(
+            JdbcClient jdbcClient,
+            PageCountCache pageCountCache,
+            Statement statement,
+            RowMapper<T> rowMapper,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        String fromWhere = statement.from() + (statement.where().isBlank() ? "" : " " + statement.where().strip());
+        Map<String, Object> params = new HashMap<>(statement.params());
+        StringBuilder selectSql = new StringBuilder(statement.select()).append(' ').append(fromWhere);
+        if (cursor != null) {
+            selectSql.append(statement.where().isBlank() ? " WHERE " : " AND ").append(seekSql(cursor, params));
+        }
+        selectSql.append(orderBySql());
+        if (pageable.isPaged()) {
+            // one more row tells whether there is a next page
+            selectSql.append(" LIMIT :limit");
+            params.put("limit", pageable.getPageSize() + 1);
+            if (cursor == null) {
+                selectSql.append(" OFFSET :offset");
+                params.put("offset", pageable.getOffset());
+            }
+        }
+
+        List<T> rows = jdbcClient.sql(selectSql.toString()).params(params).query(rowMapper).list();
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        PageCountCache.Count total =
+                pageCountCache.count("SELECT COUNT(*) " + fromWhere, statement.params(), countMode);
+        return new KeysetPage<>(
+                content, pageable, total.value(), total.estimated(), hasNext ? cursorOf(content.getLast()) : null);
+    }
+
+    String orderBySql() {
+        List<String> parts = new ArrayList<>(orders.size());
+        for (Order<T> order : orders) {
+            parts.add(order.column().sql() + (order.ascending() ? " ASC" : " DESC")
+                    + (order.column().nullable() ? " NULLS LAST" : ""));
+        }
+        return " ORDER BY " + String.join(", ", parts);
+    }
+
+    /**
+     * Condition selecting the rows after the cursor, e.g. {@code (a > :k0) OR (a = :k0 AND id > :k1)}. Adds its
+     * parameters to {@code params}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort order
+     */
+    String seekSql(String cursor, Map<String, Object> params) {
+        List<@Nullable Object> values = KeysetCursor.decode(cursor, sortKey());
+        if (values.size() != orders.size()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<String> disjuncts = new ArrayList<>();
+        List<String> equalities = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Order<T> order = orders.get(i);
+            String column = order.column().sql();
+            Object value = values.get(i);
+            String param = "keyset" + i;
+            if (value != null) {
+                params.put(param, value);
+                String after = column + (order.ascending() ? " > :" : " < :") + param;
+                if (order.column().nullable()) {
+                    after = "(" + after + " OR " + column + " IS NULL)";
+                }
+                List<String> conjuncts = new ArrayList<>(equalities);
+                conjuncts.add(after);
+                disjuncts.add("(" + String.join(" AND ", conjuncts) + ")");
+                equalities.add(column + " = :" + param);
+            } else {
+                // nulls are last, nothing sorts after null within this column
+                equalities.add(column + " IS NULL");
+            }
+        }
+        return disjuncts.isEmpty() ? "1 = 0" : "(" + String.join(" OR ", disjuncts) + ")";
+    }
+
+    String cursorOf(T lastRow) {
+        List<@Nullable Object> values = new ArrayList<>(orders.size());
+        for (Order<T> order : orders) {
+            values.add(order.column().value().apply(lastRow));
+        }
+        return KeysetCursor.encode(sortKey(), values);
+    }
+
+    private String sortKey() {
+        List<String> parts = new ArrayList<>(orders.size());
+        for (Order<T> order : orders) {
+            parts.add(order.column().property() + (order.ascending() ? ":a" : ":d"));
+        }
+        return String.join(",", parts);
+    }
+}
@@ -5,12 +5,16 @@ import com.turkraft.springfilter.parser.node.FilterNode;
 import com.turkraft.springfilter.transformer.FilterNodeTransformer;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformResult;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformer;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.MediaFileRepository;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.MediaFile;
 import de.jobst.resulter.domain.MediaFileId;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -20,6 +24,7 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.*;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,14 +33,24 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class MediaFileRepositoryDataJdbcAdapter implements MediaFileRepository {
 
+    private static final KeysetQuery.Column<MediaFileDbo> KEYSET_ID =
+            new KeysetQuery.Column<>("id", "id", false, MediaFileDbo::getId);
+
     private final MediaFileJdbcRepository mediaFileJdbcRepository;
     private final FilterStringConverter filterStringConverter;
     private final FilterNodeTransformer<MappingFilterNodeTransformResult> filterNodeTransformer;
+    private final JdbcClient jdbcClient;
+    private final PageCountCache pageCountCache;
 
     public MediaFileRepositoryDataJdbcAdapter(
-            MediaFileJdbcRepository mediaFileJdbcRepository, FilterStringConverter filterStringConverter) {
+            MediaFileJdbcRepository mediaFileJdbcRepository,
+            FilterStringConverter filterStringConverter,
+            JdbcClient jdbcClient,
+            PageCountCache pageCountCache) {
         this.mediaFileJdbcRepository = mediaFileJdbcRepository;
         this.filterStringConverter = filterStringConverter;
+        this.jdbcClient = jdbcClient;
+        this.pageCountCache = pageCountCache;
         this.filterNodeTransformer = new MappingFilterNodeTransformer(new DefaultConversionService());
     }
 
@@ -120,6 +135,102 @@ public class MediaFileRepositoryDataJdbcAdapter implements MediaFileRepository {
                 page.getTotalElements());
     }
 
+    @Override
+    public KeysetPage<MediaFile> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (filter != null) {
+            FilterNode filterNode = filterStringConverter.convert(filter);
+            log.info("FilterNode: {}", filterNode);
+            MappingFilterNodeTransformResult transformResult = filterNodeTransformer.transform(filterNode);
+            transformResult.filterMap().forEach((key, value) -> {
+                String unquotedValue = value.value().replace("'", "");
+                switch (key) {
+                    case "fileName" -> addStringFilter(where, params, "file_name", key, unquotedValue, value.matcher());
+                    case "description" ->
+                        addStringFilter(where, params, "description", key, unquotedValue, value.matcher());
+                    case "contentType" ->
+                        addStringFilter(where, params, "content_type", key, unquotedValue, value.matcher());
+                    case "id" -> {
+                        where.add("id = :id");
+                        params.put("id", Long.parseLong(unquotedValue));
+                    }
+                }
+            });
+        }
+
+        Pageable dboPageable =
+                FilterAndSortConverter.mapOrderProperties(pageable, MediaFileDbo::mapOrdersDomainToDbo);
+        KeysetPage<MediaFileDbo> page = KeysetQuery.of(
+                        dboPageable.getSort(), MediaFileRepositoryDataJdbcAdapter::keysetColumn, KEYSET_ID)
+                .page(
+                        jdbcClient,
+                        pageCountCache,
+                        new KeysetQuery.Statement(
+                                "SELECT id, file_name, thumbnail_file_name, content_type, file_size, description",
+                                "FROM media_file",
+                                where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where),
+                                params),
+                        (rs, rowNum) -> {
+                            MediaFileDbo mediaFileDbo = new MediaFileDbo(
+                                    rs.getString("file_name"),
+                                    rs.getString("thumbnail_file_name"),
+                                    rs.getString("content_type"),
+                                    rs.getLong("file_size"));
+                            mediaFileDbo.setId(rs.getLong("id"));
+                            mediaFileDbo.setDescription(rs.getString("description"));
+                            return mediaFileDbo;
+                        },
+                        dboPageable,
+                        cursor,
+                        countMode);
+        return page.map(x -> x.asMediaFile())
+                .withPageable(FilterAndSortConverter.mapOrderProperties(
+                        dboPageable, MediaFileDbo::mapOrdersDboToDomain));
+    }
+
+    /**
+     * Same matching as the query by example of {@link #findAll(String, Pageable)}, which compares case-sensitively.
+     */
+    private static void addStringFilter(
+            List<String> where,
+            Map<String, Object> params,
+            String column,
+            String param,
+            String value,
+            ExampleMatcher.StringMatcher matcher) {
+        switch (matcher) {
+            case EXACT, DEFAULT -> {
+                where.add(column + " = :" + param);
+                params.put(param, value);
+            }
+            case STARTING -> {
+                where.add(column + " LIKE :" + param);
+                params.put(param, value + "%");
+            }
+            case ENDING -> {
+                where.add(column + " LIKE :" + param);
+                params.put(param, "%" + value);
+            }
+            default -> {
+                where.add(column + " LIKE :" + param);
+                params.put(param, "%" + value + "%");
+            }
+        }
+    }
+
+    private static KeysetQuery.Column<MediaFileDbo> keysetColumn(String property) {
+        return switch (property) {
+            case "fileName" -> new KeysetQuery.Column<>("fileName", "file_name", false, MediaFileDbo::getFileName);
+            case "description" -> new KeysetQuery.Column<>(
+                    "description", "description", true, MediaFileDbo::getDescription);
+            case "contentType" -> new KeysetQuery.Column<>(
+                    "contentType", "content_type", false, MediaFileDbo::getContentType);
+            default -> KEYSET_ID;
+        };
+    }
+
     @Override
     public Optional<MediaFile> findById(MediaFileId mediaFileId) {
         return mediaFileJdbcRepository.findById(mediaFileId.value()).map(x -> x.asMediaFile());
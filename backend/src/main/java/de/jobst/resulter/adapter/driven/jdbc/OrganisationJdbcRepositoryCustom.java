@@ -1,5 +1,6 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import java.util.Collection;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
@@ -60,4 +61,21 @@ public interface OrganisationJdbcRepositoryCustom {
             ExampleMatcher.StringMatcher shortNameMatcher,
             @Nullable Long idFilter,
             Pageable pageable);
+
+    /**
+     * Keyset paginated variant of {@code findAllWithoutChildOrganisations} with the same filters.
+     *
+     * @param cursor    token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     * @return Page of OrganisationDbo objects without loaded childOrganisations
+     */
+    KeysetPage<OrganisationDbo> findPageWithoutChildOrganisations(
+            @Nullable String nameFilter,
+            ExampleMatcher.StringMatcher nameMatcher,
+            @Nullable String shortNameFilter,
+            ExampleMatcher.StringMatcher shortNameMatcher,
+            @Nullable Long idFilter,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
 }
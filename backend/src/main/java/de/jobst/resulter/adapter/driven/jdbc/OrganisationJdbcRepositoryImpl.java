@@ -1,13 +1,16 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.domain.OrganisationType;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
@@ -24,10 +27,15 @@ import org.springframework.jdbc.core.simple.JdbcClient;
  */
 public class OrganisationJdbcRepositoryImpl implements OrganisationJdbcRepositoryCustom {
 
+    private static final KeysetQuery.Column<OrganisationDbo> KEYSET_ID =
+            new KeysetQuery.Column<>("id", "id", false, OrganisationDbo::getId);
+
     private final JdbcClient jdbcClient;
+    private final PageCountCache pageCountCache;
 
-    public OrganisationJdbcRepositoryImpl(JdbcClient jdbcClient) {
+    public OrganisationJdbcRepositoryImpl(JdbcClient jdbcClient, PageCountCache pageCountCache) {
         this.jdbcClient = jdbcClient;
+        this.pageCountCache = pageCountCache;
     }
 
     @Override
@@ -85,38 +93,61 @@ public class OrganisationJdbcRepositoryImpl implements OrganisationJdbcRepositor
                 + whereClause.clause()
                 + " "
                 + orderByClause
-                + " LIMIT ? OFFSET ?";
+                + " LIMIT :limit OFFSET :offset";
 
         // Build count query
         String countQuery = "SELECT COUNT(*) FROM organisation " + whereClause.clause();
 
-        // Execute queries
-        JdbcClient.StatementSpec querySpec = jdbcClient.sql(query);
-        JdbcClient.StatementSpec countSpec = jdbcClient.sql(countQuery);
-
-        // Add filter parameters if present
-        for (int i = 0; i < whereClause.params().size(); i++) {
-            querySpec = querySpec.param(whereClause.params().get(i));
-            countSpec = countSpec.param(whereClause.params().get(i));
-        }
-
         // Execute paginated query
-        List<OrganisationDbo> organisationDbos = querySpec
-                .param(pageable.getPageSize())
-                .param(pageable.getOffset())
+        List<OrganisationDbo> organisationDbos = jdbcClient
+                .sql(query)
+                .params(whereClause.params())
+                .param("limit", pageable.getPageSize())
+                .param("offset", pageable.getOffset())
                 .query(new OrganisationDboRowMapper())
                 .list();
 
         // Get total count for pagination
-        Long total = countSpec.query(Long.class).single();
+        Long total = jdbcClient
+                .sql(countQuery)
+                .params(whereClause.params())
+                .query(Long.class)
+                .single();
 
         return new PageImpl<>(organisationDbos, pageable, total != null ? total : 0L);
     }
 
+    @Override
+    public KeysetPage<OrganisationDbo> findPageWithoutChildOrganisations(
+            @Nullable String nameFilter,
+            ExampleMatcher.StringMatcher nameMatcher,
+            @Nullable String shortNameFilter,
+            ExampleMatcher.StringMatcher shortNameMatcher,
+            @Nullable Long idFilter,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        WhereClauseResult whereClause =
+                buildWhereClause(nameFilter, nameMatcher, shortNameFilter, shortNameMatcher, idFilter);
+        return KeysetQuery.of(pageable.getSort(), OrganisationJdbcRepositoryImpl::keysetColumn, KEYSET_ID)
+                .page(
+                        jdbcClient,
+                        pageCountCache,
+                        new KeysetQuery.Statement(
+                                "SELECT id, name, short_name, type, country_id",
+                                "FROM organisation",
+                                whereClause.clause(),
+                                whereClause.params()),
+                        new OrganisationDboRowMapper(),
+                        pageable,
+                        cursor,
+                        countMode);
+    }
+
     /**
-     * Result of WHERE clause building with clause string and parameters.
+     * Result of WHERE clause building with clause string and named parameters.
      */
-    private record WhereClauseResult(String clause, List<Object> params) {}
+    private record WhereClauseResult(String clause, Map<String, Object> params) {}
 
     /**
      * Builds WHERE clause for filtering.
@@ -128,32 +159,32 @@ public class OrganisationJdbcRepositoryImpl implements OrganisationJdbcRepositor
             ExampleMatcher.StringMatcher shortNameMatcher,
             @Nullable Long idFilter) {
         List<String> conditions = new ArrayList<>();
-        List<Object> params = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
 
         // Name filter
         if (nameFilter != null && !nameFilter.isBlank()) {
             if (nameMatcher == ExampleMatcher.StringMatcher.EXACT) {
-                conditions.add("LOWER(name) = ?");
+                conditions.add("LOWER(name) = :name");
             } else {
-                conditions.add("LOWER(name) LIKE ?");
+                conditions.add("LOWER(name) LIKE :name");
             }
-            params.add(buildLikePattern(nameFilter, nameMatcher));
+            params.put("name", buildLikePattern(nameFilter, nameMatcher));
         }
 
         // Short name filter
         if (shortNameFilter != null && !shortNameFilter.isBlank()) {
             if (shortNameMatcher == ExampleMatcher.StringMatcher.EXACT) {
-                conditions.add("LOWER(short_name) = ?");
+                conditions.add("LOWER(short_name) = :shortName");
             } else {
-                conditions.add("LOWER(short_name) LIKE ?");
+                conditions.add("LOWER(short_name) LIKE :shortName");
             }
-            params.add(buildLikePattern(shortNameFilter, shortNameMatcher));
+            params.put("shortName", buildLikePattern(shortNameFilter, shortNameMatcher));
         }
 
         // ID filter
         if (idFilter != null) {
-            conditions.add("id = ?");
-            params.add(idFilter);
+            conditions.add("id = :id");
+            params.put("id", idFilter);
         }
 
         if (conditions.isEmpty()) {
@@ -218,6 +249,21 @@ public class OrganisationJdbcRepositoryImpl implements OrganisationJdbcRepositor
         };
     }
 
+    /**
+     * Maps DBO property names to keyset columns, falling back to the id like {@link #mapSortProperty(String)}.
+     */
+    private static KeysetQuery.Column<OrganisationDbo> keysetColumn(String property) {
+        return switch (OrganisationDbo.mapOrdersDomainToDbo(Sort.Order.by(property))) {
+            case "name" -> new KeysetQuery.Column<>("name", "name", false, OrganisationDbo::getName);
+            case "shortName" -> new KeysetQuery.Column<>(
+                    "shortName", "short_name", false, OrganisationDbo::getShortName);
+            case "type" -> new KeysetQuery.Column<>("type", "type", false, x -> x.getType().name());
+            case "country.name" -> new KeysetQuery.Column<>(
+                    "country.name", "country_id", true, x -> x.getCountry() != null ? x.getCountry().getId() : null);
+            default -> KEYSET_ID;
+        };
+    }
+
     /**
      * RowMapper for OrganisationDbo that does not load the MappedCollection.
      */
@@ -5,6 +5,7 @@ import com.turkraft.springfilter.parser.node.FilterNode;
 import com.turkraft.springfilter.transformer.FilterNodeTransformer;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformResult;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformer;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationRepository;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.Country;
@@ -18,7 +19,6 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.*;
-import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,39 +27,21 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class OrganisationRepositoryDataJdbcAdapter implements OrganisationRepository {
 
-    private final JdbcClient jdbcClient;
     private final OrganisationJdbcRepository organisationJdbcRepository;
     private final CountryJdbcRepository countryJdbcRepository;
     private final FilterStringConverter filterStringConverter;
     private final FilterNodeTransformer<MappingFilterNodeTransformResult> filterNodeTransformer;
 
     public OrganisationRepositoryDataJdbcAdapter(
-            JdbcClient jdbcClient,
             OrganisationJdbcRepository organisationJdbcRepository,
             CountryJdbcRepository countryJdbcRepository,
             FilterStringConverter filterStringConverter) {
-        this.jdbcClient = jdbcClient;
         this.organisationJdbcRepository = organisationJdbcRepository;
         this.countryJdbcRepository = countryJdbcRepository;
         this.filterStringConverter = filterStringConverter;
         this.filterNodeTransformer = new MappingFilterNodeTransformer(new DefaultConversionService());
     }
 
-    private static String getCteQuery() {
-        return """
-               WITH RECURSIVE parent_organisations AS (
-               -- Start mit den untergeordneten Organisationen
-               SELECT id FROM organisation WHERE id IN (:idSet)
-               UNION ALL
-               -- Rekursiver Schritt: Finde die übergeordneten Organisationen
-               SELECT o.id FROM organisation o
-                                INNER JOIN organisation_organisation oo ON o.id = oo.parent_organisation_id
-                                INNER JOIN parent_organisations so ON oo.organisation_id = so.id
-               )
-               SELECT DISTINCT id FROM parent_organisations
-               """;
-    }
-
     @Override
     @Transactional
     public Organisation save(Organisation organisation) {
@@ -201,31 +183,61 @@ public class OrganisationRepositoryDataJdbcAdapter implements OrganisationReposi
     }
 
     @Override
-    @Transactional
-    public Map<OrganisationId, Organisation> loadOrganisationTree(Set<OrganisationId> idSet) {
-        if (idSet == null || idSet.isEmpty()) {
-            return Collections.emptyMap();
-        }
+    public Page<Organisation> findAll(@Nullable String filter, Pageable pageable) {
+        OrganisationFilter organisationFilter = parseFilter(filter);
 
-        List<Long> idValues = idSet.stream().map(OrganisationId::value).toList();
+        // Use optimized query without MappedCollection loading (for both filtered and unfiltered)
+        Page<OrganisationDbo> page = organisationJdbcRepository.findAllWithoutChildOrganisations(
+                organisationFilter.name(),
+                organisationFilter.nameMatcher(),
+                organisationFilter.shortName(),
+                organisationFilter.shortNameMatcher(),
+                organisationFilter.id(),
+                FilterAndSortConverter.mapOrderProperties(pageable, OrganisationDbo::mapOrdersDomainToDbo));
 
-        List<@Nullable Long> resultList = jdbcClient
-                .sql(getCteQuery())
-                .param("idSet", idValues)
-                .query(Long.class)
-                .list();
+        List<OrganisationDbo> organisationDbos = page.getContent();
 
-        Set<OrganisationId> organisationIdSet = resultList.stream()
-                .filter(Objects::nonNull)
-                .map(OrganisationId::of)
-                .collect(Collectors.toSet());
+        if (organisationDbos.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
 
-        return findAllById(organisationIdSet);
+        return new PageImpl<>(
+                asOrganisations(organisationDbos),
+                FilterAndSortConverter.mapOrderProperties(page.getPageable(), OrganisationDbo::mapOrdersDboToDomain),
+                page.getTotalElements());
     }
 
     @Override
-    public Page<Organisation> findAll(@Nullable String filter, Pageable pageable) {
-        Page<OrganisationDbo> page;
+    public KeysetPage<Organisation> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        OrganisationFilter organisationFilter = parseFilter(filter);
+        Pageable dboPageable =
+                FilterAndSortConverter.mapOrderProperties(pageable, OrganisationDbo::mapOrdersDomainToDbo);
+        KeysetPage<OrganisationDbo> page = organisationJdbcRepository.findPageWithoutChildOrganisations(
+                organisationFilter.name(),
+                organisationFilter.nameMatcher(),
+                organisationFilter.shortName(),
+                organisationFilter.shortNameMatcher(),
+                organisationFilter.id(),
+                dboPageable,
+                cursor,
+                countMode);
+        return new KeysetPage<>(
+                page.content().isEmpty() ? List.of() : asOrganisations(page.content()),
+                FilterAndSortConverter.mapOrderProperties(dboPageable, OrganisationDbo::mapOrdersDboToDomain),
+                page.totalElements(),
+                page.totalEstimated(),
+                page.nextCursor());
+    }
+
+    private record OrganisationFilter(
+            @Nullable String name,
+            ExampleMatcher.StringMatcher nameMatcher,
+            @Nullable String shortName,
+            ExampleMatcher.StringMatcher shortNameMatcher,
+            @Nullable Long id) {}
+
+    private OrganisationFilter parseFilter(@Nullable String filter) {
         String nameFilter = null;
         ExampleMatcher.StringMatcher nameMatcher = ExampleMatcher.StringMatcher.CONTAINING;
         String shortNameFilter = null;
@@ -253,22 +265,10 @@ public class OrganisationRepositoryDataJdbcAdapter implements OrganisationReposi
                         transformResult.filterMap().get("id").value().replace("'", ""));
             }
         }
+        return new OrganisationFilter(nameFilter, nameMatcher, shortNameFilter, shortNameMatcher, idFilter);
+    }
 
-        // Use optimized query without MappedCollection loading (for both filtered and unfiltered)
-        page = organisationJdbcRepository.findAllWithoutChildOrganisations(
-                nameFilter,
-                nameMatcher,
-                shortNameFilter,
-                shortNameMatcher,
-                idFilter,
-                FilterAndSortConverter.mapOrderProperties(pageable, OrganisationDbo::mapOrdersDomainToDbo));
-
-        List<OrganisationDbo> organisationDbos = page.getContent();
-
-        if (organisationDbos.isEmpty()) {
-            return new PageImpl<>(Collections.emptyList(), pageable, 0);
-        }
-
+    private List<Organisation> asOrganisations(List<OrganisationDbo> organisationDbos) {
         // Batch load organisation-organisation mappings for all queries
         List<Long> organisationIds = organisationDbos.stream()
                 .map(OrganisationDbo::getId)
@@ -290,12 +290,9 @@ public class OrganisationRepositoryDataJdbcAdapter implements OrganisationReposi
         // Batch load country entities
         Map<Long, Country> countryMap = batchLoadCountries(organisationDbos);
 
-        return new PageImpl<>(
-                organisationDbos.stream()
-                        .map(x -> x.asOrganisation(Collections.emptyMap(), countryMap))
-                        .toList(),
-                FilterAndSortConverter.mapOrderProperties(page.getPageable(), OrganisationDbo::mapOrdersDboToDomain),
-                page.getTotalElements());
+        return organisationDbos.stream()
+                .map(x -> x.asOrganisation(Collections.emptyMap(), countryMap))
+                .toList();
     }
 
     @Override
@@ -0,0 +1,46 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.application.port.KeysetPage;
+import de.jobst.resulter.application.util.BoundedCache;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * Total counts of paged queries. Exact counts run the count query on every page; estimated counts reuse the result of
+ * the same count query for a short time, so that paging through a large list pays for the count only once.
+ */
+@Component
+public class PageCountCache {
+
+    private final JdbcClient jdbcClient;
+    private final BoundedCache<String, Long> counts;
+
+    public PageCountCache(
+            JdbcClient jdbcClient,
+            @Value("${resulter.paging.estimated-count.max-entries:256}") int maxEntries,
+            @Value("${resulter.paging.estimated-count.ttl:PT1M}") Duration ttl) {
+        this.jdbcClient = jdbcClient;
+        this.counts = new BoundedCache<>(maxEntries, ttl);
+    }
+
+    /**
+     * @return the count and whether it was served from the cache or estimated
+     */
+    Count count(String countSql, Map<String, Object> params, KeysetPage.CountMode countMode) {
+        if (countMode == KeysetPage.CountMode.EXACT) {
+            return new Count(query(countSql, params), false);
+        }
+        String key = countSql + new TreeMap<>(params);
+        return new Count(counts.get(key, k -> query(countSql, params)), true);
+    }
+
+    private long query(String countSql, Map<String, Object> params) {
+        return jdbcClient.sql(countSql).params(params).query(Long.class).optional().orElse(0L);
+    }
+
+    record Count(long value, boolean estimated) {}
+}
@@ -5,6 +5,7 @@ import com.turkraft.springfilter.parser.node.FilterNode;
 import com.turkraft.springfilter.transformer.FilterNodeTransformer;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformResult;
 import de.jobst.resulter.adapter.driven.jdbc.transformer.MappingFilterNodeTransformer;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.PersonRepository;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.BirthDate;
@@ -37,19 +38,28 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class PersonRepositoryDataJdbcAdapter implements PersonRepository {
 
+    private static final String DUPLICATES_JOIN = " JOIN (SELECT family_name, given_name FROM person"
+            + " GROUP BY family_name, given_name HAVING COUNT(*) > 1) d"
+            + " ON p.family_name = d.family_name AND p.given_name = d.given_name";
+    private static final KeysetQuery.Column<Person> KEYSET_ID =
+            new KeysetQuery.Column<>("id", "p.id", false, x -> x.id().value());
+
     private final PersonJdbcRepository personJdbcRepository;
     private final FilterStringConverter filterStringConverter;
     private final FilterNodeTransformer<MappingFilterNodeTransformResult> filterNodeTransformer;
     private final JdbcClient jdbcClient;
+    private final PageCountCache pageCountCache;
 
     public PersonRepositoryDataJdbcAdapter(
             PersonJdbcRepository personJdbcRepository,
             FilterStringConverter filterStringConverter,
-            JdbcClient jdbcClient) {
+            JdbcClient jdbcClient,
+            PageCountCache pageCountCache) {
         this.personJdbcRepository = personJdbcRepository;
         this.filterStringConverter = filterStringConverter;
         this.filterNodeTransformer = new MappingFilterNodeTransformer(new DefaultConversionService());
         this.jdbcClient = jdbcClient;
+        this.pageCountCache = pageCountCache;
     }
 
     @Override
@@ -266,8 +276,7 @@ public class PersonRepositoryDataJdbcAdapter implements PersonRepository {
     @Override
     public Page<Person> findDuplicates(@Nullable String filter, Pageable pageable) {
         // Base join for duplicates
-        String base =
-                "FROM person p JOIN (SELECT family_name, given_name FROM person GROUP BY family_name, given_name HAVING COUNT(*) > 1) d ON p.family_name = d.family_name AND p.given_name = d.given_name";
+        String base = "FROM person p" + DUPLICATES_JOIN;
 
         // Build WHERE and params using shared filter parsing
         SqlParts sqlParts;
@@ -309,6 +318,50 @@ public class PersonRepositoryDataJdbcAdapter implements PersonRepository {
                 page.getTotalElements());
     }
 
+    @Override
+    public KeysetPage<Person> findPage(
+            @Nullable String filter,
+            Pageable pageable,
+            boolean duplicates,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode) {
+        String base = "FROM person p" + (duplicates ? DUPLICATES_JOIN : "");
+        SqlParts sqlParts = filter != null
+                ? buildSqlWhereAndParamsFromTransform(parseFilter(filter))
+                : new SqlParts("", new java.util.HashMap<>());
+        Pageable dboPageable = mapPageableToDbo(pageable);
+        KeysetQuery<Person> keysetQuery =
+                KeysetQuery.of(dboPageable.getSort(), PersonRepositoryDataJdbcAdapter::keysetColumn, KEYSET_ID);
+
+        KeysetPage<Person> page = keysetQuery.page(
+                jdbcClient,
+                pageCountCache,
+                new KeysetQuery.Statement(
+                        "SELECT p.id, p.family_name, p.given_name, p.gender, p.birth_date",
+                        base,
+                        sqlParts.whereSql,
+                        sqlParts.params),
+                (rs, rowNum) -> mapPerson(rs),
+                dboPageable,
+                cursor,
+                countMode);
+        return page.withPageable(
+                FilterAndSortConverter.mapOrderProperties(dboPageable, PersonDbo::mapOrdersDboToDomain));
+    }
+
+    private static KeysetQuery.Column<Person> keysetColumn(String property) {
+        return switch (property) {
+            case "id" -> KEYSET_ID;
+            case "givenName" -> new KeysetQuery.Column<>(
+                    "givenName", "p.given_name", false, x -> x.personName().givenName().value());
+            case "gender" -> new KeysetQuery.Column<>("gender", "p.gender", false, x -> x.gender().name());
+            case "birthDate" -> new KeysetQuery.Column<>("birthDate", "p.birth_date", true,
+                    x -> x.birthDate() != null ? x.birthDate().value() : null);
+            default -> new KeysetQuery.Column<>(
+                    "familyName", "p.family_name", false, x -> x.personName().familyName().value());
+        };
+    }
+
     private static void addStringFilter(
             List<String> where,
             Map<String, Object> params,
@@ -0,0 +1,189 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.*;
+import de.jobst.resulter.domain.aggregations.PersonRaceResults;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Builds result lists with their class, person and race results in one pass over the rows of
+ * {@link #SELECT_BY_RESULT_LIST_ID_SQL} or {@link #SELECT_BY_EVENT_ID_SQL}.
+ *
+ * <p>The rows are ordered by result list, race number and class, so a result list (one per race number) and a class
+ * result are complete as soon as the next row belongs to another one; only the current class is held besides the
+ * finished results. A person with several person results in a class, e.g. for different organisations, joins its race
+ * result once per person result; these rows follow each other, ordered by organisation id, and only the first one
+ * is used, which replaces the {@code DISTINCT} of the former query. The person thus always keeps the organisation
+ * with the lowest id, regardless of the order in which the database returns the rows.</p>
+ */
+final class ResultListAssembler implements ResultSetExtractor<List<ResultList>> {
+
+    private static final String SELECT_SQL = """
+            SELECT
+                rl.event_id, rl.id AS result_list_id, rl.race_id, rl.creator, rl.create_time, rl.create_time_zone, rl.status AS result_list_status,
+                cl.short_name AS class_list_short_name, cl.name AS class_list_name, cl.gender AS class_gender, cl.course_id,
+                pr.person_id, pr.organisation_id,
+                prr.start_time, prr.start_time_zone, prr.punch_time, prr.position, prr.race_number, prr.state
+            FROM person_race_result prr
+                INNER JOIN result_list rl ON rl.id = prr.result_list_id
+                INNER JOIN class_result cl ON prr.result_list_id = cl.result_list_id and prr.class_result_short_name = cl.short_name
+                INNER JOIN person_result pr ON prr.result_list_id = pr.result_list_id and prr.class_result_short_name = pr.class_result_short_name and prr.person_id = pr.person_id
+            WHERE prr.state != 'DID_NOT_START' AND %s
+            ORDER BY rl.id, prr.race_number, cl.short_name, prr.position, pr.person_id, pr.organisation_id NULLS LAST
+            """;
+
+    static final String SELECT_BY_RESULT_LIST_ID_SQL = SELECT_SQL.formatted("rl.id = :resultListId");
+    static final String SELECT_BY_EVENT_ID_SQL = SELECT_SQL.formatted("rl.event_id = :eventId");
+
+    @Override
+    public List<ResultList> extractData(ResultSet rs) throws SQLException {
+        List<ResultList> resultLists = new ArrayList<>();
+        ResultListBuilder resultList = null;
+        ClassResultBuilder classResult = null;
+        while (rs.next()) {
+            long resultListId = rs.getLong("result_list_id");
+            Byte raceNumber = getByte(rs, "race_number");
+            String shortName = rs.getString("class_list_short_name");
+            if (resultList == null || !resultList.isSame(resultListId, raceNumber)) {
+                if (resultList != null) {
+                    resultList.add(classResult);
+                    resultLists.add(resultList.build());
+                }
+                resultList = new ResultListBuilder(rs, resultListId, raceNumber);
+                classResult = new ClassResultBuilder(rs, shortName);
+            } else if (!classResult.shortName.equals(shortName)) {
+                resultList.add(classResult);
+                classResult = new ClassResultBuilder(rs, shortName);
+            }
+            classResult.addRow(rs, raceNumber);
+        }
+        if (resultList != null) {
+            resultList.add(classResult);
+            resultLists.add(resultList.build());
+        }
+        return resultLists;
+    }
+
+    private static @Nullable Byte getByte(ResultSet rs, String column) throws SQLException {
+        byte value = rs.getByte(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static @Nullable Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static @Nullable Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static @Nullable ZonedDateTime getZonedDateTime(ResultSet rs, String column, String zoneColumn)
+            throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        String zone = rs.getString(zoneColumn);
+        return timestamp == null || zone == null ? null : timestamp.toInstant().atZone(ZoneId.of(zone));
+    }
+
+    private static final class ResultListBuilder {
+
+        private final long resultListId;
+        private final @Nullable Byte raceNumber;
+        private final long eventId;
+        private final long raceId;
+        private final @Nullable String creator;
+        private final @Nullable ZonedDateTime createTime;
+        private final String status;
+        private final List<ClassResult> classResults = new ArrayList<>();
+
+        ResultListBuilder(ResultSet rs, long resultListId, @Nullable Byte raceNumber) throws SQLException {
+            this.resultListId = resultListId;
+            this.raceNumber = raceNumber;
+            this.eventId = rs.getLong("event_id");
+            this.raceId = rs.getLong("race_id");
+            this.creator = rs.getString("creator");
+            this.createTime = getZonedDateTime(rs, "create_time", "create_time_zone");
+            this.status = rs.getString("result_list_status");
+        }
+
+        boolean isSame(long resultListId, @Nullable Byte raceNumber) {
+            return this.resultListId == resultListId && Objects.equals(this.raceNumber, raceNumber);
+        }
+
+        void add(ClassResultBuilder classResult) {
+            classResults.add(classResult.build());
+        }
+
+        ResultList build() {
+            return new ResultList(
+                    ResultListId.of(resultListId),
+                    EventId.of(eventId),
+                    RaceId.of(raceId),
+                    creator,
+                    createTime,
+                    status,
+                    classResults);
+        }
+    }
+
+    private static final class ClassResultBuilder {
+
+        private final String shortName;
+        private final String name;
+        private final String gender;
+        private final @Nullable Long courseId;
+        private final Set<Long> personIds = new HashSet<>();
+        private final List<PersonResult> personResults = new ArrayList<>();
+
+        ClassResultBuilder(ResultSet rs, String shortName) throws SQLException {
+            this.shortName = shortName;
+            this.name = rs.getString("class_list_name");
+            this.gender = rs.getString("class_gender");
+            this.courseId = getLong(rs, "course_id");
+        }
+
+        void addRow(ResultSet rs, @Nullable Byte raceNumber) throws SQLException {
+            long personId = rs.getLong("person_id");
+            if (!personIds.add(personId)) {
+                return;
+            }
+            Long organisationId = getLong(rs, "organisation_id");
+            Double punchTime = getDouble(rs, "punch_time");
+            Long position = getLong(rs, "position");
+            String state = rs.getString("state");
+            PersonRaceResult raceResult = PersonRaceResult.of(
+                    shortName,
+                    personId,
+                    getZonedDateTime(rs, "start_time", "start_time_zone"),
+                    null,
+                    punchTime,
+                    position,
+                    raceNumber != null ? raceNumber : (byte) 1,
+                    state != null ? ResultStatus.valueOf(state) : ResultStatus.DID_NOT_START);
+            List<PersonRaceResult> raceResults = new ArrayList<>(1);
+            raceResults.add(raceResult);
+            personResults.add(new PersonResult(
+                    new ClassResultShortName(shortName),
+                    new PersonId(personId),
+                    organisationId != null ? new OrganisationId(organisationId) : null,
+                    new PersonRaceResults(raceResults)));
+        }
+
+        ClassResult build() {
+            return ClassResult.of(name, shortName, Gender.of(gender), personResults, courseId != null
+                    ? CourseId.of(courseId) : null);
+        }
+    }
+}
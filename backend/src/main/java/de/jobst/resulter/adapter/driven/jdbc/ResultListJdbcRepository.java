@@ -17,36 +17,6 @@ public interface ResultListJdbcRepository extends CrudRepository<ResultListDbo,
 
     Collection<ResultListDbo> findAll();
 
-    @Query("""
-           SELECT DISTINCT
-               rl.event_id, rl.id AS result_list_id, rl.race_id, rl.creator, rl.create_time, rl.create_time_zone, rl.status AS result_list_status,
-               cl.short_name AS class_list_short_name, cl.name AS class_list_name, cl.gender AS class_gender, cl.course_id,
-               pr.person_id, pr.organisation_id,
-               prr.start_time, prr.start_time_zone, prr.punch_time, prr.position, prr.race_number, prr.state
-           FROM person_race_result prr
-               INNER JOIN result_list rl ON rl.id = prr.result_list_id and rl.id = :resultListId
-               INNER JOIN class_result cl ON prr.result_list_id = cl.result_list_id and prr.class_result_short_name = cl.short_name
-               INNER JOIN person_result pr ON prr.result_list_id = pr.result_list_id and prr.class_result_short_name = pr.class_result_short_name and prr.person_id = pr.person_id
-           WHERE prr.state != 'DID_NOT_START'
-           ORDER BY rl.id, cl.short_name, prr.race_number, prr.position, pr.person_id;
-           """)
-    Collection<PersonRaceResultJdbcDto> findPersonRaceResultsByResultListId(@Param("resultListId") Long resultListId);
-
-    @Query("""
-           SELECT
-               rl.event_id, rl.id AS result_list_id, rl.race_id, rl.creator, rl.create_time, rl.create_time_zone, rl.status AS result_list_status,
-               cl.short_name AS class_list_short_name, cl.name AS class_list_name, cl.gender AS class_gender, cl.course_id,
-               pr.person_id, pr.organisation_id,
-               prr.start_time, prr.start_time_zone, prr.punch_time, prr.position, prr.race_number, prr.state
-           FROM person_race_result prr
-               INNER JOIN result_list rl ON rl.id = prr.result_list_id and rl.event_id = :eventId
-               INNER JOIN class_result cl ON prr.result_list_id = cl.result_list_id and prr.class_result_short_name = cl.short_name
-               INNER JOIN person_result pr ON prr.result_list_id = pr.result_list_id and prr.class_result_short_name = pr.class_result_short_name and prr.person_id = pr.person_id
-           WHERE prr.state != 'DID_NOT_START'
-           ORDER BY rl.id, cl.short_name, prr.race_number, prr.position, pr.person_id;
-           """)
-    Collection<PersonRaceResultJdbcDto> findPersonRaceResultsByEventId(@Param("eventId") Long eventId);
-
     @Query("""
            SELECT
                rl.event_id, rl.id AS result_list_id, rl.race_id, rl.creator, rl.create_time, rl.create_time_zone, rl.status AS result_list_status,
@@ -9,12 +9,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
@@ -25,13 +28,23 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ResultListRepositoryDataJdbcAdapter implements ResultListRepository {
 
+    /**
+     * Rows fetched per round trip when result lists are read with their results. With a fetch size, PostgreSQL reads
+     * the rows through a cursor when the statement runs in a transaction, instead of loading all of them first.
+     */
+    static final int FETCH_SIZE = 500;
+
     private final ResultListJdbcRepository resultListJdbcRepository;
     private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
 
     public ResultListRepositoryDataJdbcAdapter(
-            ResultListJdbcRepository resultListJdbcRepository, JdbcClient jdbcClient) {
+            ResultListJdbcRepository resultListJdbcRepository, JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
         this.resultListJdbcRepository = resultListJdbcRepository;
         this.jdbcClient = jdbcClient;
+        JdbcTemplate streaming = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        streaming.setFetchSize(FETCH_SIZE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
     }
 
     @SuppressWarnings("unused")
@@ -196,11 +209,11 @@ public class ResultListRepositoryDataJdbcAdapter implements ResultListRepository
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ResultList> findByEventId(EventId id) {
-        Collection<PersonRaceResultJdbcDto> personRaceResultJdbcDtos =
-                resultListJdbcRepository.findPersonRaceResultsByEventId(id.value());
-
-        return PersonRaceResultJdbcDto.asResultLists(personRaceResultJdbcDtos);
+        List<ResultList> resultLists = streamingJdbcTemplate.query(
+                ResultListAssembler.SELECT_BY_EVENT_ID_SQL, Map.of("eventId", id.value()), new ResultListAssembler());
+        return resultLists != null ? resultLists : List.of();
     }
 
     @Override
@@ -239,14 +252,13 @@ public class ResultListRepositoryDataJdbcAdapter implements ResultListRepository
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ResultList> findById(ResultListId resultListId) {
-        Collection<PersonRaceResultJdbcDto> personRaceResultJdbcDtos =
-                resultListJdbcRepository.findPersonRaceResultsByResultListId(resultListId.value());
-        if (personRaceResultJdbcDtos.isEmpty()) {
-            return Optional.empty();
-        }
-        return PersonRaceResultJdbcDto.asResultLists(personRaceResultJdbcDtos).stream()
-                .findFirst();
+        List<ResultList> resultLists = streamingJdbcTemplate.query(
+                ResultListAssembler.SELECT_BY_RESULT_LIST_ID_SQL,
+                Map.of("resultListId", resultListId.value()),
+                new ResultListAssembler());
+        return resultLists == null ? Optional.empty() : resultLists.stream().findFirst();
     }
 
     @Override
@@ -0,0 +1,211 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.RaceNumber;
+import de.jobst.resulter.domain.SplitTime;
+import de.jobst.resulter.domain.SplitTimeList;
+import de.jobst.resulter.domain.SplitTimeListId;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts new split time lists together with their split times without going through aggregate saves.
+ *
+ * <p>The split time lists are inserted with a JDBC batch returning the generated ids. The split times, by far the
+ * largest table, are streamed with {@code COPY ... FROM STDIN} on PostgreSQL and written with JDBC batch inserts on
+ * other databases (H2). Like the aggregate, which maps split times to a set, identical split times of a list are
+ * stored once.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "resulter.repository.inmemory", havingValue = "false")
+@Slf4j
+public class SplitTimeBulkWriter {
+
+    static final String INSERT_SPLIT_TIME_LIST_SQL = "INSERT INTO split_time_list "
+            + "(event_id, result_list_id, class_result_short_name, person_id, race_number) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_SPLIT_TIME_SQL =
+            "INSERT INTO split_time (split_time_list_id, control_code, punch_time) VALUES (?, ?, ?)";
+    static final String COPY_SPLIT_TIME_SQL =
+            "COPY split_time (split_time_list_id, control_code, punch_time) FROM STDIN";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SplitTimeBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the given split time lists, which must not be persistent yet.
+     *
+     * @return the inserted split time lists with their ids, in the given order
+     */
+    public List<SplitTimeList> insert(List<SplitTimeList> splitTimeLists) {
+        if (splitTimeLists.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<SplitTimeList>>) connection -> {
+            List<SplitTimeList> created = insertSplitTimeLists(connection, splitTimeLists);
+            long rows = connection.isWrapperFor(PGConnection.class)
+                    ? copySplitTimes(connection.unwrap(PGConnection.class), created)
+                    : insertSplitTimes(connection, created);
+            log.debug("Inserted {} split time lists with {} split times", created.size(), rows);
+            return created;
+        });
+    }
+
+    private static List<SplitTimeList> insertSplitTimeLists(Connection connection, List<SplitTimeList> splitTimeLists)
+            throws SQLException {
+        List<SplitTimeList> created = new ArrayList<>(splitTimeLists.size());
+        try (PreparedStatement statement =
+                connection.prepareStatement(INSERT_SPLIT_TIME_LIST_SQL, new String[] {"id"})) {
+            for (int from = 0; from < splitTimeLists.size(); from += BATCH_SIZE) {
+                List<SplitTimeList> batch =
+                        splitTimeLists.subList(from, Math.min(from + BATCH_SIZE, splitTimeLists.size()));
+                for (SplitTimeList splitTimeList : batch) {
+                    Byte raceNumber = splitTimeList.getRaceNumber().value();
+                    statement.setLong(1, splitTimeList.getEventId().value());
+                    statement.setLong(2, splitTimeList.getResultListId().value());
+                    statement.setString(3, splitTimeList.getClassResultShortName().value());
+                    statement.setLong(4, splitTimeList.getPersonId().value());
+                    statement.setByte(5, raceNumber != null ? raceNumber : (byte) 1);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    for (SplitTimeList splitTimeList : batch) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Missing generated id for split time list "
+                                    + splitTimeList.getDomainKey());
+                        }
+                        created.add(withId(splitTimeList, SplitTimeListId.of(generatedKeys.getLong(1))));
+                    }
+                }
+            }
+        }
+        return created;
+    }
+
+    private static SplitTimeList withId(SplitTimeList splitTimeList, SplitTimeListId id) {
+        Byte raceNumber = splitTimeList.getRaceNumber().value();
+        return new SplitTimeList(
+                id,
+                splitTimeList.getEventId(),
+                splitTimeList.getResultListId(),
+                splitTimeList.getClassResultShortName(),
+                splitTimeList.getPersonId(),
+                RaceNumber.of(raceNumber != null ? raceNumber : (byte) 1),
+                splitTimeList.getSplitTimes().stream()
+                        .map(x -> new SplitTime(x.controlCode(), x.punchTime(), id))
+                        .distinct()
+                        .toList());
+    }
+
+    private static long insertSplitTimes(Connection connection, List<SplitTimeList> splitTimeLists)
+            throws SQLException {
+        long rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SPLIT_TIME_SQL)) {
+            for (SplitTimeList splitTimeList : splitTimeLists) {
+                for (SplitTime splitTime : splitTimeList.getSplitTimes()) {
+                    String controlCode = splitTime.controlCode() != null ? splitTime.controlCode().value() : null;
+                    Double punchTime = splitTime.punchTime().value();
+                    statement.setLong(1, splitTime.splitTimeListId().value());
+                    statement.setString(2, controlCode);
+                    if (punchTime != null) {
+                        statement.setDouble(3, punchTime);
+                    } else {
+                        statement.setNull(3, Types.DOUBLE);
+                    }
+                    statement.addBatch();
+                    if (++rows % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            if (rows % BATCH_SIZE != 0) {
+                statement.executeBatch();
+            }
+        }
+        return rows;
+    }
+
+    private static long copySplitTimes(PGConnection connection, List<SplitTimeList> splitTimeLists)
+            throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SPLIT_TIME_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 64);
+            for (SplitTimeList splitTimeList : splitTimeLists) {
+                for (SplitTime splitTime : splitTimeList.getSplitTimes()) {
+                    appendCopyRow(buffer, splitTime);
+                    if (buffer.length() >= COPY_BUFFER_SIZE) {
+                        writeToCopy(copyIn, buffer);
+                    }
+                }
+            }
+            writeToCopy(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Appends a split time as a row of the {@code COPY} text format: tab separated columns, {@code \N} for null.
+     */
+    static void appendCopyRow(StringBuilder buffer, SplitTime splitTime) {
+        buffer.append(splitTime.splitTimeListId().value()).append('\t');
+        appendCopyValue(buffer, splitTime.controlCode() != null ? splitTime.controlCode().value() : null);
+        buffer.append('\t');
+        Double punchTime = splitTime.punchTime().value();
+        if (punchTime != null) {
+            buffer.append(punchTime.doubleValue());
+        } else {
+            buffer.append("\\N");
+        }
+        buffer.append('\n');
+    }
+
+    private static void appendCopyValue(StringBuilder buffer, @Nullable String value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.ClassGroupOption;
+import de.jobst.resulter.application.port.CourseGroupOption;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public interface SplitTimeListJdbcRepositoryCustom {
 
     Collection<SplitTimeListDbo> findByResultListIdOptimized(Long resultListId);
+    Collection<SplitTimeListDbo> findByResultListIdAndClassResultShortNames(
+            Long resultListId, Collection<String> classResultShortNames);
     Set<Long> existsByResultListIds(Collection<Long> resultListIds);
+    List<ClassGroupOption> countRunnersByClass(Long resultListId);
+    List<CourseGroupOption> countRunnersByCourse(Long resultListId);
 }
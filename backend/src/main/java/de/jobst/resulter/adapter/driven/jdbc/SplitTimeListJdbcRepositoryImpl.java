@@ -1,9 +1,12 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.ClassGroupOption;
+import de.jobst.resulter.application.port.CourseGroupOption;
 import de.jobst.resulter.domain.SplitTime;
 import de.jobst.resulter.domain.SplitTimeListId;
 import java.util.*;
 import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.simple.JdbcClient;
@@ -40,6 +43,40 @@ public class SplitTimeListJdbcRepositoryImpl implements SplitTimeListJdbcReposit
                 .query(splitTimeListRowMapper())
                 .list();
 
+        return withSplitTimes(lists);
+    }
+
+    @Override
+    public Collection<SplitTimeListDbo> findByResultListIdAndClassResultShortNames(
+            Long resultListId, Collection<String> classResultShortNames) {
+        if (classResultShortNames.isEmpty()) {
+            return List.of();
+        }
+
+        // uses the unique key on (result_list_id, class_result_short_name, ...)
+        List<SplitTimeListDbo> lists = jdbcClient
+                .sql(
+                        """
+                SELECT
+                    id,
+                    event_id,
+                    result_list_id,
+                    person_id,
+                    class_result_short_name,
+                    race_number
+                FROM split_time_list
+                WHERE result_list_id = :resultListId
+                  AND class_result_short_name IN (:classResultShortNames)
+                """)
+                .param("resultListId", resultListId)
+                .param("classResultShortNames", classResultShortNames)
+                .query(splitTimeListRowMapper())
+                .list();
+
+        return withSplitTimes(lists);
+    }
+
+    private List<SplitTimeListDbo> withSplitTimes(List<SplitTimeListDbo> lists) {
         if (lists.isEmpty()) {
             return List.of();
         }
@@ -86,6 +123,68 @@ public class SplitTimeListJdbcRepositoryImpl implements SplitTimeListJdbcReposit
                 .list());
     }
 
+    @Override
+    public List<ClassGroupOption> countRunnersByClass(Long resultListId) {
+        return jdbcClient
+                .sql(
+                        """
+                        SELECT class_result_short_name, COUNT(*) AS runner_count
+                        FROM split_time_list
+                        WHERE result_list_id = :resultListId
+                        GROUP BY class_result_short_name
+                        ORDER BY class_result_short_name
+                        """)
+                .param("resultListId", resultListId)
+                .query((rs, rowNum) ->
+                        new ClassGroupOption(rs.getString("class_result_short_name"), rs.getInt("runner_count")))
+                .list();
+    }
+
+    @Override
+    public List<CourseGroupOption> countRunnersByCourse(Long resultListId) {
+        // one row per class with a course, also for classes without split times
+        List<CourseClassCount> rows = jdbcClient
+                .sql(
+                        """
+                        SELECT
+                            cr.course_id,
+                            c.name AS course_name,
+                            cr.short_name,
+                            (SELECT COUNT(*)
+                             FROM split_time_list stl
+                             WHERE stl.result_list_id = cr.result_list_id
+                               AND stl.class_result_short_name = cr.short_name) AS runner_count
+                        FROM class_result cr
+                        LEFT JOIN course c ON c.id = cr.course_id
+                        WHERE cr.result_list_id = :resultListId
+                          AND cr.course_id IS NOT NULL
+                        ORDER BY cr.course_id, cr.short_name
+                        """)
+                .param("resultListId", resultListId)
+                .query((rs, rowNum) -> new CourseClassCount(
+                        rs.getLong("course_id"),
+                        rs.getString("course_name"),
+                        rs.getString("short_name"),
+                        rs.getInt("runner_count")))
+                .list();
+
+        Map<Long, List<CourseClassCount>> rowsByCourse =
+                rows.stream().collect(Collectors.groupingBy(CourseClassCount::courseId, LinkedHashMap::new,
+                        Collectors.toList()));
+        return rowsByCourse.entrySet().stream()
+                .map(entry -> {
+                    List<CourseClassCount> classes = entry.getValue();
+                    String courseName = classes.getFirst().courseName();
+                    return new CourseGroupOption(
+                            entry.getKey(),
+                            courseName != null ? courseName : "Course " + entry.getKey(),
+                            classes.stream().map(CourseClassCount::className).toList(),
+                            classes.stream().mapToInt(CourseClassCount::runnerCount).sum());
+                })
+                .sorted(Comparator.comparing(CourseGroupOption::courseName))
+                .toList();
+    }
+
     private RowMapper<SplitTimeListDbo> splitTimeListRowMapper() {
         return (rs, rowNum) -> {
             SplitTimeListDbo dbo = new SplitTimeListDbo(
@@ -106,4 +205,7 @@ public class SplitTimeListJdbcRepositoryImpl implements SplitTimeListJdbcReposit
                 rs.getDouble("punch_time"),
                 SplitTimeListId.of(rs.getLong("split_time_list_id"))));
     }
+
+    private record CourseClassCount(
+            long courseId, @Nullable String courseName, String className, int runnerCount) {}
 }
@@ -1,5 +1,7 @@
 package de.jobst.resulter.adapter.driven.jdbc;
 
+import de.jobst.resulter.application.port.ClassGroupOption;
+import de.jobst.resulter.application.port.CourseGroupOption;
 import de.jobst.resulter.application.port.SplitTimeListRepository;
 import de.jobst.resulter.domain.ClassResultShortName;
 import de.jobst.resulter.domain.EventId;
@@ -31,11 +33,15 @@ public class SplitTimeListRepositoryDataJdbcAdapter implements SplitTimeListRepo
 
     private final SplitTimeListJdbcRepository splitTimeListJdbcRepository;
     private final JdbcClient jdbcClient;
+    private final SplitTimeBulkWriter splitTimeBulkWriter;
 
     public SplitTimeListRepositoryDataJdbcAdapter(
-            SplitTimeListJdbcRepository splitTimeListJdbcRepository, JdbcClient jdbcClient) {
+            SplitTimeListJdbcRepository splitTimeListJdbcRepository,
+            JdbcClient jdbcClient,
+            SplitTimeBulkWriter splitTimeBulkWriter) {
         this.splitTimeListJdbcRepository = splitTimeListJdbcRepository;
         this.jdbcClient = jdbcClient;
+        this.splitTimeBulkWriter = splitTimeBulkWriter;
     }
 
     @Override
@@ -108,8 +114,7 @@ public class SplitTimeListRepositoryDataJdbcAdapter implements SplitTimeListRepo
         }
 
         if (!toCreate.isEmpty()) {
-            List<SplitTimeList> created = batchInsertSplitTimeLists(toCreate);
-            results.addAll(created);
+            results.addAll(splitTimeBulkWriter.insert(toCreate));
         }
 
         return results;
@@ -176,15 +181,6 @@ public class SplitTimeListRepositoryDataJdbcAdapter implements SplitTimeListRepo
         return found.stream().collect(Collectors.toMap(SplitTimeList::getDomainKey, s -> s));
     }
 
-    private List<SplitTimeList> batchInsertSplitTimeLists(List<SplitTimeList> splitTimeLists) {
-        List<SplitTimeList> created = new ArrayList<>();
-        for (SplitTimeList splitTimeList : splitTimeLists) {
-            SplitTimeList saved = save(splitTimeList);
-            created.add(saved);
-        }
-        return created;
-    }
-
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void replacePersonId(PersonId oldPersonId, PersonId newPersonId) {
@@ -206,6 +202,18 @@ public class SplitTimeListRepositoryDataJdbcAdapter implements SplitTimeListRepo
         return SplitTimeListDbo.asSplitTimeLists(splitTimeListDbos).stream().toList();
     }
 
+    @Override
+    public List<SplitTimeList> findByResultListIdAndClassResultShortNames(
+            ResultListId resultListId, Collection<ClassResultShortName> classResultShortNames) {
+        Collection<SplitTimeListDbo> splitTimeListDbos =
+                splitTimeListJdbcRepository.findByResultListIdAndClassResultShortNames(
+                        resultListId.value(),
+                        classResultShortNames.stream()
+                                .map(ClassResultShortName::value)
+                                .collect(Collectors.toSet()));
+        return SplitTimeListDbo.asSplitTimeLists(splitTimeListDbos).stream().toList();
+    }
+
     @Override
     public Set<ResultListId> existsByResultListIds(Collection<ResultListId> resultListIds) {
         if (resultListIds == null || resultListIds.isEmpty()) {
@@ -217,4 +225,14 @@ public class SplitTimeListRepositoryDataJdbcAdapter implements SplitTimeListRepo
 
         return existingResultListIds.stream().map(ResultListId::of).collect(Collectors.toSet());
     }
+
+    @Override
+    public List<ClassGroupOption> countRunnersByClass(ResultListId resultListId) {
+        return splitTimeListJdbcRepository.countRunnersByClass(resultListId.value());
+    }
+
+    @Override
+    public List<CourseGroupOption> countRunnersByCourse(ResultListId resultListId) {
+        return splitTimeListJdbcRepository.countRunnersByCourse(resultListId.value());
+    }
 }
@@ -0,0 +1,36 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import de.jobst.resulter.application.ContentVersions.ContentVersion;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET for content with a {@link ContentVersion}: answers {@code If-None-Match} and
+ * {@code If-Modified-Since} requests for unchanged content with 304 before the body is computed.
+ */
+final class ConditionalGet {
+
+    // clients may store the response but have to revalidate it on every use
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {}
+
+    static <T> ResponseEntity<T> ifModified(WebRequest request, ContentVersion version, Supplier<T> body) {
+        // the version is read before the body, so a concurrent change can only cause another full response
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.etag())
+                    .lastModified(version.lastModified())
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .cacheControl(CACHE_CONTROL)
+                .body(body.get());
+    }
+}
@@ -6,6 +6,7 @@ import de.jobst.resulter.adapter.driver.web.dto.CupScoreListDto;
 import de.jobst.resulter.adapter.driver.web.dto.CupTypeDto;
 import de.jobst.resulter.adapter.driver.web.mapper.CupDetailedMapper;
 import de.jobst.resulter.adapter.driver.web.mapper.CupMapper;
+import de.jobst.resulter.application.ContentVersions;
 import de.jobst.resulter.application.port.CupQueryService;
 import de.jobst.resulter.application.port.CupService;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
@@ -14,6 +15,7 @@ import de.jobst.resulter.domain.CupName;
 import de.jobst.resulter.domain.CupScoreList;
 import de.jobst.resulter.domain.CupType;
 import de.jobst.resulter.domain.EventId;
+import de.jobst.resulter.domain.util.ResourceNotFoundException;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,6 +37,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @Slf4j
@@ -42,10 +45,12 @@ public class CupController {
 
     private final CupService cupService;
     private final CupQueryService cupQueryService;
+    private final ContentVersions contentVersions;
 
-    public CupController(CupService cupService, CupQueryService cupQueryService) {
+    public CupController(CupService cupService, CupQueryService cupQueryService, ContentVersions contentVersions) {
         this.cupService = cupService;
         this.cupQueryService = cupQueryService;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/cup_types")
@@ -60,16 +65,24 @@ public class CupController {
         return ResponseEntity.ok(CupMapper.toDtos(result.cups(), result.eventMap()));
     }
 
+    /**
+     * Pages of cups, keyset paginated with a {@code cursor} or {@code count} parameter, see {@link KeysetPaging}.
+     */
     @GetMapping("/cup")
     public ResponseEntity<Page<CupDto>> searchCups(
-            @RequestParam(required = false) Optional<String> filter, @Nullable Pageable pageable) {
-        var result = cupQueryService.findAll(
-                filter.orElse(null),
-                pageable != null
-                        ? FilterAndSortConverter.mapOrderProperties(pageable, CupDto::mapOrdersDtoToDomain)
-                        : Pageable.unpaged());
+            @RequestParam(required = false) Optional<String> filter,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<String> count,
+            @Nullable Pageable pageable) {
+        Pageable mappedPageable = pageable != null
+                ? FilterAndSortConverter.mapOrderProperties(pageable, CupDto::mapOrdersDtoToDomain)
+                : Pageable.unpaged();
+        var result = KeysetPaging.requested(cursor, count)
+                ? cupQueryService.findPage(
+                        filter.orElse(null), mappedPageable, KeysetPaging.cursor(cursor), KeysetPaging.countMode(count))
+                : cupQueryService.findAll(filter.orElse(null), mappedPageable);
 
-        return ResponseEntity.ok(new PageImpl<>(
+        return KeysetPaging.ok(result.nextCursor(), result.totalEstimated()).body(new PageImpl<>(
                 CupMapper.toDtos(result.cups(), result.eventMap()),
                 FilterAndSortConverter.mapOrderProperties(result.resolvedPageable(), CupDto::mapOrdersDomainToDto),
                 result.totalElements()));
@@ -85,11 +98,13 @@ public class CupController {
     }
 
     @GetMapping("/cup/{id}/results")
-    public ResponseEntity<CupDetailedDto> getCupDetailed(@PathVariable Long id) {
-        return cupQueryService
-                .findCupDetailed(id)
-                .map(CupDetailedMapper::toDto)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<CupDetailedDto> getCupDetailed(@PathVariable Long id, WebRequest request) {
+        return cupService
+                .findById(CupId.of(id))
+                .map(cup -> ConditionalGet.ifModified(request, contentVersions.cup(cup), () -> cupQueryService
+                        .findCupDetailed(id)
+                        .map(CupDetailedMapper::toDto)
+                        .orElseThrow(ResourceNotFoundException::new)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -17,7 +17,6 @@ import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -34,9 +33,6 @@ public class EventCertificateController {
     private final EventCertificateService eventCertificateService;
     private final EventCertificateQueryService eventCertificateQueryService;
 
-    @Value("#{'${resulter.media-file-path-thumbnails}'}")
-    private String mediaFileThumbnailsPath;
-
     public EventCertificateController(
             EventCertificateService eventCertificateService,
             EventCertificateQueryService eventCertificateQueryService) {
@@ -49,7 +45,7 @@ public class EventCertificateController {
     public ResponseEntity<List<EventCertificateDto>> getAllEventCertificates() {
         var result = eventCertificateQueryService.findAll();
         return ResponseEntity.ok(EventCertificateMapper.toDtos(
-                result.eventCertificates(), result.eventMap(), result.mediaFileMap(), mediaFileThumbnailsPath));
+                result.eventCertificates(), result.eventMap(), result.mediaFileMap()));
     }
 
     @GetMapping("/event_certificate")
@@ -63,7 +59,7 @@ public class EventCertificateController {
                         : Pageable.unpaged());
         return ResponseEntity.ok(new PageImpl<>(
                 EventCertificateMapper.toDtos(
-                        result.eventCertificates(), result.eventMap(), result.mediaFileMap(), mediaFileThumbnailsPath),
+                        result.eventCertificates(), result.eventMap(), result.mediaFileMap()),
                 FilterAndSortConverter.mapOrderProperties(
                         result.resolvedPageable(), EventCertificateDto::mapOrdersDomainToDto),
                 result.totalElements()));
@@ -82,10 +78,7 @@ public class EventCertificateController {
         return eventCertificateQueryService
                 .findById(eventCertificate.getId().value())
                 .map(result -> EventCertificateMapper.toDtos(
-                                result.eventCertificates(),
-                                result.eventMap(),
-                                result.mediaFileMap(),
-                                mediaFileThumbnailsPath)
+                                result.eventCertificates(), result.eventMap(), result.mediaFileMap())
                         .get(0))
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -97,10 +90,7 @@ public class EventCertificateController {
         return eventCertificateQueryService
                 .findById(id)
                 .map(result -> EventCertificateMapper.toDtos(
-                                result.eventCertificates(),
-                                result.eventMap(),
-                                result.mediaFileMap(),
-                                mediaFileThumbnailsPath)
+                                result.eventCertificates(), result.eventMap(), result.mediaFileMap())
                         .get(0))
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -121,10 +111,7 @@ public class EventCertificateController {
         return eventCertificateQueryService
                 .findById(id)
                 .map(result -> EventCertificateMapper.toDtos(
-                                result.eventCertificates(),
-                                result.eventMap(),
-                                result.mediaFileMap(),
-                                mediaFileThumbnailsPath)
+                                result.eventCertificates(), result.eventMap(), result.mediaFileMap())
                         .get(0))
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
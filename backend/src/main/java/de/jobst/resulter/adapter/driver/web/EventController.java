@@ -7,6 +7,7 @@ import de.jobst.resulter.adapter.driver.web.dto.EventResultsDto;
 import de.jobst.resulter.adapter.driver.web.dto.EventStatusDto;
 import de.jobst.resulter.adapter.driver.web.mapper.EventMapper;
 import de.jobst.resulter.adapter.driver.web.mapper.EventResultsMapper;
+import de.jobst.resulter.application.ContentVersions;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.*;
@@ -29,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @Slf4j
@@ -40,17 +42,21 @@ public class EventController {
     private final ResultListService resultListService;
     private final MediaFileService mediaFileService;
     private final CupRepository cupRepository;
+    private final ContentVersions contentVersions;
+
     public EventController(
             EventService eventService,
             EventQueryService eventQueryService,
             ResultListService resultListService,
             MediaFileService mediaFileService,
-            CupRepository cupRepository) {
+            CupRepository cupRepository,
+            ContentVersions contentVersions) {
         this.eventService = eventService;
         this.eventQueryService = eventQueryService;
         this.resultListService = resultListService;
         this.mediaFileService = mediaFileService;
         this.cupRepository = cupRepository;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping("/event/all")
@@ -61,16 +67,25 @@ public class EventController {
         return ResponseEntity.ok(dtos.stream().sorted(Comparator.reverseOrder()).toList());
     }
 
+    /**
+     * Pages of events, keyset paginated with a {@code cursor} or {@code count} parameter, see {@link KeysetPaging}.
+     */
     @GetMapping("/event")
     public ResponseEntity<Page<EventDto>> searchEvents(
-            @RequestParam Optional<String> filter, @Nullable Pageable pageable) {
+            @RequestParam Optional<String> filter,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<String> count,
+            @Nullable Pageable pageable) {
         Pageable mappedPageable = pageable != null
                 ? FilterAndSortConverter.mapOrderProperties(pageable, EventDto::mapOrdersDtoToDomain)
                 : Pageable.unpaged();
-        EventBatchResult result = eventQueryService.findAll(filter.orElse(null), mappedPageable);
+        EventBatchResult result = KeysetPaging.requested(cursor, count)
+                ? eventQueryService.findPage(
+                        filter.orElse(null), mappedPageable, KeysetPaging.cursor(cursor), KeysetPaging.countMode(count))
+                : eventQueryService.findAll(filter.orElse(null), mappedPageable);
         List<EventDto> dtos = EventMapper.toDtos(
                 result.events(), result.hasSplitTimesMap(), result.organisationMap(), result.certificateMap());
-        return ResponseEntity.ok(new PageImpl<>(
+        return KeysetPaging.ok(result.nextCursor(), result.totalEstimated()).body(new PageImpl<>(
                 dtos,
                 FilterAndSortConverter.mapOrderProperties(result.resolvedPageable(), EventDto::mapOrdersDomainToDto),
                 result.totalElements()));
@@ -177,11 +192,12 @@ public class EventController {
     }
 
     @GetMapping("/event/{id}/results")
-    public ResponseEntity<EventResultsDto> getEventResults(@PathVariable Long id) {
-        Event event = eventService.findById(EventId.of(id)).orElseThrow(ResourceNotFoundException::new);
-        boolean eventHasCup = !cupRepository.findByEvent(event.getId()).isEmpty();
-        return ResponseEntity.ok(
-                EventResultsMapper.toDto(event, eventHasCup, resultListService.findByEventId(event.getId())));
+    public ResponseEntity<EventResultsDto> getEventResults(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.ifModified(request, contentVersions.event(EventId.of(id)), () -> {
+            Event event = eventService.findById(EventId.of(id)).orElseThrow(ResourceNotFoundException::new);
+            boolean eventHasCup = !cupRepository.findByEvent(event.getId()).isEmpty();
+            return EventResultsMapper.toDto(event, eventHasCup, resultListService.findByEventId(event.getId()));
+        });
     }
 
     @PutMapping("/event/{id}/certificate")
@@ -0,0 +1,152 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import de.jobst.resulter.domain.Event;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * State and progress of one asynchronous result list import, see {@link ImportJobService}.
+ */
+public final class ImportJob implements ImportProgress {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final String id;
+    private final @Nullable String fileName;
+    private final Clock clock;
+    private final Instant createdAt;
+
+    // guarded by this
+    private Status status = Status.QUEUED;
+    private @Nullable ImportPhase phase;
+    private @Nullable Instant phaseStartedAt;
+    private final Map<ImportPhase, Duration> phaseDurations = new EnumMap<>(ImportPhase.class);
+    private int classResults;
+    private int classResultsImported;
+    private @Nullable Instant startedAt;
+    private @Nullable Instant finishedAt;
+    private @Nullable Event event;
+    private @Nullable String error;
+
+    ImportJob(String id, @Nullable String fileName, Clock clock) {
+        this.id = id;
+        this.fileName = fileName;
+        this.clock = clock;
+        this.createdAt = clock.instant();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public @Nullable String getFileName() {
+        return fileName;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized @Nullable ImportPhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Durations of the finished phases and the running time of the current phase, in phase order.
+     */
+    public synchronized Map<ImportPhase, Duration> getPhaseDurations() {
+        Map<ImportPhase, Duration> durations = new EnumMap<>(phaseDurations);
+        if (phase != null && phaseStartedAt != null) {
+            durations.put(phase, Duration.between(phaseStartedAt, clock.instant()));
+        }
+        return durations;
+    }
+
+    public synchronized int getClassResults() {
+        return classResults;
+    }
+
+    public synchronized int getClassResultsImported() {
+        return classResultsImported;
+    }
+
+    public synchronized @Nullable Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized @Nullable Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized @Nullable Event getEvent() {
+        return event;
+    }
+
+    public synchronized @Nullable String getError() {
+        return error;
+    }
+
+    public synchronized boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    synchronized void started() {
+        status = Status.RUNNING;
+        startedAt = clock.instant();
+    }
+
+    @Override
+    public synchronized void phaseStarted(ImportPhase nextPhase) {
+        endPhase();
+        phase = nextPhase;
+        phaseStartedAt = clock.instant();
+    }
+
+    @Override
+    public synchronized void classResultsFound(int count) {
+        classResults = count;
+    }
+
+    @Override
+    public synchronized void classResultImported() {
+        classResultsImported++;
+    }
+
+    synchronized void succeeded(Event importedEvent) {
+        finish(Status.SUCCEEDED);
+        event = importedEvent;
+    }
+
+    synchronized void failed(String message) {
+        finish(Status.FAILED);
+        error = message;
+    }
+
+    private void finish(Status finalStatus) {
+        endPhase();
+        phase = null;
+        status = finalStatus;
+        finishedAt = clock.instant();
+    }
+
+    private void endPhase() {
+        if (phase != null && phaseStartedAt != null) {
+            phaseDurations.merge(phase, Duration.between(phaseStartedAt, clock.instant()), Duration::plus);
+        }
+        phaseStartedAt = null;
+    }
+}
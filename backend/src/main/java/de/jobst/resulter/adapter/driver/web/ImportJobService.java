@@ -0,0 +1,212 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs result list imports in the background, so that an upload does not hold a request thread and a database
+ * connection for the whole import.
+ *
+ * <p>Imports are executed by a fixed number of workers from a bounded queue; uploads beyond the queue capacity are
+ * rejected with a {@link RejectedExecutionException}. Imports of the same event are serialized, they would otherwise
+ * race on creating the same event, races and result lists. Finished jobs are kept for status requests until more
+ * than {@code resulter.import.jobs.retained} jobs exist.</p>
+ */
+@Service
+@Slf4j
+public class ImportJobService implements AutoCloseable {
+
+    private final XMLImportService importService;
+    private final XmlParser xmlParser;
+    private final int retainedJobs;
+    private final Clock clock = Clock.systemUTC();
+    private final ThreadPoolExecutor executor;
+
+    // insertion ordered, finished jobs are discarded oldest first; guarded by itself
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    // locks of the events currently imported or waiting; guarded by itself
+    private final Map<String, EventLock> eventLocks = new HashMap<>();
+
+    public ImportJobService(
+            XMLImportService importService,
+            XmlParser xmlParser,
+            @Value("${resulter.import.jobs.workers:2}") int workers,
+            @Value("${resulter.import.jobs.queue-capacity:10}") int queueCapacity,
+            @Value("${resulter.import.jobs.retained:100}") int retainedJobs) {
+        this.importService = importService;
+        this.xmlParser = xmlParser;
+        this.retainedJobs = retainedJobs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Copies the upload to a temporary file and queues its import.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public ImportJob submit(@Nullable String fileName, InputStreamSource upload) throws IOException {
+        // the upload itself is deleted at the end of the request
+        Path file = Files.createTempFile("resulter-import-", ".xml");
+        try (InputStream inputStream = upload.getInputStream()) {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteFile(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName, clock);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        try {
+            executor.execute(new ImportTask(job, file));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+            }
+            deleteFile(file);
+            throw e;
+        }
+        log.info("Queued import job {} of {}", job.getId(), fileName);
+        return job;
+    }
+
+    public Optional<ImportJob> findById(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Runnable runnable : executor.shutdownNow()) {
+            if (runnable instanceof ImportTask task) {
+                deleteFile(task.file);
+            }
+        }
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.started();
+        FileSystemResource source = new FileSystemResource(file);
+        try {
+            String eventName;
+            try (InputStream inputStream = source.getInputStream()) {
+                eventName = Optional.ofNullable(xmlParser.readHeader(inputStream).getEvent())
+                        .map(de.jobst.resulter.adapter.driver.web.jaxb.Event::getName)
+                        .orElse("");
+            }
+            job.phaseStarted(ImportPhase.WAITING);
+            EventLock eventLock = lockEvent(eventName);
+            try {
+                XMLImportService.ImportResult importResult = importService.importFile(source, job);
+                job.succeeded(importResult.event());
+            } finally {
+                unlockEvent(eventName, eventLock);
+            }
+            log.info("Import job {} of {} finished in {}", job.getId(), job.getFileName(), job.getPhaseDurations());
+        } catch (Exception e) {
+            log.warn("Import job {} of {} failed", job.getId(), job.getFileName(), e);
+            job.failed(ExceptionUtils.getRootCauseMessage(e));
+        } finally {
+            deleteFile(file);
+            discardFinishedJobs();
+        }
+    }
+
+    private EventLock lockEvent(String eventName) {
+        EventLock eventLock;
+        synchronized (eventLocks) {
+            eventLock = eventLocks.computeIfAbsent(eventName, name -> new EventLock());
+            eventLock.users++;
+        }
+        eventLock.lock.lock();
+        return eventLock;
+    }
+
+    private void unlockEvent(String eventName, EventLock eventLock) {
+        eventLock.lock.unlock();
+        synchronized (eventLocks) {
+            if (--eventLock.users == 0) {
+                eventLocks.remove(eventName);
+            }
+        }
+    }
+
+    private void discardFinishedJobs() {
+        synchronized (jobs) {
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            while (jobs.size() > retainedJobs && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private static final class EventLock {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // guarded by eventLocks
+        private int users;
+    }
+
+    private final class ImportTask implements Runnable {
+
+        private final ImportJob job;
+        private final Path file;
+
+        private ImportTask(ImportJob job, Path file) {
+            this.job = job;
+            this.file = file;
+        }
+
+        @Override
+        public void run() {
+            ImportJobService.this.run(job, file);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package de.jobst.resulter.adapter.driver.web;
+
+/**
+ * Phases of a result list import, in order.
+ */
+public enum ImportPhase {
+    /** waiting for an import of the same event to finish */
+    WAITING,
+    /** reading the file and collecting countries, organisations, persons, courses and races */
+    READING,
+    /** creating or finding countries, organisations, persons, the event, races, courses and result lists */
+    REFERENCES,
+    /** building the class results and persisting split times */
+    CLASS_RESULTS,
+    /** saving the result lists */
+    SAVING
+}
@@ -0,0 +1,18 @@
+package de.jobst.resulter.adapter.driver.web;
+
+/**
+ * Receives the progress of a result list import.
+ */
+public interface ImportProgress {
+
+    ImportProgress NONE = new ImportProgress() {};
+
+    default void phaseStarted(ImportPhase phase) {}
+
+    /**
+     * Called once the number of class results of the file is known.
+     */
+    default void classResultsFound(int classResults) {}
+
+    default void classResultImported() {}
+}
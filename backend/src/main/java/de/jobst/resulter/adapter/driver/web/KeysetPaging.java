@@ -0,0 +1,46 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import de.jobst.resulter.application.port.KeysetPage;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Request parameters and response headers of keyset paginated lists. With a {@code cursor} parameter (empty for the
+ * first page) or a {@code count} parameter a list is keyset paginated: the token for the following page is returned
+ * in the {@value #NEXT_CURSOR_HEADER} header, and {@code count=estimated} returns a cached total instead of counting
+ * on every page.
+ */
+final class KeysetPaging {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_ESTIMATED_HEADER = "X-Total-Count-Estimated";
+
+    private KeysetPaging() {}
+
+    static boolean requested(Optional<String> cursor, Optional<String> count) {
+        return cursor.isPresent() || count.isPresent();
+    }
+
+    static @Nullable String cursor(Optional<String> cursor) {
+        return cursor.filter(x -> !x.isBlank()).orElse(null);
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown count modes
+     */
+    static KeysetPage.CountMode countMode(Optional<String> count) {
+        return count.map(KeysetPage.CountMode::of).orElse(KeysetPage.CountMode.EXACT);
+    }
+
+    static ResponseEntity.BodyBuilder ok(@Nullable String nextCursor, boolean totalEstimated) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        if (totalEstimated) {
+            response.header(TOTAL_COUNT_ESTIMATED_HEADER, "true");
+        }
+        return response;
+    }
+}
@@ -1,17 +1,20 @@
 package de.jobst.resulter.adapter.driver.web;
 
 import de.jobst.resulter.adapter.driver.web.dto.MediaFileDto;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.MediaFileService;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.*;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,8 +26,8 @@ public class MediaFileController {
 
     public static final String FILE = "file";
 
-    @Value("#{'${resulter.media-file-path-thumbnails}'}")
-    private String mediaFileThumbnailsPath;
+    private static final CacheControl THUMBNAIL_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
 
     private final MediaFileService mediaFileService;
 
@@ -36,21 +39,37 @@ public class MediaFileController {
     public ResponseEntity<List<MediaFileDto>> getAllMediaFiles() {
         List<MediaFile> mediaFiles = mediaFileService.findAll();
         return ResponseEntity.ok(mediaFiles.stream()
-                .map(m -> MediaFileDto.from(m, mediaFileThumbnailsPath))
+                .map(MediaFileDto::from)
                 .toList());
     }
 
+    /**
+     * Pages of media files, keyset paginated with a {@code cursor} or {@code count} parameter, see
+     * {@link KeysetPaging}.
+     */
     @GetMapping("/media")
     public ResponseEntity<Page<MediaFileDto>> searchMediaFiles(
-            @RequestParam Optional<String> filter, @Nullable Pageable pageable) {
-        Page<MediaFile> mediaFiles = mediaFileService.findAll(
-                filter.orElse(null),
-                pageable != null
-                        ? FilterAndSortConverter.mapOrderProperties(pageable, MediaFileDto::mapOrdersDtoToDomain)
-                        : Pageable.unpaged());
-        return ResponseEntity.ok(new PageImpl<>(
+            @RequestParam Optional<String> filter,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<String> count,
+            @Nullable Pageable pageable) {
+        Pageable mappedPageable = pageable != null
+                ? FilterAndSortConverter.mapOrderProperties(pageable, MediaFileDto::mapOrdersDtoToDomain)
+                : Pageable.unpaged();
+        ResponseEntity.BodyBuilder response;
+        Page<MediaFile> mediaFiles;
+        if (KeysetPaging.requested(cursor, count)) {
+            KeysetPage<MediaFile> page = mediaFileService.findPage(
+                    filter.orElse(null), mappedPageable, KeysetPaging.cursor(cursor), KeysetPaging.countMode(count));
+            response = KeysetPaging.ok(page.nextCursor(), page.totalEstimated());
+            mediaFiles = page.toPage();
+        } else {
+            response = ResponseEntity.ok();
+            mediaFiles = mediaFileService.findAll(filter.orElse(null), mappedPageable);
+        }
+        return response.body(new PageImpl<>(
                 mediaFiles.getContent().stream()
-                        .map(x -> MediaFileDto.from(x, mediaFileThumbnailsPath))
+                        .map(MediaFileDto::from)
                         .toList(),
                 FilterAndSortConverter.mapOrderProperties(mediaFiles.getPageable(), MediaFileDto::mapOrdersDomainToDto),
                 mediaFiles.getTotalElements()));
@@ -61,7 +80,24 @@ public class MediaFileController {
     public ResponseEntity<MediaFileDto> getMediaFile(@PathVariable Long id) {
         Optional<MediaFile> mediaFile = mediaFileService.findById(MediaFileId.of(id));
         return mediaFile
-                .map(value -> ResponseEntity.ok(MediaFileDto.from(value, mediaFileThumbnailsPath)))
+                .map(value -> ResponseEntity.ok(MediaFileDto.from(value)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams the thumbnail of a media file. Browsers revalidate with {@code If-None-Match} or
+     * {@code If-Modified-Since} and get a {@code 304 Not Modified} as long as the thumbnail did not change.
+     */
+    @GetMapping("/media/{id}/thumbnail")
+    public ResponseEntity<byte[]> getMediaFileThumbnail(@PathVariable Long id) {
+        return mediaFileService
+                .getThumbnail(MediaFileId.of(id))
+                .map(thumbnail -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .cacheControl(THUMBNAIL_CACHE_CONTROL)
+                        .eTag(thumbnail.eTag())
+                        .lastModified(thumbnail.lastModified())
+                        .body(thumbnail.content()))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -76,7 +112,7 @@ public class MediaFileController {
                 MediaFileDescription.of(mediaFileDto.description()));
 
         if (null != mediaFile) {
-            return ResponseEntity.ok(MediaFileDto.from(mediaFile, mediaFileThumbnailsPath));
+            return ResponseEntity.ok(MediaFileDto.from(mediaFile));
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -44,16 +44,26 @@ public class OrganisationController {
                 result.organisations(), result.countryMap(), result.childOrganisationMap()));
     }
 
+    /**
+     * Pages of organisations, keyset paginated with a {@code cursor} or {@code count} parameter, see
+     * {@link KeysetPaging}.
+     */
     @GetMapping("")
     public ResponseEntity<Page<OrganisationDto>> searchOrganisations(
-            @RequestParam Optional<String> filter, @Nullable Pageable pageable) {
+            @RequestParam Optional<String> filter,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<String> count,
+            @Nullable Pageable pageable) {
         Pageable mappedPageable = pageable != null
                 ? FilterAndSortConverter.mapOrderProperties(pageable, OrganisationDto::mapOrdersDtoToDomain)
                 : Pageable.unpaged();
-        OrganisationBatchResult result = organisationQueryService.findAll(filter.orElse(null), mappedPageable);
+        OrganisationBatchResult result = KeysetPaging.requested(cursor, count)
+                ? organisationQueryService.findPage(
+                        filter.orElse(null), mappedPageable, KeysetPaging.cursor(cursor), KeysetPaging.countMode(count))
+                : organisationQueryService.findAll(filter.orElse(null), mappedPageable);
         List<OrganisationDto> dtos = OrganisationMapper.toDtos(
                 result.organisations(), result.countryMap(), result.childOrganisationMap());
-        return ResponseEntity.ok(new PageImpl<>(
+        return KeysetPaging.ok(result.nextCursor(), result.totalEstimated()).body(new PageImpl<>(
                 dtos,
                 FilterAndSortConverter.mapOrderProperties(
                         result.resolvedPageable(), OrganisationDto::mapOrdersDomainToDto),
@@ -3,6 +3,7 @@ package de.jobst.resulter.adapter.driver.web;
 import de.jobst.resulter.adapter.driver.web.dto.GenderDto;
 import de.jobst.resulter.adapter.driver.web.dto.PersonDto;
 import de.jobst.resulter.adapter.driver.web.mapper.PersonMapper;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.PersonService;
 import de.jobst.resulter.application.util.FilterAndSortConverter;
 import de.jobst.resulter.domain.*;
@@ -36,39 +37,54 @@ public class PersonController {
         return ResponseEntity.ok(PersonMapper.toDtos(persons));
     }
 
+    /**
+     * Pages of persons, keyset paginated with a {@code cursor} or {@code count} parameter, see {@link KeysetPaging}.
+     */
     @GetMapping("/person")
     public ResponseEntity<Page<PersonDto>> searchPersons(
             @RequestParam Optional<String> filter,
             @RequestParam Optional<Boolean> duplicates,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<String> count,
             @Nullable Pageable pageable) {
-        boolean dup = duplicates.orElse(false);
-        Pageable mapped = pageable != null
-                ? FilterAndSortConverter.mapOrderProperties(pageable, PersonDto::mapOrdersDtoToDomain)
-                : Pageable.unpaged();
-        Page<Person> persons = personService.findAllOrPossibleDuplicates(filter.orElse(null), mapped, dup);
-
-        // Determine which persons should show merge button (only when duplicates mode is active)
-        java.util.Set<Long> groupLeaders =
-                dup ? personService.determineGroupLeaders(persons.getContent()) : java.util.Collections.emptySet();
-
-        return ResponseEntity.ok(new PageImpl<>(
-                PersonMapper.toDtos(persons.getContent(), groupLeaders),
-                FilterAndSortConverter.mapOrderProperties(persons.getPageable(), PersonDto::mapOrdersDomainToDto),
-                persons.getTotalElements()));
+        return searchPersons(filter.orElse(null), duplicates.orElse(false), cursor, count, pageable);
     }
 
     @GetMapping("/person/duplicates")
     public ResponseEntity<Page<PersonDto>> searchDuplicatePersons(
-            @RequestParam Optional<String> filter, @Nullable Pageable pageable) {
+            @RequestParam Optional<String> filter,
+            @RequestParam Optional<String> cursor,
+            @RequestParam Optional<String> count,
+            @Nullable Pageable pageable) {
+        return searchPersons(filter.orElse(null), true, cursor, count, pageable);
+    }
+
+    private ResponseEntity<Page<PersonDto>> searchPersons(
+            @Nullable String filter,
+            boolean dup,
+            Optional<String> cursor,
+            Optional<String> count,
+            @Nullable Pageable pageable) {
         Pageable mapped = pageable != null
                 ? FilterAndSortConverter.mapOrderProperties(pageable, PersonDto::mapOrdersDtoToDomain)
                 : Pageable.unpaged();
-        Page<Person> persons = personService.findAllOrPossibleDuplicates(filter.orElse(null), mapped, true);
+        ResponseEntity.BodyBuilder response;
+        Page<Person> persons;
+        if (KeysetPaging.requested(cursor, count)) {
+            KeysetPage<Person> page = personService.findPage(
+                    filter, mapped, dup, KeysetPaging.cursor(cursor), KeysetPaging.countMode(count));
+            response = KeysetPaging.ok(page.nextCursor(), page.totalEstimated());
+            persons = page.toPage();
+        } else {
+            response = ResponseEntity.ok();
+            persons = personService.findAllOrPossibleDuplicates(filter, mapped, dup);
+        }
 
-        // Determine which persons should show merge button
-        java.util.Set<Long> groupLeaders = personService.determineGroupLeaders(persons.getContent());
+        // Determine which persons should show merge button (only when duplicates mode is active)
+        java.util.Set<Long> groupLeaders =
+                dup ? personService.determineGroupLeaders(persons.getContent()) : java.util.Collections.emptySet();
 
-        return ResponseEntity.ok(new PageImpl<>(
+        return response.body(new PageImpl<>(
                 PersonMapper.toDtos(persons.getContent(), groupLeaders),
                 FilterAndSortConverter.mapOrderProperties(persons.getPageable(), PersonDto::mapOrdersDomainToDto),
                 persons.getTotalElements()));
@@ -14,12 +14,17 @@ import de.jobst.resulter.domain.EventId;
 import de.jobst.resulter.domain.PersonId;
 import de.jobst.resulter.domain.ResultListId;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Slf4j
@@ -75,13 +80,47 @@ public class ResultListController {
                             HttpHeaders.CONTENT_DISPOSITION.toLowerCase(),
                             "attachment; filename=\"" + certificate.filename() + "\"")
                     .contentLength(certificate.size())
-                    .contentType(org.springframework.http.MediaType.APPLICATION_PDF)
+                    .contentType(MediaType.APPLICATION_PDF)
                     .body(certificate.resource());
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Streams the certificates of all runners of a result list, optionally restricted to some classes and the first
+     * {@code topN} places, as a ZIP archive with one PDF per runner or as a single PDF with one page per runner.
+     * An invalid layout description of the certificate is answered with 400 before anything is streamed.
+     */
+    @GetMapping("/result_list/{id}/certificates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getCertificates(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "zip") String format,
+            @RequestParam(defaultValue = "") List<String> classResultShortName,
+            @RequestParam(required = false) @Nullable Integer topN) {
+        CertificateService.BatchFormat batchFormat;
+        try {
+            batchFormat = CertificateService.BatchFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<ResultListService.CertificateBatch> batch = resultListService.prepareCertificates(
+                ResultListId.of(id),
+                classResultShortName.stream().map(ClassResultShortName::of).toList(),
+                topN);
+        if (batch.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String filename = "Certificates_" + id + "." + batchFormat.name().toLowerCase(Locale.ROOT);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION.toLowerCase(), "attachment; filename=\"" + filename + "\"")
+                .contentType(batchFormat == CertificateService.BatchFormat.ZIP
+                        ? MediaType.parseMediaType("application/zip")
+                        : MediaType.APPLICATION_PDF)
+                .body(outputStream -> resultListService.writeCertificates(batch.get(), batchFormat, outputStream));
+    }
+
     @DeleteMapping("/event_certificate_stat/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteEventCertificateStat(@PathVariable Long id) {
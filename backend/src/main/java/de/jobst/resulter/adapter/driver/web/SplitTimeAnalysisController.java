@@ -10,19 +10,26 @@ import de.jobst.resulter.adapter.driver.web.dto.SplitTimeAnalysisDto;
 import de.jobst.resulter.adapter.driver.web.dto.SplitTimeTableDto;
 import de.jobst.resulter.adapter.driver.web.dto.SplitTimeTableOptionsDto;
 import de.jobst.resulter.adapter.driver.web.mapper.PersonKeyMapper;
+import de.jobst.resulter.application.ContentVersions;
 import de.jobst.resulter.application.port.AnomalyDetectionService;
 import de.jobst.resulter.application.port.HangingDetectionService;
 import de.jobst.resulter.application.port.MentalResilienceService;
 import de.jobst.resulter.application.port.SplitTimeRankingService;
 import de.jobst.resulter.application.port.SplitTimeTableService;
 import de.jobst.resulter.domain.ResultListId;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @Slf4j
@@ -33,18 +40,38 @@ public class SplitTimeAnalysisController {
     private final AnomalyDetectionService anomalyDetectionService;
     private final HangingDetectionService hangingDetectionService;
     private final SplitTimeTableService splitTimeTableService;
+    private final ContentVersions contentVersions;
+    private final Duration analysisTimeout;
 
     public SplitTimeAnalysisController(
             SplitTimeRankingService splitTimeRankingService,
             MentalResilienceService mentalResilienceService,
             AnomalyDetectionService anomalyDetectionService,
             HangingDetectionService hangingDetectionService,
-            SplitTimeTableService splitTimeTableService) {
+            SplitTimeTableService splitTimeTableService,
+            ContentVersions contentVersions,
+            @Value("${resulter.analysis.parallel.timeout:PT2M}") Duration analysisTimeout) {
         this.splitTimeRankingService = splitTimeRankingService;
         this.mentalResilienceService = mentalResilienceService;
         this.anomalyDetectionService = anomalyDetectionService;
         this.hangingDetectionService = hangingDetectionService;
         this.splitTimeTableService = splitTimeTableService;
+        this.contentVersions = contentVersions;
+        this.analysisTimeout = analysisTimeout;
+    }
+
+    /**
+     * Runs a per-runner analysis as an async request. If the request times out or fails because the client went
+     * away, Spring cancels the task; the interrupted worker then cancels its outstanding runner chunks in
+     * {@link de.jobst.resulter.application.analysis.RunnerAnalysisExecutor} instead of keeping the pool busy.
+     */
+    private <T> WebAsyncTask<T> cancellable(String analysis, Callable<T> callable) {
+        WebAsyncTask<T> task = new WebAsyncTask<>(analysisTimeout.toMillis(), callable);
+        task.onTimeout(() -> {
+            throw new CancellationException(
+                    "Analysis request '" + analysis + "' exceeded the timeout of " + analysisTimeout);
+        });
+        return task;
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/ranking")
@@ -54,163 +81,183 @@ public class SplitTimeAnalysisController {
             @RequestParam(required = false) @Nullable List<Long> filterPersonIds,
             @RequestParam(required = false, defaultValue = "false") @Nullable Boolean filterIntersection,
             @RequestParam(required = false, defaultValue = "false") @Nullable Boolean includeSequences,
-            @RequestParam(required = false, defaultValue = "3") @Nullable Integer sequenceMinControls) {
-
-        log.debug(
-                "Analyzing split times (ranking) for result list {} (merge: {}, person filters: {}, intersection: {}, includeSequences: {}, sequenceMinControls: {})",
-                id,
-                mergeBidirectional,
-                filterPersonIds,
-                filterIntersection,
-                includeSequences,
-                sequenceMinControls);
-
-        List<SplitTimeAnalysisDto> analyses = splitTimeRankingService
-                .analyzeSplitTimesRanking(
-                        ResultListId.of(id),
-                        Optional.ofNullable(mergeBidirectional).orElse(false),
-                        Optional.ofNullable(filterPersonIds).orElse(List.of()),
-                        Optional.ofNullable(filterIntersection).orElse(false),
-                        Optional.ofNullable(includeSequences).orElse(false),
-                        Optional.ofNullable(sequenceMinControls).orElse(3))
-                .stream()
-                .map(SplitTimeAnalysisDto::from)
-                .toList();
-
-        if (!analyses.isEmpty()) {
-            long totalSegments =
-                    analyses.stream().mapToLong(a -> a.controlSegments().size()).sum();
-            long totalRunners = analyses.stream()
-                    .flatMap(a -> a.controlSegments().stream())
-                    .mapToLong(s -> s.runnerSplits().size())
-                    .sum();
-            log.info(
-                    "Returning {} analysis/analyses with {} segments and {} total runner entries",
-                    analyses.size(),
-                    totalSegments,
-                    totalRunners);
-        }
-
-        return ResponseEntity.ok(analyses);
+            @RequestParam(required = false, defaultValue = "3") @Nullable Integer sequenceMinControls,
+            WebRequest request) {
+        return ConditionalGet.ifModified(request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug(
+                    "Analyzing split times (ranking) for result list {} (merge: {}, person filters: {}, intersection: {}, includeSequences: {}, sequenceMinControls: {})",
+                    id,
+                    mergeBidirectional,
+                    filterPersonIds,
+                    filterIntersection,
+                    includeSequences,
+                    sequenceMinControls);
+
+            List<SplitTimeAnalysisDto> analyses = splitTimeRankingService
+                    .analyzeSplitTimesRanking(
+                            ResultListId.of(id),
+                            Optional.ofNullable(mergeBidirectional).orElse(false),
+                            Optional.ofNullable(filterPersonIds).orElse(List.of()),
+                            Optional.ofNullable(filterIntersection).orElse(false),
+                            Optional.ofNullable(includeSequences).orElse(false),
+                            Optional.ofNullable(sequenceMinControls).orElse(3))
+                    .stream()
+                    .map(SplitTimeAnalysisDto::from)
+                    .toList();
+
+            if (!analyses.isEmpty()) {
+                long totalSegments =
+                        analyses.stream().mapToLong(a -> a.controlSegments().size()).sum();
+                long totalRunners = analyses.stream()
+                        .flatMap(a -> a.controlSegments().stream())
+                        .mapToLong(s -> s.runnerSplits().size())
+                        .sum();
+                log.info(
+                        "Returning {} analysis/analyses with {} segments and {} total runner entries",
+                        analyses.size(),
+                        totalSegments,
+                        totalRunners);
+            }
+
+            return analyses;
+        });
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/persons")
-    public ResponseEntity<List<PersonKeyDto>> getPersonsForResultList(@PathVariable Long id) {
-        log.debug("Getting persons for result list {}", id);
+    public ResponseEntity<List<PersonKeyDto>> getPersonsForResultList(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.ifModified(request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug("Getting persons for result list {}", id);
 
-        List<PersonKeyDto> persons = splitTimeRankingService.getPersonsForResultList(ResultListId.of(id)).stream()
-                .map(PersonKeyMapper::toDto)
-                .toList();
+            List<PersonKeyDto> persons = splitTimeRankingService.getPersonsForResultList(ResultListId.of(id)).stream()
+                    .map(PersonKeyMapper::toDto)
+                    .toList();
 
-        log.info("Returning {} persons for result list {}", persons.size(), id);
+            log.info("Returning {} persons for result list {}", persons.size(), id);
 
-        return ResponseEntity.ok(persons);
+            return persons;
+        });
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/mental_resilience")
-    public ResponseEntity<MentalResilienceAnalysisDto> analyzeMentalResilience(
-            @PathVariable Long id, @RequestParam(required = false) @Nullable List<Long> filterPersonIds) {
-
-        log.debug("Analyzing mental resilience for result list {} (person filters: {})", id, filterPersonIds);
-
-        MentalResilienceAnalysisDto analysis =
-                MentalResilienceAnalysisDto.from(mentalResilienceService.analyzeMentalResilience(
-                        ResultListId.of(id),
-                        Optional.ofNullable(filterPersonIds).orElse(List.of())));
-
-        if (analysis.statistics().totalMistakes() > 0) {
-            log.info(
-                    "Returning mental resilience analysis: {} runners, {} with mistakes, {} total mistakes, avg MRI: {}",
-                    analysis.statistics().totalRunners(),
-                    analysis.statistics().runnersWithMistakes(),
-                    analysis.statistics().totalMistakes(),
-                    analysis.statistics().averageMRI());
-        } else {
-            log.info("No mistakes detected in result list {}", id);
-        }
-
-        return ResponseEntity.ok(analysis);
+    public WebAsyncTask<ResponseEntity<MentalResilienceAnalysisDto>> analyzeMentalResilience(
+            @PathVariable Long id,
+            @RequestParam(required = false) @Nullable List<Long> filterPersonIds,
+            WebRequest request) {
+        return cancellable("mental_resilience", () -> ConditionalGet.ifModified(
+                request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug("Analyzing mental resilience for result list {} (person filters: {})", id, filterPersonIds);
+
+            MentalResilienceAnalysisDto analysis =
+                    MentalResilienceAnalysisDto.from(mentalResilienceService.analyzeMentalResilience(
+                            ResultListId.of(id),
+                            Optional.ofNullable(filterPersonIds).orElse(List.of())));
+
+            if (analysis.statistics().totalMistakes() > 0) {
+                log.info(
+                        "Returning mental resilience analysis: {} runners, {} with mistakes, {} total mistakes, avg MRI: {}",
+                        analysis.statistics().totalRunners(),
+                        analysis.statistics().runnersWithMistakes(),
+                        analysis.statistics().totalMistakes(),
+                        analysis.statistics().averageMRI());
+            } else {
+                log.info("No mistakes detected in result list {}", id);
+            }
+
+            return analysis;
+        }));
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/anomaly_detection")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<AnomalyAnalysisDto> anomalyDetection(
-            @PathVariable Long id, @RequestParam(required = false) @Nullable List<Long> filterPersonIds) {
-
-        log.debug("Anomaly detection for result list {} (person filters: {})", id, filterPersonIds);
+    public WebAsyncTask<ResponseEntity<AnomalyAnalysisDto>> anomalyDetection(
+            @PathVariable Long id,
+            @RequestParam(required = false) @Nullable List<Long> filterPersonIds,
+            WebRequest request) {
+        return cancellable("anomaly_detection", () -> ConditionalGet.ifModified(
+                request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug("Anomaly detection for result list {} (person filters: {})", id, filterPersonIds);
 
-        AnomalyAnalysisDto analysis = AnomalyAnalysisDto.from(anomalyDetectionService.analyzeAnomaly(
-                ResultListId.of(id), Optional.ofNullable(filterPersonIds).orElse(List.of())));
+            AnomalyAnalysisDto analysis = AnomalyAnalysisDto.from(anomalyDetectionService.analyzeAnomaly(
+                    ResultListId.of(id), Optional.ofNullable(filterPersonIds).orElse(List.of())));
 
-        return ResponseEntity.ok(analysis);
+            return analysis;
+        }));
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/hanging_detection")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<HangingAnalysisDto> hangingDetection(
-            @PathVariable Long id, @RequestParam(required = false) @Nullable List<Long> filterPersonIds) {
-
-        log.debug("Hanging detection for result list {} (person filters: {})", id, filterPersonIds);
-
-        HangingAnalysisDto analysis = HangingAnalysisDto.from(hangingDetectionService.analyzeHanging(
-                ResultListId.of(id), Optional.ofNullable(filterPersonIds).orElse(List.of())));
-
-        if (analysis.statistics().totalHangingSegments() > 0) {
-            log.info(
-                    "Hanging analysis: {} runners, {} with hanging, {} segments, avg HI: {}",
-                    analysis.statistics().totalRunners(),
-                    analysis.statistics().runnersWithHanging(),
-                    analysis.statistics().totalHangingSegments(),
-                    analysis.statistics().averageHangingIndex());
-        } else {
-            log.info("No hanging behavior detected in result list {}", id);
-        }
-
-        return ResponseEntity.ok(analysis);
+    public WebAsyncTask<ResponseEntity<HangingAnalysisDto>> hangingDetection(
+            @PathVariable Long id,
+            @RequestParam(required = false) @Nullable List<Long> filterPersonIds,
+            WebRequest request) {
+        return cancellable("hanging_detection", () -> ConditionalGet.ifModified(
+                request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug("Hanging detection for result list {} (person filters: {})", id, filterPersonIds);
+
+            HangingAnalysisDto analysis = HangingAnalysisDto.from(hangingDetectionService.analyzeHanging(
+                    ResultListId.of(id), Optional.ofNullable(filterPersonIds).orElse(List.of())));
+
+            if (analysis.statistics().totalHangingSegments() > 0) {
+                log.info(
+                        "Hanging analysis: {} runners, {} with hanging, {} segments, avg HI: {}",
+                        analysis.statistics().totalRunners(),
+                        analysis.statistics().runnersWithHanging(),
+                        analysis.statistics().totalHangingSegments(),
+                        analysis.statistics().averageHangingIndex());
+            } else {
+                log.info("No hanging behavior detected in result list {}", id);
+            }
+
+            return analysis;
+        }));
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/split_table")
     public ResponseEntity<SplitTimeTableDto> getSplitTimeTable(
-            @PathVariable Long id, @RequestParam String groupBy, @RequestParam String groupId) {
-
-        log.debug("Generating split-time table for result list {} (groupBy: {}, groupId: {})", id, groupBy, groupId);
-
-        SplitTimeTableDto table;
-        if ("class".equalsIgnoreCase(groupBy)) {
-            table = SplitTimeTableDto.from(splitTimeTableService.generateByClass(ResultListId.of(id), groupId));
-        } else if ("course".equalsIgnoreCase(groupBy)) {
-            table = SplitTimeTableDto.from(
-                    splitTimeTableService.generateByCourse(ResultListId.of(id), Long.parseLong(groupId)));
-        } else {
-            throw new IllegalArgumentException(
-                    "Invalid groupBy parameter: " + groupBy + ". Must be 'class' or 'course'");
-        }
-
-        log.info(
-                "Returning split-time table: {} runners, {} controls, {} complete splits",
-                table.metadata().totalRunners(),
-                table.metadata().totalControls(),
-                table.metadata().runnersWithCompleteSplits());
-
-        return ResponseEntity.ok(table);
+            @PathVariable Long id, @RequestParam String groupBy, @RequestParam String groupId, WebRequest request) {
+        return ConditionalGet.ifModified(request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug(
+                    "Generating split-time table for result list {} (groupBy: {}, groupId: {})", id, groupBy, groupId);
+
+            SplitTimeTableDto table;
+            if ("class".equalsIgnoreCase(groupBy)) {
+                table = SplitTimeTableDto.from(splitTimeTableService.generateByClass(ResultListId.of(id), groupId));
+            } else if ("course".equalsIgnoreCase(groupBy)) {
+                table = SplitTimeTableDto.from(
+                        splitTimeTableService.generateByCourse(ResultListId.of(id), Long.parseLong(groupId)));
+            } else {
+                throw new IllegalArgumentException(
+                        "Invalid groupBy parameter: " + groupBy + ". Must be 'class' or 'course'");
+            }
+
+            log.info(
+                    "Returning split-time table: {} runners, {} controls, {} complete splits",
+                    table.metadata().totalRunners(),
+                    table.metadata().totalControls(),
+                    table.metadata().runnersWithCompleteSplits());
+
+            return table;
+        });
     }
 
     @GetMapping("/split_time_analysis/result_list/{id}/split_table/options")
-    public ResponseEntity<SplitTimeTableOptionsDto> getSplitTableOptions(@PathVariable Long id) {
-        log.debug("Getting split-time table options for result list {}", id);
+    public ResponseEntity<SplitTimeTableOptionsDto> getSplitTableOptions(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.ifModified(request, contentVersions.resultList(ResultListId.of(id)), () -> {
+            log.debug("Getting split-time table options for result list {}", id);
 
-        List<ClassGroupOptionDto> classes = splitTimeTableService.getAvailableClasses(ResultListId.of(id)).stream()
-                .map(ClassGroupOptionDto::from)
-                .toList();
+            List<ClassGroupOptionDto> classes = splitTimeTableService.getAvailableClasses(ResultListId.of(id)).stream()
+                    .map(ClassGroupOptionDto::from)
+                    .toList();
 
-        List<CourseGroupOptionDto> courses = splitTimeTableService.getAvailableCourses(ResultListId.of(id)).stream()
-                .map(CourseGroupOptionDto::from)
-                .toList();
+            List<CourseGroupOptionDto> courses = splitTimeTableService.getAvailableCourses(ResultListId.of(id)).stream()
+                    .map(CourseGroupOptionDto::from)
+                    .toList();
 
-        SplitTimeTableOptionsDto options = new SplitTimeTableOptionsDto(classes, courses);
+            SplitTimeTableOptionsDto options = new SplitTimeTableOptionsDto(classes, courses);
 
-        log.info("Returning {} classes and {} courses", classes.size(), courses.size());
+            log.info("Returning {} classes and {} courses", classes.size(), courses.size());
 
-        return ResponseEntity.ok(options);
+            return options;
+        });
     }
 }
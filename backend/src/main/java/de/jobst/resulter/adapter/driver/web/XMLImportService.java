@@ -3,17 +3,25 @@ package de.jobst.resulter.adapter.driver.web;
 import de.jobst.resulter.adapter.driver.web.jaxb.OverallResult;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.domain.*;
+import jakarta.xml.bind.JAXBException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +43,9 @@ public class XMLImportService {
     private final SplitTimeListService splitTimeListService;
     private final RaceService raceService;
 
+    private final boolean streaming;
+    private final int chunkSize;
+
     public XMLImportService(
             XmlParser xmlParser,
             EventService eventService,
@@ -44,7 +55,9 @@ public class XMLImportService {
             CourseService courseService,
             ResultListService resultListService,
             SplitTimeListService splitTimeListService,
-            RaceService raceService) {
+            RaceService raceService,
+            @Value("${resulter.import.streaming.enabled:true}") boolean streaming,
+            @Value("${resulter.import.chunk-size:500}") int chunkSize) {
         this.xmlParser = xmlParser;
         this.eventService = eventService;
         this.countryService = countryService;
@@ -54,6 +67,8 @@ public class XMLImportService {
         this.resultListService = resultListService;
         this.splitTimeListService = splitTimeListService;
         this.raceService = raceService;
+        this.streaming = streaming;
+        this.chunkSize = chunkSize;
     }
 
     private static List<Pair<PersonRaceResult, SplitTimeList>> getPersonRaceResults(
@@ -159,8 +174,41 @@ public class XMLImportService {
         return Pair.of(firstList, secondList);
     }
 
+    @Transactional
+    ImportResult importFile(InputStreamSource source) throws IOException {
+        return importFile(source, ImportProgress.NONE);
+    }
+
+    /**
+     * Imports the result list from the source. In streaming mode the source is read twice: once to collect the
+     * countries, organisations, persons, courses and races, once to build the class results, so that memory does not
+     * grow with the size of the document tree. Otherwise the whole document is unmarshalled at once.
+     */
+    @Transactional
+    ImportResult importFile(InputStreamSource source, ImportProgress progress) throws IOException {
+        if (!streaming) {
+            try (InputStream inputStream = source.getInputStream()) {
+                return importDocument(inputStream, progress);
+            }
+        }
+        progress.phaseStarted(ImportPhase.READING);
+        ImportReferences references = new ImportReferences();
+        de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList = streamXmlFile(source, references::add);
+        references.add(resultList.getEvent());
+        progress.classResultsFound(references.classResults);
+
+        ResultListImport resultListImport = importReferences(resultList, references, progress);
+        streamXmlFile(source, resultListImport::add);
+        return resultListImport.finish();
+    }
+
     @Transactional
     ImportResult importFile(InputStream inputStream) {
+        return importDocument(inputStream, ImportProgress.NONE);
+    }
+
+    private ImportResult importDocument(InputStream inputStream, ImportProgress progress) {
+        progress.phaseStarted(ImportPhase.READING);
         de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList;
         try {
             resultList = xmlParser.parseXmlFile(inputStream);
@@ -168,51 +216,66 @@ public class XMLImportService {
             throw new RuntimeException(e);
         }
 
-        Map<String, Country> countriesByCode = importCountries(resultList);
+        ImportReferences references = new ImportReferences();
+        references.add(resultList.getEvent());
+        resultList.getClassResults().forEach(references::add);
+        progress.classResultsFound(references.classResults);
+
+        ResultListImport resultListImport = importReferences(resultList, references, progress);
+        resultList.getClassResults().forEach(resultListImport::add);
+        return resultListImport.finish();
+    }
+
+    private de.jobst.resulter.adapter.driver.web.jaxb.ResultList streamXmlFile(
+            InputStreamSource source,
+            Consumer<de.jobst.resulter.adapter.driver.web.jaxb.ClassResult> classResultConsumer)
+            throws IOException {
+        try (InputStream inputStream = source.getInputStream()) {
+            return xmlParser.streamXmlFile(inputStream, classResultConsumer);
+        } catch (XMLStreamException | JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        Map<String, Organisation> organisationByName = importOrganisations(resultList, countriesByCode);
+    private ResultListImport importReferences(
+            de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList,
+            ImportReferences references,
+            ImportProgress progress) {
+        progress.phaseStarted(ImportPhase.REFERENCES);
+        Map<String, Country> countriesByCode = importCountries(references.countries);
 
-        Map<Person.DomainKey, Person> personByDomainKey = importPersons(resultList);
+        Map<String, Organisation> organisationByName =
+                importOrganisations(references.organisations, countriesByCode);
 
-        Event event = importEvent(resultList, organisationByName);
+        Map<Person.DomainKey, Person> personByDomainKey = importPersons(references.persons);
 
-        List<Race> races = importRaces(resultList, event);
+        Event event = importEvent(resultList.getEvent(), references.eventStartDate, organisationByName);
 
-        List<ResultList> resultLists = races.stream()
-                .map(race -> {
-                    ResultList domainResultList = importResultListHead(event, race, resultList);
+        List<Race> races = importRaces(resultList.getEvent(), references.raceNumbers, event);
 
-                    Map<Course.DomainKey, Course> courseByDomainKey = importCourses(event, resultList);
+        Map<Course.DomainKey, Course> courseByDomainKey = importCourses(event, references.courses.values());
 
-                    domainResultList = importResultListBody(
-                            event,
-                            race,
-                            domainResultList,
-                            resultList,
-                            organisationByName,
-                            personByDomainKey,
-                            courseByDomainKey);
-                    return domainResultList;
-                })
+        List<RaceImport> raceImports = races.stream()
+                .map(race -> new RaceImport(event, race, importResultListHead(event, race, resultList)))
                 .toList();
 
-        return new ImportResult(event, countriesByCode, organisationByName, personByDomainKey, resultLists);
+        progress.phaseStarted(ImportPhase.CLASS_RESULTS);
+        return new ResultListImport(
+                event,
+                countriesByCode,
+                organisationByName,
+                personByDomainKey,
+                courseByDomainKey,
+                raceImports,
+                progress);
     }
 
-    private List<Race> importRaces(de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList, Event event) {
-        List<Byte> raceNumbers = resultList.getClassResults().stream()
-                .flatMap(x -> x.getPersonResults().stream())
-                .flatMap(x -> x.getResults().stream())
-                .map(x -> Optional.ofNullable(x.getRaceNumber())
-                        .orElse(BigInteger.ONE)
-                        .byteValue())
-                .distinct()
-                .toList();
-
+    private List<Race> importRaces(
+            de.jobst.resulter.adapter.driver.web.jaxb.Event jaxbEvent, Collection<Byte> raceNumbers, Event event) {
         return raceNumbers.stream()
                 .map(raceNumber -> Race.of(
                         event.getId(),
-                        resultList.getEvent().getRaces().stream()
+                        jaxbEvent.getRaces().stream()
                                 .filter(x -> x.getRaceNumber().byteValue() == raceNumber)
                                 .findAny()
                                 .map(de.jobst.resulter.adapter.driver.web.jaxb.Race::getName)
@@ -222,92 +285,41 @@ public class XMLImportService {
                 .toList();
     }
 
-    private ResultList importResultListBody(
+    private Pair<ClassResult, List<SplitTimeList>> importClassResult(
+            de.jobst.resulter.adapter.driver.web.jaxb.ClassResult classResult,
             Event event,
             Race race,
-            ResultList partialResultList,
-            de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList,
+            ResultListId resultListId,
             Map<String, Organisation> organisationByName,
             Map<Person.DomainKey, Person> personByDomainKey,
             Map<Course.DomainKey, Course> courseByDomainKey) {
-        @SuppressWarnings("UnnecessaryLocalVariable")
-        ResultList finalDomainResultList = partialResultList;
-
-        List<Pair<ClassResult, List<List<SplitTimeList>>>> listOfPairsOfClassResultAndGroupedSplitTimeLists =
-                resultList.getClassResults().stream()
-                        .map(classResult -> {
-                            var clazz = classResult.getClazz();
-                            var personResults = convertListPairToListsPair(getPersonResults(
-                                    classResult,
-                                    event.getId(),
-                                    race,
-                                    finalDomainResultList.getId(),
-                                    ClassResultShortName.of(
-                                            StringUtils.isNotBlank(clazz.getShortName())
-                                                    ? clazz.getShortName()
-                                                    : clazz.getName()),
-                                    organisationByName,
-                                    personByDomainKey));
-                            return Pair.of(
-                                    ClassResult.of(
-                                            clazz.getName(),
-                                            StringUtils.isNotBlank(clazz.getShortName()) ? clazz.getShortName() : clazz.getName(),
-                                            Gender.of(clazz.getSex()),
-                                            personResults.getFirst(),
-                                            classResult.getCourses().stream()
-                                                            .findAny()
-                                                            .isPresent()
-                                                    ? courseByDomainKey
-                                                            .get(new Course.DomainKey(
-                                                                    event.getId(),
-                                                                    CourseName.of(classResult
-                                                                            .getCourses()
-                                                                            .getFirst()
-                                                                            .getName())))
-                                                            .getId()
-                                                    : null),
-                                    personResults.getSecond());
-                        })
-                        .toList();
-        var pairOfClassResultListAndGroupedSplitTimeLists =
-                convertListPairToListsPair(listOfPairsOfClassResultAndGroupedSplitTimeLists);
-
-        // collect and persist split time lists
-        var groupedSplitTimeLists = pairOfClassResultListAndGroupedSplitTimeLists.getSecond();
-        Collection<SplitTimeList> splitTimeLists = groupedSplitTimeLists.stream()
-                .flatMap(Collection::stream)
-                .flatMap(Collection::stream)
-                .toList();
-
-        var classResults = pairOfClassResultListAndGroupedSplitTimeLists.getFirst();
-
-        if (splitTimeLists.stream().anyMatch(x -> !x.getSplitTimes().isEmpty())) {
-            splitTimeLists = splitTimeListService.findOrCreate(splitTimeLists);
-
-            Map<SplitTimeList.DomainKey, SplitTimeList> splitTimeListByDomainKey =
-                    splitTimeLists.stream().collect(Collectors.toMap(SplitTimeList::getDomainKey, x -> x));
-
-            for (ClassResult x : classResults) {
-                for (PersonResult y : x.personResults().value()) {
-                    for (PersonRaceResult z : y.personRaceResults().value()) {
-                        z.setSplitTimeListId(splitTimeListByDomainKey
-                                .get(new SplitTimeList.DomainKey(
-                                        event.getId(),
-                                        finalDomainResultList.getId(),
-                                        StringUtils.isNotBlank(
-                                                        x.classResultShortName().value())
-                                                ? x.classResultShortName()
-                                                : ClassResultShortName.of(
-                                                        x.classResultName().value()),
-                                        y.personId(),
-                                        z.getRaceNumber()))
-                                .getId());
-                    }
-                }
-            }
-        }
-        finalDomainResultList.setClassResults(classResults);
-        return resultListService.update(finalDomainResultList);
+        var clazz = classResult.getClazz();
+        var personResults = convertListPairToListsPair(getPersonResults(
+                classResult,
+                event.getId(),
+                race,
+                resultListId,
+                ClassResultShortName.of(
+                        StringUtils.isNotBlank(clazz.getShortName()) ? clazz.getShortName() : clazz.getName()),
+                organisationByName,
+                personByDomainKey));
+        return Pair.of(
+                ClassResult.of(
+                        clazz.getName(),
+                        StringUtils.isNotBlank(clazz.getShortName()) ? clazz.getShortName() : clazz.getName(),
+                        Gender.of(clazz.getSex()),
+                        personResults.getFirst(),
+                        classResult.getCourses().stream().findAny().isPresent()
+                                ? courseByDomainKey
+                                        .get(new Course.DomainKey(
+                                                event.getId(),
+                                                CourseName.of(classResult
+                                                        .getCourses()
+                                                        .getFirst()
+                                                        .getName())))
+                                        .getId()
+                                : null),
+                personResults.getSecond().stream().flatMap(Collection::stream).toList());
     }
 
     private ResultList importResultListHead(
@@ -331,18 +343,9 @@ public class XMLImportService {
     }
 
     private Event importEvent(
-            de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList,
+            de.jobst.resulter.adapter.driver.web.jaxb.Event jaxbEvent,
+            @Nullable ZonedDateTime eventStartDate,
             Map<String, Organisation> organisationByName) {
-
-        ZonedDateTime eventStartDate = resultList.getClassResults().stream()
-                .flatMap(x -> x.getPersonResults().stream())
-                .map(de.jobst.resulter.adapter.driver.web.jaxb.PersonResult::getResults)
-                .flatMap(Collection::stream)
-                .map(de.jobst.resulter.adapter.driver.web.jaxb.PersonRaceResult::getStartTime)
-                .filter(Objects::nonNull)
-                .map(x -> x.toInstant().atZone(UTC))
-                .min(Comparator.naturalOrder())
-                .orElse(null);
         if (eventStartDate != null) {
             int currentMinute = eventStartDate.getMinute();
             int nextValidMinute = (int) (Math.floor(currentMinute / 15.0) * 15) % 60;
@@ -352,42 +355,26 @@ public class XMLImportService {
 
         // Event
         Event event = Event.of(
-                resultList.getEvent().getName(),
+                jaxbEvent.getName(),
                 eventStartDate,
-                resultList.getEvent().getOrganisers().stream()
+                jaxbEvent.getOrganisers().stream()
                         .map(x -> organisationByName.get(x.getName()).getId())
                         .toList());
         event = eventService.findOrCreate(event);
         return event;
     }
 
-    private Map<Person.DomainKey, Person> importPersons(
-            de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList) {
-        Collection<Person> persons = resultList.getClassResults().stream()
-                .flatMap(x -> x.getPersonResults().stream())
-                .map(de.jobst.resulter.adapter.driver.web.jaxb.PersonResult::getPerson)
-                .map(p -> Person.of(
-                        PersonName.of(p.getName().getFamily(), p.getName().getGiven()),
-                        BirthDate.of(
-                                ObjectUtils.isNotEmpty(p.getBirthDate())
-                                        ? p.getBirthDate()
-                                                .toGregorianCalendar()
-                                                .toZonedDateTime()
-                                                .toLocalDate()
-                                        : null),
-                        Gender.of(p.getSex())))
-                .collect(Collectors.toSet());
-        Collection<PersonRepository.PersonPerson> personPersons = personService.findOrCreate(persons);
+    private Map<Person.DomainKey, Person> importPersons(Collection<Person> persons) {
+        Collection<PersonRepository.PersonPerson> personPersons =
+                findOrCreateInChunks(persons, personService::findOrCreate);
         return personPersons.stream()
                 .distinct()
                 .collect(Collectors.toMap(x -> x.source().getDomainKey(), PersonRepository.PersonPerson::target));
     }
 
     private Map<Course.DomainKey, Course> importCourses(
-            Event event, de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList) {
-        Collection<Course> courses = resultList.getClassResults().stream()
-                .flatMap(x -> x.getCourses().stream())
-                .filter(Objects::nonNull)
+            Event event, Collection<de.jobst.resulter.adapter.driver.web.jaxb.SimpleRaceCourse> jaxbCourses) {
+        Collection<Course> courses = jaxbCourses.stream()
                 .map(c -> Course.of(
                         event.getId(),
                         CourseName.of(c.getName()),
@@ -401,76 +388,29 @@ public class XMLImportService {
         if (courses.isEmpty()) {
             return Map.of();
         }
-        courses = this.courseService.findOrCreate(courses);
+        courses = findOrCreateInChunks(courses, courseService::findOrCreate);
         return courses.stream().collect(Collectors.toMap(Course::getDomainKey, x -> x));
     }
 
     private Map<String, Organisation> importOrganisations(
-            de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList, Map<String, Country> countriesByCode) {
-        Collection<Organisation> organisations = Stream.concat(
-                        // organisations from event
-                        resultList.getEvent().getOrganisers().stream()
-                                .filter(Objects::nonNull)
-                                .map(o -> Organisation.of(
-                                        OrganisationId.empty().value(),
-                                        o.getName(),
-                                        StringUtils.isBlank(o.getShortName()) ? o.getName() : o.getShortName(),
-                                        OrganisationType.OTHER.value(),
-                                        (null == o.getCountry()
-                                                ? null
-                                                : countriesByCode
-                                                        .get(o.getCountry().getCode())
-                                                        .getId()),
-                                        new ArrayList<>()))
-                                .sorted(),
-                        // organisations from persons
-                        resultList.getClassResults().stream()
-                                .flatMap(x -> x.getPersonResults().stream())
-                                .map(de.jobst.resulter.adapter.driver.web.jaxb.PersonResult::getOrganisation)
-                                .filter(Objects::nonNull)
-                                .map(o -> Organisation.of(
-                                        OrganisationId.empty().value(),
-                                        o.getName(),
-                                        StringUtils.isBlank(o.getShortName()) ? o.getName() : o.getShortName(),
-                                        OrganisationType.OTHER.value(),
-                                        (null == o.getCountry()
-                                                ? null
-                                                : countriesByCode
-                                                        .get(o.getCountry().getCode())
-                                                        .getId()),
-                                        new ArrayList<>()))
-                                .sorted())
+            Collection<OrganisationReference> organisationReferences, Map<String, Country> countriesByCode) {
+        Collection<Organisation> organisations = organisationReferences.stream()
+                .map(o -> Organisation.of(
+                        OrganisationId.empty().value(),
+                        o.name(),
+                        o.shortName(),
+                        OrganisationType.OTHER.value(),
+                        (null == o.countryCode()
+                                ? null
+                                : countriesByCode.get(o.countryCode()).getId()),
+                        new ArrayList<>()))
                 .collect(Collectors.toSet());
 
-        organisations = organisationService.findOrCreate(organisations);
+        organisations = findOrCreateInChunks(organisations, organisationService::findOrCreate);
         return organisations.stream().collect(Collectors.toMap(x -> x.getName().value(), x -> x));
     }
 
-    private Map<String, Country> importCountries(de.jobst.resulter.adapter.driver.web.jaxb.ResultList resultList) {
-        // countries
-        Collection<Country> countries = Stream.concat(
-                        // countries from event
-                        resultList.getEvent().getOrganisers().stream()
-                                .filter(Objects::nonNull)
-                                .map(o -> o.getCountry() == null
-                                        ? null
-                                        : Country.of(
-                                                o.getCountry().getCode(),
-                                                o.getCountry().getValue()))
-                                .filter(Objects::nonNull),
-                        // countries from persons
-                        resultList.getClassResults().stream()
-                                .flatMap(x -> x.getPersonResults().stream())
-                                .map(de.jobst.resulter.adapter.driver.web.jaxb.PersonResult::getOrganisation)
-                                .filter(Objects::nonNull)
-                                .map(o -> o.getCountry() == null
-                                        ? null
-                                        : Country.of(
-                                                o.getCountry().getCode(),
-                                                o.getCountry().getValue()))
-                                .filter(Objects::nonNull))
-                .collect(Collectors.toSet());
-
+    private Map<String, Country> importCountries(Collection<Country> countries) {
         List<Country> uniqueCountries = new ArrayList<>(countries.stream()
                 .collect(Collectors.toMap(
                         Country::getCode,
@@ -479,10 +419,23 @@ public class XMLImportService {
                         LinkedHashMap::new))
                 .values());
 
-        countries = this.countryService.findOrCreate(uniqueCountries);
+        countries = findOrCreateInChunks(uniqueCountries, countryService::findOrCreate);
         return countries.stream().collect(Collectors.toMap(x -> x.getCode().value(), x -> x));
     }
 
+    /**
+     * Keeps the statements of bulk lookups and inserts bounded for large result lists.
+     */
+    private <T, R> List<R> findOrCreateInChunks(
+            Collection<T> values, Function<Collection<T>, Collection<R>> findOrCreate) {
+        List<T> list = List.copyOf(values);
+        List<R> result = new ArrayList<>(list.size());
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            result.addAll(findOrCreate.apply(list.subList(from, Math.min(from + chunkSize, list.size()))));
+        }
+        return result;
+    }
+
     private Person.DomainKey createPersonDomainKey(de.jobst.resulter.adapter.driver.web.jaxb.Person p) {
         return new Person.DomainKey(
                 PersonName.of(
@@ -539,6 +492,202 @@ public class XMLImportService {
                 .toList();
     }
 
+    private record OrganisationReference(String name, String shortName, @Nullable String countryCode) {
+
+        static OrganisationReference of(de.jobst.resulter.adapter.driver.web.jaxb.Organisation o) {
+            return new OrganisationReference(
+                    o.getName(),
+                    StringUtils.isBlank(o.getShortName()) ? o.getName() : o.getShortName(),
+                    null == o.getCountry() ? null : o.getCountry().getCode());
+        }
+    }
+
+    /**
+     * Countries, organisations, persons, courses, race numbers and the earliest start time referenced by the result
+     * list; collected before anything is imported, without retaining the class results.
+     */
+    private static final class ImportReferences {
+
+        private final Set<Country> countries = new HashSet<>();
+        private final Set<OrganisationReference> organisations = new HashSet<>();
+        private final Set<Person> persons = new HashSet<>();
+        private final Map<String, de.jobst.resulter.adapter.driver.web.jaxb.SimpleRaceCourse> courses =
+                new LinkedHashMap<>();
+        private final Set<Byte> raceNumbers = new LinkedHashSet<>();
+        private @Nullable ZonedDateTime eventStartDate;
+        private int classResults;
+
+        void add(de.jobst.resulter.adapter.driver.web.jaxb.Event event) {
+            event.getOrganisers().stream().filter(Objects::nonNull).forEach(this::add);
+        }
+
+        void add(de.jobst.resulter.adapter.driver.web.jaxb.ClassResult classResult) {
+            classResults++;
+            classResult.getCourses().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(c -> courses.putIfAbsent(c.getName(), c));
+            for (var personResult : classResult.getPersonResults()) {
+                if (personResult.getOrganisation() != null) {
+                    add(personResult.getOrganisation());
+                }
+                var p = personResult.getPerson();
+                persons.add(Person.of(
+                        PersonName.of(p.getName().getFamily(), p.getName().getGiven()),
+                        BirthDate.of(
+                                ObjectUtils.isNotEmpty(p.getBirthDate())
+                                        ? p.getBirthDate()
+                                                .toGregorianCalendar()
+                                                .toZonedDateTime()
+                                                .toLocalDate()
+                                        : null),
+                        Gender.of(p.getSex())));
+                for (var personRaceResult : personResult.getResults()) {
+                    raceNumbers.add(Optional.ofNullable(personRaceResult.getRaceNumber())
+                            .orElse(BigInteger.ONE)
+                            .byteValue());
+                    if (personRaceResult.getStartTime() != null) {
+                        ZonedDateTime startTime = personRaceResult.getStartTime().toInstant().atZone(UTC);
+                        if (eventStartDate == null || startTime.isBefore(eventStartDate)) {
+                            eventStartDate = startTime;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void add(de.jobst.resulter.adapter.driver.web.jaxb.Organisation organisation) {
+            organisations.add(OrganisationReference.of(organisation));
+            if (organisation.getCountry() != null) {
+                countries.add(Country.of(
+                        organisation.getCountry().getCode(),
+                        organisation.getCountry().getValue()));
+            }
+        }
+    }
+
+    /**
+     * Builds the class results of all races from the class results of the document, one at a time.
+     */
+    private final class ResultListImport {
+
+        private final Event event;
+        private final Map<String, Country> countriesByCode;
+        private final Map<String, Organisation> organisationByName;
+        private final Map<Person.DomainKey, Person> personByDomainKey;
+        private final Map<Course.DomainKey, Course> courseByDomainKey;
+        private final List<RaceImport> raceImports;
+        private final ImportProgress progress;
+
+        ResultListImport(
+                Event event,
+                Map<String, Country> countriesByCode,
+                Map<String, Organisation> organisationByName,
+                Map<Person.DomainKey, Person> personByDomainKey,
+                Map<Course.DomainKey, Course> courseByDomainKey,
+                List<RaceImport> raceImports,
+                ImportProgress progress) {
+            this.event = event;
+            this.countriesByCode = countriesByCode;
+            this.organisationByName = organisationByName;
+            this.personByDomainKey = personByDomainKey;
+            this.courseByDomainKey = courseByDomainKey;
+            this.raceImports = raceImports;
+            this.progress = progress;
+        }
+
+        void add(de.jobst.resulter.adapter.driver.web.jaxb.ClassResult classResult) {
+            for (RaceImport raceImport : raceImports) {
+                raceImport.add(importClassResult(
+                        classResult,
+                        event,
+                        raceImport.race,
+                        raceImport.resultList.getId(),
+                        organisationByName,
+                        personByDomainKey,
+                        courseByDomainKey));
+            }
+            progress.classResultImported();
+        }
+
+        ImportResult finish() {
+            progress.phaseStarted(ImportPhase.SAVING);
+            List<ResultList> resultLists =
+                    raceImports.stream().map(RaceImport::finish).toList();
+            return new ImportResult(event, countriesByCode, organisationByName, personByDomainKey, resultLists);
+        }
+    }
+
+    /**
+     * Class results of one race. Split time lists are persisted in chunks while the class results are added, but
+     * only once the race has split times at all.
+     */
+    private final class RaceImport {
+
+        private final Event event;
+        private final Race race;
+        private final ResultList resultList;
+        private final List<ClassResult> classResults = new ArrayList<>();
+        // class results whose split time lists are not persisted yet
+        private final List<ClassResult> pendingClassResults = new ArrayList<>();
+        private final List<SplitTimeList> pendingSplitTimeLists = new ArrayList<>();
+        private boolean withSplitTimes;
+
+        RaceImport(Event event, Race race, ResultList resultList) {
+            this.event = event;
+            this.race = race;
+            this.resultList = resultList;
+        }
+
+        void add(Pair<ClassResult, List<SplitTimeList>> classResultAndSplitTimeLists) {
+            classResults.add(classResultAndSplitTimeLists.getFirst());
+            pendingClassResults.add(classResultAndSplitTimeLists.getFirst());
+            pendingSplitTimeLists.addAll(classResultAndSplitTimeLists.getSecond());
+            withSplitTimes = withSplitTimes
+                    || classResultAndSplitTimeLists.getSecond().stream().anyMatch(x -> !x.getSplitTimes().isEmpty());
+            if (withSplitTimes && pendingSplitTimeLists.size() >= chunkSize) {
+                persistSplitTimeLists();
+            }
+        }
+
+        ResultList finish() {
+            if (withSplitTimes) {
+                persistSplitTimeLists();
+            }
+            resultList.setClassResults(classResults);
+            return resultListService.update(resultList);
+        }
+
+        private void persistSplitTimeLists() {
+            if (pendingSplitTimeLists.isEmpty()) {
+                return;
+            }
+            Map<SplitTimeList.DomainKey, SplitTimeList> splitTimeListByDomainKey =
+                    splitTimeListService.findOrCreate(List.copyOf(pendingSplitTimeLists)).stream()
+                            .collect(Collectors.toMap(SplitTimeList::getDomainKey, x -> x));
+
+            for (ClassResult x : pendingClassResults) {
+                for (PersonResult y : x.personResults().value()) {
+                    for (PersonRaceResult z : y.personRaceResults().value()) {
+                        z.setSplitTimeListId(splitTimeListByDomainKey
+                                .get(new SplitTimeList.DomainKey(
+                                        event.getId(),
+                                        resultList.getId(),
+                                        StringUtils.isNotBlank(
+                                                        x.classResultShortName().value())
+                                                ? x.classResultShortName()
+                                                : ClassResultShortName.of(
+                                                        x.classResultName().value()),
+                                        y.personId(),
+                                        z.getRaceNumber()))
+                                .getId());
+                    }
+                }
+            }
+            pendingClassResults.clear();
+            pendingSplitTimeLists.clear();
+        }
+    }
+
     public record ImportResult(
             Event event,
             Map<String, Country> countryMap,
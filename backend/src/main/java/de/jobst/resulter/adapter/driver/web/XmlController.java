@@ -1,14 +1,17 @@
 package de.jobst.resulter.adapter.driver.web;
 
-import de.jobst.resulter.domain.Event;
+import de.jobst.resulter.adapter.driver.web.dto.ImportJobDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
 
@@ -19,22 +22,39 @@ public class XmlController {
 
     public static final String FILE = "file";
 
-    private final XMLImportService importService;
+    private final ImportJobService importJobService;
 
-    public XmlController(XMLImportService importService) {
-        this.importService = importService;
+    public XmlController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
     }
 
+    /**
+     * Queues the import of the file and returns the job, its progress is available at {@code /import/{jobId}}.
+     */
     @PostMapping("/upload")
     @ResponseBody
-    public ResponseEntity<String> handleFileUpload(@RequestParam(FILE) MultipartFile file) {
-        Event event;
+    public ResponseEntity<ImportJobDto> handleFileUpload(@RequestParam(FILE) MultipartFile file) {
+        ImportJob job;
         try {
-            event = importService.importFile(file.getInputStream()).event();
+            job = importJobService.submit(file.getOriginalFilename(), file);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        return ResponseEntity.ok(event.toString());
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/import/{jobId}")
+                        .buildAndExpand(job.getId())
+                        .toUri())
+                .body(ImportJobDto.from(job));
     }
 
+    @GetMapping("/import/{jobId}")
+    @ResponseBody
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable String jobId) {
+        return importJobService
+                .findById(jobId)
+                .map(ImportJobDto::from)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
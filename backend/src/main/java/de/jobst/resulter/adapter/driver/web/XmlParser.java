@@ -1,24 +1,138 @@
 package de.jobst.resulter.adapter.driver.web;
 
+import de.jobst.resulter.adapter.driver.web.jaxb.Adapter1;
+import de.jobst.resulter.adapter.driver.web.jaxb.ClassResult;
+import de.jobst.resulter.adapter.driver.web.jaxb.Event;
 import de.jobst.resulter.adapter.driver.web.jaxb.ResultList;
-import org.springframework.oxm.Unmarshaller;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.adapters.CollapsedStringAdapter;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 import org.springframework.stereotype.Component;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
 import java.io.InputStream;
+import java.util.function.Consumer;
 
 @Component
 public class XmlParser {
 
-    private final Unmarshaller unmarshaller;
+    private static final String RESULT_LIST = "ResultList";
+    private static final String EVENT = "Event";
+    private static final String CLASS_RESULT = "ClassResult";
 
-    public XmlParser(Unmarshaller unmarshaller) {
-        this.unmarshaller = unmarshaller;
+    private final Jaxb2Marshaller marshaller;
+    private final XMLInputFactory inputFactory;
+
+    public XmlParser(Jaxb2Marshaller marshaller) {
+        this.marshaller = marshaller;
+        this.inputFactory = XMLInputFactory.newFactory();
+        // same protection against XXE attacks as the marshaller, see XmlConfig
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
     public ResultList parseXmlFile(InputStream inputStream) throws Exception {
         StreamSource source = new StreamSource(inputStream);
-        return (ResultList) unmarshaller.unmarshal(source);
+        return (ResultList) marshaller.unmarshal(source);
+    }
+
+    /**
+     * Reads the result list without building the complete document tree: each class result is unmarshalled on its
+     * own, passed to the consumer and not retained.
+     *
+     * @return the result list with root attributes and event, but without class results
+     */
+    public ResultList streamXmlFile(InputStream inputStream, Consumer<ClassResult> classResultConsumer)
+            throws XMLStreamException, JAXBException {
+        return read(inputStream, classResultConsumer, false);
     }
-}
 
+    /**
+     * Reads the root attributes and the event only, the class results are not read.
+     */
+    public ResultList readHeader(InputStream inputStream) throws XMLStreamException, JAXBException {
+        return read(inputStream, classResult -> {}, true);
+    }
+
+    private ResultList read(InputStream inputStream, Consumer<ClassResult> classResultConsumer, boolean headerOnly)
+            throws XMLStreamException, JAXBException {
+        jakarta.xml.bind.Unmarshaller unmarshaller = marshaller.getJaxbContext().createUnmarshaller();
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+        try {
+            ResultList resultList = readRootElement(reader);
+            int next = reader.next();
+            while (next != XMLStreamConstants.END_ELEMENT && next != XMLStreamConstants.END_DOCUMENT) {
+                if (next != XMLStreamConstants.START_ELEMENT) {
+                    next = reader.next();
+                    continue;
+                }
+                // the unmarshaller leaves the reader on the event after the end of the element
+                switch (reader.getLocalName()) {
+                    case EVENT -> {
+                        resultList.setEvent(unmarshaller.unmarshal(reader, Event.class).getValue());
+                        if (headerOnly) {
+                            return resultList;
+                        }
+                    }
+                    case CLASS_RESULT -> classResultConsumer.accept(
+                            unmarshaller.unmarshal(reader, ClassResult.class).getValue());
+                    default -> skipElement(reader);
+                }
+                next = reader.getEventType();
+            }
+            return resultList;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static ResultList readRootElement(XMLStreamReader reader) throws XMLStreamException {
+        int next = reader.next();
+        while (next != XMLStreamConstants.START_ELEMENT) {
+            if (next == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE declarations are not allowed", reader.getLocation());
+            }
+            if (next == XMLStreamConstants.END_DOCUMENT) {
+                throw new XMLStreamException("Missing root element", reader.getLocation());
+            }
+            next = reader.next();
+        }
+        if (!RESULT_LIST.equals(reader.getLocalName())) {
+            throw new XMLStreamException(
+                    "Unexpected root element " + reader.getLocalName() + ", expected " + RESULT_LIST,
+                    reader.getLocation());
+        }
+
+        ResultList resultList = new ResultList();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "iofVersion" -> resultList.setIofVersion(value);
+                case "createTime" -> resultList.setCreateTime(new Adapter1().unmarshal(value));
+                case "creator" -> resultList.setCreator(value);
+                case "status" -> resultList.setStatus(new CollapsedStringAdapter().unmarshal(value));
+                default -> {
+                    // ignore foreign attributes
+                }
+            }
+        }
+        return resultList;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int next = reader.next();
+            if (next == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (next == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        reader.next();
+    }
+}
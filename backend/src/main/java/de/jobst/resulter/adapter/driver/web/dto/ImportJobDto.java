@@ -0,0 +1,45 @@
+package de.jobst.resulter.adapter.driver.web.dto;
+
+import de.jobst.resulter.adapter.driver.web.ImportJob;
+import de.jobst.resulter.adapter.driver.web.mapper.EventMapper;
+import de.jobst.resulter.domain.Event;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ImportJobDto(
+        String id,
+        @Nullable String fileName,
+        String status,
+        @Nullable String phase,
+        List<ImportPhaseDto> phases,
+        int classResults,
+        int classResultsImported,
+        Instant createdAt,
+        @Nullable Instant startedAt,
+        @Nullable Instant finishedAt,
+        @Nullable EventKeyDto event,
+        @Nullable String error) {
+
+    public record ImportPhaseDto(String phase, long durationMillis) {}
+
+    public static ImportJobDto from(ImportJob job) {
+        Event event = job.getEvent();
+        return new ImportJobDto(
+                job.getId(),
+                job.getFileName(),
+                job.getStatus().name(),
+                job.getPhase() != null ? job.getPhase().name() : null,
+                job.getPhaseDurations().entrySet().stream()
+                        .map(x -> new ImportPhaseDto(x.getKey().name(), x.getValue().toMillis()))
+                        .toList(),
+                job.getClassResults(),
+                job.getClassResultsImported(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                event != null ? EventMapper.toKeyDto(event) : null,
+                job.getError());
+    }
+}
@@ -4,20 +4,24 @@ import de.jobst.resulter.domain.MediaFile;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Sort;
 
-import java.nio.file.Path;
-
-import static de.jobst.resulter.domain.util.ConverterUtils.encodeFileToBase64Binary;
-
 public record MediaFileDto(Long id, String fileName, String contentType, Long fileSize, String description,
-                           String thumbnailContent) {
+                           String thumbnailUrl) {
 
-    static public MediaFileDto from(MediaFile mediaFile, String thumbnailPath) {
-        return new MediaFileDto(ObjectUtils.isNotEmpty(mediaFile.getId()) ? mediaFile.getId().value() : 0,
+    static public MediaFileDto from(MediaFile mediaFile) {
+        long id = ObjectUtils.isNotEmpty(mediaFile.getId()) ? mediaFile.getId().value() : 0;
+        return new MediaFileDto(id,
             mediaFile.getMediaFileName().value(),
             mediaFile.getContentType().value(),
             mediaFile.getMediaFileSize().value(),
             ObjectUtils.isNotEmpty(mediaFile.getDescription()) ? mediaFile.getDescription().value() : null,
-            encodeFileToBase64Binary(Path.of(thumbnailPath + mediaFile.getThumbnailFileName().value())));
+            thumbnailUrl(id));
+    }
+
+    /**
+     * Relative URL of the thumbnail endpoint, so that lists no longer embed the image data.
+     */
+    public static String thumbnailUrl(long mediaFileId) {
+        return "/media/" + mediaFileId + "/thumbnail";
     }
 
     public static String mapOrdersDtoToDomain(Sort.Order order) {
@@ -15,8 +15,7 @@ public class EventCertificateMapper {
     public static EventCertificateDto toDto(
             EventCertificate eventCertificate,
             Map<EventId, Event> eventMap,
-            Map<MediaFileId, MediaFile> mediaFileMap,
-            String thumbnailPath) {
+            Map<MediaFileId, MediaFile> mediaFileMap) {
         Event event = ObjectUtils.isNotEmpty(eventCertificate.getEvent())
                 ? eventMap.get(eventCertificate.getEvent())
                 : null;
@@ -30,17 +29,16 @@ public class EventCertificateMapper {
                 ObjectUtils.isNotEmpty(eventCertificate.getLayoutDescription())
                         ? eventCertificate.getLayoutDescription().value()
                         : null,
-                mediaFile != null ? MediaFileKeyMapper.toDto(mediaFile, thumbnailPath) : null,
+                mediaFile != null ? MediaFileKeyMapper.toDto(mediaFile) : null,
                 eventCertificate.isPrimary());
     }
 
     public static List<EventCertificateDto> toDtos(
             List<EventCertificate> certificates,
             Map<EventId, Event> eventMap,
-            Map<MediaFileId, MediaFile> mediaFileMap,
-            String thumbnailPath) {
+            Map<MediaFileId, MediaFile> mediaFileMap) {
         return certificates.stream()
-                .map(c -> toDto(c, eventMap, mediaFileMap, thumbnailPath))
+                .map(c -> toDto(c, eventMap, mediaFileMap))
                 .toList();
     }
 }
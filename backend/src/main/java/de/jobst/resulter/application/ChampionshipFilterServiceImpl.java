@@ -1,7 +1,8 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisPrecomputeService;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
 import de.jobst.resulter.application.port.ChampionshipFilterService;
-import de.jobst.resulter.application.port.OrganisationRepository;
 import de.jobst.resulter.application.port.RaceRepository;
 import de.jobst.resulter.application.port.ResultListRepository;
 import de.jobst.resulter.domain.*;
@@ -17,19 +18,28 @@ import java.util.stream.Collectors;
 public class ChampionshipFilterServiceImpl implements ChampionshipFilterService {
 
     private final ResultListRepository resultListRepository;
-    private final OrganisationRepository organisationRepository;
+    private final OrganisationHierarchyIndex organisationHierarchyIndex;
     private final RaceRepository raceRepository;
     private final SpringSecurityAuditorAware auditorAware;
+    private final AnalysisSnapshotCache analysisSnapshotCache;
+    private final AnalysisPrecomputeService analysisPrecomputeService;
+    private final CupStandingsCache cupStandingsCache;
 
     public ChampionshipFilterServiceImpl(
             ResultListRepository resultListRepository,
-            OrganisationRepository organisationRepository,
+            OrganisationHierarchyIndex organisationHierarchyIndex,
             RaceRepository raceRepository,
-            SpringSecurityAuditorAware auditorAware) {
+            SpringSecurityAuditorAware auditorAware,
+            AnalysisSnapshotCache analysisSnapshotCache,
+            AnalysisPrecomputeService analysisPrecomputeService,
+            CupStandingsCache cupStandingsCache) {
         this.resultListRepository = resultListRepository;
-        this.organisationRepository = organisationRepository;
+        this.organisationHierarchyIndex = organisationHierarchyIndex;
         this.raceRepository = raceRepository;
         this.auditorAware = auditorAware;
+        this.analysisSnapshotCache = analysisSnapshotCache;
+        this.analysisPrecomputeService = analysisPrecomputeService;
+        this.cupStandingsCache = cupStandingsCache;
     }
 
     @Override
@@ -49,13 +59,17 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
     public void applyChampionshipCleanup(EventId eventId, OrganisationId baseOrgId, Set<String> excludeClassShortNames) {
         Collection<ResultList> resultLists = resultListRepository.findByEventId(eventId);
 
-        Map<OrganisationId, Organisation> orgTree = loadOrgTree(resultLists, baseOrgId);
-        Organisation baseOrg = findBaseOrg(orgTree, baseOrgId);
+        OrganisationHierarchy hierarchy = organisationHierarchyIndex.current();
+        Organisation baseOrg = findBaseOrg(hierarchy, baseOrgId);
 
         for (ResultList resultList : resultLists) {
-            applyCleanupToResultList(resultList, baseOrg, orgTree, excludeClassShortNames);
+            applyCleanupToResultList(resultList, baseOrg, hierarchy, excludeClassShortNames);
             resultListRepository.update(resultList);
         }
+        List<ResultListId> resultListIds = resultLists.stream().map(ResultList::getId).toList();
+        analysisSnapshotCache.invalidate(resultListIds);
+        analysisPrecomputeService.resultListsChanged(resultListIds);
+        cupStandingsCache.invalidateEvent(eventId);
     }
 
     @Override
@@ -63,8 +77,8 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
     public List<ResultList> addChampionshipRanking(EventId eventId, OrganisationId baseOrgId, Set<String> excludeClassShortNames) {
         Collection<ResultList> allResultLists = resultListRepository.findByEventId(eventId);
 
-        Map<OrganisationId, Organisation> orgTree = loadOrgTree(allResultLists, baseOrgId);
-        Organisation baseOrg = findBaseOrg(orgTree, baseOrgId);
+        OrganisationHierarchy hierarchy = organisationHierarchyIndex.current();
+        Organisation baseOrg = findBaseOrg(hierarchy, baseOrgId);
 
         // Filter to source result lists (exclude any with raceNumber == 0)
         List<ResultList> sourceResultLists = allResultLists.stream()
@@ -102,7 +116,7 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
             List<PersonResult> nonEligibleWithTime = new ArrayList<>();
             List<PersonResult> nonEligibleWithoutTime = new ArrayList<>();
             for (PersonResult pr : allPersonResults) {
-                if (isEligible(pr, baseOrg, orgTree)) {
+                if (isEligible(pr, baseOrg, hierarchy)) {
                     eligible.add(pr);
                 } else if (bestRuntime(pr) < Double.MAX_VALUE) {
                     nonEligibleWithTime.add(pr);
@@ -231,25 +245,16 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
                 championshipClassResults);
 
         ResultList saved = resultListRepository.save(newResultList);
+        analysisSnapshotCache.invalidate(saved.getId());
+        analysisPrecomputeService.resultListChanged(saved.getId());
+        cupStandingsCache.invalidateEvent(eventId);
         return List.of(saved);
     }
 
     // ── helpers ──────────────────────────────────────────────────────────────
 
-    private Map<OrganisationId, Organisation> loadOrgTree(
-            Collection<ResultList> resultLists, OrganisationId baseOrgId) {
-        Set<OrganisationId> orgIds = new HashSet<>();
-        orgIds.add(baseOrgId);
-        for (ResultList rl : resultLists) {
-            if (rl.getClassResults() != null) {
-                orgIds.addAll(rl.getReferencedOrganisationIds());
-            }
-        }
-        return organisationRepository.loadOrganisationTree(orgIds);
-    }
-
-    private Organisation findBaseOrg(Map<OrganisationId, Organisation> orgTree, OrganisationId baseOrgId) {
-        Organisation baseOrg = orgTree.get(baseOrgId);
+    private Organisation findBaseOrg(OrganisationHierarchy hierarchy, OrganisationId baseOrgId) {
+        Organisation baseOrg = hierarchy.get(baseOrgId);
         if (baseOrg == null) {
             throw new IllegalArgumentException(
                     "Base organisation with id " + baseOrgId + " not found in the organisation tree.");
@@ -258,7 +263,7 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
     }
 
     private void applyCleanupToResultList(
-            ResultList resultList, Organisation baseOrg, Map<OrganisationId, Organisation> orgTree,
+            ResultList resultList, Organisation baseOrg, OrganisationHierarchy hierarchy,
             Set<String> excludeClassShortNames) {
         if (resultList.getClassResults() == null) return;
 
@@ -271,7 +276,7 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
             // Step 1: mark non-eligible PersonRaceResults as NOT_COMPETING (only when source is OK)
             List<PersonResult> markedPersonResults = new ArrayList<>();
             for (PersonResult pr : cr.personResults().value()) {
-                if (isEligible(pr, baseOrg, orgTree)) {
+                if (isEligible(pr, baseOrg, hierarchy)) {
                     markedPersonResults.add(pr);
                 } else {
                     List<PersonRaceResult> updated = pr.personRaceResults().value().stream()
@@ -460,10 +465,8 @@ public class ChampionshipFilterServiceImpl implements ChampionshipFilterService
     }
 
     private boolean isEligible(
-            PersonResult pr, Organisation baseOrg, Map<OrganisationId, Organisation> orgTree) {
-        OrganisationId orgId = pr.organisationId();
-        if (orgId == null) return false;
-        return baseOrg.containsOrganisationWithId(orgId, orgTree);
+            PersonResult pr, Organisation baseOrg, OrganisationHierarchy hierarchy) {
+        return hierarchy.isPartOf(pr.organisationId(), baseOrg.getId());
     }
 
     /**
@@ -0,0 +1,169 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.domain.Cup;
+import de.jobst.resulter.domain.CupId;
+import de.jobst.resulter.domain.EventId;
+import de.jobst.resulter.domain.ResultListId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.jobst.resulter.application.util.TransactionUtils.runNowAndAfterCommit;
+
+/**
+ * Version counters of the published content of events, result lists and cups, used for the standings cache and as
+ * validators of conditional GET requests.
+ *
+ * <p>Writers bump the version of the changed event, result list or cup: imports, score calculations, championship
+ * cleanups and cup changes. Changes of persons or organisations bump all versions. Each version also remembers when
+ * it last changed. Counters are kept in memory only; the ETag contains the start of this instance, so that a
+ * restart never answers an old ETag with "not modified".</p>
+ */
+@Service
+public class ContentVersions {
+
+    private final Clock clock;
+    private final String epoch;
+    private final Stamp initial;
+    private final Map<CupId, Stamp> cups = new ConcurrentHashMap<>();
+    private final Map<EventId, Stamp> events = new ConcurrentHashMap<>();
+    private final Map<ResultListId, Stamp> resultLists = new ConcurrentHashMap<>();
+    private final AtomicReference<Stamp> anyCup;
+    private final AtomicReference<Stamp> global;
+
+    @Autowired
+    public ContentVersions() {
+        this(Clock.systemUTC());
+    }
+
+    ContentVersions(Clock clock) {
+        this.clock = clock;
+        this.initial = new Stamp(0, now());
+        this.epoch = Long.toString(clock.millis(), Character.MAX_RADIX);
+        this.anyCup = new AtomicReference<>(initial);
+        this.global = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Version of an event and its result lists, including the cup scores shown with them.
+     */
+    public ContentVersion event(EventId eventId) {
+        return version("e" + eventId.value(), global.get(), anyCup.get(), stamp(events, eventId));
+    }
+
+    /**
+     * Version of a result list and the analyses of its split times.
+     */
+    public ContentVersion resultList(ResultListId resultListId) {
+        return version("r" + resultListId.value(), global.get(), stamp(resultLists, resultListId));
+    }
+
+    /**
+     * Version of a cup and its standings, which change with any of its events.
+     *
+     * <p>The events of a cup change, so the sum of their counters could go down and repeat an earlier ETag, e.g. when
+     * an event with several changes is removed. The ETag is therefore a hash of the counter of each event instead.</p>
+     */
+    public ContentVersion cup(Cup cup) {
+        Stamp globalStamp = global.get();
+        Stamp cupStamp = stamp(cups, cup.getId());
+        StringBuilder counters = new StringBuilder()
+                .append(globalStamp.count())
+                .append('/')
+                .append(cupStamp.count());
+        Instant modified = Stamp.latest(globalStamp.modified(), cupStamp.modified());
+        List<EventId> eventIds = cup.getEventIds().stream()
+                .sorted(Comparator.comparing(EventId::value))
+                .toList();
+        for (EventId eventId : eventIds) {
+            Stamp eventStamp = stamp(events, eventId);
+            counters.append('/').append(eventId.value()).append(':').append(eventStamp.count());
+            modified = Stamp.latest(modified, eventStamp.modified());
+        }
+        String hash = DigestUtils.md5DigestAsHex(counters.toString().getBytes(StandardCharsets.UTF_8));
+        return new ContentVersion("\"" + epoch + "-c" + cup.getId().value() + "-" + hash + "\"", modified);
+    }
+
+    /**
+     * A cup, its events or its scores changed. Besides its standings this affects the result pages of all events,
+     * which show the cup scores and whether the event belongs to a cup.
+     */
+    public void cupChanged(CupId cupId) {
+        runNowAndAfterCommit(() -> {
+            Stamp now = bump(cups, cupId);
+            anyCup.accumulateAndGet(now, Stamp::next);
+        });
+    }
+
+    /**
+     * The result lists or cup scores of the events changed, e.g. after an import or a score calculation.
+     */
+    public void eventsChanged(Collection<EventId> eventIds) {
+        Set<EventId> ids = Set.copyOf(eventIds);
+        runNowAndAfterCommit(() -> ids.forEach(eventId -> bump(events, eventId)));
+    }
+
+    public void resultListsChanged(Collection<ResultListId> resultListIds) {
+        Set<ResultListId> ids = Set.copyOf(resultListIds);
+        runNowAndAfterCommit(() -> ids.forEach(resultListId -> bump(resultLists, resultListId)));
+    }
+
+    public void allChanged() {
+        runNowAndAfterCommit(() -> global.accumulateAndGet(new Stamp(0, now()), Stamp::next));
+    }
+
+    private <K> Stamp stamp(Map<K, Stamp> stamps, K key) {
+        return stamps.getOrDefault(key, initial);
+    }
+
+    private <K> Stamp bump(Map<K, Stamp> stamps, K key) {
+        Stamp now = new Stamp(0, now());
+        return stamps.merge(key, initial.next(now), Stamp::next);
+    }
+
+    private Instant now() {
+        // HTTP dates have a resolution of seconds
+        return clock.instant().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private ContentVersion version(String scope, Stamp... stamps) {
+        Stamp stamp = stamps[0];
+        for (int i = 1; i < stamps.length; i++) {
+            stamp = stamp.plus(stamps[i]);
+        }
+        return new ContentVersion("\"" + epoch + "-" + scope + "-" + stamp.count() + "\"", stamp.modified());
+    }
+
+    /**
+     * A strong ETag and the time of the last change of some content.
+     */
+    public record ContentVersion(String etag, Instant lastModified) {}
+
+    private record Stamp(long count, Instant modified) {
+
+        Stamp next(Stamp change) {
+            return new Stamp(count + 1, latest(modified, change.modified()));
+        }
+
+        Stamp plus(Stamp other) {
+            // all counters only grow, so with a fixed set of parts any change of a part increases the sum
+            return new Stamp(count + other.count(), latest(modified, other.modified()));
+        }
+
+        private static Instant latest(Instant a, Instant b) {
+            return a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import de.jobst.resulter.application.port.CupQueryService;
 import de.jobst.resulter.application.port.CupService;
 import de.jobst.resulter.application.port.EventCertificateService;
 import de.jobst.resulter.application.port.EventService;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationService;
 import de.jobst.resulter.application.port.ResultListService;
 import de.jobst.resulter.domain.Country;
@@ -33,6 +34,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ObjectUtils;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -74,6 +76,14 @@ public class CupQueryServiceImpl implements CupQueryService {
         return buildCupBatchResult(page.getContent(), page.getTotalElements(), page.getPageable());
     }
 
+    @Override
+    public CupBatchResult findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        KeysetPage<Cup> page = cupService.findPage(filter, pageable, cursor, countMode);
+        return buildCupBatchResult(
+                page.content(), page.totalElements(), page.pageable(), page.totalEstimated(), page.nextCursor());
+    }
+
     @Override
     public Optional<CupBatchResult> findById(Long id) {
         return cupService.findById(CupId.of(id))
@@ -91,11 +101,20 @@ public class CupQueryServiceImpl implements CupQueryService {
     }
 
     private CupBatchResult buildCupBatchResult(List<Cup> cups, long totalElements, Pageable pageable) {
+        return buildCupBatchResult(cups, totalElements, pageable, false, null);
+    }
+
+    private CupBatchResult buildCupBatchResult(
+            List<Cup> cups,
+            long totalElements,
+            Pageable pageable,
+            boolean totalEstimated,
+            @Nullable String nextCursor) {
         List<EventId> allEventIds =
                 cups.stream().flatMap(cup -> cup.getEventIds().stream()).distinct().toList();
         Map<EventId, Event> eventMap =
                 eventService.findAllById(allEventIds).stream().collect(Collectors.toMap(Event::getId, e -> e));
-        return new CupBatchResult(cups, totalElements, pageable, eventMap);
+        return new CupBatchResult(cups, totalElements, pageable, eventMap, totalEstimated, nextCursor);
     }
 
     private CupDetailedBatchResult buildCupDetailedBatchResult(CupDetailed cupDetailed) {
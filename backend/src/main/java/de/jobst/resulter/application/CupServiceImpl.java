@@ -1,8 +1,10 @@
 package de.jobst.resulter.application;
 
 import de.jobst.resulter.application.port.*;
+import de.jobst.resulter.application.util.PrimaryReads;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.aggregations.*;
+import de.jobst.resulter.domain.scoring.CupScoreInputHash;
 import de.jobst.resulter.domain.scoring.CupTypeCalculationStrategy;
 import de.jobst.resulter.domain.util.ResourceNotFoundException;
 import de.jobst.resulter.springapp.config.SpringSecurityAuditorAware;
@@ -23,7 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CupServiceImpl implements CupService {
 
     private final CupRepository cupRepository;
-    private final OrganisationRepository organisationRepository;
+    private final OrganisationHierarchyIndex organisationHierarchyIndex;
     private final OrganisationService organisationService;
     private final RaceService raceService;
     private final ResultListService resultListService;
@@ -31,19 +33,23 @@ public class CupServiceImpl implements CupService {
     private final CupScoreListRepository cupScoreListRepository;
     private final SpringSecurityAuditorAware springSecurityAuditorAware;
     private final PersonRepository personRepository;
+    private final CupStandingsCache cupStandingsCache;
+    private final DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
 
     public CupServiceImpl(
             CupRepository cupRepository,
-            OrganisationRepository organisationRepository,
+            OrganisationHierarchyIndex organisationHierarchyIndex,
             OrganisationService organisationService,
             RaceService raceService,
             ResultListService resultListService,
             EventService eventService,
             CupScoreListRepository cupScoreListRepository,
             SpringSecurityAuditorAware springSecurityAuditorAware,
-            PersonRepository personRepository) {
+            PersonRepository personRepository,
+            CupStandingsCache cupStandingsCache,
+            DashboardStatisticsSnapshot dashboardStatisticsSnapshot) {
         this.cupRepository = cupRepository;
-        this.organisationRepository = organisationRepository;
+        this.organisationHierarchyIndex = organisationHierarchyIndex;
         this.organisationService = organisationService;
         this.raceService = raceService;
         this.resultListService = resultListService;
@@ -51,6 +57,8 @@ public class CupServiceImpl implements CupService {
         this.cupScoreListRepository = cupScoreListRepository;
         this.springSecurityAuditorAware = springSecurityAuditorAware;
         this.personRepository = personRepository;
+        this.cupStandingsCache = cupStandingsCache;
+        this.dashboardStatisticsSnapshot = dashboardStatisticsSnapshot;
     }
 
     @Override
@@ -76,20 +84,27 @@ public class CupServiceImpl implements CupService {
     @Override
     public Cup updateCup(CupId id, CupName name, CupType type, Year year, Collection<EventId> eventIds) {
         var events = eventService.findAllById(eventIds);
-        return cupRepository.save(getById(id)
+        Cup cup = cupRepository.save(getById(id)
                 .update(name, type, year, events.stream().map(Event::getId).toList()));
+        cupStandingsCache.invalidateCup(id);
+        return cup;
     }
 
     @Override
     public Cup createCup(String name, CupType type, Year year, Collection<EventId> eventIds) {
         Cup cup = Cup.of(CupId.empty().value(), name, type, year, eventIds);
-        return cupRepository.save(cup);
+        Cup created = cupRepository.save(cup);
+        cupStandingsCache.invalidateCup(created.getId());
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.CUPS, 1);
+        return created;
     }
 
     @Override
     public void deleteCup(CupId cupId) {
         Cup cup = getById(cupId);
         cupRepository.deleteCup(cup);
+        cupStandingsCache.invalidateCup(cupId);
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.CUPS, -1);
     }
 
     @Override
@@ -98,8 +113,20 @@ public class CupServiceImpl implements CupService {
     }
 
     @Override
+    public KeysetPage<Cup> findPage(
+            @Nullable String filterString, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        return cupRepository.findPage(filterString, pageable, cursor, countMode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CupDetailed getCupDetailed(CupId cupId) {
-        Cup cup = getById(cupId);
+        // the standings are cached per cup version, so they must not be loaded from a lagging read replica
+        return PrimaryReads.call(() -> cupStandingsCache.get(getById(cupId), this::calculateCupDetailed));
+    }
+
+    private CupDetailed calculateCupDetailed(Cup cup) {
+        CupId cupId = cup.getId();
         List<EventId> eventIds = cup.getEventIds().stream().toList();
         Set<EventId> eventIdSet = new HashSet<>(eventIds);
         List<Race> races = raceService.findAllByEventIds(eventIds);
@@ -143,16 +170,10 @@ public class CupServiceImpl implements CupService {
                 })
                 .toList();
 
-        // Load organization tree for NOR strategy validation
-        Set<OrganisationId> referencedOrganisationIds = eventResultLists.stream()
-                .map(EventResultList::resultList)
-                .flatMap(resultList -> resultList.getReferencedOrganisationIds().stream())
-                .collect(Collectors.toUnmodifiableSet());
-
-        Map<OrganisationId, Organisation> organisationById =
-                organisationRepository.loadOrganisationTree(referencedOrganisationIds);
+        // Organisation hierarchy for NOR strategy validation
+        OrganisationHierarchy organisationHierarchy = organisationHierarchyIndex.current();
 
-        var strategy = cup.getCupTypeCalculationStrategy(organisationById);
+        var strategy = cup.getCupTypeCalculationStrategy(organisationHierarchy);
 
         List<Event> events = eventIds.stream()
                 .map(eventsById::get)
@@ -189,7 +210,7 @@ public class CupServiceImpl implements CupService {
         Map<PersonId, Person> personsById = personRepository.findAllById(allPersonIds);
 
         // Calculate statistics including ALL starts (OK and non-OK results)
-        CupStatistics cupStatistics = calculateCupStatistics(eventResultLists, strategy, organisationById);
+        CupStatistics cupStatistics = calculateCupStatistics(eventResultLists, strategy, organisationHierarchy.organisationById());
 
         return new CupDetailed(
                 cup,
@@ -478,26 +499,40 @@ public class CupServiceImpl implements CupService {
             resultLists.size(),
             resultListsByEvent.values().stream().mapToInt(List::size).sum());
 
-        Set<OrganisationId> referencedOrganisationIds = resultLists.stream()
-                .flatMap(resultList -> resultList.getReferencedOrganisationIds().stream())
-                .collect(Collectors.toUnmodifiableSet());
-
-        Map<OrganisationId, Organisation> organisationById =
-                organisationRepository.loadOrganisationTree(referencedOrganisationIds);
         String creator = springSecurityAuditorAware.getCurrentAuditor().orElse(SpringSecurityAuditorAware.UNKNOWN);
         ZonedDateTime now = ZonedDateTime.now();
 
-        CupTypeCalculationStrategy cupTypeCalculationStrategy = cup.getCupTypeCalculationStrategy(organisationById);
-
-        List<@Nullable CupScoreList> cupScoreLists = resultLists.stream()
-                .map(resultList -> resultList.calculate(cup, creator, now, cupTypeCalculationStrategy))
-                .collect(Collectors.toList());
-        cupScoreListRepository.deleteAllByDomainKey(
-                cupScoreLists.stream()
-                    .filter(Objects::nonNull)
-                    .map(CupScoreList::getDomainKey)
-                    .collect(Collectors.toSet()));
-        return cupScoreListRepository.saveAll(cupScoreLists);
+        OrganisationHierarchy organisationHierarchy = organisationHierarchyIndex.current();
+        CupTypeCalculationStrategy cupTypeCalculationStrategy = cup.getCupTypeCalculationStrategy(organisationHierarchy);
+
+        // Only result lists whose inputs changed since their cup scores were stored are calculated and written
+        CupScoreInputHash cupScoreInputHash = CupScoreInputHash.forCup(cup, organisationHierarchy);
+        Map<ResultListId, String> storedInputHashes = cupScoreListRepository.findInputHashesByResultListIdsAndCupId(
+                resultLists.stream().map(ResultList::getId).toList(), id);
+
+        // Result lists are independent of each other, so hashing and scoring run in parallel
+        List<CupScoreList> cupScoreLists = resultLists.parallelStream()
+                .<CupScoreList>mapMulti((resultList, consumer) -> {
+                    String inputHash = cupScoreInputHash.of(resultList);
+                    if (inputHash.equals(storedInputHashes.get(resultList.getId()))) {
+                        return;
+                    }
+                    CupScoreList cupScoreList =
+                            resultList.calculate(cup, creator, now, cupTypeCalculationStrategy);
+                    if (cupScoreList != null) {
+                        consumer.accept(cupScoreList.withInputHash(inputHash));
+                    }
+                })
+                .toList();
+
+        log.info("Cup {}: Recalculated {} of {} scorable ResultLists",
+            cup.getId().value(),
+            cupScoreLists.size(),
+            resultLists.size());
+
+        List<CupScoreList> saved = cupScoreListRepository.saveAllChanged(cupScoreLists);
+        cupStandingsCache.invalidateCup(id);
+        return saved;
     }
 
     /**
@@ -509,96 +544,25 @@ public class CupServiceImpl implements CupService {
             CupTypeCalculationStrategy strategy,
             Map<OrganisationId, Organisation> organisationById) {
 
-        // Collect ALL PersonRaceResults (not just OK status)
-        List<PersonRaceResultWithOrg> allPersonRaceResults = eventResultLists.stream()
-                .flatMap(erl -> {
-                    if (erl.resultList().getClassResults() == null) {
-                        return java.util.stream.Stream.empty();
+        CupStatisticsAccumulator accumulator = new CupStatisticsAccumulator();
+        for (EventResultList eventResultList : eventResultLists) {
+            Collection<ClassResult> classResults = eventResultList.resultList().getClassResults();
+            if (classResults == null) {
+                continue;
+            }
+            for (ClassResult classResult : classResults) {
+                if (!strategy.valid(classResult)) {
+                    continue;
+                }
+                for (PersonResult personResult : classResult.personResults().value()) {
+                    if (strategy.valid(personResult)) {
+                        accumulator.add(personResult);
                     }
-                    return erl.resultList().getClassResults().stream()
-                            .filter(strategy::valid)  // Only valid classes
-                            .flatMap(classResult -> classResult.personResults().value().stream()
-                                    .filter(strategy::valid)  // Only valid persons (org membership)
-                                    .flatMap(personResult -> personResult.personRaceResults().value().stream()
-                                            .map(prr -> new PersonRaceResultWithOrg(
-                                                    prr,
-                                                    personResult.personId(),
-                                                    personResult.organisationId()
-                                            ))
-                                    )
-                            );
-                })
-                .toList();
-
-        // Count unique persons
-        Set<PersonId> uniquePersons = allPersonRaceResults.stream()
-                .map(PersonRaceResultWithOrg::personId)
-                .collect(Collectors.toSet());
-
-        // Count unique organizations
-        Set<OrganisationId> uniqueOrganisations = allPersonRaceResults.stream()
-                .<OrganisationId>mapMulti((prr, consumer) -> {
-                    OrganisationId orgId = prr.organisationId();
-                    if (orgId != null) {
-                        consumer.accept(orgId);
-                    }
-                })
-                .collect(Collectors.toSet());
-
-        // Count total starts and non-scoring starts
-        int totalStarts = allPersonRaceResults.size();
-        int nonScoringStarts = (int) allPersonRaceResults.stream()
-                .filter(prr -> !prr.personRaceResult().getState().equals(ResultStatus.OK))
-                .count();
-
-        // Calculate overall statistics
-        CupOverallStatistics overallStats = CupOverallStatistics.of(
-                uniquePersons.size(),
-                uniqueOrganisations.size(),
-                totalStarts,
-                nonScoringStarts
-        );
-
-        // Calculate per-organization statistics
-        List<OrganisationStatistics> orgStats = uniqueOrganisations.stream()
-                .<OrganisationStatistics>mapMulti((orgId, consumer) -> {
-                    Organisation org = organisationById.get(orgId);
-                    if (org == null) {
-                        return;
-                    }
-
-                    List<PersonRaceResultWithOrg> orgResults = allPersonRaceResults.stream()
-                            .filter(prr -> orgId.equals(prr.organisationId()))
-                            .toList();
-
-                    Set<PersonId> orgPersons = orgResults.stream()
-                            .map(PersonRaceResultWithOrg::personId)
-                            .collect(Collectors.toSet());
-
-                    int orgTotalStarts = orgResults.size();
-                    int orgNonScoringStarts = (int) orgResults.stream()
-                            .filter(prr -> !prr.personRaceResult().getState().equals(ResultStatus.OK))
-                            .count();
-
-                    consumer.accept(OrganisationStatistics.of(
-                            org,
-                            orgPersons.size(),
-                            orgTotalStarts,
-                            orgNonScoringStarts
-                    ));
-                })
-                .sorted()  // Sort by runner count descending
-                .toList();
-
-        return new CupStatistics(overallStats, orgStats);
+                }
+            }
+        }
+        return accumulator.toCupStatistics(organisationById);
     }
 
-    // Helper record for internal use in calculateCupStatistics
-    private record PersonRaceResultWithOrg(
-            PersonRaceResult personRaceResult,
-            PersonId personId,
-            @Nullable OrganisationId organisationId
-    ) {}
-
     private record ClassPersonKey(ClassResultShortName classResultShortName, PersonId personId) {}
 }
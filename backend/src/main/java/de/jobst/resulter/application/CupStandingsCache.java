@@ -0,0 +1,80 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.util.BoundedCache;
+import de.jobst.resulter.domain.Cup;
+import de.jobst.resulter.domain.CupId;
+import de.jobst.resulter.domain.EventId;
+import de.jobst.resulter.domain.aggregations.CupDetailed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+import static de.jobst.resulter.application.util.TransactionUtils.runNowAndAfterCommit;
+
+/**
+ * Bounded cache of the calculated cup standings ({@link CupDetailed}) keyed by {@link CupId} and version.
+ *
+ * <p>The version of a cup is its {@link ContentVersions content version}, which increases whenever the cup itself or
+ * the result lists or cup scores of one of its events change. A standing calculated for an older version is never
+ * returned again, even if its calculation was still running when the data changed; only the cups containing a
+ * changed event are recalculated. Changes of persons or organisations, which affect all cups, invalidate
+ * everything.</p>
+ */
+@Service
+@Slf4j
+public class CupStandingsCache {
+
+    private final ContentVersions contentVersions;
+    private final BoundedCache<Key, CupDetailed> standings;
+
+    public CupStandingsCache(
+            ContentVersions contentVersions,
+            @Value("${resulter.cup.standings-cache.max-entries:32}") int maxEntries,
+            @Value("${resulter.cup.standings-cache.ttl:PT1H}") Duration ttl) {
+        this.contentVersions = contentVersions;
+        this.standings = new BoundedCache<>(maxEntries, ttl);
+    }
+
+    /**
+     * Returns the standings of the cup, calculating them if the cup or one of its events changed since the last
+     * calculation.
+     */
+    CupDetailed get(Cup cup, Function<Cup, CupDetailed> calculation) {
+        Key key = new Key(cup.getId(), contentVersions.cup(cup).etag());
+        return standings.get(key, k -> {
+            log.debug("Calculating standings of cup {} (version {})", k.cupId().value(), k.version());
+            return calculation.apply(cup);
+        });
+    }
+
+    public void invalidateCup(CupId cupId) {
+        contentVersions.cupChanged(cupId);
+        runNowAndAfterCommit(() -> standings.invalidateIf((key, cupDetailed) -> key.cupId().equals(cupId)));
+    }
+
+    /**
+     * Invalidates the standings of all cups containing the event, e.g. after an import or a score calculation.
+     */
+    public void invalidateEvent(EventId eventId) {
+        invalidateEvents(Set.of(eventId));
+    }
+
+    public void invalidateEvents(Collection<EventId> eventIds) {
+        Set<EventId> ids = Set.copyOf(eventIds);
+        contentVersions.eventsChanged(ids);
+        runNowAndAfterCommit(() -> standings.invalidateIf(
+                (key, cupDetailed) -> cupDetailed.getEventIds().stream().anyMatch(ids::contains)));
+    }
+
+    public void invalidateAll() {
+        contentVersions.allChanged();
+        runNowAndAfterCommit(standings::invalidateAll);
+    }
+
+    private record Key(CupId cupId, String version) {}
+}
@@ -0,0 +1,186 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.port.DashboardRepository;
+import de.jobst.resulter.application.port.DashboardStatisticsDto;
+import de.jobst.resulter.application.util.PrimaryReads;
+import de.jobst.resulter.application.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory snapshot of the dashboard statistics, so that a dashboard view does not run the count queries.
+ *
+ * <p>Plain counts (cups, persons, certificates) are adjusted by their writers after commit. Changes whose effect on
+ * the deduplicated event and race counts or the organisation count cannot be derived cheaply, e.g. imports, only mark
+ * the snapshot as changed; it is then recounted in the background after a short delay, so that the many writes of
+ * an import cause a single recount. Independently of changes, the snapshot is reconciled periodically, and a snapshot
+ * older than the maximum age is never returned.</p>
+ */
+@Service
+@Slf4j
+public class DashboardStatisticsSnapshot implements AutoCloseable {
+
+    /**
+     * Counts that writers can adjust exactly.
+     */
+    public enum Counter {
+        CUPS,
+        PERSONS,
+        CERTIFICATES
+    }
+
+    private final DashboardRepository dashboardRepository;
+    private final long maxAgeNanos;
+    private final Duration reconcileInterval;
+    private final Duration recountDelay;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean recountScheduled = new AtomicBoolean();
+    private volatile @Nullable Snapshot snapshot;
+
+    @Autowired
+    public DashboardStatisticsSnapshot(
+            DashboardRepository dashboardRepository,
+            @Value("${resulter.dashboard.statistics.max-age:PT15M}") Duration maxAge,
+            @Value("${resulter.dashboard.statistics.reconcile-interval:PT5M}") Duration reconcileInterval,
+            @Value("${resulter.dashboard.statistics.recount-delay:PT10S}") Duration recountDelay) {
+        this(dashboardRepository, maxAge, reconcileInterval, recountDelay, System::nanoTime);
+    }
+
+    DashboardStatisticsSnapshot(
+            DashboardRepository dashboardRepository,
+            Duration maxAge,
+            Duration reconcileInterval,
+            Duration recountDelay,
+            LongSupplier nanoClock) {
+        this.dashboardRepository = dashboardRepository;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.reconcileInterval = reconcileInterval;
+        this.recountDelay = recountDelay;
+        this.nanoClock = nanoClock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the periodic reconciliation once the bean is fully constructed.
+     */
+    @PostConstruct
+    void start() {
+        if (reconcileInterval.isPositive()) {
+            executor.scheduleWithFixedDelay(this::reconcile, reconcileInterval.toMillis(),
+                    reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public DashboardStatisticsDto get() {
+        Snapshot current = snapshot;
+        if (current == null || nanoClock.getAsLong() - current.countedAt() > maxAgeNanos) {
+            return recount();
+        }
+        return current.statistics();
+    }
+
+    /**
+     * Adjusts a count after the commit of the current transaction, e.g. {@code adjust(Counter.PERSONS, -1)} after a
+     * person was deleted.
+     */
+    public void adjust(Counter counter, long delta) {
+        TransactionUtils.runAfterCommit(() -> {
+            synchronized (this) {
+                Snapshot current = snapshot;
+                if (current != null) {
+                    snapshot = new Snapshot(adjust(current.statistics(), counter, delta), current.countedAt());
+                }
+            }
+        });
+    }
+
+    /**
+     * Recounts all statistics in the background shortly after the commit of the current transaction.
+     */
+    public void changed() {
+        TransactionUtils.runAfterCommit(() -> {
+            if (snapshot == null || !recountScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.schedule(() -> {
+                    recountScheduled.set(false);
+                    reconcile();
+                }, recountDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                recountScheduled.set(false);
+                log.debug("Recount of dashboard statistics rejected, shutting down");
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    void reconcile() {
+        if (snapshot == null) {
+            // nobody asked for the statistics yet
+            return;
+        }
+        try {
+            recount();
+        } catch (RuntimeException e) {
+            log.warn("Recounting dashboard statistics failed", e);
+        }
+    }
+
+    private synchronized DashboardStatisticsDto recount() {
+        long countedAt = nanoClock.getAsLong();
+        // writers adjust the snapshot after commit, so a lagging read replica would undo their adjustments
+        DashboardStatisticsDto statistics = PrimaryReads.call(() -> new DashboardStatisticsDto(
+                dashboardRepository.countEvents(),
+                dashboardRepository.countCups(),
+                dashboardRepository.countPersons(),
+                dashboardRepository.countOrganisationsExcludingIndividuals(),
+                dashboardRepository.countSplitTimes(),
+                dashboardRepository.countRaces(),
+                dashboardRepository.countResultLists(),
+                dashboardRepository.countCertificates()));
+        log.debug("Dashboard statistics: {}", statistics);
+        snapshot = new Snapshot(statistics, countedAt);
+        return statistics;
+    }
+
+    private static DashboardStatisticsDto adjust(DashboardStatisticsDto statistics, Counter counter, long delta) {
+        return new DashboardStatisticsDto(
+                statistics.eventCount(),
+                adjust(statistics.cupCount(), counter == Counter.CUPS ? delta : 0),
+                adjust(statistics.personCount(), counter == Counter.PERSONS ? delta : 0),
+                statistics.organisationCount(),
+                statistics.splitTimeCount(),
+                statistics.raceCount(),
+                statistics.resultListCount(),
+                adjust(statistics.certificateCount(), counter == Counter.CERTIFICATES ? delta : 0));
+    }
+
+    private static long adjust(long count, long delta) {
+        // the next recount corrects a drift, but the statistics must never become negative
+        return Math.max(0, count + delta);
+    }
+
+    private record Snapshot(DashboardStatisticsDto statistics, long countedAt) {}
+}
@@ -1,5 +1,6 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.certificate.CertificateTemplateCache;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.util.ResourceNotFoundException;
@@ -24,18 +25,21 @@ public class EventCertificateServiceImpl implements EventCertificateService {
 
     private final EventRepository eventRepository;
     private final MediaFileRepository mediaFileRepository;
+    private final CertificateTemplateCache certificateTemplateCache;
 
     public EventCertificateServiceImpl(
             EventCertificateRepository eventCertificateRepository,
             PersonRepository personRepository,
             OrganisationRepository organisationRepository,
             EventRepository eventRepository,
-            MediaFileRepository mediaFileRepository) {
+            MediaFileRepository mediaFileRepository,
+            CertificateTemplateCache certificateTemplateCache) {
         this.eventCertificateRepository = eventCertificateRepository;
         this.personRepository = personRepository;
         this.organisationRepository = organisationRepository;
         this.eventRepository = eventRepository;
         this.mediaFileRepository = mediaFileRepository;
+        this.certificateTemplateCache = certificateTemplateCache;
     }
 
     @Override
@@ -93,6 +97,7 @@ public class EventCertificateServiceImpl implements EventCertificateService {
         }
         EventCertificate savedEventCertificate = eventCertificateRepository.save(eventCertificate);
         optionalEvent.ifPresent(eventRepository::save);
+        certificateTemplateCache.invalidate(id);
         return savedEventCertificate;
     }
 
@@ -102,6 +107,7 @@ public class EventCertificateServiceImpl implements EventCertificateService {
         EventCertificate eventCertificate =
                 findById(eventCertificateCertificateId).orElseThrow(ResourceNotFoundException::new);
         eventCertificateRepository.delete(eventCertificate);
+        certificateTemplateCache.invalidate(eventCertificateCertificateId);
     }
 
     @NonNull
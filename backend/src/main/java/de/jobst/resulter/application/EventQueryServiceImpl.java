@@ -4,6 +4,7 @@ import de.jobst.resulter.application.port.EventBatchResult;
 import de.jobst.resulter.application.port.EventCertificateService;
 import de.jobst.resulter.application.port.EventQueryService;
 import de.jobst.resulter.application.port.EventService;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationService;
 import de.jobst.resulter.application.port.ResultListService;
 import de.jobst.resulter.domain.Event;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ObjectUtils;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -55,6 +57,14 @@ public class EventQueryServiceImpl implements EventQueryService {
         return buildBatchResult(page.getContent(), page.getTotalElements(), page.getPageable());
     }
 
+    @Override
+    public EventBatchResult findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        KeysetPage<Event> page = eventService.findPage(filter, pageable, cursor, countMode);
+        return buildBatchResult(
+                page.content(), page.totalElements(), page.pageable(), page.totalEstimated(), page.nextCursor());
+    }
+
     @Override
     public Optional<EventBatchResult> findById(Long id) {
         return eventService.findById(EventId.of(id))
@@ -62,10 +72,27 @@ public class EventQueryServiceImpl implements EventQueryService {
     }
 
     private EventBatchResult buildBatchResult(List<Event> events, long totalElements, Pageable pageable) {
+        return buildBatchResult(events, totalElements, pageable, false, null);
+    }
+
+    private EventBatchResult buildBatchResult(
+            List<Event> events,
+            long totalElements,
+            Pageable pageable,
+            boolean totalEstimated,
+            @Nullable String nextCursor) {
         Map<EventId, Boolean> hasSplitTimesMap = batchHasSplitTimes(events);
         Map<OrganisationId, Organisation> organisationMap = batchLoadOrganisations(events);
         Map<EventCertificateId, EventCertificate> certificateMap = batchLoadCertificates(events);
-        return new EventBatchResult(events, totalElements, pageable, hasSplitTimesMap, organisationMap, certificateMap);
+        return new EventBatchResult(
+                events,
+                totalElements,
+                pageable,
+                hasSplitTimesMap,
+                organisationMap,
+                certificateMap,
+                totalEstimated,
+                nextCursor);
     }
 
     private Map<EventId, Boolean> batchHasSplitTimes(List<Event> events) {
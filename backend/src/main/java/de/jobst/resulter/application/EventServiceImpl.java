@@ -25,18 +25,24 @@ public class EventServiceImpl implements EventService {
 
     private final EventCertificateRepository eventCertificateRepository;
     private final EventCertificateStatRepository eventCertificateStatRepository;
+    private final CupStandingsCache cupStandingsCache;
+    private final DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
 
     public EventServiceImpl(
             EventRepository eventRepository,
             PersonRepository personRepository,
             OrganisationRepository organisationRepository,
             EventCertificateRepository eventCertificateRepository,
-            EventCertificateStatRepository eventCertificateStatRepository) {
+            EventCertificateStatRepository eventCertificateStatRepository,
+            CupStandingsCache cupStandingsCache,
+            DashboardStatisticsSnapshot dashboardStatisticsSnapshot) {
         this.eventRepository = eventRepository;
         this.personRepository = personRepository;
         this.organisationRepository = organisationRepository;
         this.eventCertificateRepository = eventCertificateRepository;
         this.eventCertificateStatRepository = eventCertificateStatRepository;
+        this.cupStandingsCache = cupStandingsCache;
+        this.dashboardStatisticsSnapshot = dashboardStatisticsSnapshot;
     }
 
     @Override
@@ -108,7 +114,11 @@ public class EventServiceImpl implements EventService {
             eventCertificateRepository.saveAll(eventCertificates);
             eventCertificateRepository.save(certificate);
         }
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        cupStandingsCache.invalidateEvent(id);
+        // start time and organisers decide whether events count as duplicates
+        dashboardStatisticsSnapshot.changed();
+        return saved;
     }
 
     @Transactional
@@ -117,6 +127,8 @@ public class EventServiceImpl implements EventService {
         Event event = findById(eventId).orElseThrow(ResourceNotFoundException::new);
         eventCertificateStatRepository.deleteAllByEventId(eventId);
         eventRepository.deleteEvent(event);
+        cupStandingsCache.invalidateEvent(eventId);
+        dashboardStatisticsSnapshot.changed();
     }
 
     @Override
@@ -136,11 +148,19 @@ public class EventServiceImpl implements EventService {
                 EventStatus.PLANNED,
                 Discipline.fromValue(discipline),
                 aggregatedScore);
-        return eventRepository.save(event);
+        Event created = eventRepository.save(event);
+        dashboardStatisticsSnapshot.changed();
+        return created;
     }
 
     @Override
     public Page<Event> findAll(@Nullable String filter, Pageable pageable) {
         return eventRepository.findAll(filter, pageable);
     }
+
+    @Override
+    public KeysetPage<Event> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        return eventRepository.findPage(filter, pageable, cursor, countMode);
+    }
 }
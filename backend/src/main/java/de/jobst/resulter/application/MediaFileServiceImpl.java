@@ -1,11 +1,19 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.MediaFileRepository;
 import de.jobst.resulter.application.port.MediaFileService;
+import de.jobst.resulter.application.port.MediaFileThumbnail;
+import de.jobst.resulter.application.util.BoundedCache;
+import de.jobst.resulter.application.util.PrimaryReads;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.util.ResourceNotFoundException;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +32,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,6 +49,9 @@ public class MediaFileServiceImpl implements MediaFileService {
     // Only raster types are safe to process through Thumbnailator (SVG/PDF can contain XXE/SSRF payloads)
     private static final Set<String> RASTER_IMAGE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
 
+    // thumbnails are small (a few KB at the configured size), so a thousand of them fit easily in memory
+    private static final int THUMBNAIL_CACHE_SIZE = 1000;
+
     @Value("#{'${resulter.media-file-path}'}")
     private String mediaFilePath;
 
@@ -51,6 +63,11 @@ public class MediaFileServiceImpl implements MediaFileService {
 
     private final MediaFileRepository mediaFileRepository;
 
+    // keyed by media file id and invalidated by this service when a media file or a thumbnail file changes, so a hit
+    // needs neither the repository nor the file system; missing media files and thumbnails are cached as well
+    private final BoundedCache<MediaFileId, CachedThumbnail> thumbnails =
+            new BoundedCache<>(THUMBNAIL_CACHE_SIZE, Duration.ZERO);
+
     public MediaFileServiceImpl(MediaFileRepository mediaFileRepository) {
         this.mediaFileRepository = mediaFileRepository;
     }
@@ -102,7 +119,11 @@ public class MediaFileServiceImpl implements MediaFileService {
 
         MediaFile mediaFile = MediaFile.of(filePathAndName.fileName(), thumbnailFileName, detectedType, file.getSize());
 
-        return mediaFileRepository.save(mediaFile);
+        MediaFile savedMediaFile = mediaFileRepository.save(mediaFile);
+        // a file with the same name replaces the thumbnail of media files stored before
+        thumbnails.invalidate(savedMediaFile.getId());
+        thumbnails.invalidateIf((id, cached) -> thumbnailFileName.equals(cached.thumbnailFileName()));
+        return savedMediaFile;
     }
 
     private FilePathAndName getFilePathAndName(MultipartFile file, String mediaFilePath, String detectedType)
@@ -159,6 +180,7 @@ public class MediaFileServiceImpl implements MediaFileService {
     public boolean delete(MediaFileId mediaFileId) {
         if (mediaFileId.isPersistent()) {
             mediaFileRepository.delete(mediaFileId);
+            thumbnails.invalidate(mediaFileId);
             return true;
         }
         return false;
@@ -174,6 +196,12 @@ public class MediaFileServiceImpl implements MediaFileService {
         return mediaFileRepository.findAll(filter, pageable);
     }
 
+    @Override
+    public KeysetPage<MediaFile> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        return mediaFileRepository.findPage(filter, pageable, cursor, countMode);
+    }
+
     @Override
     public MediaFile getById(MediaFileId mediaFileId) {
         return mediaFileRepository.findById(mediaFileId).orElseThrow(ResourceNotFoundException::new);
@@ -184,6 +212,38 @@ public class MediaFileServiceImpl implements MediaFileService {
         return mediaFileRepository.findById(mediaFileId);
     }
 
+    @Override
+    public Optional<MediaFileThumbnail> getThumbnail(MediaFileId mediaFileId) {
+        return Optional.ofNullable(thumbnails.get(mediaFileId, this::loadThumbnail).thumbnail());
+    }
+
+    private CachedThumbnail loadThumbnail(MediaFileId mediaFileId) {
+        // misses are cached until the media file changes, so a media file stored just now must be found
+        Optional<MediaFile> mediaFile = PrimaryReads.call(() -> mediaFileRepository.findById(mediaFileId));
+        if (mediaFile.isEmpty()) {
+            return new CachedThumbnail(null, null);
+        }
+        String thumbnailFileName = mediaFile.get().getThumbnailFileName().value();
+        // other types have no thumbnail, their thumbnail file name is the original file
+        if (!RASTER_IMAGE_TYPES.contains(mediaFile.get().getContentType().value())) {
+            return new CachedThumbnail(thumbnailFileName, null);
+        }
+        Path path = Path.of(mediaFileThumbnailsPath + thumbnailFileName);
+        try {
+            Instant lastModified = Instant.ofEpochMilli(Files.getLastModifiedTime(path).toMillis());
+            byte[] content = Files.readAllBytes(path);
+            return new CachedThumbnail(
+                    thumbnailFileName,
+                    new MediaFileThumbnail(content, lastModified, "\"" + DigestUtils.md5DigestAsHex(content) + "\""));
+        } catch (NoSuchFileException e) {
+            return new CachedThumbnail(thumbnailFileName, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record CachedThumbnail(@Nullable String thumbnailFileName, @Nullable MediaFileThumbnail thumbnail) {}
+
     @Override
     public List<MediaFile> findAllById(Collection<MediaFileId> mediaFileIds) {
         return mediaFileRepository.findAllById(mediaFileIds);
@@ -208,6 +268,8 @@ public class MediaFileServiceImpl implements MediaFileService {
         }
         MediaFile mediaFile = optionalMediaFile.get();
         mediaFile.update(mediaFileName, mediaFileContentType, mediaFileSize, mediaFileDescription);
-        return mediaFileRepository.save(mediaFile);
+        MediaFile savedMediaFile = mediaFileRepository.save(mediaFile);
+        thumbnails.invalidate(mediaFileId);
+        return savedMediaFile;
     }
 }
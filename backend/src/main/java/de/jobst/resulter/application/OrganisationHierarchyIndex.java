@@ -0,0 +1,74 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.port.OrganisationRepository;
+import de.jobst.resulter.domain.Organisation;
+import de.jobst.resulter.domain.OrganisationHierarchy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static de.jobst.resulter.application.util.TransactionUtils.runNowAndAfterCommit;
+
+/**
+ * Process-wide {@link OrganisationHierarchy} of all organisations, used by cup scoring and championship filters to
+ * decide whether an organisation belongs to another one.
+ *
+ * <p>The hierarchy is loaded on first use and kept until an organisation is created, changed or deleted. Writers
+ * increase the version now and again after the commit of the changing transaction; the next read loads a new snapshot
+ * with the current version, so a snapshot loaded from data that was not committed yet is not kept.</p>
+ */
+@Service
+@Slf4j
+public class OrganisationHierarchyIndex {
+
+    private final OrganisationRepository organisationRepository;
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile @Nullable OrganisationHierarchy hierarchy;
+
+    public OrganisationHierarchyIndex(OrganisationRepository organisationRepository) {
+        this.organisationRepository = organisationRepository;
+    }
+
+    /**
+     * @return the hierarchy of the current version, loading it if organisations changed since the last load
+     */
+    public OrganisationHierarchy current() {
+        OrganisationHierarchy current = hierarchy;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            long currentVersion = version.get();
+            current = hierarchy;
+            if (current == null || current.version() != currentVersion) {
+                long startTime = System.currentTimeMillis();
+                current = OrganisationHierarchy.of(organisationRepository.findAll(), currentVersion);
+                hierarchy = current;
+                log.debug("Loaded organisation hierarchy {} in {} ms", currentVersion,
+                        System.currentTimeMillis() - startTime);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * An organisation was created, changed or deleted.
+     */
+    public void organisationsChanged() {
+        runNowAndAfterCommit(version::incrementAndGet);
+    }
+
+    /**
+     * Organisations were found or created by an import; only new organisations change the hierarchy.
+     */
+    public void organisationsFoundOrCreated(Collection<Organisation> organisations) {
+        OrganisationHierarchy current = hierarchy;
+        if (current != null
+                && organisations.stream().anyMatch(organisation -> current.get(organisation.getId()) == null)) {
+            organisationsChanged();
+        }
+    }
+}
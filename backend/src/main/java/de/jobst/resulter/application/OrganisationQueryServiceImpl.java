@@ -1,6 +1,7 @@
 package de.jobst.resulter.application;
 
 import de.jobst.resulter.application.port.CountryService;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationBatchResult;
 import de.jobst.resulter.application.port.OrganisationQueryService;
 import de.jobst.resulter.application.port.OrganisationService;
@@ -11,6 +12,7 @@ import de.jobst.resulter.domain.OrganisationId;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -38,6 +40,14 @@ public class OrganisationQueryServiceImpl implements OrganisationQueryService {
         return buildBatchResult(page.getContent(), page.getTotalElements(), page.getPageable());
     }
 
+    @Override
+    public OrganisationBatchResult findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        KeysetPage<Organisation> page = organisationService.findPage(filter, pageable, cursor, countMode);
+        return buildBatchResult(
+                page.content(), page.totalElements(), page.pageable(), page.totalEstimated(), page.nextCursor());
+    }
+
     @Override
     public Optional<OrganisationBatchResult> findById(Long id) {
         return organisationService.findById(OrganisationId.of(id))
@@ -46,9 +56,19 @@ public class OrganisationQueryServiceImpl implements OrganisationQueryService {
 
     private OrganisationBatchResult buildBatchResult(
             List<Organisation> organisations, long totalElements, Pageable pageable) {
+        return buildBatchResult(organisations, totalElements, pageable, false, null);
+    }
+
+    private OrganisationBatchResult buildBatchResult(
+            List<Organisation> organisations,
+            long totalElements,
+            Pageable pageable,
+            boolean totalEstimated,
+            @Nullable String nextCursor) {
         Map<CountryId, Country> countryMap = countryService.batchLoadForOrganisations(organisations);
         Map<OrganisationId, Organisation> childOrganisationMap =
                 organisationService.batchLoadChildOrganisations(organisations);
-        return new OrganisationBatchResult(organisations, totalElements, pageable, countryMap, childOrganisationMap);
+        return new OrganisationBatchResult(
+                organisations, totalElements, pageable, countryMap, childOrganisationMap, totalEstimated, nextCursor);
     }
 }
@@ -1,6 +1,7 @@
 package de.jobst.resulter.application;
 
 import de.jobst.resulter.application.port.CountryRepository;
+import de.jobst.resulter.application.port.KeysetPage;
 import de.jobst.resulter.application.port.OrganisationRepository;
 import de.jobst.resulter.application.port.OrganisationService;
 import de.jobst.resulter.domain.*;
@@ -21,10 +22,21 @@ public class OrganisationServiceImpl implements OrganisationService {
 
     private final OrganisationRepository organisationRepository;
     private final CountryRepository countryRepository;
-
-    public OrganisationServiceImpl(OrganisationRepository organisationRepository, CountryRepository countryRepository) {
+    private final CupStandingsCache cupStandingsCache;
+    private final DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
+    private final OrganisationHierarchyIndex organisationHierarchyIndex;
+
+    public OrganisationServiceImpl(
+            OrganisationRepository organisationRepository,
+            CountryRepository countryRepository,
+            CupStandingsCache cupStandingsCache,
+            DashboardStatisticsSnapshot dashboardStatisticsSnapshot,
+            OrganisationHierarchyIndex organisationHierarchyIndex) {
         this.organisationRepository = organisationRepository;
         this.countryRepository = countryRepository;
+        this.cupStandingsCache = cupStandingsCache;
+        this.dashboardStatisticsSnapshot = dashboardStatisticsSnapshot;
+        this.organisationHierarchyIndex = organisationHierarchyIndex;
     }
 
     @Override
@@ -34,12 +46,16 @@ public class OrganisationServiceImpl implements OrganisationService {
 
     @Override
     public Organisation findOrCreate(Organisation organisation) {
-        return organisationRepository.findOrCreate(organisation);
+        Organisation found = organisationRepository.findOrCreate(organisation);
+        organisationHierarchyIndex.organisationsFoundOrCreated(List.of(found));
+        return found;
     }
 
     @Override
     public Collection<Organisation> findOrCreate(Collection<Organisation> organisations) {
-        return organisationRepository.findOrCreate(organisations);
+        Collection<Organisation> found = organisationRepository.findOrCreate(organisations);
+        organisationHierarchyIndex.organisationsFoundOrCreated(found);
+        return found;
     }
 
     @Override
@@ -68,13 +84,19 @@ public class OrganisationServiceImpl implements OrganisationService {
 
         Optional<Country> optionalCountry = Optional.ofNullable(countryId).flatMap(countryRepository::findById);
         List<Organisation> childOrganisations = findByIds(childOrganisationIds);
-        return organisationRepository.save(new Organisation(
+        Organisation updated = organisationRepository.save(new Organisation(
                 findById(id).orElseThrow(ResourceNotFoundException::new).getId(),
                 name,
                 shortName,
                 type,
                 optionalCountry.map(Country::getId).orElse(null),
                 childOrganisations.stream().map(Organisation::getId).toList()));
+        // names and the organisation hierarchy are part of the cup standings
+        organisationHierarchyIndex.organisationsChanged();
+        cupStandingsCache.invalidateAll();
+        // type and hierarchy decide whether an organisation is counted
+        dashboardStatisticsSnapshot.changed();
+        return updated;
     }
 
     @Override
@@ -96,7 +118,11 @@ public class OrganisationServiceImpl implements OrganisationService {
                 type,
                 optionalCountry.map(Country::getId).orElse(null),
                 childOrganisations.stream().map(Organisation::getId).toList());
-        return organisationRepository.save(organisation);
+        Organisation created = organisationRepository.save(organisation);
+        organisationHierarchyIndex.organisationsChanged();
+        cupStandingsCache.invalidateAll();
+        dashboardStatisticsSnapshot.changed();
+        return created;
     }
 
     @Override
@@ -107,6 +133,9 @@ public class OrganisationServiceImpl implements OrganisationService {
         }
         Organisation organisation = optionalOrganisation.get();
         organisationRepository.deleteOrganisation(organisation);
+        organisationHierarchyIndex.organisationsChanged();
+        cupStandingsCache.invalidateAll();
+        dashboardStatisticsSnapshot.changed();
         return true;
     }
 
@@ -115,6 +144,12 @@ public class OrganisationServiceImpl implements OrganisationService {
         return organisationRepository.findAll(filter, pageable);
     }
 
+    @Override
+    public KeysetPage<Organisation> findPage(
+            @Nullable String filter, Pageable pageable, @Nullable String cursor, KeysetPage.CountMode countMode) {
+        return organisationRepository.findPage(filter, pageable, cursor, countMode);
+    }
+
     @Override
     public List<Organisation> findAllById(Set<OrganisationId> organisationIds) {
         return organisationRepository.findByIds(organisationIds);
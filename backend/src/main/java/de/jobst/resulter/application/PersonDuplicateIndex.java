@@ -0,0 +1,332 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.port.PersonRepository;
+import de.jobst.resulter.application.util.PrimaryReads;
+import de.jobst.resulter.application.util.TransactionUtils;
+import de.jobst.resulter.domain.BirthDate;
+import de.jobst.resulter.domain.Person;
+import de.jobst.resulter.domain.PersonId;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.language.ColognePhonetic;
+import org.apache.commons.text.similarity.JaroWinklerDistance;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Index of possible duplicate persons.
+ *
+ * <p>Instead of scoring every pair of persons, each person is put into blocks by a few keys: the phonetic code of the
+ * family name (Kölner Phonetik), the first letters of the normalized family name and the normalized given name
+ * together with the year of birth. Only persons sharing a block are scored with {@link #similarity(Person, Person)},
+ * which keeps the number of comparisons close to linear for real world name distributions.</p>
+ *
+ * <p>The index is built on first use. Afterwards, persons created by imports or changed, merged or deleted are
+ * re-indexed one at a time by a background worker after the commit of the changing transaction; reads apply the
+ * changes still waiting first, so they never see removed persons.</p>
+ */
+@Service
+@Slf4j
+public class PersonDuplicateIndex implements AutoCloseable {
+
+    private static final int FAMILY_NAME_PREFIX_LENGTH = 3;
+    private static final ColognePhonetic COLOGNE_PHONETIC = new ColognePhonetic();
+
+    private final PersonRepository personRepository;
+    private final ExecutorService executor;
+    private final Set<PersonId> pending = ConcurrentHashMap.newKeySet();
+    private final Matcher matcher = new Matcher();
+    private volatile boolean built;
+
+    public PersonDuplicateIndex(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "person-duplicate-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Scores the similarity of two persons, higher is more similar. The family name contributes up to 1000, the given
+     * name up to 100, the birth date up to 10 and the gender 1.
+     */
+    static double similarity(Person person1, Person person2) {
+        double score = 0.0;
+        double familyNameDistance = getDistance(
+                person1.personName().familyName().value(), person2.personName().familyName().value());
+        if (isJaroWinklerSimilar(familyNameDistance)) {
+            score += 1000.0 - (1000.0 * familyNameDistance);
+        }
+        double givenNameDistance = getDistance(
+                person1.personName().givenName().value(), person2.personName().givenName().value());
+        if (isJaroWinklerSimilar(givenNameDistance)) {
+            score += 100.0 - (100.0 * givenNameDistance);
+        }
+        long daysBetween = getDaysBetween(person1.birthDate(), person2.birthDate());
+        if (isSimilarDate(daysBetween)) {
+            score += 10.0 - (10.0 * Math.abs(daysBetween) / 30.0);
+        }
+        if (person1.gender().equals(person2.gender())) {
+            score += 1.0;
+        }
+        return score;
+    }
+
+    static boolean isSimilar(double score) {
+        return score > 750; // Score threshold for duplicates
+    }
+
+    static boolean isStrictDuplicate(double score) {
+        return score > 1050; // Stricter threshold - requires both family AND given name to be similar
+    }
+
+    /**
+     * Returns true if the persons share a block, i.e. if they would be compared at all.
+     */
+    static boolean isCandidate(Person person1, Person person2) {
+        Set<String> keys = blockingKeys(person1);
+        return blockingKeys(person2).stream().anyMatch(keys::contains);
+    }
+
+    static Set<String> blockingKeys(Person person) {
+        String familyName = normalize(person.personName().familyName().value());
+        String givenName = normalize(person.personName().givenName().value());
+        Set<String> keys = new HashSet<>(4);
+        String phonetic = COLOGNE_PHONETIC.encode(familyName);
+        keys.add("c:" + (phonetic.isEmpty() ? familyName : phonetic));
+        keys.add("f:" + familyName.substring(0, Math.min(FAMILY_NAME_PREFIX_LENGTH, familyName.length())));
+        BirthDate birthDate = person.birthDate();
+        if (birthDate != null && birthDate.value() != null && !givenName.isEmpty()) {
+            keys.add("g:" + givenName + ":" + birthDate.value().getYear());
+        }
+        return keys;
+    }
+
+    /**
+     * Lower case letters and digits without diacritics.
+     */
+    static String normalize(@Nullable String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name.toLowerCase(Locale.ROOT).replace("ß", "ss"), Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isJaroWinklerSimilar(double distance) {
+        return distance < 0.5; // Adjust the threshold as needed
+    }
+
+    private static double getDistance(String str1, String str2) {
+        return new JaroWinklerDistance().apply(str1, str2);
+    }
+
+    private static long getDaysBetween(@Nullable BirthDate date1, @Nullable BirthDate date2) {
+        if (date1 == null || date2 == null || date1.value() == null || date2.value() == null) {
+            return 100_000; // a large number
+        }
+        return ChronoUnit.DAYS.between(date1.value(), date2.value());
+    }
+
+    private static boolean isSimilarDate(long daysBetween) {
+        return Math.abs(daysBetween) <= 30; // Adjust the range as needed
+    }
+
+    /**
+     * Returns the possible duplicates of the person, most similar first.
+     */
+    public List<Person> findDoubles(PersonId personId) {
+        synchronized (matcher) {
+            refresh();
+            return matcher.doubles(personId);
+        }
+    }
+
+    /**
+     * Called by writers of persons: imports, updates, merges and deletions.
+     */
+    public void personsChanged(Collection<PersonId> personIds) {
+        if (personIds.isEmpty()) {
+            return;
+        }
+        Set<PersonId> ids = Set.copyOf(personIds);
+        TransactionUtils.runAfterCommit(() -> {
+            pending.addAll(ids);
+            if (!built) {
+                // the first read builds the whole index
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    synchronized (matcher) {
+                        if (built) {
+                            try {
+                                applyPending();
+                            } catch (RuntimeException e) {
+                                log.warn("Updating the person duplicate index failed", e);
+                            }
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Update of the person duplicate index rejected, shutting down");
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void refresh() {
+        if (built) {
+            applyPending();
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        // changes committed from now on are applied again after the build
+        pending.clear();
+        matcher.clear();
+        try {
+            PrimaryReads.call(personRepository::findAll).forEach(matcher::add);
+        } catch (RuntimeException e) {
+            matcher.clear();
+            throw e;
+        }
+        built = true;
+        log.info("Built person duplicate index of {} persons with {} comparisons in {}ms", matcher.size(),
+                matcher.comparisons, System.currentTimeMillis() - startTime);
+    }
+
+    private void applyPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<PersonId> ids = new HashSet<>(pending);
+        pending.removeAll(ids);
+        Map<PersonId, Person> current;
+        try {
+            // the pending ids are dropped after this read, so it must not see a lagging replica
+            current = PrimaryReads.call(() -> personRepository.findAllById(ids));
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            throw e;
+        }
+        for (PersonId id : ids) {
+            Person person = current.get(id);
+            if (Objects.equals(matcher.get(id), person)) {
+                continue;
+            }
+            matcher.remove(id);
+            if (person != null) {
+                matcher.add(person);
+            }
+        }
+        log.debug("Re-indexed {} persons in the person duplicate index", ids.size());
+    }
+
+    /**
+     * Blocks and similar pairs of a set of persons. Not thread safe.
+     */
+    static final class Matcher {
+
+        private final Map<PersonId, Person> persons = new HashMap<>();
+        private final Map<String, Set<PersonId>> blocks = new HashMap<>();
+        private final Map<PersonId, Map<PersonId, Double>> matches = new HashMap<>();
+        private long comparisons;
+
+        static Matcher of(Collection<Person> persons) {
+            Matcher matcher = new Matcher();
+            persons.forEach(matcher::add);
+            return matcher;
+        }
+
+        void add(Person person) {
+            PersonId id = person.id();
+            persons.put(id, person);
+            Set<PersonId> compared = new HashSet<>();
+            for (String key : blockingKeys(person)) {
+                Set<PersonId> block = blocks.computeIfAbsent(key, k -> new HashSet<>());
+                for (PersonId otherId : block) {
+                    if (compared.add(otherId)) {
+                        comparisons++;
+                        double score = similarity(persons.get(otherId), person);
+                        if (isSimilar(score)) {
+                            matches.computeIfAbsent(id, k -> new HashMap<>()).put(otherId, score);
+                            matches.computeIfAbsent(otherId, k -> new HashMap<>()).put(id, score);
+                        }
+                    }
+                }
+                block.add(id);
+            }
+        }
+
+        void remove(PersonId id) {
+            Person person = persons.remove(id);
+            if (person == null) {
+                return;
+            }
+            for (String key : blockingKeys(person)) {
+                Set<PersonId> block = blocks.get(key);
+                if (block != null && block.remove(id) && block.isEmpty()) {
+                    blocks.remove(key);
+                }
+            }
+            Map<PersonId, Double> removed = matches.remove(id);
+            if (removed != null) {
+                removed.keySet().forEach(otherId -> {
+                    Map<PersonId, Double> others = matches.get(otherId);
+                    others.remove(id);
+                    if (others.isEmpty()) {
+                        matches.remove(otherId);
+                    }
+                });
+            }
+        }
+
+        @Nullable Person get(PersonId id) {
+            return persons.get(id);
+        }
+
+        /**
+         * Similar persons with their scores, at least above the regular threshold.
+         */
+        Map<PersonId, Double> matches(PersonId id) {
+            return matches.getOrDefault(id, Map.of());
+        }
+
+        List<Person> doubles(PersonId id) {
+            return matches(id).entrySet().stream()
+                    .sorted(Map.Entry.<PersonId, Double>comparingByValue().reversed())
+                    .map(entry -> persons.get(entry.getKey()))
+                    .toList();
+        }
+
+        int size() {
+            return persons.size();
+        }
+
+        void clear() {
+            persons.clear();
+            blocks.clear();
+            matches.clear();
+            comparisons = 0;
+        }
+    }
+}
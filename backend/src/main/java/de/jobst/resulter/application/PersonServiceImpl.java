@@ -1,10 +1,11 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisResultStore;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.util.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.text.similarity.JaroWinklerDistance;
 import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,7 +13,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -28,47 +28,39 @@ public class PersonServiceImpl implements PersonService {
     private final SplitTimeListRepository splitTimeListRepository;
     private final CupScoreListRepository cupScoreListRepository;
     private final EventCertificateStatRepository eventCertificateStatRepository;
+    private final AnalysisSnapshotCache analysisSnapshotCache;
+    private final AnalysisResultStore analysisResultStore;
+    private final CupStandingsCache cupStandingsCache;
+    private final PersonDuplicateIndex personDuplicateIndex;
+    private final DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
 
     public PersonServiceImpl(
         PersonRepository personRepository,
         ResultListRepository resultListRepository,
         SplitTimeListRepository splitTimeListRepository,
-        CupScoreListRepository cupScoreListRepository, EventCertificateStatRepository eventCertificateStatRepository) {
+        CupScoreListRepository cupScoreListRepository, EventCertificateStatRepository eventCertificateStatRepository,
+        AnalysisSnapshotCache analysisSnapshotCache,
+        AnalysisResultStore analysisResultStore,
+        CupStandingsCache cupStandingsCache,
+        PersonDuplicateIndex personDuplicateIndex,
+        DashboardStatisticsSnapshot dashboardStatisticsSnapshot) {
         this.personRepository = personRepository;
         this.resultListRepository = resultListRepository;
         this.splitTimeListRepository = splitTimeListRepository;
         this.cupScoreListRepository = cupScoreListRepository;
         this.eventCertificateStatRepository = eventCertificateStatRepository;
-    }
-
-    private static boolean isJaroWinklerSimilar(double similarity) {
-        return similarity < 0.5; // Adjust the threshold as needed
-    }
-
-    private static boolean isSimilar(double score) {
-        return score > 750; // Score threshold for duplicates
-    }
-
-    private static boolean isStrictDuplicate(double score) {
-        return score > 1050; // Stricter threshold - requires both family AND given name to be similar
-    }
-
-    private static double getSimilarity(String str1, String str2) {
-        JaroWinklerDistance jaroWinkler = new JaroWinklerDistance();
-        return jaroWinkler.apply(str1, str2);
-    }
-
-    private static long getDaysBetween(@Nullable BirthDate date1,
-                                       @Nullable BirthDate date2) {
-        if (date1 == null || date2 == null || date1.value() == null || date2.value() == null) {
-            return 100_000; // a large number
-        }
-        return ChronoUnit.DAYS.between(date1.value(), date2.value());
+        this.analysisSnapshotCache = analysisSnapshotCache;
+        this.analysisResultStore = analysisResultStore;
+        this.cupStandingsCache = cupStandingsCache;
+        this.personDuplicateIndex = personDuplicateIndex;
+        this.dashboardStatisticsSnapshot = dashboardStatisticsSnapshot;
     }
 
     @Override
     public PersonRepository.PersonPerson findOrCreate(Person person) {
-        return personRepository.findOrCreate(person);
+        PersonRepository.PersonPerson personPerson = personRepository.findOrCreate(person);
+        personDuplicateIndex.personsChanged(List.of(personPerson.target().id()));
+        return personPerson;
     }
 
     @Override
@@ -96,14 +88,19 @@ public class PersonServiceImpl implements PersonService {
 
     @Override
     public Collection<PersonRepository.PersonPerson> findOrCreate(Collection<Person> persons) {
-        return personRepository.findOrCreate(persons);
+        Collection<PersonRepository.PersonPerson> personPersons = personRepository.findOrCreate(persons);
+        personDuplicateIndex.personsChanged(personPersons.stream().map(x -> x.target().id()).toList());
+        return personPersons;
     }
 
     @Override
     public Person updatePerson(PersonId personId, PersonName personName, BirthDate birthDate, Gender gender) {
-        return findById(personId)
+        Person updated = findById(personId)
                 .map(person -> personRepository.save(new Person(person.id(), personName, birthDate, gender)))
                 .orElseThrow(ResourceNotFoundException::new);
+        cupStandingsCache.invalidateAll();
+        personDuplicateIndex.personsChanged(List.of(personId));
+        return updated;
     }
 
     @Override
@@ -112,6 +109,12 @@ public class PersonServiceImpl implements PersonService {
         return duplicates ? personRepository.findDuplicates(filter, pageable) : personRepository.findAll(filter, pageable);
     }
 
+    @Override
+    public KeysetPage<Person> findPage(@Nullable String filter, Pageable pageable, boolean duplicates,
+                                       @Nullable String cursor, KeysetPage.CountMode countMode) {
+        return personRepository.findPage(filter, pageable, duplicates, cursor, countMode);
+    }
+
     @Override
     @Deprecated
     public Page<Person> findAll(@Nullable String filter, Pageable pageable) {
@@ -125,21 +128,16 @@ public class PersonServiceImpl implements PersonService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Person> findDoubles(PersonId personId) {
-        return findDoubles(personRepository.findById(personId).orElseThrow());
-    }
-
-    private List<Person> findDoubles(Person person) {
-        List<Person> all = personRepository.findAll();
-        return findDoubles(person, all);
+        return personDuplicateIndex.findDoubles(personId);
     }
 
     List<Person> findDoubles(Person person, List<Person> all) {
         return all.stream()
                 .filter(p -> !p.id().equals(person.id()))
-                .map(p -> new PersonSimilarity(p, calculateSimilarity(p, person)))
-                .filter(ps -> isSimilar(ps.similarity))
+                .filter(p -> PersonDuplicateIndex.isCandidate(p, person))
+                .map(p -> new PersonSimilarity(p, PersonDuplicateIndex.similarity(p, person)))
+                .filter(ps -> PersonDuplicateIndex.isSimilar(ps.similarity))
                 .sorted((p1, p2) -> Double.compare(p2.similarity, p1.similarity))
                 .map(PersonSimilarity::person)
                 .toList();
@@ -149,8 +147,9 @@ public class PersonServiceImpl implements PersonService {
     List<Person> findStrictDuplicates(Person person, List<Person> all) {
         return all.stream()
                 .filter(p -> !p.id().equals(person.id()))
+                .filter(p -> PersonDuplicateIndex.isCandidate(p, person))
                 .map(p -> {
-                    double similarity = calculateSimilarity(p, person);
+                    double similarity = PersonDuplicateIndex.similarity(p, person);
                     // Debug logging
                     log.debug("Strict duplicate check: {} {} (ID {}) vs {} {} (ID {}): similarity = {}",
                             person.personName().familyName().value(),
@@ -163,7 +162,7 @@ public class PersonServiceImpl implements PersonService {
                     return new PersonSimilarity(p, similarity);
                 })
                 .filter(ps -> {
-                    boolean isStrict = isStrictDuplicate(ps.similarity);
+                    boolean isStrict = PersonDuplicateIndex.isStrictDuplicate(ps.similarity);
                     if (isStrict) {
                         log.info("STRICT DUPLICATE FOUND: {} (ID {}) and {} (ID {}) with similarity {}",
                                 person.personName().familyName().value() + " " + person.personName().givenName().value(),
@@ -179,36 +178,6 @@ public class PersonServiceImpl implements PersonService {
                 .toList();
     }
 
-    private boolean isSimilarDate(long daysBetween) {
-        return Math.abs(daysBetween) <= 30; // Adjust the range as needed
-    }
-
-    private double calculateSimilarity(Person person1, Person person2) {
-        // Calculate a similarity score for sorting (higher score = more similar)
-        double score = 0.0;
-        double familyNameSimilarity = getSimilarity(
-                person1.personName().familyName().value(),
-                person2.personName().familyName().value());
-        if (isJaroWinklerSimilar(familyNameSimilarity)) {
-            score += 1000.0 - (1000.0 * familyNameSimilarity);
-        }
-        double givenNameSimilarity = getSimilarity(
-                person1.personName().givenName().value(),
-                person2.personName().givenName().value());
-        if (isJaroWinklerSimilar(givenNameSimilarity)) {
-            score += 100.0 - (100.0 * givenNameSimilarity);
-        }
-        long daysBetween = getDaysBetween(
-                person1.birthDate(), person2.birthDate());
-        if (isSimilarDate(daysBetween)) {
-            score += 10.0 - (10.0 * Math.abs(daysBetween) / 30.0);
-        }
-        if (person1.gender().equals(person2.gender())) {
-            score += 1.0;
-        }
-        return score;
-    }
-
     @Transactional(propagation = Propagation.REQUIRED)
     @Override
     public Person mergePersons(PersonId personId, PersonId mergeId) {
@@ -216,6 +185,12 @@ public class PersonServiceImpl implements PersonService {
         Person merge = personRepository.findById(mergeId).orElseThrow();
         replacePerson(merge, person);
         personRepository.delete(merge);
+        analysisSnapshotCache.invalidateByPerson(mergeId);
+        // stored results do not know their persons
+        analysisResultStore.invalidateAll();
+        cupStandingsCache.invalidateAll();
+        personDuplicateIndex.personsChanged(List.of(personId, mergeId));
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.PERSONS, -1);
         return person;
     }
 
@@ -223,6 +198,9 @@ public class PersonServiceImpl implements PersonService {
     public void deletePerson(PersonId personId) {
         Person person = findById(personId).orElseThrow(ResourceNotFoundException::new);
         personRepository.delete(person);
+        cupStandingsCache.invalidateAll();
+        personDuplicateIndex.personsChanged(List.of(personId));
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.PERSONS, -1);
     }
 
     @Override
@@ -231,6 +209,9 @@ public class PersonServiceImpl implements PersonService {
         // 1. Use strict similarity (>900) to group persons - only these share a merge button
         // 2. Use regular similarity (>750) to find duplicates - these are suggested for merging
 
+        // Only persons sharing a block of the duplicate index are compared
+        PersonDuplicateIndex.Matcher matcher = PersonDuplicateIndex.Matcher.of(persons);
+
         // Use Union-Find to group persons with strict similarity
         java.util.Map<Long, Long> parent = new java.util.HashMap<>();
 
@@ -252,10 +233,11 @@ public class PersonServiceImpl implements PersonService {
         // Union operation: connect only STRICT duplicates
         for (Person person : persons) {
             Long personId = person.id().value();
-            List<Person> strictDuplicates = findStrictDuplicates(person, persons);
-
-            for (Person duplicate : strictDuplicates) {
-                Long duplicateId = duplicate.id().value();
+            for (Map.Entry<PersonId, Double> duplicate : matcher.matches(person.id()).entrySet()) {
+                if (!PersonDuplicateIndex.isStrictDuplicate(duplicate.getValue())) {
+                    continue;
+                }
+                Long duplicateId = duplicate.getKey().value();
                 // Union: connect the two trees
                 Long root1 = find.apply(personId);
                 Long root2 = find.apply(duplicateId);
@@ -277,10 +259,8 @@ public class PersonServiceImpl implements PersonService {
 
         for (Person person : persons) {
             Long personId = person.id().value();
-            List<Person> duplicates = findDoubles(person, persons);
-
             // Only show merge button if this person has at least one duplicate (regular threshold)
-            if (!duplicates.isEmpty()) {
+            if (!matcher.matches(person.id()).isEmpty()) {
                 // But group by strict threshold - only the root of each strict group gets the button
                 Long root = find.apply(personId);
                 if (root.equals(personId)) {
@@ -1,12 +1,17 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisPrecomputeService;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.domain.*;
+import de.jobst.resulter.domain.scoring.CupScoreInputHash;
 import de.jobst.resulter.springapp.config.SpringSecurityAuditorAware;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -34,6 +39,11 @@ public class ResultListServiceImpl implements ResultListService {
     private final EventCertificateService eventCertificateService;
     private final MediaFileService mediaFileService;
     private final SplitTimeListRepository splitTimeListRepository;
+    private final AnalysisSnapshotCache analysisSnapshotCache;
+    private final AnalysisPrecomputeService analysisPrecomputeService;
+    private final CupStandingsCache cupStandingsCache;
+    private final DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
+    private final OrganisationHierarchyIndex organisationHierarchyIndex;
 
     public ResultListServiceImpl(
             ResultListRepository resultListRepository,
@@ -45,7 +55,12 @@ public class ResultListServiceImpl implements ResultListService {
             CupScoreListRepository cupScoreListRepository,
             SpringSecurityAuditorAware springSecurityAuditorAware, EventCertificateService eventCertificateService,
             MediaFileService mediaFileService,
-            SplitTimeListRepository splitTimeListRepository) {
+            SplitTimeListRepository splitTimeListRepository,
+            AnalysisSnapshotCache analysisSnapshotCache,
+            AnalysisPrecomputeService analysisPrecomputeService,
+            CupStandingsCache cupStandingsCache,
+            DashboardStatisticsSnapshot dashboardStatisticsSnapshot,
+            OrganisationHierarchyIndex organisationHierarchyIndex) {
         this.resultListRepository = resultListRepository;
         this.cupRepository = cupRepository;
         this.eventRepository = eventRepository;
@@ -58,11 +73,20 @@ public class ResultListServiceImpl implements ResultListService {
         this.eventCertificateService = eventCertificateService;
         this.mediaFileService = mediaFileService;
         this.splitTimeListRepository = splitTimeListRepository;
+        this.analysisSnapshotCache = analysisSnapshotCache;
+        this.analysisPrecomputeService = analysisPrecomputeService;
+        this.cupStandingsCache = cupStandingsCache;
+        this.dashboardStatisticsSnapshot = dashboardStatisticsSnapshot;
+        this.organisationHierarchyIndex = organisationHierarchyIndex;
     }
 
     @Override
     public ResultList findOrCreate(ResultList resultList) {
-        return resultListRepository.findOrCreate(resultList);
+        ResultList created = resultListRepository.findOrCreate(resultList);
+        cupStandingsCache.invalidateEvent(created.getEventId());
+        // imports create persons, organisations, races and split times along with the result list
+        dashboardStatisticsSnapshot.changed();
+        return created;
     }
 
     @Override
@@ -77,15 +101,22 @@ public class ResultListServiceImpl implements ResultListService {
 
     @Override
     public ResultList update(ResultList resultList) {
-        return resultListRepository.update(resultList);
+        ResultList updated = resultListRepository.update(resultList);
+        analysisSnapshotCache.invalidate(updated.getId());
+        analysisPrecomputeService.resultListChanged(updated.getId());
+        cupStandingsCache.invalidateEvent(updated.getEventId());
+        dashboardStatisticsSnapshot.changed();
+        return updated;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ResultList> findByEventId(EventId id) {
         return resultListRepository.findByEventId(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<EventId, List<ResultList>> findAllByEventIds(Collection<EventId> eventIds) {
         if (eventIds == null || eventIds.isEmpty()) {
             return Map.of();
@@ -119,14 +150,19 @@ public class ResultListServiceImpl implements ResultListService {
             // no cups for this event
             return List.of();
         }
-        Set<OrganisationId> referencedOrganisationIds = resultList.getReferencedOrganisationIds();
-        Map<OrganisationId, Organisation> organisationById =
-                organisationRepository.loadOrganisationTree(referencedOrganisationIds);
+        OrganisationHierarchy organisationHierarchy = organisationHierarchyIndex.current();
         String creator = springSecurityAuditorAware.getCurrentAuditor().orElse(SpringSecurityAuditorAware.UNKNOWN);
         ZonedDateTime now = ZonedDateTime.now();
         List<@Nullable CupScoreList> cupScoreLists = cups.stream()
-                .map(cup ->
-                        resultList.calculate(cup, creator, now, cup.getCupTypeCalculationStrategy(organisationById)))
+                .map(cup -> {
+                    CupScoreList cupScoreList = resultList.calculate(
+                            cup, creator, now, cup.getCupTypeCalculationStrategy(organisationHierarchy));
+                    // record the inputs, so that a later recalculation of the cup can skip this result list
+                    return cupScoreList != null
+                            ? cupScoreList.withInputHash(
+                                    CupScoreInputHash.forCup(cup, organisationHierarchy).of(resultList))
+                            : null;
+                })
                 .collect(Collectors.toList());
 
         // Determine deletion scope based on date-based rules (event-wide vs ResultList-specific)
@@ -146,7 +182,9 @@ public class ResultListServiceImpl implements ResultListService {
                     .collect(Collectors.toSet()));
         }
 
-        return cupScoreListRepository.saveAll(cupScoreLists);
+        List<CupScoreList> saved = cupScoreListRepository.saveAll(cupScoreLists);
+        cupStandingsCache.invalidateEvent(resultList.getEventId());
+        return saved;
     }
 
     @Transactional
@@ -202,6 +240,7 @@ public class ResultListServiceImpl implements ResultListService {
                 EventCertificateStatId.empty().value(), event.getId(), person.id(), Instant.now());
 
         eventCertificateStatRepository.save(eventCertificateStat);
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.CERTIFICATES, 1);
 
         return certificate;
     }
@@ -212,6 +251,86 @@ public class ResultListServiceImpl implements ResultListService {
         return certificateService.createCertificate(event, eventCertificate, mediaFileService);
     }
 
+    @Override
+    public Optional<CertificateBatch> prepareCertificates(
+        ResultListId resultListId, Collection<ClassResultShortName> classResultShortNames, @Nullable Integer topN) {
+        Optional<ResultList> resultList = resultListRepository.findById(resultListId);
+        if (resultList.isEmpty() || resultList.get().getClassResults() == null) {
+            return Optional.empty();
+        }
+        Optional<Event> event = eventRepository.findById(resultList.get().getEventId());
+        if (event.isEmpty() || event.get().getCertificate() == null) {
+            return Optional.empty();
+        }
+        EventCertificate eventCertificate = eventCertificateService.getById(event.get().getCertificate());
+        List<String> layoutErrors = certificateService.validateLayout(eventCertificate, mediaFileService);
+        if (!layoutErrors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid layout description of certificate "
+                + eventCertificate.getId().value() + ": " + String.join("; ", layoutErrors));
+        }
+
+        record Candidate(PersonResult personResult, PersonRaceResult personRaceResult) {}
+        List<Candidate> candidates = resultList.get().getClassResults().stream()
+            .filter(classResult -> classResultShortNames.isEmpty()
+                                   || classResultShortNames.contains(classResult.classResultShortName()))
+            .sorted()
+            .flatMap(classResult -> classResult.personResults().value().stream()
+                .flatMap(personResult -> personResult.personRaceResults().value().stream()
+                    .findFirst()
+                    .map(personRaceResult -> new Candidate(personResult, personRaceResult))
+                    .stream())
+                .filter(candidate -> topN == null || placedWithin(candidate.personRaceResult(), topN))
+                .sorted(Comparator.comparingLong(candidate -> sortPosition(candidate.personRaceResult()))))
+            .toList();
+
+        // one query per kind instead of one per certificate
+        Map<PersonId, Person> persons = personRepository.findAllById(candidates.stream()
+            .map(candidate -> candidate.personResult().personId())
+            .collect(Collectors.toSet()));
+        Map<OrganisationId, Organisation> organisations = organisationRepository.findAllById(candidates.stream()
+            .map(candidate -> candidate.personResult().organisationId())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+
+        List<CertificateService.Recipient> recipients = candidates.stream()
+            .filter(candidate -> persons.containsKey(candidate.personResult().personId()))
+            .map(candidate -> new CertificateService.Recipient(
+                persons.get(candidate.personResult().personId()),
+                candidate.personResult().organisationId() != null
+                    ? organisations.get(candidate.personResult().organisationId())
+                    : null,
+                candidate.personRaceResult()))
+            .toList();
+        return Optional.of(new CertificateBatch(event.get(), eventCertificate, recipients));
+    }
+
+    private static boolean placedWithin(PersonRaceResult personRaceResult, int topN) {
+        Long position = personRaceResult.getPosition().value();
+        return position != null && position > 0 && position <= topN;
+    }
+
+    private static long sortPosition(PersonRaceResult personRaceResult) {
+        Long position = personRaceResult.getPosition().value();
+        return position != null && position > 0 ? position : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void writeCertificates(
+        CertificateBatch batch, CertificateService.BatchFormat format, OutputStream outputStream) throws IOException {
+        int written = certificateService.writeCertificates(
+            batch.event(), batch.eventCertificate(), batch.recipients(), format, mediaFileService, outputStream);
+        if (written == 0) {
+            return;
+        }
+
+        Instant generated = Instant.now();
+        eventCertificateStatRepository.saveAll(batch.recipients().subList(0, written).stream()
+            .map(recipient -> EventCertificateStat.of(
+                EventCertificateStatId.empty().value(), batch.event().getId(), recipient.person().id(), generated))
+            .toList());
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.CERTIFICATES, written);
+    }
+
     @Override
     public List<EventCertificateStat> getCertificateStats(EventId eventId) {
         return eventCertificateStatRepository.findAllByEvent(eventId);
@@ -220,6 +339,7 @@ public class ResultListServiceImpl implements ResultListService {
     @Override
     public void deleteEventCertificateStat(EventCertificateStatId id) {
         eventCertificateStatRepository.deleteById(id);
+        dashboardStatisticsSnapshot.adjust(DashboardStatisticsSnapshot.Counter.CERTIFICATES, -1);
     }
 
     @Override
@@ -0,0 +1,120 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.port.*;
+import de.jobst.resulter.application.util.TransactionUtils;
+import de.jobst.resulter.domain.ResultListId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Background stage after imports and result list updates: discards the stored analyses of the changed result list
+ * and, if storage is enabled, computes the analyses with the default parameters of the analysis page, so that the
+ * first request is served from the {@link AnalysisResultStore}.
+ *
+ * <p>Result lists are processed one at a time after the commit of the changing transaction. A result list changed
+ * again while it is waiting is computed only once.</p>
+ */
+@Service
+@Slf4j
+public class AnalysisPrecomputeService implements AutoCloseable {
+
+    // defaults of the split time ranking on the analysis page
+    static final boolean DEFAULT_MERGE_BIDIRECTIONAL = false;
+    static final boolean DEFAULT_INCLUDE_SEQUENCES = true;
+    static final int DEFAULT_SEQUENCE_MIN_CONTROLS = 3;
+
+    private final AnalysisResultStore analysisResultStore;
+    private final SplitTimeRankingService splitTimeRankingService;
+    private final SplitTimeTableService splitTimeTableService;
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final HangingDetectionService hangingDetectionService;
+    private final MentalResilienceService mentalResilienceService;
+    private final ExecutorService executor;
+    private final Set<ResultListId> pending = new LinkedHashSet<>();
+
+    public AnalysisPrecomputeService(
+            AnalysisResultStore analysisResultStore,
+            SplitTimeRankingService splitTimeRankingService,
+            SplitTimeTableService splitTimeTableService,
+            AnomalyDetectionService anomalyDetectionService,
+            HangingDetectionService hangingDetectionService,
+            MentalResilienceService mentalResilienceService) {
+        this.analysisResultStore = analysisResultStore;
+        this.splitTimeRankingService = splitTimeRankingService;
+        this.splitTimeTableService = splitTimeTableService;
+        this.anomalyDetectionService = anomalyDetectionService;
+        this.hangingDetectionService = hangingDetectionService;
+        this.mentalResilienceService = mentalResilienceService;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis-precompute");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Called by writers of result lists, split times or persons of a result list.
+     */
+    public void resultListChanged(ResultListId resultListId) {
+        resultListsChanged(List.of(resultListId));
+    }
+
+    public void resultListsChanged(Collection<ResultListId> resultListIds) {
+        resultListIds.forEach(analysisResultStore::invalidate);
+        if (analysisResultStore.isEnabled()) {
+            TransactionUtils.runAfterCommit(() -> resultListIds.forEach(this::schedule));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void schedule(ResultListId resultListId) {
+        synchronized (pending) {
+            if (!pending.add(resultListId)) {
+                return;
+            }
+        }
+        try {
+            executor.execute(() -> {
+                synchronized (pending) {
+                    pending.remove(resultListId);
+                }
+                precompute(resultListId);
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Precomputation of result list {} rejected, shutting down", resultListId);
+        }
+    }
+
+    void precompute(ResultListId resultListId) {
+        long startTime = System.currentTimeMillis();
+        try {
+            splitTimeRankingService.analyzeSplitTimesRanking(resultListId, DEFAULT_MERGE_BIDIRECTIONAL, List.of(),
+                    false, DEFAULT_INCLUDE_SEQUENCES, DEFAULT_SEQUENCE_MIN_CONTROLS);
+            anomalyDetectionService.analyzeAnomaly(resultListId, List.of());
+            hangingDetectionService.analyzeHanging(resultListId, List.of());
+            mentalResilienceService.analyzeMentalResilience(resultListId, List.of());
+            for (ClassGroupOption option : splitTimeTableService.getAvailableClasses(resultListId)) {
+                splitTimeTableService.generateByClass(resultListId, option.className());
+            }
+            for (CourseGroupOption option : splitTimeTableService.getAvailableCourses(resultListId)) {
+                splitTimeTableService.generateByCourse(resultListId, option.courseId());
+            }
+            log.info("Precomputed analyses of result list {} in {}ms", resultListId,
+                    System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.warn("Precomputing analyses of result list {} failed", resultListId, e);
+        }
+    }
+}
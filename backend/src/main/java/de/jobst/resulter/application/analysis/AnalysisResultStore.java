@@ -0,0 +1,157 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.port.AnalysisResultRepository;
+import de.jobst.resulter.domain.ResultListId;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static de.jobst.resulter.application.util.TransactionUtils.runAfterCommit;
+
+/**
+ * Persistent store of analysis results per result list, analysis type and parameter key.
+ *
+ * <p>Results are stored as gzip compressed JSON. Reads are served from storage if a result for the current version
+ * of the result list exists; otherwise the analysis is computed live and written through, tagged with the version
+ * read before the computation started, so that a result of data changed in the meantime is discarded by the
+ * repository. Storage is opt-in ({@code resulter.analysis.precompute.enabled}); invalidation always happens, so that
+ * enabling it later never serves results of outdated data.</p>
+ */
+@Service
+@Slf4j
+public class AnalysisResultStore {
+
+    private final AnalysisResultRepository analysisResultRepository;
+    private final boolean enabled;
+    private final JsonMapper jsonMapper;
+
+    public AnalysisResultStore(
+            AnalysisResultRepository analysisResultRepository,
+            @Value("${resulter.analysis.precompute.enabled:false}") boolean enabled) {
+        this.analysisResultRepository = analysisResultRepository;
+        this.enabled = enabled;
+        // only the record components, derived getters like HangingAnalysis.getRunnerCount() are not stored
+        this.jsonMapper = JsonMapper.builder()
+                .changeDefaultVisibility(visibility -> visibility
+                        .withVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE)
+                        .withVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE)
+                        .withVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY))
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the stored result or computes and stores it.
+     *
+     * @param analysisType the analysis, e.g. {@code ranking}
+     * @param parameters   key of all parameters the result depends on
+     */
+    public <T> T getOrCompute(
+            ResultListId resultListId,
+            String analysisType,
+            String parameters,
+            TypeReference<T> resultType,
+            Supplier<T> computation) {
+        if (!enabled) {
+            return computation.get();
+        }
+
+        long version;
+        Optional<byte[]> stored;
+        try {
+            version = analysisResultRepository.currentVersion(resultListId);
+            stored = analysisResultRepository.find(resultListId, analysisType, parameters);
+        } catch (DataAccessException e) {
+            log.warn("Reading stored {} analysis of result list {} failed", analysisType, resultListId, e);
+            return computation.get();
+        }
+
+        if (stored.isPresent()) {
+            try {
+                T result = read(stored.get(), resultType);
+                log.debug("Serving stored {} analysis ({}) of result list {}", analysisType, parameters, resultListId);
+                return result;
+            } catch (JacksonException | UncheckedIOException e) {
+                log.warn("Stored {} analysis of result list {} is not readable, computing it again",
+                        analysisType, resultListId, e);
+            }
+        }
+
+        T result = computation.get();
+        try {
+            if (!analysisResultRepository.save(resultListId, analysisType, parameters, version, write(result))) {
+                log.debug("Discarded {} analysis of result list {}, data changed during computation",
+                        analysisType, resultListId);
+            }
+        } catch (DataAccessException | JacksonException | UncheckedIOException e) {
+            log.warn("Storing {} analysis of result list {} failed", analysisType, resultListId, e);
+        }
+        return result;
+    }
+
+    /**
+     * Discards all stored results of the result list, after the commit of the current transaction if any.
+     */
+    public void invalidate(ResultListId resultListId) {
+        runAfterCommit(() -> {
+            try {
+                analysisResultRepository.invalidate(resultListId);
+            } catch (DataAccessException e) {
+                log.warn("Invalidating stored analyses of result list {} failed", resultListId, e);
+            }
+        });
+    }
+
+    /**
+     * Discards all stored results, e.g. after a person merge.
+     */
+    public void invalidateAll() {
+        runAfterCommit(() -> {
+            try {
+                analysisResultRepository.invalidateAll();
+            } catch (DataAccessException e) {
+                log.warn("Invalidating all stored analyses failed", e);
+            }
+        });
+    }
+
+    byte[] write(Object result) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            jsonMapper.writeValue(out, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    <T> T read(byte[] payload, TypeReference<T> resultType) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return jsonMapper.readValue(in, resultType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.domain.*;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of all data the split-time analyses need for a single result list.
+ *
+ * <p>Loaded once by {@link AnalysisSnapshotCache} and shared between the ranking, split table, mental resilience,
+ * anomaly and hanging analyses. The contained domain objects must not be modified.</p>
+ *
+ * @param resultList  the result list, {@code null} if it does not exist
+ * @param runtimeMap  positive runtimes keyed by person, class and race number
+ * @param personMap   persons of all runners having split times
+ * @param columns     primitive copy of {@code splitTimeLists}, runner indexes match the list
+ */
+record AnalysisSnapshot(
+        ResultListId resultListId,
+        List<SplitTimeList> splitTimeLists,
+        @Nullable ResultList resultList,
+        Map<RuntimeKey, Double> runtimeMap,
+        Map<PersonId, Person> personMap,
+        SplitTimeColumns columns) {
+
+    AnalysisSnapshot {
+        splitTimeLists = List.copyOf(splitTimeLists);
+        runtimeMap = Map.copyOf(runtimeMap);
+        personMap = Map.copyOf(personMap);
+    }
+
+    static AnalysisSnapshot empty(ResultListId resultListId, @Nullable ResultList resultList) {
+        return new AnalysisSnapshot(resultListId, List.of(), resultList, Map.of(), Map.of(), SplitTimeColumns.empty());
+    }
+
+    boolean hasSplitTimes() {
+        return !splitTimeLists.isEmpty();
+    }
+
+    ResultList requireResultList() {
+        if (resultList == null) {
+            throw new IllegalArgumentException("Result list not found: " + resultListId);
+        }
+        return resultList;
+    }
+
+    boolean containsPerson(PersonId personId) {
+        if (personMap.containsKey(personId)) {
+            return true;
+        }
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            if (columns.personIdValue(runner) == personId.value()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.ContentVersions;
+import de.jobst.resulter.application.port.PersonRepository;
+import de.jobst.resulter.application.port.ResultListRepository;
+import de.jobst.resulter.application.port.SplitTimeListRepository;
+import de.jobst.resulter.application.util.BoundedCache;
+import de.jobst.resulter.application.util.PrimaryReads;
+import de.jobst.resulter.domain.*;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static de.jobst.resulter.application.util.TransactionUtils.runNowAndAfterCommit;
+
+/**
+ * Bounded cache of {@link AnalysisSnapshot}s keyed by {@link ResultListId}.
+ *
+ * <p>The analysis page fires several analysis requests for the same result list in parallel. All of them read
+ * their split times, result list and persons from one shared snapshot instead of loading the same rows again.
+ * Writers that change result lists, split times or persons must invalidate the affected snapshots, which also bumps
+ * the {@link ContentVersions content version} of the result lists. Snapshots are loaded with {@link PrimaryReads},
+ * so that a lagging read replica cannot put old rows under the new version.</p>
+ */
+@Service
+@Slf4j
+public class AnalysisSnapshotCache {
+
+    private final SplitTimeListRepository splitTimeListRepository;
+    private final ResultListRepository resultListRepository;
+    private final PersonRepository personRepository;
+    private final SplitTimeAnalysisServiceImpl splitTimeAnalysisService;
+    private final ContentVersions contentVersions;
+    private final BoundedCache<ResultListId, AnalysisSnapshot> snapshots;
+
+    public AnalysisSnapshotCache(
+            SplitTimeListRepository splitTimeListRepository,
+            ResultListRepository resultListRepository,
+            PersonRepository personRepository,
+            SplitTimeAnalysisServiceImpl splitTimeAnalysisService,
+            ContentVersions contentVersions,
+            @Value("${resulter.analysis.snapshot-cache.max-entries:32}") int maxEntries,
+            @Value("${resulter.analysis.snapshot-cache.ttl:PT10M}") Duration ttl) {
+        this.splitTimeListRepository = splitTimeListRepository;
+        this.resultListRepository = resultListRepository;
+        this.personRepository = personRepository;
+        this.splitTimeAnalysisService = splitTimeAnalysisService;
+        this.contentVersions = contentVersions;
+        this.snapshots = new BoundedCache<>(maxEntries, ttl);
+    }
+
+    /**
+     * Returns the snapshot for the result list, loading it on first access.
+     */
+    AnalysisSnapshot get(ResultListId resultListId) {
+        return snapshots.get(resultListId, id -> PrimaryReads.call(() -> load(id)));
+    }
+
+    /**
+     * Returns the cached snapshot of the result list if it is loaded. Otherwise loads a snapshot limited to the split
+     * time lists of the classes chosen by {@code classSelector} from the result list, without caching it, e.g. for
+     * the split table of a single class. Callers still have to filter the split time lists by class.
+     */
+    AnalysisSnapshot getForClasses(
+            ResultListId resultListId, Function<ResultList, Set<ClassResultShortName>> classSelector) {
+        Optional<AnalysisSnapshot> cached = snapshots.getIfPresent(resultListId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        // the response is tagged with the content version of the result list, like the cached snapshots
+        return PrimaryReads.call(() -> loadForClasses(resultListId, classSelector));
+    }
+
+    private AnalysisSnapshot loadForClasses(
+            ResultListId resultListId, Function<ResultList, Set<ClassResultShortName>> classSelector) {
+        ResultList resultList = resultListRepository.findById(resultListId).orElse(null);
+        if (resultList == null) {
+            return AnalysisSnapshot.empty(resultListId, null);
+        }
+        Set<ClassResultShortName> classes = classSelector.apply(resultList);
+        List<SplitTimeList> splitTimeLists = classes.isEmpty()
+                ? List.of()
+                : splitTimeListRepository.findByResultListIdAndClassResultShortNames(resultListId, classes);
+        return snapshot(resultListId, resultList, splitTimeLists);
+    }
+
+    public void invalidate(ResultListId resultListId) {
+        contentVersions.resultListsChanged(Set.of(resultListId));
+        runNowAndAfterCommit(() -> snapshots.invalidate(resultListId));
+    }
+
+    public void invalidate(Collection<ResultListId> resultListIds) {
+        Set<ResultListId> ids = Set.copyOf(resultListIds);
+        contentVersions.resultListsChanged(ids);
+        runNowAndAfterCommit(() -> snapshots.invalidateIf((id, snapshot) -> ids.contains(id)));
+    }
+
+    /**
+     * Invalidates all snapshots containing split times of the given person, e.g. after a person merge.
+     */
+    public void invalidateByPerson(PersonId personId) {
+        // the person may also appear in result lists without a cached snapshot
+        contentVersions.allChanged();
+        runNowAndAfterCommit(() -> snapshots.invalidateIf((id, snapshot) -> snapshot.containsPerson(personId)));
+    }
+
+    public void invalidateAll() {
+        contentVersions.allChanged();
+        runNowAndAfterCommit(snapshots::invalidateAll);
+    }
+
+    private AnalysisSnapshot load(ResultListId resultListId) {
+        long startTime = System.currentTimeMillis();
+
+        List<SplitTimeList> splitTimeLists = splitTimeListRepository.findByResultListId(resultListId);
+        ResultList resultList = resultListRepository.findById(resultListId).orElse(null);
+        AnalysisSnapshot snapshot = snapshot(resultListId, resultList, splitTimeLists);
+
+        log.debug("Loaded analysis snapshot for result list {} ({} split time lists, {} persons) in {}ms",
+                resultListId, splitTimeLists.size(), snapshot.personMap().size(),
+                System.currentTimeMillis() - startTime);
+
+        return snapshot;
+    }
+
+    private AnalysisSnapshot snapshot(
+            ResultListId resultListId, @Nullable ResultList resultList, List<SplitTimeList> splitTimeLists) {
+        if (splitTimeLists.isEmpty()) {
+            log.debug("No split time data found for result list {}", resultListId);
+            return AnalysisSnapshot.empty(resultListId, resultList);
+        }
+
+        Map<RuntimeKey, Double> runtimeMap =
+                resultList != null ? splitTimeAnalysisService.buildRuntimeMap(resultList) : Map.of();
+
+        Set<PersonId> personIds =
+                splitTimeLists.stream().map(SplitTimeList::getPersonId).collect(Collectors.toSet());
+        Map<PersonId, Person> personMap = personRepository.findAllById(personIds);
+
+        SplitTimeColumns columns = SplitTimeColumns.of(splitTimeLists, runtimeMap);
+
+        return new AnalysisSnapshot(resultListId, splitTimeLists, resultList, runtimeMap, personMap, columns);
+    }
+}
@@ -2,19 +2,17 @@ package de.jobst.resulter.application.analysis;
 
 
 import de.jobst.resulter.application.port.AnomalyDetectionService;
-import de.jobst.resulter.application.port.ResultListRepository;
 import de.jobst.resulter.application.port.SegmentPI;
-import de.jobst.resulter.application.port.SplitTimeListRepository;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.analysis.*;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.type.TypeReference;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImpl.*;
 
@@ -22,6 +20,8 @@ import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImp
 @Slf4j
 public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
 
+    private static final String ANALYSIS_NAME = "anomaly";
+
     // Must match the constant used in MentalResilienceServiceImpl for consistency
     private static final int TOP_RUNNERS_FOR_REFERENCE = 3;
 
@@ -31,16 +31,19 @@ public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
     // Epsilon for floating-point comparison (0.001 seconds = 1 millisecond tolerance)
     private static final double EPSILON = 0.001;
 
-    private final @Nullable SplitTimeListRepository splitTimeListRepository;
-    private final @Nullable ResultListRepository resultListRepository;
+    private final @Nullable AnalysisSnapshotCache analysisSnapshotCache;
     private final @Nullable SplitTimeAnalysisServiceImpl splitTimeAnalysisService;
-
-    public AnomalyDetectionServiceImpl(@Nullable SplitTimeListRepository splitTimeListRepository,
-                                        @Nullable ResultListRepository resultListRepository,
-                                        @Nullable SplitTimeAnalysisServiceImpl splitTimeAnalysisService) {
-        this.splitTimeListRepository = splitTimeListRepository;
-        this.resultListRepository = resultListRepository;
+    private final RunnerAnalysisExecutor runnerAnalysisExecutor;
+    private final AnalysisResultStore analysisResultStore;
+
+    public AnomalyDetectionServiceImpl(@Nullable AnalysisSnapshotCache analysisSnapshotCache,
+                                        @Nullable SplitTimeAnalysisServiceImpl splitTimeAnalysisService,
+                                        RunnerAnalysisExecutor runnerAnalysisExecutor,
+                                        AnalysisResultStore analysisResultStore) {
+        this.analysisSnapshotCache = analysisSnapshotCache;
         this.splitTimeAnalysisService = splitTimeAnalysisService;
+        this.runnerAnalysisExecutor = runnerAnalysisExecutor;
+        this.analysisResultStore = analysisResultStore;
     }
 
     private List<AnomaliesIndex> analyzeRunnerForAnomaly(
@@ -447,15 +450,25 @@ public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
 
     @Override
     public AnomalyAnalysis analyzeAnomaly(ResultListId resultListId, List<Long> filterPersonIds) {
+        if (!filterPersonIds.isEmpty()) {
+            return computeAnomaly(resultListId, filterPersonIds);
+        }
+        return analysisResultStore.getOrCompute(resultListId, ANALYSIS_NAME, "all", new TypeReference<>() {},
+            () -> computeAnomaly(resultListId, filterPersonIds));
+    }
+
+    private AnomalyAnalysis computeAnomaly(ResultListId resultListId, List<Long> filterPersonIds) {
         log.debug("Starting mental resilience analysis for result list {} with person filter: {}",
             resultListId, filterPersonIds);
 
-        if (splitTimeListRepository == null || resultListRepository == null || splitTimeAnalysisService == null) {
+        if (analysisSnapshotCache == null || splitTimeAnalysisService == null) {
             return createEmptyAnalysis(resultListId);
         }
+        long prepareStartTime = System.nanoTime();
 
         // Step 1: Fetch split time data
-        List<SplitTimeList> splitTimeLists = splitTimeListRepository.findByResultListId(resultListId);
+        AnalysisSnapshot snapshot = analysisSnapshotCache.get(resultListId);
+        List<SplitTimeList> splitTimeLists = snapshot.splitTimeLists();
         log.debug("Fetched {} split time lists", splitTimeLists.size());
 
         if (splitTimeLists.isEmpty()) {
@@ -466,47 +479,46 @@ public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
         // Step 2: Get event ID from first split time list
         EventId eventId = splitTimeLists.getFirst().getEventId();
 
-        // Step 3: Fetch result list for runtime data
-        ResultList resultList = resultListRepository.findById(resultListId)
-            .orElseThrow(() -> new IllegalArgumentException("Result list not found: " + resultListId));
+        // Step 3: Ensure the result list exists (runtime data)
+        snapshot.requireResultList();
 
-        // Step 4: Build runtime map
-        Map<RuntimeKey, Double> runtimeMap = splitTimeAnalysisService.buildRuntimeMap(resultList);
-        log.debug("Built runtime map with {} entries", runtimeMap.size());
+        // Step 4: Runtime map from snapshot
+        Map<RuntimeKey, Double> runtimeMap = snapshot.runtimeMap();
+        log.debug("Using runtime map with {} entries", runtimeMap.size());
 
         // Step 5: Count runners per class
         Map<String, Integer> runnersPerClass = splitTimeAnalysisService.countRunnersPerClass(splitTimeLists);
         log.debug("Runner count per class: {}", runnersPerClass);
 
         // Step 6: Calculate reference times per segment
+        SplitTimeColumns columns = snapshot.columns();
         Map<SegmentKey, Double> referenceTimesPerSegment =
-            splitTimeAnalysisService.calculateReferenceTimesPerSegment(splitTimeLists, runtimeMap);
+            splitTimeAnalysisService.calculateReferenceTimesPerSegment(columns);
         log.debug("Calculated reference times for {} segments", referenceTimesPerSegment.size());
 
         // Step 7: Analyze each or only filtered runners
         Set<Long> filterPersonIdSet = new HashSet<>(filterPersonIds);
 
-        // define the predicate (filter condition) separately
-        Predicate<SplitTimeList> personIdFilter = stl ->
-            filterPersonIdSet.isEmpty() || filterPersonIdSet.contains(stl.getPersonId().value());
-
-        // define the analysis function
         Map<SegmentKey, List<Double>> allSegmentTimesBySegmentKey =
-            splitTimeAnalysisService.calculateAllTimesPerSegment(splitTimeLists, runtimeMap);
+            splitTimeAnalysisService.calculateAllTimesPerSegment(columns);
 
         // Also create cross-class times for fallback when a class has too few runners
-        Map<SegmentKey, List<Double>> allSegmentTimesCrossClass =
-            calculateAllTimesPerSegmentCrossClass(splitTimeLists, runtimeMap);
-
-        Function<SplitTimeList, Optional<RunnerAnomalyProfile>> runnerAnalyzer = stl ->
-            analyzeRunner(stl, referenceTimesPerSegment, runtimeMap, runnersPerClass,
-                allSegmentTimesBySegmentKey, allSegmentTimesCrossClass);
+        Map<SegmentKey, List<Double>> allSegmentTimesCrossClass = calculateAllTimesPerSegmentCrossClass(columns);
 
-        List<RunnerAnomalyProfile> runnerProfiles = splitTimeLists.stream()
-            .filter(personIdFilter)
-            .map(runnerAnalyzer)
-            .flatMap(Optional::stream)
+        List<Integer> runners = IntStream.range(0, columns.runnerCount())
+            .filter(runner -> filterPersonIdSet.isEmpty()
+                || filterPersonIdSet.contains(columns.personIdValue(runner)))
+            .boxed()
             .toList();
+        runnerAnalysisExecutor.recordPhase(ANALYSIS_NAME, "prepare", prepareStartTime);
+
+        List<RunnerAnomalyProfile> runnerProfiles =
+            runnerAnalysisExecutor.analyzeRunners(ANALYSIS_NAME, runners, runner ->
+                    analyzeRunner(splitTimeLists, runner, columns, referenceTimesPerSegment, runnersPerClass,
+                        allSegmentTimesBySegmentKey, allSegmentTimesCrossClass))
+                .stream()
+                .flatMap(Optional::stream)
+                .toList();
 
         log.debug("Analyzed {} runners", runnerProfiles.size());
 
@@ -522,18 +534,15 @@ public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
      * Calculates all times per segment across all classes (class-independent).
      * Used as fallback when a specific class has too few runners.
      */
-    private Map<SegmentKey, List<Double>> calculateAllTimesPerSegmentCrossClass(
-            List<SplitTimeList> splitTimeLists,
-            Map<RuntimeKey, Double> runtimeMap) {
+    private Map<SegmentKey, List<Double>> calculateAllTimesPerSegmentCrossClass(SplitTimeColumns columns) {
 
         Map<SegmentKey, List<Double>> result = new HashMap<>();
 
         if (splitTimeAnalysisService == null) {
             return result;
         }
-        for (SplitTimeList splitTimeList : splitTimeLists) {
-            List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(
-                    splitTimeList, runtimeMap);
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(columns, runner);
 
             for (SegmentTime segmentTime : segmentTimes) {
                 // Use null for className to create cross-class key
@@ -555,14 +564,16 @@ public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
      * Returns Optional.empty() if the class has too few runners for reliable analysis.
      */
     private Optional<RunnerAnomalyProfile> analyzeRunner(
-        SplitTimeList splitTimeList,
+        List<SplitTimeList> splitTimeLists,
+        int runner,
+        SplitTimeColumns columns,
         Map<SegmentKey, Double> referenceTimesPerSegment,
-        Map<RuntimeKey, Double> runtimeMap,
         Map<String, Integer> runnersPerClass,
         Map<SegmentKey, List<Double>> allSegmentTimesBySegmentKey,
         Map<SegmentKey, List<Double>> allSegmentTimesCrossClass
         ) {
 
+        SplitTimeList splitTimeList = splitTimeLists.get(runner);
         PersonId personId = splitTimeList.getPersonId();
         String className = splitTimeList.getClassResultShortName().value();
         RaceNumber raceNumber = splitTimeList.getRaceNumber();
@@ -580,7 +591,7 @@ public class AnomalyDetectionServiceImpl implements AnomalyDetectionService {
         }
 
         // Calculate segment times
-        List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(splitTimeList, runtimeMap);
+        List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(columns, runner);
 
         if (segmentTimes.isEmpty()) {
             log.debug("No valid segments for runner {}", personId);
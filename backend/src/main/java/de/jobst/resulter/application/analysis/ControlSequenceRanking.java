@@ -0,0 +1,469 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.domain.ControlCode;
+import de.jobst.resulter.domain.analysis.ControlSequenceSegment;
+import de.jobst.resulter.domain.analysis.SequenceRunnerSplit;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming ranking of control sequences: contiguous runs of at least {@code minControls} controls that several
+ * runners ran in the same order.
+ *
+ * <p>Every window of a runner's timeline is identified by a polynomial rolling hash over the interned control ids of
+ * {@link SplitTimeColumns}, extended by one control per step, so no control code strings or keys are built while
+ * streaming. A hash hit is verified against the control ids of the first window that created the sequence. Each
+ * sequence only keeps its runner count, classes, course layouts and a bounded top-K heap of its fastest runners; leg
+ * times are read back from the columns for the top-K runners of the sequences that are returned.</p>
+ *
+ * <p>Sequences covered by a longer sequence with the same (limited) runner count are pruned without comparing all
+ * pairs: every runner of a longer sequence also ran its sub-sequences, so it is enough to link each sequence to its two
+ * one control shorter sub-sequences (without the first and without the last control) when it is created and to compare
+ * the runner counts along these links.</p>
+ *
+ * <p>Not thread-safe, one instance per calculation.</p>
+ */
+final class ControlSequenceRanking {
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final double TIE_THRESHOLD_SECONDS = 0.001;
+
+    private final SplitTimeColumns columns;
+    private final int minControls;
+    private final int maxRunnersPerSequence;
+    private final Comparator<String> controlCodeComparator;
+    private final SequenceTable table = new SequenceTable();
+    private final List<Sequence> sequences = new ArrayList<>();
+    private long[] powers = {1L};
+
+    ControlSequenceRanking(
+            SplitTimeColumns columns,
+            int minControls,
+            int maxRunnersPerSequence,
+            Comparator<String> controlCodeComparator) {
+        this.columns = columns;
+        this.minControls = minControls;
+        this.maxRunnersPerSequence = maxRunnersPerSequence;
+        this.controlCodeComparator = controlCodeComparator;
+    }
+
+    /**
+     * Streams the windows of all given runners into the sequence table.
+     *
+     * @param runners       indexes of the runners to rank
+     * @param courseKeyIds  interned course layout per runner index, used to drop sequences all runners ran on the
+     *                      same course
+     */
+    void addRunners(int[] runners, int[] courseKeyIds) {
+        // The best window per person and sequence counts, so all runners of one person are streamed together
+        int[] byPerson = Arrays.stream(runners)
+                .boxed()
+                .sorted(Comparator.comparingLong(columns::personIdValue))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int from = 0;
+        while (from < byPerson.length) {
+            int to = from + 1;
+            while (to < byPerson.length
+                    && columns.personIdValue(byPerson[to]) == columns.personIdValue(byPerson[from])) {
+                to++;
+            }
+            if (to - from == 1 && !hasRepeatedControl(byPerson[from])) {
+                // A single timeline without repeated controls contains every sequence at most once
+                int runner = byPerson[from];
+                streamWindows(runner, (sequence, punch, time) ->
+                        sequence.offer(columns, runner, punch, time, courseKeyIds[runner], maxRunnersPerSequence));
+            } else {
+                Map<Sequence, Window> bestWindows = new IdentityHashMap<>();
+                for (int i = from; i < to; i++) {
+                    int runner = byPerson[i];
+                    streamWindows(runner, (sequence, punch, time) -> {
+                        Window best = bestWindows.get(sequence);
+                        // on equal times the earliest window wins
+                        if (best == null || time < best.time() || (time == best.time() && punch < best.punch())) {
+                            bestWindows.put(sequence, new Window(runner, punch, time));
+                        }
+                    });
+                }
+                bestWindows.forEach((sequence, window) -> sequence.offer(columns, window.runner(), window.punch(),
+                        window.time(), courseKeyIds[window.runner()], maxRunnersPerSequence));
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * Returns the ranked sequences, longest first.
+     *
+     * @param singleRunnerAllowed  keep sequences with a single runner (person filter active)
+     * @param requiredRunnerCount  number of runners a sequence must have, {@code -1} for no requirement (intersection
+     *                             filter: runners are pre-filtered, so all filtered persons are present iff the count
+     *                             matches)
+     * @param maxSequences         maximum number of returned sequences
+     */
+    List<ControlSequenceSegment> rank(boolean singleRunnerAllowed, int requiredRunnerCount, int maxSequences) {
+        for (Sequence sequence : sequences) {
+            sequence.candidate = (sequence.runnerCount > 1 || singleRunnerAllowed)
+                    && sequence.multipleCourses
+                    && (requiredRunnerCount < 0 || sequence.runnerCount == requiredRunnerCount);
+        }
+        for (Sequence sequence : sequences) {
+            if (sequence.candidate) {
+                markCovered(sequence.withoutLast, sequence);
+                markCovered(sequence.withoutFirst, sequence);
+            }
+        }
+
+        List<Sequence> ranked = new ArrayList<>();
+        for (Sequence sequence : sequences) {
+            if (sequence.candidate && !sequence.covered) {
+                ranked.add(sequence);
+            }
+        }
+        ranked.sort(Comparator
+                .comparingInt((Sequence s) -> s.length).reversed()
+                .thenComparing(Comparator.comparingInt(this::limitedRunnerCount).reversed())
+                .thenComparing(this::compareControls));
+
+        return ranked.stream().limit(maxSequences).map(this::toSegment).toList();
+    }
+
+    int sequenceCount() {
+        return sequences.size();
+    }
+
+    int rankedCandidateCount() {
+        int count = 0;
+        for (Sequence sequence : sequences) {
+            if (sequence.candidate && !sequence.covered) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void markCovered(@Nullable Sequence shorter, Sequence longer) {
+        if (shorter != null && shorter.candidate && limitedRunnerCount(shorter) == limitedRunnerCount(longer)) {
+            shorter.covered = true;
+        }
+    }
+
+    private int limitedRunnerCount(Sequence sequence) {
+        return Math.min(sequence.runnerCount, maxRunnersPerSequence);
+    }
+
+    private boolean hasRepeatedControl(int runner) {
+        BitSet seen = new BitSet(columns.controlCount());
+        for (int punch = columns.start(runner); punch < columns.end(runner); punch++) {
+            int controlId = columns.controlId(punch);
+            if (seen.get(controlId)) {
+                return true;
+            }
+            seen.set(controlId);
+        }
+        return false;
+    }
+
+    /**
+     * Enumerates all windows of {@code minControls} up to {@code n - 1} controls of the runner's punched timeline.
+     * Windows are generated by descending start index and growing length, so both one control shorter sub-sequences
+     * of a new sequence are already in the table.
+     */
+    private void streamWindows(int runner, WindowConsumer consumer) {
+        // Missing punches are sorted last, so the valid punches are a prefix of the runner's range
+        int start = columns.start(runner);
+        int validEnd = start;
+        while (validEnd < columns.end(runner) && columns.hasPunchTime(validEnd)) {
+            validEnd++;
+        }
+        int validCount = validEnd - start;
+        int maxControls = validCount - 1;
+        if (maxControls < minControls) {
+            return;
+        }
+        ensurePowers(maxControls);
+
+        for (int first = validEnd - minControls; first >= start; first--) {
+            long hash = 0;
+            @Nullable Sequence withoutLast = null;
+            int maxLength = Math.min(maxControls, validEnd - first);
+            for (int length = 1; length <= maxLength; length++) {
+                int last = first + length - 1;
+                hash = hash * HASH_MULTIPLIER + columns.controlId(last) + 1;
+                if (length < minControls) {
+                    continue;
+                }
+                Sequence sequence = table.find(columns, hash, first, length);
+                if (sequence == null) {
+                    sequence = new Sequence(hash, first, length);
+                    if (length > minControls) {
+                        long withoutFirstHash = hash - (columns.controlId(first) + 1L) * powers[length - 1];
+                        sequence.withoutLast = withoutLast;
+                        sequence.withoutFirst = table.find(columns, withoutFirstHash, first + 1, length - 1);
+                    }
+                    table.add(sequence);
+                    sequences.add(sequence);
+                }
+                consumer.accept(sequence, first, columns.punchTime(last) - columns.punchTime(first));
+                withoutLast = sequence;
+            }
+        }
+    }
+
+    private void ensurePowers(int maxLength) {
+        if (powers.length <= maxLength) {
+            int oldLength = powers.length;
+            powers = Arrays.copyOf(powers, maxLength + 1);
+            for (int i = oldLength; i <= maxLength; i++) {
+                powers[i] = powers[i - 1] * HASH_MULTIPLIER;
+            }
+        }
+    }
+
+    private int compareControls(Sequence first, Sequence second) {
+        int max = Math.min(first.length, second.length);
+        for (int i = 0; i < max; i++) {
+            int compare = controlCodeComparator.compare(
+                    columns.controlCode(columns.controlId(first.firstPunch + i)),
+                    columns.controlCode(columns.controlId(second.firstPunch + i)));
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return Integer.compare(first.length, second.length);
+    }
+
+    private ControlSequenceSegment toSegment(Sequence sequence) {
+        List<ControlCode> controls = new ArrayList<>(sequence.length);
+        for (int i = 0; i < sequence.length; i++) {
+            controls.add(ControlCode.of(columns.controlCode(columns.controlId(sequence.firstPunch + i))));
+        }
+
+        List<String> classes = sequence.classIds.stream()
+                .mapToObj(columns::classNameOf)
+                .sorted()
+                .toList();
+
+        int[] order = sequence.rankedEntries(columns);
+        List<SequenceRunnerSplit> runnerSplits = new ArrayList<>(order.length);
+        double leaderTime = order.length == 0 ? 0.0 : sequence.times[order[0]];
+        int currentPosition = 1;
+        double previousTime = Double.NaN;
+        for (int i = 0; i < order.length; i++) {
+            int entry = order[i];
+            double currentTime = sequence.times[entry];
+            // Use 0.001 second (1ms) threshold for floating point comparison, ties share the position
+            if (i == 0 || Math.abs(currentTime - previousTime) > TIE_THRESHOLD_SECONDS) {
+                currentPosition = i + 1;
+            }
+            int runner = sequence.runners[entry];
+            int firstPunch = sequence.punches[entry];
+            List<Double> legTimes = new ArrayList<>(sequence.length - 1);
+            for (int punch = firstPunch + 1; punch < firstPunch + sequence.length; punch++) {
+                legTimes.add(columns.punchTime(punch) - columns.punchTime(punch - 1));
+            }
+            runnerSplits.add(new SequenceRunnerSplit(
+                    columns.personId(runner),
+                    columns.className(runner),
+                    currentPosition,
+                    currentTime,
+                    currentTime - leaderTime,
+                    List.copyOf(legTimes)));
+            previousTime = currentTime;
+        }
+        return new ControlSequenceSegment(List.copyOf(controls), runnerSplits, classes);
+    }
+
+    @FunctionalInterface
+    private interface WindowConsumer {
+        void accept(Sequence sequence, int firstPunch, double time);
+    }
+
+    private record Window(int runner, int punch, double time) {}
+
+    /**
+     * Aggregated state of one control sequence. The fastest runners are kept in a bounded max-heap ordered by time and
+     * person id, slower runners only add to the counters.
+     */
+    private static final class Sequence {
+
+        private final long hash;
+        private final int firstPunch;
+        private final int length;
+        private @Nullable Sequence nextInBucket;
+        private @Nullable Sequence withoutLast;
+        private @Nullable Sequence withoutFirst;
+
+        private int runnerCount;
+        private final BitSet classIds = new BitSet();
+        private int courseKeyId = -1;
+        private boolean multipleCourses;
+        private boolean candidate;
+        private boolean covered;
+
+        // top-K max-heap, root is the slowest kept runner
+        private double[] times = new double[4];
+        private int[] runners = new int[4];
+        private int[] punches = new int[4];
+        private int heapSize;
+
+        Sequence(long hash, int firstPunch, int length) {
+            this.hash = hash;
+            this.firstPunch = firstPunch;
+            this.length = length;
+        }
+
+        void offer(SplitTimeColumns columns, int runner, int punch, double time, int runnerCourseKeyId, int maxRunners) {
+            runnerCount++;
+            classIds.set(columns.classId(runner));
+            if (courseKeyId < 0) {
+                courseKeyId = runnerCourseKeyId;
+            } else if (courseKeyId != runnerCourseKeyId) {
+                multipleCourses = true;
+            }
+
+            if (heapSize < maxRunners) {
+                if (heapSize == times.length) {
+                    int capacity = Math.min(maxRunners, heapSize * 2);
+                    times = Arrays.copyOf(times, capacity);
+                    runners = Arrays.copyOf(runners, capacity);
+                    punches = Arrays.copyOf(punches, capacity);
+                }
+                set(heapSize, runner, punch, time);
+                siftUp(columns, heapSize++);
+            } else if (heapSize > 0 && compare(columns, time, runner, 0) < 0) {
+                set(0, runner, punch, time);
+                siftDown(columns, 0);
+            }
+        }
+
+        /**
+         * Heap entry indexes ordered by time, ties by person id.
+         */
+        int[] rankedEntries(SplitTimeColumns columns) {
+            return IntStream.range(0, heapSize)
+                    .boxed()
+                    .sorted((a, b) -> compare(columns, times[a], runners[a], b))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        private int compare(SplitTimeColumns columns, double time, int runner, int entry) {
+            int compare = Double.compare(time, times[entry]);
+            return compare != 0
+                    ? compare
+                    : Long.compare(columns.personIdValue(runner), columns.personIdValue(runners[entry]));
+        }
+
+        private void set(int entry, int runner, int punch, double time) {
+            times[entry] = time;
+            runners[entry] = runner;
+            punches[entry] = punch;
+        }
+
+        private void swap(int a, int b) {
+            double time = times[a];
+            int runner = runners[a];
+            int punch = punches[a];
+            set(a, runners[b], punches[b], times[b]);
+            set(b, runner, punch, time);
+        }
+
+        private void siftUp(SplitTimeColumns columns, int entry) {
+            while (entry > 0) {
+                int parent = (entry - 1) / 2;
+                if (compare(columns, times[entry], runners[entry], parent) <= 0) {
+                    return;
+                }
+                swap(entry, parent);
+                entry = parent;
+            }
+        }
+
+        private void siftDown(SplitTimeColumns columns, int entry) {
+            while (true) {
+                int largest = entry;
+                for (int child = 2 * entry + 1; child <= 2 * entry + 2 && child < heapSize; child++) {
+                    if (compare(columns, times[child], runners[child], largest) > 0) {
+                        largest = child;
+                    }
+                }
+                if (largest == entry) {
+                    return;
+                }
+                swap(entry, largest);
+                entry = largest;
+            }
+        }
+    }
+
+    /**
+     * Open hash table of sequences keyed by the rolling hash, collisions are resolved by comparing control ids.
+     */
+    private static final class SequenceTable {
+
+        private @Nullable Sequence[] buckets = new Sequence[256];
+        private int size;
+
+        @Nullable Sequence find(SplitTimeColumns columns, long hash, int firstPunch, int length) {
+            for (Sequence sequence = buckets[index(hash, buckets.length)];
+                    sequence != null;
+                    sequence = sequence.nextInBucket) {
+                if (sequence.hash == hash
+                        && sequence.length == length
+                        && sameControls(columns, sequence.firstPunch, firstPunch, length)) {
+                    return sequence;
+                }
+            }
+            return null;
+        }
+
+        void add(Sequence sequence) {
+            if (size >= buckets.length * 3 / 4) {
+                resize();
+            }
+            int index = index(sequence.hash, buckets.length);
+            sequence.nextInBucket = buckets[index];
+            buckets[index] = sequence;
+            size++;
+        }
+
+        private void resize() {
+            @Nullable Sequence[] old = buckets;
+            buckets = new Sequence[old.length * 2];
+            for (Sequence head : old) {
+                Sequence sequence = head;
+                while (sequence != null) {
+                    Sequence next = sequence.nextInBucket;
+                    int index = index(sequence.hash, buckets.length);
+                    sequence.nextInBucket = buckets[index];
+                    buckets[index] = sequence;
+                    sequence = next;
+                }
+            }
+        }
+
+        private static boolean sameControls(SplitTimeColumns columns, int firstPunch, int otherFirstPunch, int length) {
+            for (int i = 0; i < length; i++) {
+                if (columns.controlId(firstPunch + i) != columns.controlId(otherFirstPunch + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int index(long hash, int bucketCount) {
+            long mixed = hash ^ (hash >>> 32);
+            return (int) (mixed ^ (mixed >>> 16)) & (bucketCount - 1);
+        }
+    }
+}
@@ -1,17 +1,16 @@
 package de.jobst.resulter.application.analysis;
 
 import de.jobst.resulter.application.port.HangingDetectionService;
-import de.jobst.resulter.application.port.ResultListRepository;
 import de.jobst.resulter.application.port.SegmentPI;
-import de.jobst.resulter.application.port.SplitTimeListRepository;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.analysis.*;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.type.TypeReference;
 
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImpl.*;
 
@@ -24,6 +23,8 @@ import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImp
 @Slf4j
 public class HangingDetectionServiceImpl implements HangingDetectionService {
 
+    private static final String ANALYSIS_NAME = "hanging";
+
     // Temporal proximity threshold (30 seconds)
     private static final double TEMPORAL_PROXIMITY_THRESHOLD_SECONDS = 30.0;
 
@@ -46,30 +47,43 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
     private static final int RELIABLE_RUNNERS_THRESHOLD =
             SplitTimeAnalysisServiceImpl.RELIABLE_RUNNERS_THRESHOLD;
 
-    private final @Nullable SplitTimeListRepository splitTimeListRepository;
-    private final @Nullable ResultListRepository resultListRepository;
+    private final @Nullable AnalysisSnapshotCache analysisSnapshotCache;
     private final @Nullable SplitTimeAnalysisServiceImpl splitTimeAnalysisService;
+    private final RunnerAnalysisExecutor runnerAnalysisExecutor;
+    private final AnalysisResultStore analysisResultStore;
 
     public HangingDetectionServiceImpl(
-            @Nullable SplitTimeListRepository splitTimeListRepository,
-            @Nullable ResultListRepository resultListRepository,
-            @Nullable SplitTimeAnalysisServiceImpl splitTimeAnalysisService) {
-        this.splitTimeListRepository = splitTimeListRepository;
-        this.resultListRepository = resultListRepository;
+            @Nullable AnalysisSnapshotCache analysisSnapshotCache,
+            @Nullable SplitTimeAnalysisServiceImpl splitTimeAnalysisService,
+            RunnerAnalysisExecutor runnerAnalysisExecutor,
+            AnalysisResultStore analysisResultStore) {
+        this.analysisSnapshotCache = analysisSnapshotCache;
         this.splitTimeAnalysisService = splitTimeAnalysisService;
+        this.runnerAnalysisExecutor = runnerAnalysisExecutor;
+        this.analysisResultStore = analysisResultStore;
     }
 
     @Override
     public HangingAnalysis analyzeHanging(ResultListId resultListId, List<Long> filterPersonIds) {
+        if (!filterPersonIds.isEmpty()) {
+            return computeHanging(resultListId, filterPersonIds);
+        }
+        return analysisResultStore.getOrCompute(resultListId, ANALYSIS_NAME, "all", new TypeReference<>() {},
+                () -> computeHanging(resultListId, filterPersonIds));
+    }
+
+    private HangingAnalysis computeHanging(ResultListId resultListId, List<Long> filterPersonIds) {
         log.debug("Starting hanging detection analysis for result list {} with person filter: {}",
                 resultListId, filterPersonIds);
 
-        if (splitTimeListRepository == null || resultListRepository == null || splitTimeAnalysisService == null) {
+        if (analysisSnapshotCache == null || splitTimeAnalysisService == null) {
             return createEmptyAnalysis(resultListId);
         }
+        long prepareStartTime = System.nanoTime();
 
         // Step 1: Fetch split time data
-        List<SplitTimeList> splitTimeLists = splitTimeListRepository.findByResultListId(resultListId);
+        AnalysisSnapshot snapshot = analysisSnapshotCache.get(resultListId);
+        List<SplitTimeList> splitTimeLists = snapshot.splitTimeLists();
         log.debug("Fetched {} split time lists", splitTimeLists.size());
 
         if (splitTimeLists.isEmpty()) {
@@ -81,25 +95,25 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
         EventId eventId = splitTimeLists.getFirst().getEventId();
 
         // Step 3: Fetch result list for runtime data
-        ResultList resultList = resultListRepository.findById(resultListId)
-                .orElseThrow(() -> new IllegalArgumentException("Result list not found: " + resultListId));
+        ResultList resultList = snapshot.requireResultList();
 
-        // Step 4: Build runtime map
-        Map<RuntimeKey, Double> runtimeMap = splitTimeAnalysisService.buildRuntimeMap(resultList);
-        log.debug("Built runtime map with {} entries", runtimeMap.size());
+        // Step 4: Runtime map from snapshot
+        Map<RuntimeKey, Double> runtimeMap = snapshot.runtimeMap();
+        log.debug("Using runtime map with {} entries", runtimeMap.size());
 
         // Step 5: Count runners per class
         Map<String, Integer> runnersPerClass = splitTimeAnalysisService.countRunnersPerClass(splitTimeLists);
         log.debug("Runner count per class: {}", runnersPerClass);
 
         // Step 6: Calculate reference times per segment
+        SplitTimeColumns columns = snapshot.columns();
         Map<SegmentKey, Double> referenceTimesPerSegment =
-                splitTimeAnalysisService.calculateReferenceTimesPerSegment(splitTimeLists, runtimeMap);
+                splitTimeAnalysisService.calculateReferenceTimesPerSegment(columns);
         log.debug("Calculated reference times for {} segments", referenceTimesPerSegment.size());
 
         // Step 7: Pre-compute all segment PIs for all runners (CRITICAL for performance)
         Map<RunnerSegmentKey, SegmentPIData> allSegmentPIs =
-                preComputeAllSegmentPIs(splitTimeLists, referenceTimesPerSegment, runtimeMap);
+                preComputeAllSegmentPIs(splitTimeLists, columns, referenceTimesPerSegment);
         log.debug("Pre-computed segment PIs for {} runner-segment combinations", allSegmentPIs.size());
 
         // Step 8: Build start time map from ResultList
@@ -107,26 +121,31 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
         log.debug("Built start time map for {} runners", startTimeMap.size());
 
         // Step 9: Build control punch time index
-        Map<ControlKey, List<PunchTimeRecord>> controlPunchTimes =
-                buildControlPunchTimeIndex(splitTimeLists);
-        log.debug("Built punch time index for {} controls", controlPunchTimes.size());
+        ControlPunchIndex controlPunchTimes = ControlPunchIndex.of(columns);
+        log.debug("Built punch time index for {} controls", columns.controlCount());
 
         // Step 10: Analyze each runner
         Set<Long> filterPersonIdSet = new HashSet<>(filterPersonIds);
-        Predicate<SplitTimeList> personIdFilter = stl ->
-                filterPersonIdSet.isEmpty() || filterPersonIdSet.contains(stl.getPersonId().value());
-
-        List<RunnerHangingProfile> runnerProfiles = splitTimeLists.stream()
-                .filter(personIdFilter)
-                .map(stl -> analyzeRunner(
-                        stl,
-                        referenceTimesPerSegment,
-                        runtimeMap,
-                        runnersPerClass,
-                        allSegmentPIs,
-                        controlPunchTimes,
-                        startTimeMap
-                ))
+
+        List<Integer> runners = IntStream.range(0, columns.runnerCount())
+                .filter(runner -> filterPersonIdSet.isEmpty()
+                        || filterPersonIdSet.contains(columns.personIdValue(runner)))
+                .boxed()
+                .toList();
+        runnerAnalysisExecutor.recordPhase(ANALYSIS_NAME, "prepare", prepareStartTime);
+
+        List<RunnerHangingProfile> runnerProfiles = runnerAnalysisExecutor.analyzeRunners(ANALYSIS_NAME, runners,
+                        runner -> analyzeRunner(
+                                splitTimeLists,
+                                runner,
+                                columns,
+                                referenceTimesPerSegment,
+                                runnersPerClass,
+                                allSegmentPIs,
+                                controlPunchTimes,
+                                startTimeMap
+                        ))
+                .stream()
                 .flatMap(Optional::stream)
                 // Don't filter - return ALL runners so frontend can build complete startPositionMap
                 .toList();
@@ -137,7 +156,9 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
         log.debug("Analyzed {} runners, {} with hanging behavior", splitTimeLists.size(), runnersWithHanging);
 
         // Step 10: Calculate statistics
+        long aggregateStartTime = System.nanoTime();
         HangingStatistics stats = calculateStatistics(splitTimeLists.size(), runnerProfiles);
+        runnerAnalysisExecutor.recordPhase(ANALYSIS_NAME, "aggregate", aggregateStartTime);
 
         return new HangingAnalysis(resultListId, eventId, runnerProfiles, stats);
     }
@@ -148,17 +169,18 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
      */
     private Map<RunnerSegmentKey, SegmentPIData> preComputeAllSegmentPIs(
             List<SplitTimeList> splitTimeLists,
-            Map<SegmentKey, Double> referenceTimesPerSegment,
-            Map<RuntimeKey, Double> runtimeMap) {
+            SplitTimeColumns columns,
+            Map<SegmentKey, Double> referenceTimesPerSegment) {
 
         Map<RunnerSegmentKey, SegmentPIData> cache = new HashMap<>();
 
-        for (SplitTimeList stl : splitTimeLists) {
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            SplitTimeList stl = splitTimeLists.get(runner);
             PersonId personId = stl.getPersonId();
             String className = stl.getClassResultShortName().value();
             RaceNumber raceNumber = stl.getRaceNumber();
 
-            List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(stl, runtimeMap);
+            List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(columns, runner);
             List<SegmentPI> segmentPIs = splitTimeAnalysisService.calculateSegmentPIs(
                     segmentTimes, referenceTimesPerSegment, className);
 
@@ -179,57 +201,20 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
         return cache;
     }
 
-    /**
-     * Builds an index of punch times at each control for all runners.
-     * Used to find potential bus drivers (runners who punched shortly before).
-     */
-    private Map<ControlKey, List<PunchTimeRecord>> buildControlPunchTimeIndex(
-            List<SplitTimeList> splitTimeLists) {
-
-        Map<ControlKey, List<PunchTimeRecord>> index = new HashMap<>();
-
-        for (SplitTimeList stl : splitTimeLists) {
-            PersonId personId = stl.getPersonId();
-            String className = stl.getClassResultShortName().value();
-            RaceNumber raceNumber = stl.getRaceNumber();
-
-            for (SplitTime split : stl.getSplitTimes()) {
-                if (split.punchTime().value() == null) continue;
-
-                // Index by control code (across all classes for cross-class hanging)
-                ControlKey key = new ControlKey(split.controlCode().value());
-
-                PunchTimeRecord record = new PunchTimeRecord(
-                        personId,
-                        className,
-                        raceNumber,
-                        split.punchTime().value()
-                );
-
-                index.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
-            }
-        }
-
-        // Sort each control's punch times for efficient searching
-        index.values().forEach(list ->
-                list.sort(Comparator.comparing(PunchTimeRecord::punchTime))
-        );
-
-        return index;
-    }
-
     /**
      * Analyzes a single runner for hanging behavior.
      */
     private Optional<RunnerHangingProfile> analyzeRunner(
-            SplitTimeList splitTimeList,
+            List<SplitTimeList> splitTimeLists,
+            int runner,
+            SplitTimeColumns columns,
             Map<SegmentKey, Double> referenceTimesPerSegment,
-            Map<RuntimeKey, Double> runtimeMap,
             Map<String, Integer> runnersPerClass,
             Map<RunnerSegmentKey, SegmentPIData> allSegmentPIs,
-            Map<ControlKey, List<PunchTimeRecord>> controlPunchTimes,
+            ControlPunchIndex controlPunchTimes,
             Map<RunnerKey, PunchTime> startTimeMap) {
 
+        SplitTimeList splitTimeList = splitTimeLists.get(runner);
         PersonId personId = splitTimeList.getPersonId();
         String className = splitTimeList.getClassResultShortName().value();
         RaceNumber raceNumber = splitTimeList.getRaceNumber();
@@ -243,8 +228,7 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
         }
 
         // Calculate segment times and PIs
-        List<SegmentTime> segmentTimes =
-                splitTimeAnalysisService.calculateSegmentTimes(splitTimeList, runtimeMap);
+        List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(columns, runner);
 
         if (segmentTimes.isEmpty()) {
             return Optional.empty();
@@ -262,8 +246,12 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
             return Optional.empty();
         }
 
-        // Build segment-to-punch-time map for this runner
-        Map<String, Double> passengerPunchTimes = buildPunchTimeMap(splitTimeList);
+        // Build control-to-punch-time lookup for this runner
+        double[] passengerPunchTimes = buildPunchTimesByControl(columns, runner);
+
+        // Bus driver candidates of a segment do not depend on the Normal PI, they are looked up once and reused
+        // by all iterations
+        Map<Integer, SegmentCandidates> candidatesBySegment = new HashMap<>();
 
         // Phase 2: Iterative refinement to remove circular dependency
         List<HangingPair> hangingPairs = null;
@@ -274,9 +262,12 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
                     segmentPIs,
                     normalPI,
                     passengerPunchTimes,
+                    columns,
                     controlPunchTimes,
                     allSegmentPIs,
-                    personId);
+                    splitTimeLists,
+                    personId,
+                    candidatesBySegment);
 
             // If no hanging detected, we're done
             if (hangingPairs.isEmpty()) {
@@ -362,18 +353,20 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
     }
 
     /**
-     * Builds a map of control codes to punch times for a runner.
+     * Builds the punch times of a runner indexed by control id, {@link Double#NaN} for controls not punched.
+     * For controls punched more than once the latest punch wins.
      */
-    private Map<String, Double> buildPunchTimeMap(SplitTimeList splitTimeList) {
-        Map<String, Double> map = new HashMap<>();
+    private double[] buildPunchTimesByControl(SplitTimeColumns columns, int runner) {
+        double[] punchTimes = new double[columns.controlCount()];
+        Arrays.fill(punchTimes, Double.NaN);
 
-        for (SplitTime split : splitTimeList.getSplitTimes()) {
-            if (split.punchTime().value() != null) {
-                map.put(split.controlCode().value(), split.punchTime().value());
+        for (int punch = columns.start(runner); punch < columns.end(runner); punch++) {
+            if (!columns.isVirtual(punch) && columns.hasPunchTime(punch)) {
+                punchTimes[columns.controlId(punch)] = columns.punchTime(punch);
             }
         }
 
-        return map;
+        return punchTimes;
     }
 
     /**
@@ -382,14 +375,18 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
     private List<HangingPair> detectHangingPairs(
             List<SegmentPI> segmentPIs,
             PerformanceIndex normalPI,
-            Map<String, Double> passengerPunchTimes,
-            Map<ControlKey, List<PunchTimeRecord>> controlPunchTimes,
+            double[] passengerPunchTimes,
+            SplitTimeColumns columns,
+            ControlPunchIndex controlPunchTimes,
             Map<RunnerSegmentKey, SegmentPIData> allSegmentPIs,
-            PersonId passengerId) {
+            List<SplitTimeList> splitTimeLists,
+            PersonId passengerId,
+            Map<Integer, SegmentCandidates> candidatesBySegment) {
 
         List<HangingPair> hangingPairs = new ArrayList<>();
 
-        for (SegmentPI segmentPI : segmentPIs) {
+        for (int segmentIndex = 0; segmentIndex < segmentPIs.size(); segmentIndex++) {
+            SegmentPI segmentPI = segmentPIs.get(segmentIndex);
             // Skip first and final segments (same as anomaly detection)
             if (segmentPI.fromControl().equals(START_CODE)) {
                 continue;
@@ -404,25 +401,27 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
                 continue; // Not enough improvement
             }
 
-            // Get passenger's punch time at control B (toControl of segment)
-            // Note: We need the punch time at the END of the segment (toControl) to see who arrived first
-            Double passengerPunchTime = passengerPunchTimes.get(segmentPI.toControl());
-            if (passengerPunchTime == null) {
-                continue;
-            }
+            SegmentCandidates candidates = candidatesBySegment.computeIfAbsent(segmentIndex, index -> {
+                // Get passenger's punch time at control B (toControl of segment)
+                // Note: We need the punch time at the END of the segment (toControl) to see who arrived first
+                int toControlId = columns.controlIdOf(segmentPI.toControl());
+                if (toControlId < 0 || Double.isNaN(passengerPunchTimes[toControlId])) {
+                    return SegmentCandidates.NONE;
+                }
+                double punchTime = passengerPunchTimes[toControlId];
 
-            // Find potential bus drivers at this control
-            ControlKey controlKey = new ControlKey(segmentPI.toControl());
-            List<PunchTimeRecord> punchRecords =
-                    controlPunchTimes.getOrDefault(controlKey, List.of());
-
-            // Find bus drivers: punched within 30s before passenger
-            List<BusDriverCandidate> busDrivers = findBusDrivers(
-                    punchRecords,
-                    passengerPunchTime,
-                    passengerId, segmentPI,
-                    allSegmentPIs
-            );
+                // Find bus drivers at this control: punched within 30s before passenger
+                return new SegmentCandidates(punchTime, findBusDrivers(
+                        controlPunchTimes,
+                        toControlId,
+                        punchTime,
+                        passengerId, segmentPI,
+                        allSegmentPIs,
+                        splitTimeLists
+                ));
+            });
+            double passengerPunchTime = candidates.passengerPunchTime();
+            List<BusDriverCandidate> busDrivers = candidates.busDrivers();
 
             // Create a hanging pair for EACH bus driver candidate
             for (BusDriverCandidate driver : busDrivers) {
@@ -468,31 +467,29 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
      * - Are not the passenger themselves
      */
     private List<BusDriverCandidate> findBusDrivers(
-            List<PunchTimeRecord> punchRecords,
+            ControlPunchIndex controlPunchTimes,
+            int controlId,
             double passengerPunchTime,
             PersonId passengerId, SegmentPI passengerSegmentPI,
-            Map<RunnerSegmentKey, SegmentPIData> allSegmentPIs) {
+            Map<RunnerSegmentKey, SegmentPIData> allSegmentPIs,
+            List<SplitTimeList> splitTimeLists) {
 
         List<BusDriverCandidate> result = new ArrayList<>();
 
-        // Filter candidates: punched before passenger, within 30s window
-        List<PunchTimeRecord> candidates = punchRecords.stream()
-                .filter(r -> r.punchTime() < passengerPunchTime) // Criterion A.1
-                .filter(r -> passengerPunchTime - r.punchTime() <=
-                        TEMPORAL_PROXIMITY_THRESHOLD_SECONDS) // Criterion A.2
-                .filter(r -> !r.personId().equals(passengerId)) // Not self
-                .toList();
-
-        if (candidates.isEmpty()) {
-            return result;
-        }
+        // Candidates: punched before passenger (Criterion A.1), within 30s window (Criterion A.2)
+        int from = controlPunchTimes.firstWithin(controlId, passengerPunchTime, TEMPORAL_PROXIMITY_THRESHOLD_SECONDS);
+        int to = controlPunchTimes.firstNotBefore(controlId, passengerPunchTime);
 
         // Check each candidate if they were faster on this segment
-        for (PunchTimeRecord candidate : candidates) {
+        for (int record = from; record < to; record++) {
+            SplitTimeList candidateSplits = splitTimeLists.get(controlPunchTimes.runner(record));
+            if (candidateSplits.getPersonId().equals(passengerId)) {
+                continue; // Not self
+            }
             RunnerSegmentKey busDriverKey = new RunnerSegmentKey(
-                    candidate.personId(),
-                    candidate.className(),
-                    candidate.raceNumber(),
+                    candidateSplits.getPersonId(),
+                    candidateSplits.getClassResultShortName().value(),
+                    candidateSplits.getRaceNumber(),
                     passengerSegmentPI.legNumber(),
                     passengerSegmentPI.fromControl(),
                     passengerSegmentPI.toControl()
@@ -504,10 +501,10 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
                     busDriverData.pi().value() < passengerSegmentPI.pi().value()) {
                 // Criterion B: Bus driver was faster
                 result.add(new BusDriverCandidate(
-                        candidate.personId(),
-                        candidate.className(),
-                        candidate.raceNumber(),
-                        candidate.punchTime(),
+                        candidateSplits.getPersonId(),
+                        candidateSplits.getClassResultShortName().value(),
+                        candidateSplits.getRaceNumber(),
+                        controlPunchTimes.punchTime(record),
                         busDriverData.pi(),
                         busDriverData.actualTime()
                 ));
@@ -652,19 +649,125 @@ public class HangingDetectionServiceImpl implements HangingDetectionService {
     ) {}
 
     /**
-     * Key for control punch time index.
+     * Bus driver candidates of one passenger segment, reused across the Normal PI iterations.
      */
-    private record ControlKey(String controlCode) {}
+    private record SegmentCandidates(
+            double passengerPunchTime,
+            List<BusDriverCandidate> busDrivers
+    ) {
+        private static final SegmentCandidates NONE = new SegmentCandidates(Double.NaN, List.of());
+    }
 
     /**
-     * Punch time record for a runner at a control.
+     * Punch times of all runners at each control (across all classes for cross-class hanging), indexed by
+     * interned control id. The punches of a control occupy the range {@code [offsets[id], offsets[id + 1])} of the
+     * flat arrays, sorted by punch time, so time windows are found by binary search.
      */
-    private record PunchTimeRecord(
-            PersonId personId,
-            String className,
-            RaceNumber raceNumber,
-            double punchTime
-    ) {}
+    private static final class ControlPunchIndex {
+
+        private final int[] offsets;
+        private final double[] punchTimes;
+        private final int[] runners;
+
+        private ControlPunchIndex(int[] offsets, double[] punchTimes, int[] runners) {
+            this.offsets = offsets;
+            this.punchTimes = punchTimes;
+            this.runners = runners;
+        }
+
+        static ControlPunchIndex of(SplitTimeColumns columns) {
+            // Count punches per control, then place them into the control's range
+            int[] offsets = new int[columns.controlCount() + 1];
+            for (int runner = 0; runner < columns.runnerCount(); runner++) {
+                for (int punch = columns.start(runner); punch < columns.end(runner); punch++) {
+                    if (!columns.isVirtual(punch) && columns.hasPunchTime(punch)) {
+                        offsets[columns.controlId(punch) + 1]++;
+                    }
+                }
+            }
+            for (int controlId = 0; controlId < columns.controlCount(); controlId++) {
+                offsets[controlId + 1] += offsets[controlId];
+            }
+
+            int size = offsets[columns.controlCount()];
+            double[] punchTimes = new double[size];
+            int[] runners = new int[size];
+            int[] next = Arrays.copyOf(offsets, columns.controlCount());
+            for (int runner = 0; runner < columns.runnerCount(); runner++) {
+                for (int punch = columns.start(runner); punch < columns.end(runner); punch++) {
+                    if (!columns.isVirtual(punch) && columns.hasPunchTime(punch)) {
+                        int record = next[columns.controlId(punch)]++;
+                        punchTimes[record] = columns.punchTime(punch);
+                        runners[record] = runner;
+                    }
+                }
+            }
+
+            // Sort each control's range by punch time; ties keep runner order. The runners follow through keys that
+            // pack the rank of the punch time in the sorted range above the record, so a primitive sort is stable.
+            double[] sortedTimes = punchTimes.clone();
+            int[] sortedRunners = new int[size];
+            long[] keys = new long[size];
+            for (int controlId = 0; controlId < columns.controlCount(); controlId++) {
+                int from = offsets[controlId];
+                int to = offsets[controlId + 1];
+                Arrays.sort(sortedTimes, from, to);
+                for (int record = from; record < to; record++) {
+                    long rank = Arrays.binarySearch(sortedTimes, from, to, punchTimes[record]);
+                    keys[record] = rank << 32 | record;
+                }
+                Arrays.sort(keys, from, to);
+                for (int i = from; i < to; i++) {
+                    sortedRunners[i] = runners[(int) keys[i]];
+                }
+            }
+
+            return new ControlPunchIndex(offsets, sortedTimes, sortedRunners);
+        }
+
+        /**
+         * First record of the control punched at most {@code maxDelta} seconds before {@code time}.
+         */
+        int firstWithin(int controlId, double time, double maxDelta) {
+            // time - punchTime is non-increasing over the sorted range
+            int low = offsets[controlId];
+            int high = offsets[controlId + 1];
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (time - punchTimes[mid] <= maxDelta) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * First record of the control punched at or after {@code time}, i.e. the end of the records punched before.
+         */
+        int firstNotBefore(int controlId, double time) {
+            int low = offsets[controlId];
+            int high = offsets[controlId + 1];
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (punchTimes[mid] >= time) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        int runner(int record) {
+            return runners[record];
+        }
+
+        double punchTime(int record) {
+            return punchTimes[record];
+        }
+    }
 
     /**
      * Bus driver candidate with their segment performance data.
@@ -1,17 +1,15 @@
 package de.jobst.resulter.application.analysis;
 
 import de.jobst.resulter.application.port.MentalResilienceService;
-import de.jobst.resulter.application.port.ResultListRepository;
 import de.jobst.resulter.application.port.SegmentPI;
-import de.jobst.resulter.application.port.SplitTimeListRepository;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.analysis.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.type.TypeReference;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of Mental Resilience Index analysis service.
@@ -23,29 +21,47 @@ import java.util.function.Predicate;
 @Slf4j
 public class MentalResilienceServiceImpl implements MentalResilienceService {
 
-    private final SplitTimeListRepository splitTimeListRepository;
-    private final ResultListRepository resultListRepository;
+    private static final String ANALYSIS_NAME = "mental-resilience";
+
+    private final AnalysisSnapshotCache analysisSnapshotCache;
     private final SplitTimeAnalysisServiceImpl splitTimeAnalysisServiceImpl;
+    private final RunnerAnalysisExecutor runnerAnalysisExecutor;
+    private final AnalysisResultStore analysisResultStore;
 
     public MentalResilienceServiceImpl(
-        SplitTimeListRepository splitTimeListRepository, ResultListRepository resultListRepository,
-        SplitTimeAnalysisServiceImpl splitTimeAnalysisServiceImpl) {
-        this.splitTimeListRepository = splitTimeListRepository;
-        this.resultListRepository = resultListRepository;
+        AnalysisSnapshotCache analysisSnapshotCache,
+        SplitTimeAnalysisServiceImpl splitTimeAnalysisServiceImpl,
+        RunnerAnalysisExecutor runnerAnalysisExecutor,
+        AnalysisResultStore analysisResultStore) {
+        this.analysisSnapshotCache = analysisSnapshotCache;
         this.splitTimeAnalysisServiceImpl = splitTimeAnalysisServiceImpl;
+        this.runnerAnalysisExecutor = runnerAnalysisExecutor;
+        this.analysisResultStore = analysisResultStore;
     }
 
     @Override
     public MentalResilienceAnalysis analyzeMentalResilience(
             ResultListId resultListId,
             List<Long> filterPersonIds) {
+        if (!filterPersonIds.isEmpty()) {
+            return computeMentalResilience(resultListId, filterPersonIds);
+        }
+        return analysisResultStore.getOrCompute(resultListId, ANALYSIS_NAME, "all", new TypeReference<>() {},
+                () -> computeMentalResilience(resultListId, filterPersonIds));
+    }
+
+    private MentalResilienceAnalysis computeMentalResilience(
+            ResultListId resultListId,
+            List<Long> filterPersonIds) {
 
         long startTime = System.currentTimeMillis();
+        long prepareStartTime = System.nanoTime();
         log.debug("Starting mental resilience analysis for result list {} with person filter: {}",
                 resultListId, filterPersonIds);
 
         // Step 1: Fetch split time data
-        List<SplitTimeList> splitTimeLists = splitTimeListRepository.findByResultListId(resultListId);
+        AnalysisSnapshot snapshot = analysisSnapshotCache.get(resultListId);
+        List<SplitTimeList> splitTimeLists = snapshot.splitTimeLists();
         log.debug("Fetched {} split time lists", splitTimeLists.size());
 
         if (splitTimeLists.isEmpty()) {
@@ -56,45 +72,47 @@ public class MentalResilienceServiceImpl implements MentalResilienceService {
         // Step 2: Get event ID from first split time list
         EventId eventId = splitTimeLists.getFirst().getEventId();
 
-        // Step 3: Fetch result list for runtime data
-        ResultList resultList = resultListRepository.findById(resultListId)
-                .orElseThrow(() -> new IllegalArgumentException("Result list not found: " + resultListId));
+        // Step 3: Ensure the result list exists (runtime data)
+        snapshot.requireResultList();
 
-        // Step 4: Build runtime map
-        Map<RuntimeKey, Double> runtimeMap = splitTimeAnalysisServiceImpl.buildRuntimeMap(resultList);
-        log.debug("Built runtime map with {} entries", runtimeMap.size());
+        // Step 4: Runtime map from snapshot
+        Map<RuntimeKey, Double> runtimeMap = snapshot.runtimeMap();
+        log.debug("Using runtime map with {} entries", runtimeMap.size());
 
         // Step 5: Count runners per class
         Map<String, Integer> runnersPerClass = splitTimeAnalysisServiceImpl.countRunnersPerClass(splitTimeLists);
         log.debug("Runner count per class: {}", runnersPerClass);
 
         // Step 6: Calculate reference times per segment
+        SplitTimeColumns columns = snapshot.columns();
         Map<SegmentKey, Double> referenceTimesPerSegment =
-            splitTimeAnalysisServiceImpl.calculateReferenceTimesPerSegment(splitTimeLists, runtimeMap);
+            splitTimeAnalysisServiceImpl.calculateReferenceTimesPerSegment(columns);
         log.debug("Calculated reference times for {} segments", referenceTimesPerSegment.size());
 
         // Step 7: Analyze each or only filtered runners
         Set<Long> filterPersonIdSet = new HashSet<>(filterPersonIds);
 
-        // define the predicate (filter condition) separately
-        Predicate<SplitTimeList> personIdFilter = stl ->
-            filterPersonIdSet.isEmpty() || filterPersonIdSet.contains(stl.getPersonId().value());
-
-        // define the analysis function
-        Function<SplitTimeList, Optional<RunnerMentalProfile>> runnerAnalyzer = stl ->
-            analyzeRunner(stl, referenceTimesPerSegment, runtimeMap, runnersPerClass);
-
-        List<RunnerMentalProfile> runnerProfiles = splitTimeLists.stream()
-            .filter(personIdFilter)
-            .map(runnerAnalyzer)
-            .flatMap(Optional::stream)
-            .filter(RunnerMentalProfile::hasMistakes)
+        List<Integer> runners = IntStream.range(0, columns.runnerCount())
+            .filter(runner -> filterPersonIdSet.isEmpty()
+                || filterPersonIdSet.contains(columns.personIdValue(runner)))
+            .boxed()
             .toList();
+        runnerAnalysisExecutor.recordPhase(ANALYSIS_NAME, "prepare", prepareStartTime);
+
+        List<RunnerMentalProfile> runnerProfiles =
+            runnerAnalysisExecutor.analyzeRunners(ANALYSIS_NAME, runners, runner ->
+                    analyzeRunner(splitTimeLists, runner, columns, referenceTimesPerSegment, runnersPerClass))
+                .stream()
+                .flatMap(Optional::stream)
+                .filter(RunnerMentalProfile::hasMistakes)
+                .toList();
 
         log.debug("Analyzed {} runners with mistakes", runnerProfiles.size());
 
         // Step 8: Calculate aggregate statistics
+        long aggregateStartTime = System.nanoTime();
         MriStatistics statistics = calculateStatistics(splitTimeLists.size(), runnerProfiles);
+        runnerAnalysisExecutor.recordPhase(ANALYSIS_NAME, "aggregate", aggregateStartTime);
 
         if (log.isInfoEnabled()) {
             log.info("Mental resilience analysis completed in {} ms: {} runners, {} with mistakes, {} total mistakes",
@@ -113,11 +131,13 @@ public class MentalResilienceServiceImpl implements MentalResilienceService {
      * Returns Optional.empty() if the class has too few runners for reliable analysis.
      */
     private Optional<RunnerMentalProfile> analyzeRunner(
-            SplitTimeList splitTimeList,
+            List<SplitTimeList> splitTimeLists,
+            int runner,
+            SplitTimeColumns columns,
             Map<SegmentKey, Double> referenceTimesPerSegment,
-            Map<RuntimeKey, Double> runtimeMap,
             Map<String, Integer> runnersPerClass) {
 
+        SplitTimeList splitTimeList = splitTimeLists.get(runner);
         PersonId personId = splitTimeList.getPersonId();
         String className = splitTimeList.getClassResultShortName().value();
         RaceNumber raceNumber = splitTimeList.getRaceNumber();
@@ -131,7 +151,7 @@ public class MentalResilienceServiceImpl implements MentalResilienceService {
         }
 
         // Calculate segment times
-        List<SegmentTime> segmentTimes = splitTimeAnalysisServiceImpl.calculateSegmentTimes(splitTimeList, runtimeMap);
+        List<SegmentTime> segmentTimes = splitTimeAnalysisServiceImpl.calculateSegmentTimes(columns, runner);
 
         if (segmentTimes.isEmpty()) {
             log.debug("No valid segments for runner {}", personId);
@@ -0,0 +1,176 @@
+package de.jobst.resulter.application.analysis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the independent per-runner phase of the split time analyses (hanging, mental resilience, anomaly) on a
+ * bounded thread pool shared by all requests.
+ *
+ * <p>Runners are split into chunks that are analyzed in parallel; results are returned in input order, so the output
+ * does not depend on the mode. A request that is interrupted or exceeds the configured timeout cancels its
+ * outstanding chunks; the analysis endpoints run as async requests, so Spring interrupts the worker when the request
+ * times out or the client goes away. Small inputs and the disabled mode run on the calling thread.</p>
+ *
+ * <p>Metrics: {@code resulter.analysis.phase} (duration per analysis and phase) and
+ * {@code resulter.analysis.queue} (time a chunk waited for a pool thread).</p>
+ */
+@Service
+@Slf4j
+public class RunnerAnalysisExecutor implements AutoCloseable {
+
+    private static final String PHASE_TIMER = "resulter.analysis.phase";
+    private static final String QUEUE_TIMER = "resulter.analysis.queue";
+
+    private final @Nullable ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public RunnerAnalysisExecutor(
+            @Value("${resulter.analysis.parallel.enabled:true}") boolean enabled,
+            @Value("${resulter.analysis.parallel.threads:0}") int threads,
+            @Value("${resulter.analysis.parallel.chunk-size:32}") int chunkSize,
+            @Value("${resulter.analysis.parallel.timeout:PT2M}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        if (enabled && poolSize > 1) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(
+                    poolSize,
+                    poolSize,
+                    60,
+                    TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(poolSize * 16),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "analysis-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // a full queue slows down the submitting request instead of failing it
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            this.executor.allowCoreThreadTimeOut(true);
+            log.info("Parallel runner analysis enabled with {} threads, chunk size {}", poolSize, this.chunkSize);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Applies the analyzer to every runner and returns the results in runner order.
+     *
+     * @throws CancellationException if the calling thread is interrupted or the timeout is exceeded
+     */
+    public <T, R> List<R> analyzeRunners(String analysis, List<T> runners, Function<? super T, ? extends R> analyzer) {
+        long startTime = System.nanoTime();
+        try {
+            if (executor == null || runners.size() <= chunkSize) {
+                return analyzeChunk(runners, analyzer);
+            }
+            return analyzeInParallel(executor, analysis, runners, analyzer);
+        } finally {
+            recordPhase(analysis, "runners", startTime);
+        }
+    }
+
+    /**
+     * Records the duration of a phase of an analysis that started at {@code startTime} ({@link System#nanoTime()}).
+     */
+    public void recordPhase(String analysis, String phase, long startTime) {
+        Timer.builder(PHASE_TIMER)
+                .description("Duration of the phases of the split time analyses")
+                .tag("analysis", analysis)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T, R> List<R> analyzeInParallel(
+            ThreadPoolExecutor executor,
+            String analysis,
+            List<T> runners,
+            Function<? super T, ? extends R> analyzer) {
+
+        Timer queueTimer = Timer.builder(QUEUE_TIMER)
+                .description("Time a chunk of runners waited for an analysis thread")
+                .tag("analysis", analysis)
+                .register(meterRegistry);
+
+        List<Future<List<R>>> futures = new ArrayList<>();
+        for (int from = 0; from < runners.size(); from += chunkSize) {
+            List<T> chunk = runners.subList(from, Math.min(from + chunkSize, runners.size()));
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return analyzeChunk(chunk, analyzer);
+            }));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<R> results = new ArrayList<>(runners.size());
+        try {
+            for (Future<List<R>> future : futures) {
+                results.addAll(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cancelled(futures, "Runner analysis '" + analysis + "' was interrupted");
+        } catch (TimeoutException e) {
+            throw cancelled(futures, "Runner analysis '" + analysis + "' exceeded the timeout of " + timeout);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Runner analysis '" + analysis + "' failed", e.getCause());
+        }
+    }
+
+    private static <T, R> List<R> analyzeChunk(List<T> runners, Function<? super T, ? extends R> analyzer) {
+        List<R> results = new ArrayList<>(runners.size());
+        for (T runner : runners) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Runner analysis cancelled");
+            }
+            results.add(analyzer.apply(runner));
+        }
+        return results;
+    }
+
+    private static CancellationException cancelled(List<? extends Future<?>> futures, String message) {
+        futures.forEach(future -> future.cancel(true));
+        log.info(message);
+        return new CancellationException(message);
+    }
+}
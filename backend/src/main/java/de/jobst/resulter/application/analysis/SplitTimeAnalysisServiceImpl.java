@@ -8,6 +8,7 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
@@ -97,12 +98,19 @@ public class SplitTimeAnalysisServiceImpl {
      * to avoid outliers. This approach is more robust and matches tools like Winsplits. Each class has its own
      * reference times to ensure fair comparison within the same age/skill group.
      */
-    Map<SegmentKey, Double> calculateReferenceTimesPerSegment(
-            List<SplitTimeList> splitTimeLists,
-            Map<RuntimeKey, Double> runtimeMap) {
+    Map<SegmentKey, Double> calculateReferenceTimesPerSegment(SplitTimeColumns columns) {
+        return calculateReferenceTimes(calculateAllTimesPerSegment(columns));
+    }
 
-        Map<SegmentKey, List<Double>> segmentTimesMap = calculateAllTimesPerSegment(splitTimeLists, runtimeMap);
+    /**
+     * Same as {@link #calculateReferenceTimesPerSegment(SplitTimeColumns)} for the given runners only, e.g. the
+     * classes of a split time table.
+     */
+    Map<SegmentKey, Double> calculateReferenceTimesPerSegment(SplitTimeColumns columns, int[] runners) {
+        return calculateReferenceTimes(collectTimesPerSegment(columns, runners));
+    }
 
+    private Map<SegmentKey, Double> calculateReferenceTimes(Map<SegmentKey, List<Double>> segmentTimesMap) {
         // Calculate reference time as average of top 3 times for each segment per class
         Map<SegmentKey, Double> referenceTimes = new HashMap<>();
         for (Map.Entry<SegmentKey, List<Double>> entry : segmentTimesMap.entrySet()) {
@@ -138,15 +146,16 @@ public class SplitTimeAnalysisServiceImpl {
     /**
      * Collect all times for each segment per class.
      */
-    Map<SegmentKey, List<Double>> calculateAllTimesPerSegment(
-        List<SplitTimeList> splitTimeLists,
-        Map<RuntimeKey, Double> runtimeMap) {
+    Map<SegmentKey, List<Double>> calculateAllTimesPerSegment(SplitTimeColumns columns) {
+        return collectTimesPerSegment(columns, IntStream.range(0, columns.runnerCount()).toArray());
+    }
 
+    private Map<SegmentKey, List<Double>> collectTimesPerSegment(SplitTimeColumns columns, int[] runners) {
         Map<SegmentKey, List<Double>> segmentTimesMap = new HashMap<>();
 
-        for (SplitTimeList splitTimeList : splitTimeLists) {
-            String className = splitTimeList.getClassResultShortName().value();
-            List<SegmentTime> segmentTimes = calculateSegmentTimes(splitTimeList, runtimeMap);
+        for (int runner : runners) {
+            String className = columns.className(runner);
+            List<SegmentTime> segmentTimes = calculateSegmentTimes(columns, runner);
 
             for (SegmentTime segmentTime : segmentTimes) {
                 // Include className in key to calculate reference times per class
@@ -160,56 +169,25 @@ public class SplitTimeAnalysisServiceImpl {
     }
 
     /**
-     * Calculates segment times between consecutive controls.
+     * Calculates segment times between consecutive controls of the runner's timeline, which starts with the virtual
+     * start control and ends with the virtual finish control if the runner has a runtime. Segments with a missing
+     * punch or without a positive time are skipped; the leg number is the position of the segment in the timeline.
      */
-    List<SegmentTime> calculateSegmentTimes(
-            SplitTimeList splitTimeList,
-            Map<RuntimeKey, Double> runtimeMap) {
-
-        List<SegmentTime> segmentTimes = new ArrayList<>();
-
-        // Add virtual start control at 0.0 seconds
-        List<SplitTime> allSplits = new ArrayList<>();
-        allSplits.add(new SplitTime(ControlCode.of(START_CODE), PunchTime.of(0.0), splitTimeList.getId()));
-        allSplits.addAll(splitTimeList.getSplitTimes());
-
-        // Add virtual finish control with runtime
-        RuntimeKey runtimeKey = buildRuntimeKey(
-                splitTimeList.getPersonId().value(),
-                splitTimeList.getClassResultShortName().value(),
-                splitTimeList.getRaceNumber().value().intValue()
-        );
-        Double runtime = runtimeMap.get(runtimeKey);
-        if (runtime != null && runtime > 0) {
-            allSplits.add(new SplitTime(ControlCode.of(FINAL_CODE),
-                    PunchTime.of(runtime),
-                    splitTimeList.getId()));
-        }
-
-        // Sort by punch time
-        allSplits.sort(Comparator.comparing(st ->
-            st.punchTime().value() != null
-                        ? st.punchTime().value()
-                        : Double.MAX_VALUE));
-
-        // Calculate segment times
-        for (int i = 0; i < allSplits.size() - 1; i++) {
-            SplitTime current = allSplits.get(i);
-            SplitTime next = allSplits.get(i + 1);
-
-            if (current.punchTime().value() != null && next.punchTime().value() != null) {
-                double segmentTime = next.punchTime().value() - current.punchTime().value();
+    List<SegmentTime> calculateSegmentTimes(SplitTimeColumns columns, int runner) {
+        int start = columns.start(runner);
+        int end = columns.end(runner);
+        List<SegmentTime> segmentTimes = new ArrayList<>(Math.max(end - start - 1, 0));
+        for (int punch = start; punch < end - 1; punch++) {
+            if (columns.hasPunchTime(punch) && columns.hasPunchTime(punch + 1)) {
+                double segmentTime = columns.punchTime(punch + 1) - columns.punchTime(punch);
                 if (segmentTime > 0) {
-                    segmentTimes.add(new SegmentTime(
-                            i,
-                            current.controlCode().value(),
-                            next.controlCode().value(),
-                            segmentTime
-                    ));
+                    segmentTimes.add(new SegmentTime(punch - start,
+                            columns.controlCode(columns.controlId(punch)),
+                            columns.controlCode(columns.controlId(punch + 1)),
+                            segmentTime));
                 }
             }
         }
-
         return segmentTimes;
     }
 
@@ -0,0 +1,275 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.domain.PersonId;
+import de.jobst.resulter.domain.SplitTime;
+import de.jobst.resulter.domain.SplitTimeList;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImpl.FINAL_CODE;
+import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImpl.START_CODE;
+
+/**
+ * Column-oriented, primitive-backed copy of all split times of a result list.
+ *
+ * <p>Every runner (one {@link SplitTimeList}, same index as in the source list) owns the range
+ * {@code [start(runner), end(runner))} of the flat punch arrays. The range holds the runner's timeline as the analyses
+ * see it: a virtual start control at 0s, all punches and - if the runner has a positive runtime - a virtual finish
+ * control, stably sorted by punch time with missing punches last. Control codes are interned to {@code int} ids,
+ * missing punch times are stored as {@link Double#NaN}.</p>
+ *
+ * <p>Built once per {@link AnalysisSnapshot}; instances are immutable and safe to share between threads.</p>
+ */
+final class SplitTimeColumns {
+
+    static final int START_CONTROL_ID = 0;
+    static final int FINAL_CONTROL_ID = 1;
+
+    private final @Nullable String[] controlCodes;
+    private final Map<@Nullable String, Integer> controlIdsByCode;
+    private final String[] classNames;
+
+    // per runner
+    private final int[] offsets;
+    private final long[] personIds;
+    private final int[] classIds;
+    private final int[] raceNumbers;
+    private final double[] runtimes;
+
+    // per punch
+    private final int[] controlIds;
+    private final double[] punchTimes;
+    private final boolean[] virtualPunches;
+
+    private SplitTimeColumns(Builder builder) {
+        this.controlCodes = builder.controlCodes.toArray(String[]::new);
+        this.controlIdsByCode = builder.controlIdsByCode;
+        this.classNames = builder.classNames.toArray(String[]::new);
+        this.offsets = builder.offsets;
+        this.personIds = builder.personIds;
+        this.classIds = builder.classIds;
+        this.raceNumbers = builder.raceNumbers;
+        this.runtimes = builder.runtimes;
+        this.controlIds = Arrays.copyOf(builder.controlIds, builder.size);
+        this.punchTimes = Arrays.copyOf(builder.punchTimes, builder.size);
+        this.virtualPunches = Arrays.copyOf(builder.virtualPunches, builder.size);
+    }
+
+    static SplitTimeColumns of(List<SplitTimeList> splitTimeLists, Map<RuntimeKey, Double> runtimeMap) {
+        Builder builder = new Builder(splitTimeLists.size());
+        for (SplitTimeList splitTimeList : splitTimeLists) {
+            builder.addRunner(splitTimeList, runtimeMap);
+        }
+        return new SplitTimeColumns(builder);
+    }
+
+    static SplitTimeColumns empty() {
+        return of(List.of(), Map.of());
+    }
+
+    int runnerCount() {
+        return personIds.length;
+    }
+
+    int start(int runner) {
+        return offsets[runner];
+    }
+
+    int end(int runner) {
+        return offsets[runner + 1];
+    }
+
+    long personIdValue(int runner) {
+        return personIds[runner];
+    }
+
+    PersonId personId(int runner) {
+        return PersonId.of(personIds[runner]);
+    }
+
+    int classId(int runner) {
+        return classIds[runner];
+    }
+
+    String className(int runner) {
+        return classNames[classIds[runner]];
+    }
+
+    String classNameOf(int classId) {
+        return classNames[classId];
+    }
+
+    int classCount() {
+        return classNames.length;
+    }
+
+    int raceNumber(int runner) {
+        return raceNumbers[runner];
+    }
+
+    /**
+     * Runtime of the runner in seconds, {@link Double#NaN} if the runner has no positive runtime.
+     */
+    double runtime(int runner) {
+        return runtimes[runner];
+    }
+
+    int controlId(int punch) {
+        return controlIds[punch];
+    }
+
+    double punchTime(int punch) {
+        return punchTimes[punch];
+    }
+
+    boolean hasPunchTime(int punch) {
+        return !Double.isNaN(punchTimes[punch]);
+    }
+
+    /**
+     * Whether the punch is one of the virtual start or finish controls added for the analyses.
+     */
+    boolean isVirtual(int punch) {
+        return virtualPunches[punch];
+    }
+
+    int controlCount() {
+        return controlCodes.length;
+    }
+
+    @Nullable String controlCode(int controlId) {
+        return controlCodes[controlId];
+    }
+
+    /**
+     * Returns the interned id of the control code or {@code -1} if no runner punched it.
+     */
+    int controlIdOf(@Nullable String controlCode) {
+        Integer id = controlIdsByCode.get(controlCode);
+        return id != null ? id : -1;
+    }
+
+    private static final class Builder {
+
+        private final List<@Nullable String> controlCodes = new ArrayList<>();
+        private final Map<@Nullable String, Integer> controlIdsByCode = new HashMap<>();
+        private final List<String> classNames = new ArrayList<>();
+        private final Map<String, Integer> classIdsByName = new HashMap<>();
+
+        private final int[] offsets;
+        private final long[] personIds;
+        private final int[] classIds;
+        private final int[] raceNumbers;
+        private final double[] runtimes;
+
+        private int[] controlIds;
+        private double[] punchTimes;
+        private boolean[] virtualPunches;
+        private int runners;
+        private int size;
+
+        Builder(int runnerCount) {
+            offsets = new int[runnerCount + 1];
+            personIds = new long[runnerCount];
+            classIds = new int[runnerCount];
+            raceNumbers = new int[runnerCount];
+            runtimes = new double[runnerCount];
+            int initialCapacity = Math.max(16, runnerCount * 24);
+            controlIds = new int[initialCapacity];
+            punchTimes = new double[initialCapacity];
+            virtualPunches = new boolean[initialCapacity];
+            internControl(START_CODE);
+            internControl(FINAL_CODE);
+        }
+
+        void addRunner(SplitTimeList splitTimeList, Map<RuntimeKey, Double> runtimeMap) {
+            String className = splitTimeList.getClassResultShortName().value();
+            int raceNumber = splitTimeList.getRaceNumber().value().intValue();
+            long personId = splitTimeList.getPersonId().value();
+            Double runtime = runtimeMap.get(new RuntimeKey(personId, className, raceNumber));
+            boolean hasRuntime = runtime != null && runtime > 0;
+
+            int runner = runners++;
+            personIds[runner] = personId;
+            classIds[runner] = classIdsByName.computeIfAbsent(className, name -> {
+                classNames.add(name);
+                return classNames.size() - 1;
+            });
+            raceNumbers[runner] = raceNumber;
+            runtimes[runner] = hasRuntime ? runtime : Double.NaN;
+
+            List<SplitTime> splitTimes = splitTimeList.getSplitTimes();
+            int from = size;
+            ensureCapacity(size + splitTimes.size() + 2);
+            append(START_CONTROL_ID, 0.0, true);
+            for (SplitTime splitTime : splitTimes) {
+                Double punchTime = splitTime.punchTime().value();
+                append(internControl(splitTime.controlCode() != null ? splitTime.controlCode().value() : null),
+                        punchTime != null ? punchTime : Double.NaN,
+                        false);
+            }
+            if (hasRuntime) {
+                append(FINAL_CONTROL_ID, runtime, true);
+            }
+            sortByPunchTime(from, size);
+            offsets[runner + 1] = size;
+        }
+
+        private int internControl(@Nullable String controlCode) {
+            Integer id = controlIdsByCode.get(controlCode);
+            if (id == null) {
+                id = controlCodes.size();
+                controlCodes.add(controlCode);
+                controlIdsByCode.put(controlCode, id);
+            }
+            return id;
+        }
+
+        private void append(int controlId, double punchTime, boolean virtual) {
+            controlIds[size] = controlId;
+            punchTimes[size] = punchTime;
+            virtualPunches[size] = virtual;
+            size++;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > controlIds.length) {
+                int newCapacity = Math.max(capacity, controlIds.length * 2);
+                controlIds = Arrays.copyOf(controlIds, newCapacity);
+                punchTimes = Arrays.copyOf(punchTimes, newCapacity);
+                virtualPunches = Arrays.copyOf(virtualPunches, newCapacity);
+            }
+        }
+
+        /**
+         * Stable insertion sort, split times are almost always stored in punch order already.
+         */
+        private void sortByPunchTime(int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                int controlId = controlIds[i];
+                double punchTime = punchTimes[i];
+                boolean virtual = virtualPunches[i];
+                double key = sortKey(punchTime);
+                int j = i - 1;
+                while (j >= from && Double.compare(sortKey(punchTimes[j]), key) > 0) {
+                    controlIds[j + 1] = controlIds[j];
+                    punchTimes[j + 1] = punchTimes[j];
+                    virtualPunches[j + 1] = virtualPunches[j];
+                    j--;
+                }
+                controlIds[j + 1] = controlId;
+                punchTimes[j + 1] = punchTime;
+                virtualPunches[j + 1] = virtual;
+            }
+        }
+
+        private static double sortKey(double punchTime) {
+            return Double.isNaN(punchTime) ? Double.POSITIVE_INFINITY : punchTime;
+        }
+    }
+}
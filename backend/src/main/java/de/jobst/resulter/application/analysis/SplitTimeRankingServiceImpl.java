@@ -1,17 +1,14 @@
 package de.jobst.resulter.application.analysis;
 
-import de.jobst.resulter.application.port.PersonRepository;
-import de.jobst.resulter.application.port.ResultListRepository;
-import de.jobst.resulter.application.port.SplitTimeListRepository;
 import de.jobst.resulter.application.port.SplitTimeRankingService;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.analysis.ControlSegment;
 import de.jobst.resulter.domain.analysis.ControlSequenceSegment;
 import de.jobst.resulter.domain.analysis.RunnerSplit;
-import de.jobst.resulter.domain.analysis.SequenceRunnerSplit;
 import de.jobst.resulter.domain.analysis.SplitTimeAnalysis;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.type.TypeReference;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,22 +17,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
 
+    private static final String ANALYSIS_NAME = "ranking";
+
     // Maximum number of runners to include per segment (to limit response size)
     private static final int MAX_RUNNERS_PER_SEGMENT = 100;
     private static final int MAX_RUNNERS_PER_SEQUENCE = 100;
     private static final int MAX_SEQUENCE_SEGMENTS = 500;
 
-    private final SplitTimeListRepository splitTimeListRepository;
-    private final PersonRepository personRepository;
-    private final ResultListRepository resultListRepository;
+    private final AnalysisSnapshotCache analysisSnapshotCache;
+    private final AnalysisResultStore analysisResultStore;
 
     public SplitTimeRankingServiceImpl(
-            SplitTimeListRepository splitTimeListRepository,
-            PersonRepository personRepository,
-            ResultListRepository resultListRepository) {
-        this.splitTimeListRepository = splitTimeListRepository;
-        this.personRepository = personRepository;
-        this.resultListRepository = resultListRepository;
+            AnalysisSnapshotCache analysisSnapshotCache, AnalysisResultStore analysisResultStore) {
+        this.analysisSnapshotCache = analysisSnapshotCache;
+        this.analysisResultStore = analysisResultStore;
     }
 
     @Override
@@ -46,12 +41,31 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
             boolean filterIntersection,
             boolean includeSequences,
             int sequenceMinControls) {
+        if (!filterPersonIds.isEmpty()) {
+            return computeSplitTimesRanking(resultListId, mergeBidirectional, filterPersonIds, filterIntersection,
+                    includeSequences, sequenceMinControls);
+        }
+        String parameters = "merge=%b;intersection=%b;sequences=%b;minControls=%d"
+                .formatted(mergeBidirectional, filterIntersection, includeSequences, sequenceMinControls);
+        return analysisResultStore.getOrCompute(resultListId, ANALYSIS_NAME, parameters, new TypeReference<>() {},
+                () -> computeSplitTimesRanking(resultListId, mergeBidirectional, filterPersonIds, filterIntersection,
+                        includeSequences, sequenceMinControls));
+    }
+
+    private List<SplitTimeAnalysis> computeSplitTimesRanking(
+            ResultListId resultListId,
+            boolean mergeBidirectional,
+            List<Long> filterPersonIds,
+            boolean filterIntersection,
+            boolean includeSequences,
+            int sequenceMinControls) {
 
         long startTime = System.currentTimeMillis();
 
-        // Fetch all split time lists for the result list
+        // Fetch split time lists and result list from the shared analysis snapshot
         long dbStart = System.currentTimeMillis();
-        List<SplitTimeList> splitTimeLists = splitTimeListRepository.findByResultListId(resultListId);
+        AnalysisSnapshot snapshot = analysisSnapshotCache.get(resultListId);
+        List<SplitTimeList> splitTimeLists = snapshot.splitTimeLists();
         log.info("⏱ DB: Fetched {} split time lists in {}ms", splitTimeLists.size(), System.currentTimeMillis() - dbStart);
 
         if (splitTimeLists.isEmpty()) {
@@ -59,30 +73,17 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
             return List.of();
         }
 
-        // Get person IDs and fetch person names
-        long personStart = System.currentTimeMillis();
-        Set<PersonId> personIds = splitTimeLists.stream()
-                .map(SplitTimeList::getPersonId)
-                .collect(Collectors.toSet());
-        Map<PersonId, Person> personMap = personRepository.findAllById(personIds);
-        log.info("⏱ DB: Fetched {} persons in {}ms", personMap.size(), System.currentTimeMillis() - personStart);
-
-        // Fetch result list to get finish times (runtime) for each person
-        long resultListStart = System.currentTimeMillis();
-        ResultList resultList = resultListRepository.findById(resultListId)
-                .orElseThrow(() -> new IllegalArgumentException("ResultList not found: " + resultListId));
-        log.info("⏱ DB: Fetched result list in {}ms", System.currentTimeMillis() - resultListStart);
-
-        // Build map of (PersonId, ClassResultShortName, RaceNumber) -> runtime
-        long runtimeMapStart = System.currentTimeMillis();
-        Map<String, Double> runtimeMap = buildRuntimeMap(resultList);
-        log.info("⏱ Processing: Built runtime map with {} entries in {}ms", runtimeMap.size(), System.currentTimeMillis() - runtimeMapStart);
+        // Result list provides finish times (runtime) for each person
+        ResultList resultList = snapshot.requireResultList();
+
+        // Columnar split times incl. virtual start/finish controls, runtimes already resolved
+        SplitTimeColumns columns = snapshot.columns();
         Map<String, String> classToCourseKey = buildClassToCourseKeyMap(resultList);
         log.info("⏱ Processing: Built class->course key map with {} entries", classToCourseKey.size());
-        Set<String> validResultKeys = buildValidResultKeys(resultList);
+        Set<RuntimeKey> validResultKeys = buildValidResultKeys(resultList);
         log.info("⏱ Processing: Built valid result key set with {} entries", validResultKeys.size());
         Map<String, CourseMetadata> courseMetadataByCourseKey = buildCourseMetadataByCourseKey(
-                splitTimeLists,
+                columns,
                 classToCourseKey,
                 validResultKeys);
         log.info("⏱ Processing: Built course metadata for {} courses", courseMetadataByCourseKey.size());
@@ -94,7 +95,7 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         // (Different classes may use the same course or share segments)
         long calcStart = System.currentTimeMillis();
         List<ControlSegment> controlSegments = calculateControlSegments(
-                splitTimeLists, runtimeMap,
+                columns,
                 mergeBidirectional,
                 filterPersonIds,
                 filterIntersection
@@ -105,8 +106,7 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         if (includeSequences) {
             long sequenceStart = System.currentTimeMillis();
             sequenceSegments = calculateControlSequenceSegments(
-                    splitTimeLists,
-                    runtimeMap,
+                    columns,
                     classToCourseKey,
                     courseMetadataByCourseKey,
                     sequenceMinControls,
@@ -133,7 +133,7 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
     }
 
     private List<ControlSegment> calculateControlSegments(
-            List<SplitTimeList> splitTimeLists, Map<String, Double> runtimeMap,
+            SplitTimeColumns columns,
             boolean mergeBidirectional,
             List<Long> filterPersonIds,
             boolean filterIntersection) {
@@ -141,57 +141,30 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         // Build a map of control sequences
         Map<String, Map<String, List<RunnerSplitData>>> segmentMap = new HashMap<>();
 
-        for (SplitTimeList splitTimeList : splitTimeLists) {
-            List<SplitTime> splitTimes = splitTimeList.getSplitTimes();
-
-            // Add virtual Start and Finish controls
-            List<SplitTime> extendedSplitTimes = addStartAndFinishControls(
-                    splitTimes,
-                    splitTimeList.getId(),
-                    splitTimeList.getPersonId(),
-                    splitTimeList.getClassResultShortName(),
-                    splitTimeList.getRaceNumber(),
-                    runtimeMap
-            );
-
-            // Sort split times by punch time to ensure chronological order
-            // Use nullsLast to handle missing punches (DNF/missed controls)
-            List<SplitTime> sortedSplitTimes = new ArrayList<>(extendedSplitTimes);
-            sortedSplitTimes.sort(Comparator.comparing(
-                    st -> st.punchTime().value(),
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            ));
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            // Apply person ID filtering if specified
+            if (!filterPersonIds.isEmpty() && !filterPersonIds.contains(columns.personIdValue(runner))) {
+                continue; // Skip this runner
+            }
 
-            // Calculate split times between consecutive controls
-            for (int i = 1; i < sortedSplitTimes.size(); i++) {
-                SplitTime previousSplit = sortedSplitTimes.get(i - 1);
-                SplitTime currentSplit = sortedSplitTimes.get(i);
+            PersonId personId = columns.personId(runner);
+            String className = columns.className(runner);
 
-                // Skip if either punch time is null (missed control/DNF)
-                if (previousSplit.punchTime().value() == null || currentSplit.punchTime().value() == null) {
+            // Punches are sorted chronologically incl. virtual Start and Finish, missing punches last
+            for (int punch = columns.start(runner) + 1; punch < columns.end(runner); punch++) {
+                // Skip if either punch time is missing (missed control/DNF)
+                if (!columns.hasPunchTime(punch - 1) || !columns.hasPunchTime(punch)) {
                     continue;
                 }
 
-                String fromControl = previousSplit.controlCode().value();
-                String toControl = currentSplit.controlCode().value();
+                String fromControl = columns.controlCode(columns.controlId(punch - 1));
+                String toControl = columns.controlCode(columns.controlId(punch));
 
                 // Calculate split time (current - previous)
-                Double splitTimeSeconds = currentSplit.punchTime().value() - previousSplit.punchTime().value();
-
-                // Apply person ID filtering if specified
-                if (!filterPersonIds.isEmpty()) {
-                    Long personIdValue = splitTimeList.getPersonId().value();
-                    if (!filterPersonIds.contains(personIdValue)) {
-                        continue; // Skip this runner
-                    }
-                }
+                double splitTimeSeconds = columns.punchTime(punch) - columns.punchTime(punch - 1);
 
                 // Create runner split data
-                RunnerSplitData runnerSplitData = new RunnerSplitData(
-                        splitTimeList.getPersonId(),
-                        splitTimeList.getClassResultShortName().value(),
-                        splitTimeSeconds
-                );
+                RunnerSplitData runnerSplitData = new RunnerSplitData(personId, className, splitTimeSeconds);
 
                 // Add to segment map
                 segmentMap
@@ -289,8 +262,7 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
     }
 
     private List<ControlSequenceSegment> calculateControlSequenceSegments(
-            List<SplitTimeList> splitTimeLists,
-            Map<String, Double> runtimeMap,
+            SplitTimeColumns columns,
             Map<String, String> classToCourseKey,
             Map<String, CourseMetadata> courseMetadataByCourseKey,
             int sequenceMinControls,
@@ -298,159 +270,51 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
             boolean filterIntersection) {
 
         int minControls = Math.max(2, sequenceMinControls);
-        Map<String, List<String>> controlsBySequenceKey = new HashMap<>();
-        Map<String, List<SequenceRunnerSplitData>> sequenceMap = new HashMap<>();
-
-        for (SplitTimeList splitTimeList : splitTimeLists) {
-            String className = splitTimeList.getClassResultShortName().value();
-            String courseKey = classToCourseKey.getOrDefault(className, "CLASS:" + className);
-            String courseControlsKey = Optional.ofNullable(courseMetadataByCourseKey.get(courseKey))
-                    .map(CourseMetadata::controlsKey)
-                    .orElse(buildCourseControlsKey(splitTimeList.getSplitTimes()));
-            List<SplitTime> extendedSplitTimes = addStartAndFinishControls(
-                    splitTimeList.getSplitTimes(),
-                    splitTimeList.getId(),
-                    splitTimeList.getPersonId(),
-                    splitTimeList.getClassResultShortName(),
-                    splitTimeList.getRaceNumber(),
-                    runtimeMap
-            );
-
-            List<SplitTime> sortedSplitTimes = new ArrayList<>(extendedSplitTimes);
-            sortedSplitTimes.sort(Comparator.comparing(
-                    st -> st.punchTime().value(),
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            ));
 
+        // Interned course layout per runner, sequences all runners ran on the same course are not interesting
+        Map<String, Integer> courseKeyIdsByControlsKey = new HashMap<>();
+        int[] courseKeyIds = new int[columns.runnerCount()];
+        int[] runners = new int[columns.runnerCount()];
+        int runnerCount = 0;
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
             // Apply person ID filtering if specified
-            if (!filterPersonIds.isEmpty()) {
-                Long personIdValue = splitTimeList.getPersonId().value();
-                if (!filterPersonIds.contains(personIdValue)) {
-                    continue; // Skip this runner
-                }
-            }
-
-            List<SplitTime> validSplits = sortedSplitTimes.stream()
-                    .filter(st -> st.punchTime().value() != null)
-                    .toList();
-
-            if (validSplits.size() < minControls) {
-                continue;
-            }
-
-            List<String> controlCodes = validSplits.stream()
-                    .map(st -> st.controlCode().value())
-                    .toList();
-            int maxControls = controlCodes.size() - 1; // max n-1 controls
-            if (maxControls < minControls) {
-                continue;
-            }
-
-            double[] legPrefixSums = new double[controlCodes.size()];
-            for (int i = 1; i < validSplits.size(); i++) {
-                double legTime = validSplits.get(i).punchTime().value() - validSplits.get(i - 1).punchTime().value();
-                legPrefixSums[i] = legPrefixSums[i - 1] + legTime;
-            }
-
-            for (int controlCount = minControls; controlCount <= maxControls; controlCount++) {
-                for (int startIndex = 0; startIndex + controlCount <= controlCodes.size(); startIndex++) {
-                    int endIndex = startIndex + controlCount - 1;
-                    List<String> sequenceControls = controlCodes.subList(startIndex, endIndex + 1);
-                    String sequenceKey = String.join(">", sequenceControls);
-                    double sequenceTime = legPrefixSums[endIndex] - legPrefixSums[startIndex];
-                    List<Double> legTimesForWindow = new ArrayList<>();
-                    for (int legIndex = startIndex + 1; legIndex <= endIndex; legIndex++) {
-                        legTimesForWindow.add(
-                                validSplits.get(legIndex).punchTime().value() - validSplits.get(legIndex - 1).punchTime().value());
-                    }
-
-                    controlsBySequenceKey.putIfAbsent(sequenceKey, List.copyOf(sequenceControls));
-                    sequenceMap.computeIfAbsent(sequenceKey, k -> new ArrayList<>())
-                            .add(new SequenceRunnerSplitData(
-                                    splitTimeList.getPersonId(),
-                                    splitTimeList.getClassResultShortName().value(),
-                                    sequenceTime,
-                                    List.copyOf(legTimesForWindow),
-                                    courseControlsKey
-                            ));
-                }
+            if (!filterPersonIds.isEmpty() && !filterPersonIds.contains(columns.personIdValue(runner))) {
+                continue; // Skip this runner
             }
-        }
 
-        List<ControlSequenceSegment> sequenceSegments = new ArrayList<>();
-        for (Map.Entry<String, List<SequenceRunnerSplitData>> sequenceEntry : sequenceMap.entrySet()) {
-            String sequenceKey = sequenceEntry.getKey();
-            List<SequenceRunnerSplitData> runnerData = mergeSequenceRunnerDataByPerson(sequenceEntry.getValue());
-            runnerData.sort(Comparator.comparingDouble(SequenceRunnerSplitData::splitTimeSeconds));
-
-            int totalRunners = runnerData.size();
-            // Without person filter: require at least 2 runners; with filter: allow single runner
-            if (totalRunners <= 1 && filterPersonIds.isEmpty()) {
-                continue;
-            }
-            long distinctCourseControls = runnerData.stream()
-                    .map(SequenceRunnerSplitData::courseControlsKey)
-                    .distinct()
-                    .count();
-            if (distinctCourseControls <= 1) {
-                continue;
-            }
-
-            // If intersection filter is active, check if ALL filtered persons appear in this sequence
-            if (filterIntersection && !filterPersonIds.isEmpty()) {
-                Set<Long> segmentPersonIds = runnerData.stream()
-                        .map(data -> data.personId().value())
-                        .collect(Collectors.toSet());
-                if (!segmentPersonIds.containsAll(filterPersonIds)) {
-                    log.debug("Skipping sequence {} because not all filtered persons are present (intersection filter)",
-                            sequenceKey);
-                    continue;
-                }
-            }
-            int limitedSize = Math.min(totalRunners, MAX_RUNNERS_PER_SEQUENCE);
-            if (totalRunners > MAX_RUNNERS_PER_SEQUENCE) {
-                log.debug(
-                        "Limiting sequence {} from {} to {} runners",
-                        sequenceKey,
-                        totalRunners,
-                        MAX_RUNNERS_PER_SEQUENCE);
-            }
-
-            List<String> classes = runnerData.stream()
-                    .map(SequenceRunnerSplitData::classResultShortName)
-                    .distinct()
-                    .sorted()
-                    .toList();
-
-            List<SequenceRunnerSplit> runnerSplits = getSequenceRunnerSplits(runnerData, limitedSize);
-            List<ControlCode> controls = controlsBySequenceKey.getOrDefault(sequenceKey, List.of()).stream()
-                    .map(ControlCode::of)
-                    .toList();
-
-            sequenceSegments.add(new ControlSequenceSegment(controls, runnerSplits, classes));
-        }
-
-        int beforeCoverageRemovalCount = sequenceSegments.size();
-        sequenceSegments = removeCoveredByLongerSequencesWithSameRunnerCount(sequenceSegments);
-        if (sequenceSegments.size() < beforeCoverageRemovalCount) {
-            log.info(
-                    "Reduced sequence segments from {} to {} by removing covered shorter sequences with same runner count",
-                    beforeCoverageRemovalCount,
-                    sequenceSegments.size());
-        }
-
-        sequenceSegments = new ArrayList<>(sequenceSegments);
-        sequenceSegments.sort(Comparator
-                .comparingInt((ControlSequenceSegment s) -> s.controls().size()).reversed()
-                .thenComparing(Comparator.comparingInt((ControlSequenceSegment s) -> s.runnerSplits().size()).reversed())
-                .thenComparing(this::compareControlCodeLists));
-
-        int beforeGuardrailCount = sequenceSegments.size();
-        if (beforeGuardrailCount > MAX_SEQUENCE_SEGMENTS) {
-            sequenceSegments = new ArrayList<>(sequenceSegments.subList(0, MAX_SEQUENCE_SEGMENTS));
+            String className = columns.className(runner);
+            String courseKey = classToCourseKey.getOrDefault(className, "CLASS:" + className);
+            CourseMetadata courseMetadata = courseMetadataByCourseKey.get(courseKey);
+            String courseControlsKey = courseMetadata != null
+                    ? courseMetadata.controlsKey()
+                    : buildCourseControlsKey(columns, runner);
+            courseKeyIds[runner] =
+                    courseKeyIdsByControlsKey.computeIfAbsent(courseControlsKey, k -> courseKeyIdsByControlsKey.size());
+            runners[runnerCount++] = runner;
+        }
+
+        ControlSequenceRanking ranking =
+                new ControlSequenceRanking(columns, minControls, MAX_RUNNERS_PER_SEQUENCE, this::compareControlCodes);
+        ranking.addRunners(Arrays.copyOf(runners, runnerCount), courseKeyIds);
+
+        // With an intersection filter only filtered persons are streamed, so all of them are present iff the
+        // runner count of a sequence equals the number of filtered persons
+        int requiredRunnerCount = filterIntersection && !filterPersonIds.isEmpty()
+                ? (int) filterPersonIds.stream().distinct().count()
+                : -1;
+        List<ControlSequenceSegment> sequenceSegments =
+                ranking.rank(!filterPersonIds.isEmpty(), requiredRunnerCount, MAX_SEQUENCE_SEGMENTS);
+
+        int rankedCount = ranking.rankedCandidateCount();
+        log.info("Ranked {} of {} control sequences ({} returned, shorter sequences covered by a longer one with "
+                        + "the same runner count removed)",
+                rankedCount,
+                ranking.sequenceCount(),
+                sequenceSegments.size());
+        if (rankedCount > MAX_SEQUENCE_SEGMENTS) {
             log.info(
                     "Limited sequence segments from {} to {} entries (guardrail)",
-                    beforeGuardrailCount,
+                    rankedCount,
                     MAX_SEQUENCE_SEGMENTS);
         }
 
@@ -464,8 +328,8 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         return Arrays.asList(controlsKey.split(">"));
     }
 
-    private Set<String> buildValidResultKeys(ResultList resultList) {
-        Set<String> validResultKeys = new HashSet<>();
+    private Set<RuntimeKey> buildValidResultKeys(ResultList resultList) {
+        Set<RuntimeKey> validResultKeys = new HashSet<>();
         if (resultList.getClassResults() == null) {
             return validResultKeys;
         }
@@ -477,10 +341,10 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
                     if (state != ResultStatus.OK && state != ResultStatus.FINISHED) {
                         continue;
                     }
-                    validResultKeys.add(makeRuntimeKey(
-                            personResult.personId(),
-                            classResult.classResultShortName(),
-                            raceResult.getRaceNumber()));
+                    validResultKeys.add(new RuntimeKey(
+                            personResult.personId().value(),
+                            classResult.classResultShortName().value(),
+                            raceResult.getRaceNumber().value().intValue()));
                 }
             }
         }
@@ -488,23 +352,23 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
     }
 
     private Map<String, CourseMetadata> buildCourseMetadataByCourseKey(
-            List<SplitTimeList> splitTimeLists,
+            SplitTimeColumns columns,
             Map<String, String> classToCourseKey,
-            Set<String> validResultKeys) {
+            Set<RuntimeKey> validResultKeys) {
         Map<String, CourseSequenceAggregation> aggregations = new HashMap<>();
 
-        for (SplitTimeList splitTimeList : splitTimeLists) {
-            String className = splitTimeList.getClassResultShortName().value();
-            String runtimeKey = makeRuntimeKey(
-                    splitTimeList.getPersonId(),
-                    splitTimeList.getClassResultShortName(),
-                    splitTimeList.getRaceNumber());
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            String className = columns.className(runner);
+            RuntimeKey runtimeKey = new RuntimeKey(
+                    columns.personIdValue(runner),
+                    className,
+                    columns.raceNumber(runner));
             if (!validResultKeys.contains(runtimeKey)) {
                 continue;
             }
 
             String courseKey = classToCourseKey.getOrDefault(className, "CLASS:" + className);
-            String controlsKey = buildCourseControlsKey(splitTimeList.getSplitTimes());
+            String controlsKey = buildCourseControlsKey(columns, runner);
 
             CourseSequenceAggregation aggregation = aggregations.computeIfAbsent(
                     courseKey,
@@ -539,21 +403,24 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         return metadataByCourseKey;
     }
 
-    private String buildCourseControlsKey(List<SplitTime> splitTimes) {
-        List<String> controls = splitTimes.stream()
-                .filter(splitTime -> splitTime.punchTime().value() != null)
-                .sorted(Comparator.comparing(splitTime -> splitTime.punchTime().value()))
-                .map(splitTime -> splitTime.controlCode().value())
-                .filter(controlCode -> controlCode != null && !controlCode.isBlank())
-                .map(String::trim)
-                .filter(controlCode -> !controlCode.equalsIgnoreCase("S") && !controlCode.equalsIgnoreCase("F"))
-                .toList();
-
-        List<String> normalizedControls = new ArrayList<>(controls.size() + 2);
+    private String buildCourseControlsKey(SplitTimeColumns columns, int runner) {
+        StringJoiner normalizedControls = new StringJoiner(">");
         normalizedControls.add("S");
-        normalizedControls.addAll(controls);
+        for (int punch = columns.start(runner); punch < columns.end(runner); punch++) {
+            if (columns.isVirtual(punch) || !columns.hasPunchTime(punch)) {
+                continue;
+            }
+            String controlCode = columns.controlCode(columns.controlId(punch));
+            if (controlCode == null || controlCode.isBlank()) {
+                continue;
+            }
+            controlCode = controlCode.trim();
+            if (!controlCode.equalsIgnoreCase("S") && !controlCode.equalsIgnoreCase("F")) {
+                normalizedControls.add(controlCode);
+            }
+        }
         normalizedControls.add("F");
-        return String.join(">", normalizedControls);
+        return normalizedControls.toString();
     }
 
     private Map<String, String> buildClassToCourseKeyMap(ResultList resultList) {
@@ -573,51 +440,6 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         return classToCourseKey;
     }
 
-    private List<ControlSequenceSegment> removeCoveredByLongerSequencesWithSameRunnerCount(
-            List<ControlSequenceSegment> sequenceSegments) {
-        if (sequenceSegments.size() <= 1) {
-            return sequenceSegments;
-        }
-
-        List<ControlSequenceSegment> candidates = sequenceSegments.stream()
-                .sorted(Comparator
-                        .comparingInt((ControlSequenceSegment s) -> s.controls().size()).reversed()
-                        .thenComparing(Comparator.comparingInt((ControlSequenceSegment s) -> s.runnerSplits().size()).reversed()))
-                .toList();
-
-        List<ControlSequenceSegment> kept = new ArrayList<>();
-        for (ControlSequenceSegment candidate : candidates) {
-            boolean coveredByLongerWithSameRunnerCount = kept.stream()
-                    .anyMatch(existingLonger ->
-                            existingLonger.controls().size() > candidate.controls().size()
-                                    && existingLonger.runnerSplits().size() == candidate.runnerSplits().size()
-                                    && isContainedSubSequence(candidate.controls(), existingLonger.controls()));
-            if (!coveredByLongerWithSameRunnerCount) {
-                kept.add(candidate);
-            }
-        }
-        return kept;
-    }
-
-    private boolean isContainedSubSequence(List<ControlCode> shorter, List<ControlCode> longer) {
-        if (shorter.size() >= longer.size()) {
-            return false;
-        }
-        for (int start = 0; start + shorter.size() <= longer.size(); start++) {
-            boolean matches = true;
-            for (int i = 0; i < shorter.size(); i++) {
-                if (!Objects.equals(shorter.get(i).value(), longer.get(start + i).value())) {
-                    matches = false;
-                    break;
-                }
-            }
-            if (matches) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static List<RunnerSplit> getRunnerSplits(List<RunnerSplitData> runnerData, int limitedSize) {
         List<RunnerSplit> runnerSplits = new ArrayList<>();
         Double leaderTime = runnerData.isEmpty() ? 0.0 : runnerData.getFirst().splitTimeSeconds();
@@ -663,60 +485,6 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         return new ArrayList<>(bestByPerson.values());
     }
 
-    private static List<SequenceRunnerSplitData> mergeSequenceRunnerDataByPerson(List<SequenceRunnerSplitData> runnerData) {
-        Map<PersonId, SequenceRunnerSplitData> bestByPerson = new HashMap<>();
-        for (SequenceRunnerSplitData data : runnerData) {
-            SequenceRunnerSplitData existing = bestByPerson.get(data.personId());
-            if (existing == null || data.splitTimeSeconds() < existing.splitTimeSeconds()) {
-                bestByPerson.put(data.personId(), data);
-            }
-        }
-        return new ArrayList<>(bestByPerson.values());
-    }
-
-    private static List<SequenceRunnerSplit> getSequenceRunnerSplits(
-            List<SequenceRunnerSplitData> runnerData, int limitedSize) {
-        List<SequenceRunnerSplit> runnerSplits = new ArrayList<>();
-        Double leaderTime = runnerData.isEmpty() ? 0.0 : runnerData.getFirst().splitTimeSeconds();
-
-        int currentPosition = 1;
-        Double previousTime = null;
-
-        for (int i = 0; i < limitedSize; i++) {
-            SequenceRunnerSplitData data = runnerData.get(i);
-            Double currentTime = data.splitTimeSeconds();
-
-            if (previousTime == null || Math.abs(currentTime - previousTime) > 0.001) {
-                currentPosition = i + 1;
-            }
-
-            Double timeBehind = currentTime - leaderTime;
-
-            runnerSplits.add(new SequenceRunnerSplit(
-                    data.personId(),
-                    data.classResultShortName(),
-                    currentPosition,
-                    currentTime,
-                    timeBehind,
-                    data.legSplitTimesSeconds()
-            ));
-
-            previousTime = currentTime;
-        }
-        return runnerSplits;
-    }
-
-    private int compareControlCodeLists(ControlSequenceSegment first, ControlSequenceSegment second) {
-        int max = Math.min(first.controls().size(), second.controls().size());
-        for (int i = 0; i < max; i++) {
-            int compare = compareControlCodes(first.controls().get(i).value(), second.controls().get(i).value());
-            if (compare != 0) {
-                return compare;
-            }
-        }
-        return Integer.compare(first.controls().size(), second.controls().size());
-    }
-
     private List<ControlSegment> mergeBidirectionalSegments(List<ControlSegment> segments) {
         Map<String, ControlSegment> mergedSegmentMap = new HashMap<>();
         Set<String> processedPairs = new HashSet<>();
@@ -857,70 +625,6 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
         return recalculatedSplits;
     }
 
-    /**
-     * Adds virtual Start (punch_time = 0) and Finish (punch_time = runtime) controls
-     * to the split times list.
-     */
-    private List<SplitTime> addStartAndFinishControls(
-        List<SplitTime> splitTimes, SplitTimeListId id, PersonId personId,
-        ClassResultShortName classShortName,
-        RaceNumber raceNumber,
-        Map<String, Double> runtimeMap) {
-
-        List<SplitTime> extendedSplitTimes = new ArrayList<>();
-
-        // Add virtual Start control with punch_time = 0
-        extendedSplitTimes.add(SplitTime.of("S", 0.0, id));
-
-        // Add all existing split times
-        extendedSplitTimes.addAll(splitTimes);
-
-        // Add virtual Finish control with punch_time = runtime (if available)
-        String runtimeKey = makeRuntimeKey(personId, classShortName, raceNumber);
-        Double runtime = runtimeMap.get(runtimeKey);
-        if (runtime != null && runtime > 0) {
-            extendedSplitTimes.add(SplitTime.of("F", runtime, id));
-        }
-
-        return extendedSplitTimes;
-    }
-
-    /**
-     * Builds a map of runtime values for each person/class/race combination.
-     * Key format: "personId-classShortName-raceNumber"
-     */
-    private Map<String, Double> buildRuntimeMap(ResultList resultList) {
-        Map<String, Double> runtimeMap = new HashMap<>();
-
-        if (resultList.getClassResults() == null) {
-            return runtimeMap;
-        }
-
-        for (ClassResult classResult : resultList.getClassResults()) {
-            for (PersonResult personResult : classResult.personResults().value()) {
-                for (PersonRaceResult raceResult : personResult.personRaceResults().value()) {
-                    if (raceResult.getRuntime().value() != null) {
-                        String key = makeRuntimeKey(
-                                personResult.personId(),
-                                classResult.classResultShortName(),
-                                raceResult.getRaceNumber()
-                        );
-                        runtimeMap.put(key, raceResult.getRuntime().value());
-                    }
-                }
-            }
-        }
-
-        return runtimeMap;
-    }
-
-    /**
-     * Creates a key for the runtime map.
-     */
-    private String makeRuntimeKey(PersonId personId, ClassResultShortName classShortName, RaceNumber raceNumber) {
-        return personId.value() + "-" + classShortName.value() + "-" + raceNumber.value();
-    }
-
     /**
      * Compares two control codes with special handling:
      * - "S" (Start) sorts first
@@ -955,20 +659,15 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
 
     @Override
     public List<Person> getPersonsForResultList(ResultListId resultListId) {
-        // Fetch all split time lists for the result list
-        List<SplitTimeList> splitTimeLists = splitTimeListRepository.findByResultListId(resultListId);
+        // Persons of all runners with split times are part of the analysis snapshot
+        AnalysisSnapshot snapshot = analysisSnapshotCache.get(resultListId);
 
-        if (splitTimeLists.isEmpty()) {
+        if (!snapshot.hasSplitTimes()) {
             return List.of();
         }
 
-        // Get all unique person IDs
-        Set<PersonId> personIds = splitTimeLists.stream()
-                .map(SplitTimeList::getPersonId)
-                .collect(Collectors.toSet());
-
-        // Fetch and return persons, sorted by family name, then given name
-        return personRepository.findAllById(personIds).values().stream()
+        // Return persons, sorted by family name, then given name
+        return snapshot.personMap().values().stream()
                 .sorted(Comparator
                         .comparing((Person p) -> p.personName().familyName().value())
                         .thenComparing(p -> p.personName().givenName().value()))
@@ -982,14 +681,6 @@ public class SplitTimeRankingServiceImpl implements SplitTimeRankingService {
             Double splitTimeSeconds
     ) {}
 
-    private record SequenceRunnerSplitData(
-            PersonId personId,
-            String classResultShortName,
-            Double splitTimeSeconds,
-            List<Double> legSplitTimesSeconds,
-            String courseControlsKey
-    ) {}
-
     private static final class CourseSequenceAggregation {
         private final Map<String, Integer> controlsKeyCounts = new HashMap<>();
         private final Set<String> classes = new HashSet<>();
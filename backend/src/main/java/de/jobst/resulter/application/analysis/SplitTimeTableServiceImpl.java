@@ -6,6 +6,7 @@ import de.jobst.resulter.domain.analysis.*;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.type.TypeReference;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,176 +23,141 @@ import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImp
 @Slf4j
 public class SplitTimeTableServiceImpl implements SplitTimeTableService {
 
+    private static final String ANALYSIS_NAME = "split-table";
+
     // Threshold for error detection (10% worse than Normal PI)
     private static final double ERROR_THRESHOLD = 0.10;
 
     // Minimum runners for reliable analysis
     private static final int RELIABLE_RUNNERS_THRESHOLD = 5;
 
-    private final SplitTimeListRepository splitTimeListRepository;
-    private final ResultListRepository resultListRepository;
+    private final AnalysisSnapshotCache analysisSnapshotCache;
     private final SplitTimeAnalysisServiceImpl splitTimeAnalysisService;
-    private final PersonRepository personRepository;
+    private final AnalysisResultStore analysisResultStore;
+    private final SplitTimeListRepository splitTimeListRepository;
 
     public SplitTimeTableServiceImpl(
-            SplitTimeListRepository splitTimeListRepository,
-            ResultListRepository resultListRepository,
+            AnalysisSnapshotCache analysisSnapshotCache,
             SplitTimeAnalysisServiceImpl splitTimeAnalysisService,
-            PersonRepository personRepository) {
-        this.splitTimeListRepository = splitTimeListRepository;
-        this.resultListRepository = resultListRepository;
+            AnalysisResultStore analysisResultStore,
+            SplitTimeListRepository splitTimeListRepository) {
+        this.analysisSnapshotCache = analysisSnapshotCache;
         this.splitTimeAnalysisService = splitTimeAnalysisService;
-        this.personRepository = personRepository;
+        this.analysisResultStore = analysisResultStore;
+        this.splitTimeListRepository = splitTimeListRepository;
     }
 
     @Override
     public SplitTimeTable generateByClass(ResultListId resultListId, String className) {
+        return analysisResultStore.getOrCompute(resultListId, ANALYSIS_NAME, "class:" + className,
+                new TypeReference<>() {}, () -> computeByClass(resultListId, className));
+    }
+
+    private SplitTimeTable computeByClass(ResultListId resultListId, String className) {
         log.debug("Generating split-time table for result list {} by class {}", resultListId, className);
 
-        // Fetch all split time lists
-        List<SplitTimeList> allSplits = splitTimeListRepository.findByResultListId(resultListId);
+        // Fetch the split time lists of the class, or all of them if the result list is cached anyway
+        AnalysisSnapshot snapshot = analysisSnapshotCache.getForClasses(
+                resultListId, resultList -> Set.of(ClassResultShortName.of(className)));
+        SplitTimeColumns columns = snapshot.columns();
 
         // Filter by class
-        List<SplitTimeList> filteredSplits = allSplits.stream()
-                .filter(stl -> stl.getClassResultShortName().value().equals(className))
-                .toList();
+        int[] runners = IntStream.range(0, columns.runnerCount())
+                .filter(runner -> columns.className(runner).equals(className))
+                .toArray();
 
-        if (filteredSplits.isEmpty()) {
+        if (runners.length == 0) {
             log.warn("No split times found for class {}", className);
             return createEmptyTable("CLASS", className, List.of(className));
         }
 
-        return generateTable(resultListId, filteredSplits, "CLASS", className, List.of(className));
+        return generateTable(snapshot, runners, "CLASS", className, List.of(className));
     }
 
     @Override
     public SplitTimeTable generateByCourse(ResultListId resultListId, Long courseId) {
+        return analysisResultStore.getOrCompute(resultListId, ANALYSIS_NAME, "course:" + courseId,
+                new TypeReference<>() {}, () -> computeByCourse(resultListId, courseId));
+    }
+
+    private SplitTimeTable computeByCourse(ResultListId resultListId, Long courseId) {
         log.debug("Generating split-time table for result list {} by course {}", resultListId, courseId);
 
-        // Fetch result list to get course-class mapping
-        ResultList resultList = resultListRepository.findById(resultListId)
-                .orElseThrow(() -> new IllegalArgumentException("Result list not found: " + resultListId));
+        // Fetch the split time lists of the classes on this course, or all of them if the result list is cached
+        AnalysisSnapshot snapshot = analysisSnapshotCache.getForClasses(
+                resultListId,
+                resultList -> classNamesOfCourse(resultList, courseId).stream()
+                        .map(ClassResultShortName::of)
+                        .collect(Collectors.toSet()));
 
         // Find all classes that ran this course
-        List<String> classNames = resultList.getClassResults() != null ?
-                                  resultList.getClassResults()
-                                      .stream()
-                                      .filter(cr -> cr.courseId() != null && cr.courseId().value().equals(courseId))
-                                      .map(cr -> cr.classResultShortName().value())
-                                      .toList() :
-                                  List.of();
+        List<String> classNames = classNamesOfCourse(snapshot.requireResultList(), courseId);
 
         if (classNames.isEmpty()) {
             log.warn("No classes found for course {}", courseId);
             return createEmptyTable("COURSE", courseId.toString(), List.of());
         }
 
-        // Fetch all split time lists
-        List<SplitTimeList> allSplits = splitTimeListRepository.findByResultListId(resultListId);
+        SplitTimeColumns columns = snapshot.columns();
 
         // Filter by classes on this course
         Set<String> classNameSet = new HashSet<>(classNames);
-        List<SplitTimeList> filteredSplits = allSplits.stream()
-                .filter(stl -> classNameSet.contains(stl.getClassResultShortName().value()))
-                .toList();
+        int[] runners = IntStream.range(0, columns.runnerCount())
+                .filter(runner -> classNameSet.contains(columns.className(runner)))
+                .toArray();
 
-        if (filteredSplits.isEmpty()) {
+        if (runners.length == 0) {
             log.warn("No split times found for course {}", courseId);
             return createEmptyTable("COURSE", courseId.toString(), classNames);
         }
 
-        return generateTable(resultListId, filteredSplits, "COURSE", courseId.toString(), classNames);
+        return generateTable(snapshot, runners, "COURSE", courseId.toString(), classNames);
+    }
+
+    private List<String> classNamesOfCourse(ResultList resultList, Long courseId) {
+        return resultList.getClassResults() != null ?
+               resultList.getClassResults()
+                   .stream()
+                   .filter(cr -> cr.courseId() != null && cr.courseId().value().equals(courseId))
+                   .map(cr -> cr.classResultShortName().value())
+                   .toList() :
+               List.of();
     }
 
     @Override
     public List<ClassGroupOption> getAvailableClasses(ResultListId resultListId) {
         log.debug("Getting available classes for result list {}", resultListId);
 
-        List<SplitTimeList> allSplits = splitTimeListRepository.findByResultListId(resultListId);
-
-        // Group by class and count runners
-        Map<String, Long> classCounts = allSplits.stream()
-                .collect(Collectors.groupingBy(
-                        stl -> stl.getClassResultShortName().value(),
-                        Collectors.counting()
-                ));
-
-        return classCounts.entrySet().stream()
-                .map(entry -> new ClassGroupOption(entry.getKey(), entry.getValue().intValue()))
-                .sorted(Comparator.comparing(ClassGroupOption::className))
-                .toList();
+        // Counted by the database, the options do not need any split times
+        return splitTimeListRepository.countRunnersByClass(resultListId);
     }
 
     @Override
     public List<CourseGroupOption> getAvailableCourses(ResultListId resultListId) {
         log.debug("Getting available courses for result list {}", resultListId);
 
-        ResultList resultList = resultListRepository.findById(resultListId)
-                .orElseThrow(() -> new IllegalArgumentException("Result list not found: " + resultListId));
-
-        List<SplitTimeList> allSplits = splitTimeListRepository.findByResultListId(resultListId);
-
-        // Group classes by course
-        Map<Long, List<ClassResult>> courseToClasses = resultList.getClassResults() != null ?
-                                                       resultList.getClassResults()
-                                                           .stream()
-                                                           .filter(cr -> cr.courseId() != null)
-                                                           .collect(Collectors.groupingBy(cr -> cr.courseId()
-                                                               .value())) :
-                                                       Map.of();
-
-        // Count runners per class
-        Map<String, Long> classRunnerCounts = allSplits.stream()
-                .collect(Collectors.groupingBy(
-                        stl -> stl.getClassResultShortName().value(),
-                        Collectors.counting()
-                ));
-
-        // Build course options
-        List<CourseGroupOption> options = new ArrayList<>();
-        for (Map.Entry<Long, List<ClassResult>> entry : courseToClasses.entrySet()) {
-            Long courseId = entry.getKey();
-            List<ClassResult> classes = entry.getValue();
-
-            List<String> classNames = classes.stream()
-                    .map(cr -> cr.classResultShortName().value())
-                    .toList();
-
-            int totalRunners = classNames.stream()
-                    .mapToInt(className -> classRunnerCounts.getOrDefault(className, 0L).intValue())
-                    .sum();
-
-            // Get course name from first class
-            String courseName = classes.getFirst().courseId() != null
-                    ? "Course " + courseId  // Simplified - would need CourseRepository to get real name
-                    : "Unknown";
-
-            options.add(new CourseGroupOption(courseId, courseName, classNames, totalRunners));
-        }
-
-        return options.stream()
-                .sorted(Comparator.comparing(CourseGroupOption::courseName))
-                .toList();
+        return splitTimeListRepository.countRunnersByCourse(resultListId);
     }
 
     /**
-     * Main table generation logic.
+     * Main table generation logic for the given runners of the snapshot.
      */
     private SplitTimeTable generateTable(
-            ResultListId resultListId,
-            List<SplitTimeList> filteredSplits,
+            AnalysisSnapshot snapshot,
+            int[] runners,
             String groupByType,
             String groupId,
             List<String> groupNames) {
 
-        log.debug("Generating table for {} runners", filteredSplits.size());
+        List<SplitTimeList> filteredSplits = Arrays.stream(runners)
+                .mapToObj(snapshot.splitTimeLists()::get)
+                .toList();
 
-        // Fetch result list for runtime data
-        ResultList resultList = resultListRepository.findById(resultListId)
-                .orElseThrow(() -> new IllegalArgumentException("Result list not found: " + resultListId));
+        log.debug("Generating table for {} runners", filteredSplits.size());
 
-        // Build runtime map
-        Map<RuntimeKey, Double> runtimeMap = splitTimeAnalysisService.buildRuntimeMap(resultList);
+        // Result list and runtime data come from the shared snapshot
+        ResultList resultList = snapshot.requireResultList();
+        Map<RuntimeKey, Double> runtimeMap = snapshot.runtimeMap();
 
         // Build map of PersonId -> ResultStatus
         Map<PersonId, ResultStatus> notCompetingMap = buildNotCompetingMap(resultList);
@@ -210,7 +176,7 @@ public class SplitTimeTableServiceImpl implements SplitTimeTableService {
         Map<SegmentIndexKey, Map<Long, Integer>> segmentPositions = calculateSegmentPositions(segmentTimes, controlCodes);
 
         // Detect errors using individual PI
-        Map<RunnerSegmentKey, ErrorInfo> errorMap = detectErrors(filteredSplits, runtimeMap);
+        Map<RunnerSegmentKey, ErrorInfo> errorMap = detectErrors(snapshot.columns(), runners);
 
         // Identify best times (position-indexed)
         Map<Integer, Double> bestCumulativeTimes = findBestTimes(cumulativeTimes, controlCodes, notCompetingMap);
@@ -227,7 +193,8 @@ public class SplitTimeTableServiceImpl implements SplitTimeTableService {
                 errorMap,
                 bestCumulativeTimes,
                 bestSegmentTimes,
-                notCompetingMap
+                notCompetingMap,
+                snapshot.personMap()
         );
 
         // Assign positions to competing runners only
@@ -528,22 +495,20 @@ public class SplitTimeTableServiceImpl implements SplitTimeTableService {
      * Detect errors using individual PI-based approach.
      * Error if segment-PI > Normal-PI + threshold.
      */
-    private Map<RunnerSegmentKey, ErrorInfo> detectErrors(
-            List<SplitTimeList> splits,
-            Map<RuntimeKey, Double> runtimeMap) {
+    private Map<RunnerSegmentKey, ErrorInfo> detectErrors(SplitTimeColumns columns, int[] runners) {
 
         Map<RunnerSegmentKey, ErrorInfo> errorMap = new HashMap<>();
 
         // Calculate reference times per segment
         Map<SegmentKey, Double> referenceTimes =
-                splitTimeAnalysisService.calculateReferenceTimesPerSegment(splits, runtimeMap);
+                splitTimeAnalysisService.calculateReferenceTimesPerSegment(columns, runners);
 
-        for (SplitTimeList stl : splits) {
-            Long personId = stl.getPersonId().value();
-            String className = stl.getClassResultShortName().value();
+        for (int runner : runners) {
+            Long personId = columns.personIdValue(runner);
+            String className = columns.className(runner);
 
             // Calculate segment times and PIs
-            List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(stl, runtimeMap);
+            List<SegmentTime> segmentTimes = splitTimeAnalysisService.calculateSegmentTimes(columns, runner);
             List<SegmentPI> segmentPIs = splitTimeAnalysisService.calculateSegmentPIs(
                     segmentTimes, referenceTimes, className);
 
@@ -661,17 +626,11 @@ public class SplitTimeTableServiceImpl implements SplitTimeTableService {
             Map<RunnerSegmentKey, ErrorInfo> errorMap,
             Map<Integer, Double> bestCumulativeTimes,
             Map<SegmentIndexKey, Double> bestSegmentTimes,
-            Map<PersonId, ResultStatus> notCompetingMap) {
+            Map<PersonId, ResultStatus> notCompetingMap,
+            Map<PersonId, Person> personMap) {
 
         List<SplitTimeTableRow> rows = new ArrayList<>();
 
-        // Fetch all persons at once for efficiency
-        Set<PersonId> personIds = splits.stream()
-                .map(SplitTimeList::getPersonId)
-                .collect(Collectors.toSet());
-
-        Map<PersonId, Person> personMap = personRepository.findAllById(personIds);
-
         for (SplitTimeList stl : splits) {
             PersonId personId = stl.getPersonId();
             Long personIdValue = personId.value();
@@ -12,18 +12,26 @@ import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.*;
+import com.itextpdf.layout.properties.AreaBreakType;
 import com.itextpdf.layout.properties.TabAlignment;
 import de.jobst.resulter.application.port.CertificateService;
 import de.jobst.resulter.application.port.MediaFileService;
 import de.jobst.resulter.domain.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Strings;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
@@ -31,13 +39,25 @@ import org.springframework.stereotype.Service;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 @Slf4j
@@ -45,32 +65,44 @@ public class CertificateServiceImpl implements CertificateService {
 
     public static final String SCHEMA_CERTIFICATE_SCHEMA_JSON = "schema/certificate_schema.json";
 
+    private static final String STAGE_TIMER = "resulter.certificate.stage";
+    private static final String LAYOUT_ERRORS_FILENAME = "LayoutDescriptionErrors.pdf";
+
     @Getter
     private final String certificateSchema;
 
     private final JsonSchemaValidator jsonSchemaValidator;
 
-    @Value("#{'${resulter.media-file-path}'}")
-    private String mediaFilePath;
+    private final String mediaFilePath;
+    private final CertificateTemplateCache templateCache;
+    private final MeterRegistry meterRegistry;
 
-    public CertificateServiceImpl() {
+    @Autowired
+    public CertificateServiceImpl(
+            @Value("#{'${resulter.media-file-path}'}") String mediaFilePath,
+            CertificateTemplateCache templateCache,
+            MeterRegistry meterRegistry) {
+        this.mediaFilePath = mediaFilePath;
+        this.templateCache = templateCache;
+        this.meterRegistry = meterRegistry;
         TextFileLoader schemaLoader = new TextFileLoader();
         certificateSchema = schemaLoader.loadTextFile(SCHEMA_CERTIFICATE_SCHEMA_JSON);
         jsonSchemaValidator = new JsonSchemaValidator();
     }
 
     public CertificateServiceImpl(String mediaFilePath) {
-        this.mediaFilePath = mediaFilePath;
-        TextFileLoader schemaLoader = new TextFileLoader();
-        certificateSchema = schemaLoader.loadTextFile(SCHEMA_CERTIFICATE_SCHEMA_JSON);
-        jsonSchemaValidator = new JsonSchemaValidator();
+        this(mediaFilePath, new CertificateTemplateCache(16, Duration.ofHours(1)), Metrics.globalRegistry);
+    }
+
+    public CertificateServiceImpl() {
+        this("");
     }
 
     private static Text createTextBlock(
-        TextBlock textBlock, PdfFont boldFont, PdfFont italicFont, PdfFont boldItalicFont) {
+        TextBlock textBlock, DocumentFonts fonts, PdfFont boldFont, PdfFont italicFont, PdfFont boldItalicFont) {
         Text text = new Text(textBlock.text().content());
         setGlobalFonts(textBlock, boldFont, italicFont, boldItalicFont, text);
-        setLocalFont(textBlock, text);
+        setLocalFont(textBlock, fonts, text);
         setFontSize(textBlock, text);
         setColor(textBlock, text);
         return text;
@@ -91,10 +123,10 @@ public class CertificateServiceImpl implements CertificateService {
         }
     }
 
-    private static void setLocalFont(TextBlock textBlock, Text text) {
+    private static void setLocalFont(TextBlock textBlock, DocumentFonts fonts, Text text) {
         // local font definition overrides global font definition
         if (textBlock.text().font() != null) {
-            PdfFont textFont = CertificateServiceImpl.getPdfFont(textBlock.text().font());
+            PdfFont textFont = fonts.get(textBlock.text().font());
             if (textFont != null) {
                 text.setFont(textFont);
             }
@@ -184,47 +216,68 @@ public class CertificateServiceImpl implements CertificateService {
         return fontProgram;
     }
 
-    @Nullable
-    private static PdfFont getPdfFont(String fontNameOrPath) {
-        PdfFont font = null;
-        if (fontNameOrPath != null) {
+    /**
+     * Fonts of a single PDF document. A {@link PdfFont} belongs to the document it is created for, so only the font
+     * programs are shared, and each font is created once per document.
+     */
+    private static final class DocumentFonts {
+
+        private final Map<String, FontProgram> fontPrograms;
+        private final Map<String, Optional<PdfFont>> fonts = new HashMap<>();
+
+        private DocumentFonts(Map<String, FontProgram> fontPrograms) {
+            this.fontPrograms = fontPrograms;
+        }
+
+        @Nullable
+        PdfFont get(@Nullable String fontNameOrPath) {
+            if (fontNameOrPath == null) {
+                return null;
+            }
+            return fonts.computeIfAbsent(fontNameOrPath, this::create).orElse(null);
+        }
+
+        private Optional<PdfFont> create(String fontNameOrPath) {
             try {
                 if (StandardFonts.isStandardFont(fontNameOrPath)) {
-                    font = PdfFontFactory.createFont(fontNameOrPath);
-                } else {
-                    FontProgram fontProgram = loadFont(fontNameOrPath);
-                    font = PdfFontFactory.createFont(
-                            fontProgram, PdfEncodings.IDENTITY_H, PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED);
+                    return Optional.of(PdfFontFactory.createFont(fontNameOrPath));
                 }
+                return Optional.of(PdfFontFactory.createFont(
+                        fontPrograms.get(fontNameOrPath),
+                        PdfEncodings.IDENTITY_H,
+                        PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED));
             } catch (IOException e) {
                 log.error("Error loading font: {}", fontNameOrPath, e);
+                return Optional.empty();
             }
         }
-        return font;
     }
 
-    private Image createImageBlock(MediaBlock mediaParagraph) throws MalformedURLException {
-        Path basePath = Path.of(mediaFilePath);
-        ImageData imageData =
-                ImageDataFactory.create(basePath.resolve(mediaParagraph.media()).toString());
-        Image image = new Image(imageData);
+    private static Image createImageBlock(MediaBlock mediaParagraph, Map<String, ImageData> images) {
+        Image image = new Image(images.get(mediaParagraph.media()));
         image.setWidth(mediaParagraph.width());
         return image;
     }
 
-    private Paragraph createParagraph(
-            ParagraphDefinition paragraphDefinition, PdfFont boldFont,
+    private static Paragraph createParagraph(
+            ParagraphDefinition paragraphDefinition,
+            CertificateTemplate template,
+            DocumentFonts fonts,
+            PdfFont boldFont,
             PdfFont italicFont,
             PdfFont boldItalicFont) {
         Paragraph paragraph = getParagraph(paragraphDefinition);
         applyTabStops(paragraphDefinition, paragraph);
-        applyBlocks(paragraphDefinition, paragraph, boldFont, italicFont, boldItalicFont);
+        applyBlocks(paragraphDefinition, paragraph, template, fonts, boldFont, italicFont, boldItalicFont);
         return paragraph;
     }
 
-    private void applyBlocks(
+    private static void applyBlocks(
             ParagraphDefinition paragraphDefinition,
-            Paragraph paragraph, PdfFont boldFont,
+            Paragraph paragraph,
+            CertificateTemplate template,
+            DocumentFonts fonts,
+            PdfFont boldFont,
             PdfFont italicFont,
             PdfFont boldItalicFont) {
         if (paragraphDefinition.blocks() != null) {
@@ -232,13 +285,9 @@ public class CertificateServiceImpl implements CertificateService {
                     .sorted(Comparator.comparingInt(ParagraphDefinition.ParagraphDefinitionBlock::getTabPosition))
                     .map(block -> {
                         if (block.block() instanceof TextBlock textBlock) {
-                            return createTextBlock(textBlock, boldFont, italicFont, boldItalicFont);
+                            return createTextBlock(textBlock, fonts, boldFont, italicFont, boldItalicFont);
                         } else if (block.block() instanceof MediaBlock mediaBlock) {
-                            try {
-                                return createImageBlock(mediaBlock);
-                            } catch (MalformedURLException e) {
-                                throw new RuntimeException(e);
-                            }
+                            return createImageBlock(mediaBlock, template.images());
                         }
                         return null;
                     })
@@ -275,48 +324,96 @@ public class CertificateServiceImpl implements CertificateService {
                                          @NonNull PersonRaceResult personResult,
                                          @NonNull MediaFileService mediaFileService) {
 
+        CertificateTemplate template = getTemplate(eventCertificate, mediaFileService);
+        String filename = template.isValid() ? getFilename(event, person) : LAYOUT_ERRORS_FILENAME;
+
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        PdfWriter pdfWriter = new PdfWriter(byteArrayOutputStream);
-        PdfDocument pdfDocument = new PdfDocument(pdfWriter);
-        PageSize pageSize = PageSize.A4;
-        Document document = new Document(pdfDocument, pageSize);
+        writePdf(template, event, List.of(new Recipient(person, organisation, personResult)), byteArrayOutputStream);
+
+        byte[] pdfContents = byteArrayOutputStream.toByteArray();
+        ByteArrayResource resource = new ByteArrayResource(pdfContents);
+
+        return new Certificate(filename, resource, pdfContents.length);
+    }
 
-        String filename = MessageFormat.format(
+    @Override
+    public List<String> validateLayout(@NonNull EventCertificate eventCertificate,
+                                       @NonNull MediaFileService mediaFileService) {
+        return getTemplate(eventCertificate, mediaFileService).validationErrors().stream()
+                .map(Error::getMessage)
+                .toList();
+    }
+
+    @Override
+    public int writeCertificates(@NonNull Event event,
+                                 @NonNull EventCertificate eventCertificate,
+                                 @NonNull List<Recipient> recipients,
+                                 @NonNull BatchFormat format,
+                                 @NonNull MediaFileService mediaFileService,
+                                 @NonNull OutputStream outputStream) throws IOException {
+        CertificateTemplate template = getTemplate(eventCertificate, mediaFileService);
+        if (format == BatchFormat.PDF) {
+            // with an invalid layout the error description is written instead of the certificates
+            writePdf(template, event, template.isValid() ? recipients : List.of(), outputStream);
+            return template.isValid() ? recipients.size() : 0;
+        }
+        ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+        if (!template.isValid()) {
+            zipOutputStream.putNextEntry(new ZipEntry(LAYOUT_ERRORS_FILENAME));
+            writePdf(template, event, List.of(), zipOutputStream);
+            zipOutputStream.closeEntry();
+            zipOutputStream.finish();
+            return 0;
+        }
+        Set<String> filenames = new HashSet<>();
+        for (Recipient recipient : recipients) {
+            // no directories inside the archive, and every runner gets an entry even with equal names
+            String baseName = Strings.CS.removeEnd(getFilename(event, recipient.person()), ".pdf")
+                    .replace('/', '_')
+                    .replace('\\', '_');
+            String filename = baseName + ".pdf";
+            for (int i = 2; !filenames.add(filename); i++) {
+                filename = baseName + "_" + i + ".pdf";
+            }
+            zipOutputStream.putNextEntry(new ZipEntry(filename));
+            writePdf(template, event, List.of(recipient), zipOutputStream);
+            zipOutputStream.closeEntry();
+        }
+        zipOutputStream.finish();
+        return recipients.size();
+    }
+
+    private CertificateTemplate getTemplate(EventCertificate eventCertificate, MediaFileService mediaFileService) {
+        return timed("template",
+                () -> templateCache.get(eventCertificate, () -> compileTemplate(eventCertificate, mediaFileService)));
+    }
+
+    private static String getFilename(Event event, Person person) {
+        return MessageFormat.format(
                 "Certificate_{0}_{1}_{2}.pdf",
                 event.getName().value().replace("\n", ""),
                 person.personName().familyName().value(),
                 person.personName().givenName().value());
+    }
 
-        java.util.List<Error> validationErrors = jsonSchemaValidator.validateJsonAgainstSchema(
-                Objects.requireNonNull(eventCertificate.getLayoutDescription()).value(), certificateSchema);
+    /**
+     * Writes one page per recipient into a single PDF document. The stream is not closed, and pages are flushed to
+     * it as soon as they are complete, so long documents are not kept in memory. Fonts and the background image are
+     * embedded only once per document.
+     */
+    private void writePdf(CertificateTemplate template, Event event, List<Recipient> recipients, OutputStream out) {
+        PdfWriter pdfWriter = new PdfWriter(out);
+        pdfWriter.setCloseStream(false);
+        PdfDocument pdfDocument = new PdfDocument(pdfWriter);
+        PageSize pageSize = PageSize.A4;
+        Document document = new Document(pdfDocument, pageSize);
 
-        if (!validationErrors.isEmpty()) {
-            filename = "LayoutDescriptionErrors.pdf";
-            log.debug("Error validating layout description: {}", validationErrors);
-            document.add(new Paragraph("Error validating layout description: " + validationErrors));
+        if (!template.isValid()) {
+            log.debug("Error validating layout description: {}", template.validationErrors());
+            document.add(new Paragraph("Error validating layout description: " + template.validationErrors()));
         } else {
-            PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
-            Path basePath = Path.of(mediaFilePath);
-            try {
-                if (eventCertificate.getBlankCertificate() != null) {
-                    MediaFileId blankCertificateId =
-                            Objects.requireNonNull(eventCertificate).getBlankCertificate();
-                    MediaFile blankCertificate = mediaFileService.getById(blankCertificateId);
-                    ImageData image = ImageDataFactory.create(basePath.resolve(Objects.requireNonNull(blankCertificate)
-                                    .getMediaFileName()
-                                    .value())
-                            .toString());
-                    canvas.addImageFittedIntoRectangle(image, pageSize, false);
-                }
-            } catch (MalformedURLException e) {
-                log.error("Error loading blank certificate image", e);
-            }
-
-            var documentAndParagraphDefinitionsWithPlaceholders = JsonToTextParagraph.loadDefinitions(
-                    Objects.requireNonNull(eventCertificate.getLayoutDescription())
-                            .value(),
-                    false);
-            DocumentDefinition documentDefinition = documentAndParagraphDefinitionsWithPlaceholders.getLeft();
+            DocumentDefinition documentDefinition = template.documentDefinition();
+            DocumentFonts fonts = new DocumentFonts(template.fontPrograms());
 
             MarginsDefinition margins = new MarginsDefinition(30.0f, 30.0f, 20.0f, 20.0f);
             PdfFont font;
@@ -328,39 +425,145 @@ public class CertificateServiceImpl implements CertificateService {
                     margins = documentDefinition.margins();
                 }
                 document.setMargins(margins.top(), margins.right(), margins.bottom(), margins.left());
-                font = getPdfFont(documentDefinition.font());
+                font = fonts.get(documentDefinition.font());
                 if (font != null) {
                     document.setFont(font);
                 }
-                boldFont = getPdfFont(documentDefinition.boldFont());
-                italicFont = getPdfFont(documentDefinition.italicFont());
-                boldItalicFont = getPdfFont(documentDefinition.boldItalicFont());
+                boldFont = fonts.get(documentDefinition.boldFont());
+                italicFont = fonts.get(documentDefinition.italicFont());
+                boldItalicFont = fonts.get(documentDefinition.boldItalicFont());
             }
 
             float center = (pageSize.getWidth() - document.getLeftMargin() - document.getRightMargin()) / 2;
             log.debug("Center: {}", center);
 
-            List<ParagraphDefinition> paragraphDefinitionsWithPlaceholders =
-                    documentAndParagraphDefinitionsWithPlaceholders.getRight();
-
-            List<ParagraphDefinition> paragraphDefinitions = TextBlockProcessor.processPlaceholders(
-                    paragraphDefinitionsWithPlaceholders, person, organisation, event, personResult);
+            PdfImageXObject background =
+                    template.background() != null ? new PdfImageXObject(template.background()) : null;
+            boolean firstPage = true;
+            for (Recipient recipient : recipients) {
+                if (firstPage) {
+                    pdfDocument.addNewPage(pageSize);
+                    firstPage = false;
+                } else {
+                    document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                }
+                if (background != null) {
+                    PdfPage page = pdfDocument.getLastPage();
+                    new PdfCanvas(page.newContentStreamBefore(), page.getResources(), pdfDocument)
+                            .addXObjectFittedIntoRectangle(background, pageSize);
+                }
 
-            PdfFont finalBoldFont = boldFont;
-            PdfFont finalItalicFont = italicFont;
-            PdfFont finalBoldItalicFont = boldItalicFont;
-            paragraphDefinitions.stream()
-                    .map(paragraphDefinition -> createParagraph(
-                            paragraphDefinition, finalBoldFont, finalItalicFont, finalBoldItalicFont))
-                    .forEach(document::add);
+                List<ParagraphDefinition> paragraphDefinitions = timed("placeholders",
+                        () -> TextBlockProcessor.processPlaceholders(template.paragraphDefinitions(),
+                                recipient.person(), recipient.organisation(), event, recipient.personResult()));
+
+                long layoutStart = System.nanoTime();
+                PdfFont finalBoldFont = boldFont;
+                PdfFont finalItalicFont = italicFont;
+                PdfFont finalBoldItalicFont = boldItalicFont;
+                paragraphDefinitions.stream()
+                        .map(paragraphDefinition -> createParagraph(paragraphDefinition, template, fonts,
+                                finalBoldFont, finalItalicFont, finalBoldItalicFont))
+                        .forEach(document::add);
+                recordStage("layout", layoutStart);
+            }
         }
 
+        long closeStart = System.nanoTime();
         document.close();
+        recordStage("write", closeStart);
+    }
 
-        byte[] pdfContents = byteArrayOutputStream.toByteArray();
-        ByteArrayResource resource = new ByteArrayResource(pdfContents);
+    /**
+     * Validates and parses the layout description and loads its fonts and images. Runs only if the template is not
+     * cached yet.
+     */
+    private CertificateTemplate compileTemplate(EventCertificate eventCertificate, MediaFileService mediaFileService) {
+        String layoutDescription = Objects.requireNonNull(eventCertificate.getLayoutDescription()).value();
+        List<Error> validationErrors = timed("validate",
+                () -> jsonSchemaValidator.validateJsonAgainstSchema(layoutDescription, certificateSchema));
+        if (!validationErrors.isEmpty()) {
+            return CertificateTemplate.invalid(validationErrors);
+        }
 
-        return new Certificate(filename, resource, pdfContents.length);
+        var documentAndParagraphDefinitionsWithPlaceholders =
+                timed("parse", () -> JsonToTextParagraph.loadDefinitions(layoutDescription, false));
+        DocumentDefinition documentDefinition = documentAndParagraphDefinitionsWithPlaceholders.getLeft();
+        List<ParagraphDefinition> paragraphDefinitions =
+                List.copyOf(documentAndParagraphDefinitionsWithPlaceholders.getRight());
+
+        Map<String, FontProgram> fontPrograms = timed("fonts", () -> {
+            Set<String> fontNames = new HashSet<>();
+            if (documentDefinition != null) {
+                Stream.of(documentDefinition.font(), documentDefinition.boldFont(), documentDefinition.italicFont(),
+                                documentDefinition.boldItalicFont())
+                        .filter(Objects::nonNull)
+                        .forEach(fontNames::add);
+            }
+            blocks(paragraphDefinitions)
+                    .filter(block -> block instanceof TextBlock textBlock && textBlock.text().font() != null)
+                    .map(block -> ((TextBlock) block).text().font())
+                    .forEach(fontNames::add);
+            Map<String, FontProgram> programs = new HashMap<>();
+            fontNames.stream()
+                    .filter(fontName -> !StandardFonts.isStandardFont(fontName))
+                    .forEach(fontName -> programs.put(fontName, templateCache.getFontProgram(fontName)));
+            return Map.copyOf(programs);
+        });
+
+        long imagesStart = System.nanoTime();
+        Path basePath = Path.of(mediaFilePath);
+        ImageData background = null;
+        try {
+            if (eventCertificate.getBlankCertificate() != null) {
+                MediaFile blankCertificate = mediaFileService.getById(eventCertificate.getBlankCertificate());
+                background = ImageDataFactory.create(basePath.resolve(Objects.requireNonNull(blankCertificate)
+                                .getMediaFileName()
+                                .value())
+                        .toString());
+            }
+        } catch (MalformedURLException e) {
+            log.error("Error loading blank certificate image", e);
+        }
+        Map<String, ImageData> images = new HashMap<>();
+        blocks(paragraphDefinitions)
+                .filter(MediaBlock.class::isInstance)
+                .map(block -> ((MediaBlock) block).media())
+                .distinct()
+                .forEach(media -> {
+                    try {
+                        images.put(media, ImageDataFactory.create(basePath.resolve(media).toString()));
+                    } catch (MalformedURLException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+        recordStage("images", imagesStart);
+
+        return new CertificateTemplate(
+                List.of(), documentDefinition, paragraphDefinitions, fontPrograms, background, Map.copyOf(images));
+    }
+
+    private static Stream<Block> blocks(List<ParagraphDefinition> paragraphDefinitions) {
+        return paragraphDefinitions.stream()
+                .filter(paragraphDefinition -> paragraphDefinition.blocks() != null)
+                .flatMap(paragraphDefinition -> paragraphDefinition.blocks().stream())
+                .map(ParagraphDefinition.ParagraphDefinitionBlock::block);
     }
 
+    private <T> T timed(String stage, Supplier<T> supplier) {
+        long startTime = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            recordStage(stage, startTime);
+        }
+    }
+
+    private void recordStage(String stage, long startTime) {
+        Timer.builder(STAGE_TIMER)
+                .description("Duration of the stages of rendering a certificate")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
 }
@@ -0,0 +1,34 @@
+package de.jobst.resulter.application.certificate;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.image.ImageData;
+import com.networknt.schema.Error;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout of an event certificate prepared for rendering: the validated and parsed layout description with its
+ * placeholders, the font programs of all non-standard fonts and the decoded images, keyed by font and media file
+ * name. Shared by all certificates rendered with the layout and therefore never modified.
+ *
+ * @param validationErrors errors of the layout description against the certificate schema; if not empty, all other
+ *                         components are empty
+ */
+record CertificateTemplate(
+        List<Error> validationErrors,
+        @Nullable DocumentDefinition documentDefinition,
+        List<ParagraphDefinition> paragraphDefinitions,
+        Map<String, FontProgram> fontPrograms,
+        @Nullable ImageData background,
+        Map<String, ImageData> images) {
+
+    static CertificateTemplate invalid(List<Error> validationErrors) {
+        return new CertificateTemplate(List.copyOf(validationErrors), null, List.of(), Map.of(), null, Map.of());
+    }
+
+    boolean isValid() {
+        return validationErrors.isEmpty();
+    }
+}
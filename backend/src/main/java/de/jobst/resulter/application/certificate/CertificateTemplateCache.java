@@ -0,0 +1,80 @@
+package de.jobst.resulter.application.certificate;
+
+import com.itextpdf.io.font.FontProgram;
+import de.jobst.resulter.application.util.BoundedCache;
+import de.jobst.resulter.domain.EventCertificate;
+import de.jobst.resulter.domain.EventCertificateId;
+import de.jobst.resulter.domain.MediaFileId;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static de.jobst.resulter.application.util.TransactionUtils.runNowAndAfterCommit;
+
+/**
+ * Bounded cache of the compiled {@link CertificateTemplate}s keyed by {@link EventCertificateId}, hash of the layout
+ * description and blank certificate, so that rendering a certificate only substitutes the placeholders and lays out
+ * the document.
+ *
+ * <p>Changed layouts get a new key anyway; {@link #invalidate(EventCertificateId)} removes the outdated entries of an
+ * updated or deleted event certificate. Layouts of not yet saved event certificates (previews in the editor) are
+ * compiled on every call. The font programs of the classpath fonts never change and are kept for all templates.</p>
+ */
+@Component
+@Slf4j
+public class CertificateTemplateCache {
+
+    private final BoundedCache<Key, CertificateTemplate> templates;
+    private final Map<String, FontProgram> fontPrograms = new ConcurrentHashMap<>();
+
+    public CertificateTemplateCache(
+            @Value("${resulter.certificate.template-cache.max-entries:64}") int maxEntries,
+            @Value("${resulter.certificate.template-cache.ttl:PT1H}") Duration ttl) {
+        this.templates = new BoundedCache<>(maxEntries, ttl);
+    }
+
+    CertificateTemplate get(EventCertificate eventCertificate, Supplier<CertificateTemplate> compiler) {
+        if (!eventCertificate.getId().isPersistent()) {
+            return compiler.get();
+        }
+        Key key = new Key(
+                eventCertificate.getId(),
+                layoutHash(Objects.requireNonNull(eventCertificate.getLayoutDescription()).value()),
+                eventCertificate.getBlankCertificate());
+        return templates.get(key, k -> {
+            log.debug("Compiling certificate template of event certificate {}", k.eventCertificateId().value());
+            return compiler.get();
+        });
+    }
+
+    /**
+     * Returns the font program of a font file in the classpath folder {@code fonts}, loading it on first use.
+     */
+    FontProgram getFontProgram(String fontName) {
+        return fontPrograms.computeIfAbsent(fontName, CertificateServiceImpl::loadFont);
+    }
+
+    public void invalidate(EventCertificateId eventCertificateId) {
+        runNowAndAfterCommit(() -> templates.invalidateIf((key, template) ->
+                key.eventCertificateId().equals(eventCertificateId)));
+    }
+
+    int size() {
+        return templates.size();
+    }
+
+    private static String layoutHash(String layoutDescription) {
+        return DigestUtils.md5DigestAsHex(layoutDescription.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Key(EventCertificateId eventCertificateId, String layoutHash, @Nullable MediaFileId blankCertificate) {}
+}
@@ -9,18 +9,31 @@ import org.jspecify.annotations.Nullable;
 
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 public class TextBlockProcessor {
 
+    /**
+     * Returns copies of the paragraph definitions with the placeholders of the text blocks replaced. The given
+     * definitions are not modified, so they can be shared by all certificates of a layout.
+     */
     public static List<ParagraphDefinition> processPlaceholders(@NonNull List<ParagraphDefinition> paragraphDefinitions,
                                                                 @NonNull Person person,
                                                                 @Nullable Organisation organisation,
                                                                 @NonNull Event event,
                                                                 @NonNull PersonRaceResult personResult) {
+        List<ParagraphDefinition> processed = new ArrayList<>(paragraphDefinitions.size());
         for (ParagraphDefinition paragraphDefinition : paragraphDefinitions) {
+            if (paragraphDefinition.blocks() == null) {
+                processed.add(paragraphDefinition);
+                continue;
+            }
+            List<ParagraphDefinition.ParagraphDefinitionBlock> blocks =
+                new ArrayList<>(paragraphDefinition.blocks().size());
             for (ParagraphDefinition.ParagraphDefinitionBlock block : paragraphDefinition.blocks()) {
                 if (!(block.block() instanceof TextBlock(TextBlock.Text textParam))) {
+                    blocks.add(block);
                     continue;
                 }
                 String text = textParam.content();
@@ -42,17 +55,20 @@ public class TextBlockProcessor {
                     text = text.replace("{{ORGANISATION}}", organisation.getName().value());
                 }
 
-                int index = paragraphDefinition.blocks().indexOf(block);
-                paragraphDefinition.blocks()
-                    .set(index,
-                        new ParagraphDefinition.ParagraphDefinitionBlock(new TextBlock(new TextBlock.Text(text,
-                            textParam.font(),
-                            textParam.bold(),
-                            textParam.italic(),
-                            textParam.fontSize(),
-                            textParam.color())), block.tabPosition()));
+                blocks.add(new ParagraphDefinition.ParagraphDefinitionBlock(new TextBlock(new TextBlock.Text(text,
+                    textParam.font(),
+                    textParam.bold(),
+                    textParam.italic(),
+                    textParam.fontSize(),
+                    textParam.color())), block.tabPosition()));
             }
+            processed.add(new ParagraphDefinition(paragraphDefinition.tabStops(),
+                blocks,
+                paragraphDefinition.marginTop(),
+                paragraphDefinition.marginBottom(),
+                paragraphDefinition.marginLeft(),
+                paragraphDefinition.marginRight()));
         }
-        return paragraphDefinitions;
+        return processed;
     }
 }
@@ -0,0 +1,55 @@
+package de.jobst.resulter.application.port;
+
+import de.jobst.resulter.domain.ResultListId;
+import java.util.Optional;
+import org.jmolecules.architecture.hexagonal.SecondaryPort;
+import org.jmolecules.ddd.annotation.Repository;
+
+/**
+ * Repository for precomputed split time analysis results.
+ *
+ * <p>Results are stored as opaque payloads per result list, analysis type and parameter key. Every result list has
+ * a version that is increased on each invalidation; only results stored for the current version are returned, so
+ * a result computed from data that changed in the meantime is never served.</p>
+ */
+@Repository
+@SecondaryPort
+public interface AnalysisResultRepository {
+
+    /**
+     * Current analysis version of the result list.
+     *
+     * @return the version, {@code 0} if the result list was never invalidated
+     */
+    long currentVersion(ResultListId resultListId);
+
+    /**
+     * Find the payload stored for the current version of the result list.
+     *
+     * @param resultListId the result list
+     * @param analysisType the analysis, e.g. {@code ranking}
+     * @param parameters   the parameter key of the analysis
+     * @return the payload, or empty if none was stored for the current version
+     */
+    Optional<byte[]> find(ResultListId resultListId, String analysisType, String parameters);
+
+    /**
+     * Store a payload computed for the given version, replacing a previously stored payload with the same key.
+     * Nothing is stored if the result list has been invalidated since.
+     *
+     * @return {@code true} if the payload was stored
+     */
+    boolean save(ResultListId resultListId, String analysisType, String parameters, long version, byte[] payload);
+
+    /**
+     * Increase the version of the result list and remove all of its stored results.
+     *
+     * @return the new version
+     */
+    long invalidate(ResultListId resultListId);
+
+    /**
+     * Increase the version of all result lists and remove all stored results.
+     */
+    void invalidateAll();
+}
@@ -6,6 +6,10 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.springframework.core.io.ByteArrayResource;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 @PrimaryPort
 public interface CertificateService {
 
@@ -20,7 +24,34 @@ public interface CertificateService {
         @NonNull PersonRaceResult personResult,
         @NonNull MediaFileService mediaFileService);
 
+    /**
+     * @return the errors of the layout description of the certificate, empty if certificates can be created with it
+     */
+    List<String> validateLayout(@NonNull EventCertificate eventCertificate, @NonNull MediaFileService mediaFileService);
+
+    /**
+     * Writes the certificates of all recipients to the stream, either as pages of a single PDF or as a ZIP archive
+     * with one PDF per recipient. The stream is not closed. With an invalid layout description only a description of
+     * the layout errors is written, in the requested format.
+     *
+     * @return the number of certificates written, i.e. the number of recipients or 0 with an invalid layout
+     */
+    int writeCertificates(
+        @NonNull Event event,
+        @NonNull EventCertificate eventCertificate,
+        @NonNull List<Recipient> recipients,
+        @NonNull BatchFormat format,
+        @NonNull MediaFileService mediaFileService,
+        @NonNull OutputStream outputStream) throws IOException;
+
     String getCertificateSchema();
 
     record Certificate(String filename, ByteArrayResource resource, int size) {}
+
+    record Recipient(Person person, @Nullable Organisation organisation, PersonRaceResult personResult) {}
+
+    enum BatchFormat {
+        PDF,
+        ZIP
+    }
 }
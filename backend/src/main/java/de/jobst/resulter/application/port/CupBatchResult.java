@@ -5,7 +5,17 @@ import de.jobst.resulter.domain.Event;
 import de.jobst.resulter.domain.EventId;
 import java.util.List;
 import java.util.Map;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Pageable;
 
+/**
+ * @param totalEstimated true if {@code totalElements} is an estimate or a cached count instead of an exact count
+ * @param nextCursor     token of the following page of a keyset paginated query, null otherwise and on the last page
+ */
 public record CupBatchResult(
-        List<Cup> cups, long totalElements, Pageable resolvedPageable, Map<EventId, Event> eventMap) {}
+        List<Cup> cups,
+        long totalElements,
+        Pageable resolvedPageable,
+        Map<EventId, Event> eventMap,
+        boolean totalEstimated,
+        @Nullable String nextCursor) {}
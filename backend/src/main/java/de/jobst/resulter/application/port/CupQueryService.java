@@ -13,6 +13,18 @@ public interface CupQueryService {
 
     CupBatchResult findAll(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}. The batch carries the cursor of the following
+     * page.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    CupBatchResult findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     Optional<CupBatchResult> findById(Long id);
 
     Optional<CupDetailedBatchResult> findCupDetailed(Long id);
@@ -31,4 +31,14 @@ public interface CupRepository {
     Collection<Cup> findByEvent(EventId eventId);
 
     Page<Cup> findAll(@Nullable String filterString, @NonNull Pageable pageable);
+
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}. Without a cursor the page of the pageable is
+     * returned; with a cursor of a previous page the page following it, ignoring the page number.
+     */
+    KeysetPage<Cup> findPage(
+            @Nullable String filterString,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
 }
@@ -23,6 +23,21 @@ public interface CupScoreListRepository {
 
     List<CupScoreList> saveAll(List<CupScoreList> cupScoreList);
 
+    /**
+     * Saves calculated cup score lists. A list replaces the stored list with the same domain key, writing only the
+     * cup scores that differ; lists without a stored counterpart are inserted.
+     *
+     * @return the saved lists with their ids
+     */
+    List<CupScoreList> saveAllChanged(List<CupScoreList> cupScoreLists);
+
+    /**
+     * @return the input hashes of the stored cup score lists of the cup, by result list; lists without a hash are
+     * missing
+     */
+    Map<ResultListId, String> findInputHashesByResultListIdsAndCupId(
+            Collection<ResultListId> resultListIds, CupId cupId);
+
     List<CupScoreList> findAllByResultListId(ResultListId resultListId);
 
     List<CupScoreList> findAllByResultListIdAndCupId(ResultListId resultListId, CupId cupId);
@@ -33,6 +33,17 @@ public interface CupService {
 
     Page<Cup> findAll(@Nullable String filterString, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    KeysetPage<Cup> findPage(
+            @Nullable String filterString,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     CupDetailed getCupDetailed(CupId cupId);
 
     @Transactional
@@ -8,12 +8,19 @@ import de.jobst.resulter.domain.Organisation;
 import de.jobst.resulter.domain.OrganisationId;
 import java.util.List;
 import java.util.Map;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Pageable;
 
+/**
+ * @param totalEstimated true if {@code totalElements} is an estimate or a cached count instead of an exact count
+ * @param nextCursor     token of the following page of a keyset paginated query, null otherwise and on the last page
+ */
 public record EventBatchResult(
         List<Event> events,
         long totalElements,
         Pageable resolvedPageable,
         Map<EventId, Boolean> hasSplitTimesMap,
         Map<OrganisationId, Organisation> organisationMap,
-        Map<EventCertificateId, EventCertificate> certificateMap) {}
+        Map<EventCertificateId, EventCertificate> certificateMap,
+        boolean totalEstimated,
+        @Nullable String nextCursor) {}
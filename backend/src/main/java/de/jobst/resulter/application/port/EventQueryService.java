@@ -13,5 +13,17 @@ public interface EventQueryService {
 
     EventBatchResult findAll(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}. The batch carries the cursor of the following
+     * page.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    EventBatchResult findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     Optional<EventBatchResult> findById(Long id);
 }
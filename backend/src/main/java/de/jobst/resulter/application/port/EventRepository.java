@@ -30,5 +30,15 @@ public interface EventRepository {
 
     Page<Event> findAll(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}. Without a cursor the page of the pageable is
+     * returned; with a cursor of a previous page the page following it, ignoring the page number.
+     */
+    KeysetPage<Event> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     List<Event> findAllById(Collection<EventId> eventIds);
 }
@@ -53,4 +53,15 @@ public interface EventService {
             Boolean aggregatedScore);
 
     Page<Event> findAll(@Nullable String filter, @NonNull Pageable pageable);
+
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    KeysetPage<Event> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
 }
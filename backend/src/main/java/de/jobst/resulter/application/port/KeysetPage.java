@@ -0,0 +1,46 @@
+package de.jobst.resulter.application.port;
+
+import java.util.List;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page of a keyset (seek) paginated query.
+ *
+ * @param nextCursor     opaque token to request the following page, null on the last page
+ * @param totalEstimated true if {@code totalElements} is an estimate or a cached count instead of an exact count
+ */
+public record KeysetPage<T>(
+        List<T> content, Pageable pageable, long totalElements, boolean totalEstimated, @Nullable String nextCursor) {
+
+    /**
+     * How the total number of elements is determined.
+     */
+    public enum CountMode {
+        EXACT,
+        ESTIMATED;
+
+        /**
+         * @throws IllegalArgumentException for unknown values
+         */
+        public static CountMode of(String value) {
+            return valueOf(value.toUpperCase(java.util.Locale.ROOT));
+        }
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(content.stream().map(mapper).toList(), pageable, totalElements, totalEstimated,
+                nextCursor);
+    }
+
+    public KeysetPage<T> withPageable(Pageable pageable) {
+        return new KeysetPage<>(content, pageable, totalElements, totalEstimated, nextCursor);
+    }
+
+    public Page<T> toPage() {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import org.jmolecules.architecture.hexagonal.SecondaryPort;
 import org.jmolecules.ddd.annotation.Repository;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +23,16 @@ public interface MediaFileRepository {
 
     Page<MediaFile> findAll(String filter, Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}. Without a cursor the page of the pageable is
+     * returned; with a cursor of a previous page the page following it, ignoring the page number.
+     */
+    KeysetPage<MediaFile> findPage(
+            @Nullable String filter,
+            Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     Optional<MediaFile> findById(MediaFileId mediaFileId);
 
     List<MediaFile> findAllById(Collection<MediaFileId> mediaFileIds);
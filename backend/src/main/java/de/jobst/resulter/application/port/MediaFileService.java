@@ -24,10 +24,26 @@ public interface MediaFileService {
 
     Page<@NonNull MediaFile> findAll(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    KeysetPage<MediaFile> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     MediaFile getById(MediaFileId mediaFileId);
 
     Optional<MediaFile> findById(MediaFileId mediaFileId);
 
+    /**
+     * Returns the JPEG thumbnail of a raster image, empty if the media file or its thumbnail does not exist.
+     */
+    Optional<MediaFileThumbnail> getThumbnail(MediaFileId mediaFileId);
+
     List<MediaFile> findAllById(Collection<MediaFileId> mediaFileIds);
 
     Map<MediaFileId, MediaFile> findAllByIdAsMap(Set<MediaFileId> mediaFileIds);
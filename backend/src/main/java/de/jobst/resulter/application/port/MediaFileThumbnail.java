@@ -0,0 +1,8 @@
+package de.jobst.resulter.application.port;
+
+import java.time.Instant;
+
+/**
+ * JPEG thumbnail of a media file with the validators used for conditional requests.
+ */
+public record MediaFileThumbnail(byte[] content, Instant lastModified, String eTag) {}
@@ -6,11 +6,18 @@ import de.jobst.resulter.domain.Organisation;
 import de.jobst.resulter.domain.OrganisationId;
 import java.util.List;
 import java.util.Map;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Pageable;
 
+/**
+ * @param totalEstimated true if {@code totalElements} is an estimate or a cached count instead of an exact count
+ * @param nextCursor     token of the following page of a keyset paginated query, null otherwise and on the last page
+ */
 public record OrganisationBatchResult(
         List<Organisation> organisations,
         long totalElements,
         Pageable resolvedPageable,
         Map<CountryId, Country> countryMap,
-        Map<OrganisationId, Organisation> childOrganisationMap) {}
+        Map<OrganisationId, Organisation> childOrganisationMap,
+        boolean totalEstimated,
+        @Nullable String nextCursor) {}
@@ -29,10 +29,18 @@ public interface OrganisationRepository {
 
     Map<OrganisationId, Organisation> findAllById(Set<OrganisationId> idSet);
 
-    Map<OrganisationId, Organisation> loadOrganisationTree(Set<OrganisationId> idSet);
-
     Page<Organisation> findAll(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}. Without a cursor the page of the pageable is
+     * returned; with a cursor of a previous page the page following it, ignoring the page number.
+     */
+    KeysetPage<Organisation> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     @NonNull
     List<Organisation> findByIds(Collection<OrganisationId> childOrganisations);
 }
@@ -48,6 +48,17 @@ public interface OrganisationService {
 
     Page<Organisation> findAll(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)}.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    KeysetPage<Organisation> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     List<Organisation> findAllById(Set<OrganisationId> organisationIds);
 
     Map<OrganisationId, Organisation> findAllByIdAsMap(Set<OrganisationId> organisationIds);
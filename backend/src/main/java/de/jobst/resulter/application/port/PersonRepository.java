@@ -34,6 +34,18 @@ public interface PersonRepository {
 
     Page<Person> findDuplicates(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Keyset paginated variant of {@link #findAll(String, Pageable)} and {@link #findDuplicates(String, Pageable)}.
+     * Without a cursor the page of the pageable is returned; with a cursor of a previous page the page following it,
+     * ignoring the page number.
+     */
+    KeysetPage<Person> findPage(
+            @Nullable String filter,
+            @NonNull Pageable pageable,
+            boolean duplicates,
+            @Nullable String cursor,
+            KeysetPage.CountMode countMode);
+
     void delete(Person person);
 
     Map<PersonId, Person> findAllById(Set<PersonId> idSet);
@@ -40,6 +40,14 @@ public interface PersonService {
      */
     Page<Person> findAllOrPossibleDuplicates(@Nullable String filter, @NonNull Pageable pageable, boolean duplicates);
 
+    /**
+     * Keyset paginated variant of {@link #findAllOrPossibleDuplicates(String, Pageable, boolean)}.
+     * @param cursor token of the previous page, null for the page of the pageable
+     * @param countMode whether the total is counted exactly or may be served from a short-lived cache
+     */
+    KeysetPage<Person> findPage(@Nullable String filter, @NonNull Pageable pageable, boolean duplicates,
+                                @Nullable String cursor, KeysetPage.CountMode countMode);
+
     /**
      * Deprecated: use {@link #findAllOrPossibleDuplicates(String, Pageable, boolean)} with duplicates=false
      */
@@ -52,6 +60,9 @@ public interface PersonService {
     @Deprecated
     Page<Person> findDuplicates(@Nullable String filter, @NonNull Pageable pageable);
 
+    /**
+     * Possible duplicates of the person from the duplicate index, most similar first.
+     */
     List<Person> findDoubles(PersonId personId);
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -65,6 +76,8 @@ public interface PersonService {
      * Uses a two-tier similarity approach:
      * - Regular threshold (>750): determines if a person has duplicates (needed for merge button)
      * - Strict threshold (>1050): groups very similar persons together (only smallest ID gets button)
+     * Only persons sharing a blocking key (phonetic family name, family name prefix, given name and birth year) are
+     * compared.
      * Returns a set of person IDs that should show the merge button.
      */
     java.util.Set<Long> determineGroupLeaders(List<Person> persons);
@@ -2,8 +2,11 @@ package de.jobst.resulter.application.port;
 
 import de.jobst.resulter.domain.*;
 import org.jmolecules.architecture.hexagonal.PrimaryPort;
+import org.jspecify.annotations.Nullable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +38,23 @@ public interface ResultListService {
 
     CertificateService.Certificate createCertificate(Event event, EventCertificate eventCertificate);
 
+    /**
+     * Collects the recipients of the certificates of a result list, ordered by class and position.
+     *
+     * @param classResultShortNames only these classes, all classes if empty
+     * @param topN                  only runners placed 1 to topN, all runners if null
+     * @return empty if the result list does not exist or its event has no certificate
+     * @throws IllegalArgumentException if the layout description of the certificate of the event is invalid
+     */
+    Optional<CertificateBatch> prepareCertificates(
+            ResultListId resultListId, Collection<ClassResultShortName> classResultShortNames, @Nullable Integer topN);
+
+    /**
+     * Writes the certificates of the batch to the stream and records the written ones in the certificate statistics.
+     */
+    void writeCertificates(CertificateBatch batch, CertificateService.BatchFormat format, OutputStream outputStream)
+            throws IOException;
+
     List<EventCertificateStat> getCertificateStats(EventId eventId);
 
     void deleteEventCertificateStat(EventCertificateStatId id);
@@ -44,4 +64,7 @@ public interface ResultListService {
     List<CupScoreList> getCupScoreLists(ResultListId resultListId, CupId cupId);
 
     Map<ResultListId, List<CupScoreList>> getCupScoreListsByResultListIds(Collection<ResultListId> resultListIds, CupId cupId);
+
+    record CertificateBatch(
+            Event event, EventCertificate eventCertificate, List<CertificateService.Recipient> recipients) {}
 }
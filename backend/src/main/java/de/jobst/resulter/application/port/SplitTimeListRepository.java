@@ -1,5 +1,6 @@
 package de.jobst.resulter.application.port;
 
+import de.jobst.resulter.domain.ClassResultShortName;
 import de.jobst.resulter.domain.PersonId;
 import de.jobst.resulter.domain.ResultListId;
 import de.jobst.resulter.domain.SplitTimeList;
@@ -29,5 +30,24 @@ public interface SplitTimeListRepository {
     void replacePersonId(PersonId oldPersonId, PersonId newPersonId);
 
     List<SplitTimeList> findByResultListId(ResultListId resultListId);
+
+    /**
+     * Split time lists of the given classes of a result list.
+     */
+    List<SplitTimeList> findByResultListIdAndClassResultShortNames(
+            ResultListId resultListId, Collection<ClassResultShortName> classResultShortNames);
+
     Set<ResultListId> existsByResultListIds(Collection<ResultListId> resultListIds);
+
+    /**
+     * Classes of a result list having split times, with the number of their split time lists, sorted by class.
+     * The split times themselves are not loaded.
+     */
+    List<ClassGroupOption> countRunnersByClass(ResultListId resultListId);
+
+    /**
+     * Courses of the classes of a result list, with the number of split time lists of these classes, sorted by
+     * course name. The split times themselves are not loaded.
+     */
+    List<CourseGroupOption> countRunnersByCourse(ResultListId resultListId);
 }
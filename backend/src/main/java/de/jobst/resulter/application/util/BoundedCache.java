@@ -0,0 +1,120 @@
+package de.jobst.resulter.application.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Small thread-safe LRU cache with an optional time-to-live.
+ *
+ * <p>Concurrent {@link #get(Object, Function)} calls for the same key share a single load: the first caller runs the
+ * loader, all others wait for its result. Loads for different keys do not block each other.</p>
+ */
+public final class BoundedCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // access-ordered, guarded by this
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxEntries maximum number of entries, the least recently used entry is evicted first
+     * @param ttl        time-to-live measured from load, {@link Duration#ZERO} disables expiry
+     */
+    public BoundedCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    BoundedCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null || isExpired(entry)) {
+                entry = new Entry<>();
+                entries.put(key, entry);
+                evictOverflow();
+            }
+        }
+        return entry.getOrLoad(() -> loader.apply(key), nanoClock);
+    }
+
+    public synchronized Optional<V> getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || !entry.loaded || isExpired(entry)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.value);
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all loaded entries matching the given predicate. Entries that are still loading are kept.
+     */
+    public synchronized void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> next = iterator.next();
+            Entry<V> entry = next.getValue();
+            if (entry.loaded && entry.value != null && predicate.test(next.getKey(), entry.value)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && entry.loaded && nanoClock.getAsLong() - entry.loadedAt >= ttlNanos;
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private volatile boolean loaded;
+        private @Nullable V value;
+        private long loadedAt;
+
+        synchronized V getOrLoad(Supplier<? extends V> loader, LongSupplier nanoClock) {
+            if (!loaded) {
+                value = loader.get();
+                loadedAt = nanoClock.getAsLong();
+                loaded = true;
+            }
+            return value;
+        }
+    }
+}
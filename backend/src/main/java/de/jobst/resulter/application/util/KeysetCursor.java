@@ -0,0 +1,103 @@
+package de.jobst.resulter.application.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Opaque cursor token of keyset (seek) pagination: the sort values of the last row of a page, bound to the sort order
+ * they were read with. A token is only accepted together with the same sort order.
+ *
+ * <p>Supported values are {@code null}, strings, whole numbers, dates and timestamps. Timestamps are decoded as
+ * {@link OffsetDateTime} in UTC.</p>
+ */
+public final class KeysetCursor {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DATE = 3;
+    private static final byte TIMESTAMP = 4;
+
+    private KeysetCursor() {}
+
+    public static String encode(String sortKey, List<@Nullable Object> values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(sortKey);
+            out.writeByte(values.size());
+            for (Object value : values) {
+                switch (value) {
+                    case null -> out.writeByte(NULL);
+                    case String s -> {
+                        out.writeByte(STRING);
+                        out.writeUTF(s);
+                    }
+                    case Long l -> {
+                        out.writeByte(LONG);
+                        out.writeLong(l);
+                    }
+                    case Integer i -> {
+                        out.writeByte(LONG);
+                        out.writeLong(i);
+                    }
+                    case LocalDate d -> {
+                        out.writeByte(DATE);
+                        out.writeLong(d.toEpochDay());
+                    }
+                    case OffsetDateTime t -> {
+                        out.writeByte(TIMESTAMP);
+                        out.writeLong(t.toEpochSecond());
+                        out.writeInt(t.getNano());
+                    }
+                    default -> throw new IllegalArgumentException(
+                            "Unsupported cursor value type: " + value.getClass().getName());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed or was created for another sort order
+     */
+    public static List<@Nullable Object> decode(String token, String sortKey) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (!sortKey.equals(in.readUTF())) {
+                throw new IllegalArgumentException("Cursor does not match the sort order");
+            }
+            int size = in.readUnsignedByte();
+            List<@Nullable Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte type = in.readByte();
+                values.add(switch (type) {
+                    case NULL -> null;
+                    case STRING -> in.readUTF();
+                    case LONG -> in.readLong();
+                    case DATE -> LocalDate.ofEpochDay(in.readLong());
+                    case TIMESTAMP -> Instant.ofEpochSecond(in.readLong(), in.readInt()).atOffset(ZoneOffset.UTC);
+                    default -> throw new IllegalArgumentException("Invalid cursor");
+                });
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
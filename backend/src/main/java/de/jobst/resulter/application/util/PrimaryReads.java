@@ -0,0 +1,38 @@
+package de.jobst.resulter.application.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads that must see the latest committed data and therefore may not use the pool for read-only transactions,
+ * which may point to an asynchronous replica.
+ * <p>
+ * Used by loads that fill caches keyed by a {@link de.jobst.resulter.application.ContentVersions content version}
+ * or another change marker: the version is bumped after commit, so a load from a replica that has not caught up yet
+ * would cache old rows under the new version. The hint is evaluated when a connection is fetched, so it has to be set
+ * before the first statement of the transaction and only applies to the calling thread.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryReads() {}
+
+    /**
+     * Runs the loader with all connections fetched on the current thread taken from the primary database.
+     */
+    public static <T> T call(Supplier<T> loader) {
+        if (ACTIVE.get()) {
+            return loader.get();
+        }
+        ACTIVE.set(true);
+        try {
+            return loader.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+}
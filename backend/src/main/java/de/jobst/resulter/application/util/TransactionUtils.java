@@ -0,0 +1,36 @@
+package de.jobst.resulter.application.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+    private TransactionUtils() {}
+
+    /**
+     * Runs the action after the commit of the current transaction, or immediately outside of a transaction.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs the action immediately and, inside a transaction, once more after commit. Used for cache invalidation, so
+     * that a value loaded concurrently from not yet committed data does not survive the write.
+     */
+    public static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            runAfterCommit(action);
+        }
+    }
+}
@@ -66,9 +66,11 @@ public class Cup implements Comparable<Cup> {
     }
 
     public CupTypeCalculationStrategy getCupTypeCalculationStrategy(
-            @Nullable Map<OrganisationId, Organisation> organisationById) {
+            @Nullable OrganisationHierarchy organisationHierarchy) {
+        Map<OrganisationId, Organisation> organisationById =
+                organisationHierarchy != null ? organisationHierarchy.organisationById() : null;
         return switch (getType()) {
-            case CupType.NOR -> new NORCalculationStrategy(organisationById);
+            case CupType.NOR -> new NORCalculationStrategy(organisationHierarchy);
             case CupType.KJ -> new KJCalculationStrategy(organisationById);
             case CupType.KRISTALL -> new KristallCalculationStrategy(organisationById);
             case CupType.NEBEL -> new NebelCalculationStrategy(organisationById);
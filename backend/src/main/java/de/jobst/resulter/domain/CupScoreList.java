@@ -33,6 +33,13 @@ public class CupScoreList {
 
     private final String status = "COMPLETE";
 
+    /**
+     * Hash of the inputs the cup scores were calculated from (see {@code CupScoreInputHash}); {@code null} if
+     * unknown, e.g. for lists calculated before it was recorded.
+     */
+    @Nullable
+    private final String inputHash;
+
     public CupScoreList(
             CupScoreListId id,
             CupId cupId,
@@ -40,12 +47,28 @@ public class CupScoreList {
             List<CupScore> cupScores,
             @Nullable String creator,
             @Nullable ZonedDateTime createTime) {
+        this(id, cupId, resultListId, cupScores, creator, createTime, null);
+    }
+
+    public CupScoreList(
+            CupScoreListId id,
+            CupId cupId,
+            ResultListId resultListId,
+            List<CupScore> cupScores,
+            @Nullable String creator,
+            @Nullable ZonedDateTime createTime,
+            @Nullable String inputHash) {
         this.id = id;
         this.cupId = cupId;
         this.resultListId = resultListId;
         this.cupScores = cupScores;
         this.creator = creator;
         this.createTime = createTime;
+        this.inputHash = inputHash;
+    }
+
+    public CupScoreList withInputHash(@Nullable String inputHash) {
+        return new CupScoreList(id, cupId, resultListId, cupScores, creator, createTime, inputHash);
     }
 
     public DomainKey getDomainKey() {
@@ -0,0 +1,131 @@
+package de.jobst.resulter.domain;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the organisation hierarchy with the precomputed transitive closure, so that "is X part of Y"
+ * is a set lookup instead of a walk through the child organisations.
+ *
+ * <p>Child organisations missing from the snapshot are ignored, like the recursive checks of {@link Organisation} do.
+ * Cycles in the hierarchy do not lead to endless walks. The version identifies the snapshot; a newer snapshot has a
+ * higher version.</p>
+ */
+public final class OrganisationHierarchy {
+
+    private static final OrganisationHierarchy EMPTY = new OrganisationHierarchy(List.of(), 0);
+
+    private final long version;
+    private final Map<OrganisationId, Organisation> organisationById;
+    private final Map<OrganisationId, Set<OrganisationId>> descendantsOrSelf;
+    private final Map<OrganisationId, Set<OrganisationId>> ancestorsOrSelf;
+    private final Map<String, List<OrganisationId>> idsByShortName;
+
+    private OrganisationHierarchy(Collection<Organisation> organisations, long version) {
+        this.version = version;
+        Map<OrganisationId, Organisation> byId = new HashMap<>();
+        for (Organisation organisation : organisations) {
+            byId.put(organisation.getId(), organisation);
+        }
+        this.organisationById = Collections.unmodifiableMap(byId);
+
+        Map<OrganisationId, Set<OrganisationId>> descendants = new HashMap<>();
+        Map<OrganisationId, Set<OrganisationId>> ancestors = new HashMap<>();
+        Map<String, List<OrganisationId>> byShortName = new HashMap<>();
+        for (Organisation organisation : byId.values()) {
+            Set<OrganisationId> reachable = collectDescendantsOrSelf(organisation, byId);
+            descendants.put(organisation.getId(), Collections.unmodifiableSet(reachable));
+            for (OrganisationId descendant : reachable) {
+                ancestors.computeIfAbsent(descendant, id -> new HashSet<>()).add(organisation.getId());
+            }
+            byShortName.computeIfAbsent(organisation.getShortName().value(), name -> new ArrayList<>())
+                    .add(organisation.getId());
+        }
+        ancestors.replaceAll((id, ids) -> Collections.unmodifiableSet(ids));
+        byShortName.values().forEach(ids -> ids.sort(Comparator.comparing(OrganisationId::value)));
+        this.descendantsOrSelf = descendants;
+        this.ancestorsOrSelf = ancestors;
+        this.idsByShortName = byShortName;
+    }
+
+    public static OrganisationHierarchy of(Collection<Organisation> organisations, long version) {
+        return new OrganisationHierarchy(organisations, version);
+    }
+
+    public static OrganisationHierarchy of(Collection<Organisation> organisations) {
+        return of(organisations, 0);
+    }
+
+    public static OrganisationHierarchy empty() {
+        return EMPTY;
+    }
+
+    private static Set<OrganisationId> collectDescendantsOrSelf(
+            Organisation organisation, Map<OrganisationId, Organisation> organisationById) {
+        Set<OrganisationId> reachable = new HashSet<>();
+        Deque<Organisation> pending = new ArrayDeque<>();
+        reachable.add(organisation.getId());
+        pending.push(organisation);
+        while (!pending.isEmpty()) {
+            for (OrganisationId childId : pending.pop().getChildOrganisations()) {
+                Organisation child = organisationById.get(childId);
+                if (child != null && reachable.add(childId)) {
+                    pending.push(child);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Map<OrganisationId, Organisation> organisationById() {
+        return organisationById;
+    }
+
+    public @Nullable Organisation get(@Nullable OrganisationId id) {
+        return id != null ? organisationById.get(id) : null;
+    }
+
+    /**
+     * @return whether the organisation is the ancestor itself or one of its direct or indirect child organisations
+     */
+    public boolean isPartOf(@Nullable OrganisationId organisationId, OrganisationId ancestorId) {
+        return organisationId != null
+                && descendantsOrSelf.getOrDefault(ancestorId, Set.of()).contains(organisationId);
+    }
+
+    /**
+     * @return whether the organisation or one of its direct or indirect child organisations has the short name
+     */
+    public boolean containsShortName(OrganisationId organisationId, String shortName) {
+        Set<OrganisationId> descendants = descendantsOrSelf.getOrDefault(organisationId, Set.of());
+        return idsByShortName.getOrDefault(shortName, List.of()).stream().anyMatch(descendants::contains);
+    }
+
+    /**
+     * @return the organisations with the short name, ordered by id
+     */
+    public List<Organisation> findByShortName(String shortName) {
+        return idsByShortName.getOrDefault(shortName, List.of()).stream()
+                .map(organisationById::get)
+                .toList();
+    }
+
+    /**
+     * @return the organisation and all organisations it is directly or indirectly part of
+     */
+    public Set<OrganisationId> ancestorsOrSelf(OrganisationId organisationId) {
+        return ancestorsOrSelf.getOrDefault(organisationId, Set.of());
+    }
+
+    /**
+     * @return the organisation and all its direct or indirect child organisations
+     */
+    public Set<OrganisationId> descendantsOrSelf(OrganisationId organisationId) {
+        return descendantsOrSelf.getOrDefault(organisationId, Set.of());
+    }
+}
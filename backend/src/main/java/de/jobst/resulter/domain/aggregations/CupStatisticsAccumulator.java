@@ -0,0 +1,81 @@
+package de.jobst.resulter.domain.aggregations;
+
+import de.jobst.resulter.domain.*;
+import de.jobst.resulter.domain.util.LongHashSet;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the {@link CupStatistics} of a cup in a single pass over the person results of its events.
+ *
+ * <p>Starts and non-scoring starts are counted per organisation while adding; distinct persons are counted with
+ * primitive sets of person ids, overall and per organisation. All race results of a person result count as starts,
+ * regardless of their state.</p>
+ */
+public final class CupStatisticsAccumulator {
+
+    private final LongHashSet persons = new LongHashSet(256);
+    private final Map<OrganisationId, OrganisationCounts> countsByOrganisation = new LinkedHashMap<>();
+    private int starts;
+    private int nonScoringStarts;
+
+    public void add(PersonResult personResult) {
+        Collection<PersonRaceResult> personRaceResults = personResult.personRaceResults().value();
+        if (personRaceResults.isEmpty()) {
+            return;
+        }
+        long personId = personResult.personId().value();
+        int resultStarts = personRaceResults.size();
+        int resultNonScoringStarts = 0;
+        for (PersonRaceResult personRaceResult : personRaceResults) {
+            if (personRaceResult.getState() != ResultStatus.OK) {
+                resultNonScoringStarts++;
+            }
+        }
+        persons.add(personId);
+        starts += resultStarts;
+        nonScoringStarts += resultNonScoringStarts;
+
+        OrganisationId organisationId = personResult.organisationId();
+        if (organisationId != null) {
+            OrganisationCounts counts =
+                    countsByOrganisation.computeIfAbsent(organisationId, id -> new OrganisationCounts());
+            counts.persons.add(personId);
+            counts.starts += resultStarts;
+            counts.nonScoringStarts += resultNonScoringStarts;
+        }
+    }
+
+    /**
+     * @param organisationById organisations to report statistics for; organisations missing from the map are counted
+     *                         in the overall statistics only
+     * @return the statistics with the organisations sorted by runner count descending
+     */
+    public CupStatistics toCupStatistics(Map<OrganisationId, Organisation> organisationById) {
+        CupOverallStatistics overallStatistics =
+                CupOverallStatistics.of(persons.size(), countsByOrganisation.size(), starts, nonScoringStarts);
+
+        List<OrganisationStatistics> organisationStatistics = new ArrayList<>(countsByOrganisation.size());
+        countsByOrganisation.forEach((organisationId, counts) -> {
+            @Nullable Organisation organisation = organisationById.get(organisationId);
+            if (organisation != null) {
+                organisationStatistics.add(OrganisationStatistics.of(
+                        organisation, counts.persons.size(), counts.starts, counts.nonScoringStarts));
+            }
+        });
+        organisationStatistics.sort(null);
+
+        return new CupStatistics(overallStatistics, List.copyOf(organisationStatistics));
+    }
+
+    private static final class OrganisationCounts {
+        private final LongHashSet persons = new LongHashSet();
+        private int starts;
+        private int nonScoringStarts;
+    }
+}
@@ -0,0 +1,172 @@
+package de.jobst.resulter.domain.scoring;
+
+import de.jobst.resulter.domain.*;
+import org.jspecify.annotations.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Hash of everything the {@link CupScoreList} of a result list in a cup is calculated from, stored with the list so
+ * that a cup recalculation can skip result lists whose inputs did not change.
+ *
+ * <p>The hash covers the cup (id, type and whether the event of the result list belongs to it), the organisations
+ * the {@link CupTypeCalculationStrategy strategies} look at (short names and child organisations) and the result list
+ * content the scores depend on: classes, persons with their organisation and the race results with state, position
+ * and runtime. Classes, persons and race results are hashed in a fixed order, so the order in which they were loaded
+ * does not matter. An instance is created per cup calculation and may be used by several threads.</p>
+ */
+public final class CupScoreInputHash {
+
+    /**
+     * Increase when the hashed inputs or the calculation change, so that all stored lists are recalculated once.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final Comparator<ClassResult> CLASS_RESULT_ORDER =
+            Comparator.comparing((ClassResult classResult) -> classResult.classResultShortName().value())
+                    .thenComparing(classResult -> classResult.classResultName().value(),
+                            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Comparator<PersonRaceResult> PERSON_RACE_RESULT_ORDER =
+            Comparator.comparing(PersonRaceResult::getRaceNumber)
+                    .thenComparing(personRaceResult -> personRaceResult.getClassResultShortName().value());
+
+    private final Cup cup;
+    private final MessageDigest cupDigest;
+
+    private CupScoreInputHash(Cup cup, MessageDigest cupDigest) {
+        this.cup = cup;
+        this.cupDigest = cupDigest;
+    }
+
+    /**
+     * Hashes the cup and the organisations once; {@link #of(ResultList)} continues from a copy of that state.
+     */
+    public static CupScoreInputHash forCup(Cup cup, OrganisationHierarchy organisationHierarchy) {
+        MessageDigest digest = newDigest();
+        write(digest, out -> {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(cup.getId().value());
+            out.writeUTF(cup.getType().name());
+            List<Organisation> organisations = organisationHierarchy.organisationById().values().stream()
+                    .sorted(Comparator.comparing(organisation -> organisation.getId().value()))
+                    .toList();
+            out.writeInt(organisations.size());
+            for (Organisation organisation : organisations) {
+                out.writeLong(organisation.getId().value());
+                out.writeUTF(organisation.getShortName().value());
+                List<Long> childIds = organisation.getChildOrganisations().stream()
+                        .map(OrganisationId::value)
+                        .sorted()
+                        .toList();
+                out.writeInt(childIds.size());
+                for (Long childId : childIds) {
+                    out.writeLong(childId);
+                }
+            }
+        });
+        return new CupScoreInputHash(cup, digest);
+    }
+
+    /**
+     * @return the hex encoded hash of the inputs of the cup scores of the result list
+     */
+    public String of(ResultList resultList) {
+        MessageDigest digest = copyOfCupDigest();
+        write(digest, out -> {
+            out.writeLong(resultList.getId().value());
+            out.writeBoolean(cup.getEventIds().contains(resultList.getEventId()));
+            Collection<ClassResult> classResults = resultList.getClassResults();
+            if (classResults == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(classResults.size());
+            for (ClassResult classResult : classResults.stream().sorted(CLASS_RESULT_ORDER).toList()) {
+                writeClassResult(out, classResult);
+            }
+        });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void writeClassResult(DataOutputStream out, ClassResult classResult) throws IOException {
+        out.writeUTF(classResult.classResultShortName().value());
+        writeNullableString(out, classResult.classResultName().value());
+        out.writeUTF(classResult.gender().name());
+        List<PersonResult> personResults = classResult.personResults().value().stream().sorted().toList();
+        out.writeInt(personResults.size());
+        for (PersonResult personResult : personResults) {
+            out.writeLong(personResult.personId().value());
+            writeNullableLong(out, personResult.organisationId() != null ? personResult.organisationId().value() : null);
+            List<PersonRaceResult> personRaceResults = personResult.personRaceResults().value().stream()
+                    .sorted(PERSON_RACE_RESULT_ORDER)
+                    .toList();
+            out.writeInt(personRaceResults.size());
+            for (PersonRaceResult personRaceResult : personRaceResults) {
+                Byte raceNumber = personRaceResult.getRaceNumber().value();
+                Double runtime = personRaceResult.getRuntime().value();
+                out.writeUTF(personRaceResult.getClassResultShortName().value());
+                writeNullableLong(out, raceNumber != null ? raceNumber.longValue() : null);
+                out.writeUTF(String.valueOf(personRaceResult.getState()));
+                writeNullableLong(out, personRaceResult.getPosition().value());
+                writeNullableLong(out, runtime != null ? Double.doubleToLongBits(runtime) : null);
+            }
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, @Nullable Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private MessageDigest copyOfCupDigest() {
+        try {
+            return (MessageDigest) cupDigest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " digest cannot be copied", e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static void write(MessageDigest digest, DigestWriter writer) {
+        try (DataOutputStream out =
+                new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DigestWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
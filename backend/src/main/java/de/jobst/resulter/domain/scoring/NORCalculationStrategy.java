@@ -5,14 +5,13 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 
 public class NORCalculationStrategy implements CupTypeCalculationStrategy {
 
     public static final CupType CUP_TYPE = CupType.NOR;
 
-    @Nullable private final Map<OrganisationId, Organisation> organisationById;
+    @Nullable private final OrganisationHierarchy organisationHierarchy;
     @Nullable private final Organisation norOrganisation;
 
     Set<String> classesToSkip = Set.of(
@@ -49,13 +48,10 @@ public class NORCalculationStrategy implements CupTypeCalculationStrategy {
     String mainClassMenShort = "H19K";
     Set<String> mainClassesMenShort = Set.of("H19K", "H19AK", "H21K", "H21B");
 
-    public NORCalculationStrategy(@Nullable Map<OrganisationId, Organisation> organisationById) {
-        this.organisationById = organisationById;
-        norOrganisation = organisationById != null
-                ? organisationById.values().stream()
-                        .filter(x -> x.containsOrganisationWithShortName(CUP_TYPE.value(), organisationById))
-                        .findFirst()
-                        .orElse(null)
+    public NORCalculationStrategy(@Nullable OrganisationHierarchy organisationHierarchy) {
+        this.organisationHierarchy = organisationHierarchy;
+        norOrganisation = organisationHierarchy != null
+                ? organisationHierarchy.findByShortName(CUP_TYPE.value()).stream().findFirst().orElse(null)
                 : null;
     }
 
@@ -101,24 +97,19 @@ public class NORCalculationStrategy implements CupTypeCalculationStrategy {
 
     @Override
     public boolean valid(PersonResult personResult) {
-        if (organisationById == null) {
-            throw new IllegalArgumentException("organisationById is null");
+        if (organisationHierarchy == null) {
+            throw new IllegalArgumentException("organisationHierarchy is null");
         }
         if (norOrganisation == null) {
             throw new IllegalArgumentException("norOrganisation is null");
         }
-        Optional<Organisation> optionalOrganisation = organisationById.containsKey(personResult.organisationId())
-                ? Optional.of(organisationById.get(personResult.organisationId()))
-                : Optional.empty();
-        return optionalOrganisation.isPresent()
-                && norOrganisation.containsOrganisationWithId(
-                        optionalOrganisation.get().getId(), organisationById);
+        return organisationHierarchy.isPartOf(personResult.organisationId(), norOrganisation.getId());
     }
 
     @Override
     public boolean valid(Organisation organisation) {
-        return norOrganisation != null && organisationById != null &&
-               norOrganisation.containsOrganisationWithId(organisation.getId(), organisationById);
+        return norOrganisation != null && organisationHierarchy != null &&
+               organisationHierarchy.isPartOf(organisation.getId(), norOrganisation.getId());
     }
 
     @Override
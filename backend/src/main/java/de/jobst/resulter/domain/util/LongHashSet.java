@@ -0,0 +1,126 @@
+package de.jobst.resulter.domain.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive {@code long} values with open addressing and linear probing, used to count distinct ids without
+ * boxing every value into a {@link Long}.
+ */
+public final class LongHashSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+    private boolean containsEmpty;
+    private int size;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        slots = new long[tableSizeFor(Math.max(expectedSize, 1))];
+    }
+
+    /**
+     * @return {@code true} if the value was not contained before
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int index = hash(value) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            resize();
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = slots.length - 1;
+        int index = hash(value) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the values in no particular order
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        if (containsEmpty) {
+            values[i++] = EMPTY;
+        }
+        for (long slot : slots) {
+            if (slot != EMPTY) {
+                values[i++] = slot;
+            }
+        }
+        return values;
+    }
+
+    private void resize() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = hash(value) & mask;
+                while (slots[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(expectedSize * 2 - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+
+    private static int hash(long value) {
+        // spread sequential database ids over the table (fibonacci hashing)
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+}
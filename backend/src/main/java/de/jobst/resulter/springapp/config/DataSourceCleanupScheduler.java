@@ -14,6 +14,10 @@ public class DataSourceCleanupScheduler {
         this.dataSourceManager = dataSourceManager;
     }
 
+    /**
+     * Releases the databases of finished tests: drops databases cloned from the template, or stops the container of
+     * databases created without the template pool.
+     */
     @Scheduled(fixedRate = 10000) // Überprüfen Sie alle 10 Sekunden
     public void cleanUp() {
         dataSourceManager.checkForInactiveDataSources();
@@ -4,18 +4,22 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
 import javax.sql.DataSource;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
 
 @Component
 @Profile("e2e-frontend-tests")
-public class DataSourceInterceptor implements HandlerInterceptor {
+public class DataSourceInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(DataSourceInterceptor.class);
 
@@ -30,7 +34,42 @@ public class DataSourceInterceptor implements HandlerInterceptor {
                              @NonNull HttpServletResponse response,
                              @NonNull Object handler) {
         log.debug("Request: {} {}", request.getMethod(), request.getRequestURI());
+        routeToDatabaseOf(request);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        DataSourceContextHolder.clearDataSource();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        // afterCompletion is not called for the request thread of an async request
+        DataSourceContextHolder.clearDataSource();
+    }
 
+    @Override
+    public <T> void preProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+        // async handlers (e.g. WebAsyncTask) run on another thread that has to use the same database
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest != null) {
+            routeToDatabaseOf(servletRequest);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task,
+                                @Nullable Object concurrentResult) {
+        DataSourceContextHolder.clearDataSource();
+    }
+
+    private void routeToDatabaseOf(HttpServletRequest request) {
         // First, try to get database identifier from HTTP header (preferred for API calls)
         String dbIdentifier = request.getHeader("X-DB-Identifier");
         log.trace("X-DB-Identifier header: {}", dbIdentifier);
@@ -61,15 +100,6 @@ public class DataSourceInterceptor implements HandlerInterceptor {
         } else {
             log.debug("No database identifier found, using default database");
         }
-        return true;
-    }
-
-    @Override
-    public void afterCompletion(@NonNull HttpServletRequest request,
-                                @NonNull HttpServletResponse response,
-                                @NonNull Object handler,
-                                Exception ex) {
-        DataSourceContextHolder.clearDataSource();
     }
 }
 
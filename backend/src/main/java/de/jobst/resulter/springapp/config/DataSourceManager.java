@@ -3,10 +3,13 @@ package de.jobst.resulter.springapp.config;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -29,10 +32,18 @@ public class DataSourceManager {
     private final Map<String, ManagedDataSource> dataSources = new ConcurrentHashMap<>();
     private final Duration defaultTimeout = Duration.ofSeconds(90);
     private final LiquibaseConfig liquibaseConfig;
+    private final @Nullable TemplateDatabasePool templateDatabasePool;
 
-    public DataSourceManager(LiquibaseConfig liquibaseConfig) {this.liquibaseConfig = liquibaseConfig;}
+    public DataSourceManager(
+        LiquibaseConfig liquibaseConfig, ObjectProvider<TemplateDatabasePool> templateDatabasePool) {
+        this.liquibaseConfig = liquibaseConfig;
+        this.templateDatabasePool = templateDatabasePool.getIfAvailable();
+    }
 
-    public String createNewDatabase(Duration timeout) {
+    public String createNewDatabase(@Nullable Duration timeout) {
+        if (templateDatabasePool != null) {
+            return createDatabaseFromTemplate(templateDatabasePool, timeout);
+        }
         String identifier = UUID.randomUUID().toString();
 
         PostgreSQLContainer postgresqlContainer =
@@ -56,7 +67,7 @@ public class DataSourceManager {
             identifier,
             new ManagedDataSource(
                 loggingDataSource,
-                postgresqlContainer,
+                postgresqlContainer::stop,
                 timeout != null ? timeout : defaultTimeout
             ));
 
@@ -66,6 +77,36 @@ public class DataSourceManager {
         return identifier;
     }
 
+    /**
+     * Takes a database cloned from the migrated template instead of starting a container and running Liquibase.
+     */
+    private String createDatabaseFromTemplate(TemplateDatabasePool pool, @Nullable Duration timeout) {
+        String identifier = UUID.randomUUID().toString();
+        String database = pool.acquire();
+
+        HikariDataSource dataSource = pool.dataSource(database, getDataSourceName(identifier), 1);
+
+        DataSource loggingDataSource =
+            ProxyDataSourceBuilder
+                .create(dataSource)
+                .name(getDataSourceName(identifier))
+                .logQueryBySlf4j()
+                .build();
+
+        dataSources.put(
+            identifier,
+            new ManagedDataSource(
+                loggingDataSource,
+                () -> {
+                    dataSource.close();
+                    pool.release(database);
+                },
+                timeout != null ? timeout : defaultTimeout
+            ));
+
+        return identifier;
+    }
+
     private static @NonNull DataSource getDataSource(PostgreSQLContainer postgresqlContainer, String identifier) {
         HikariConfig hikariConfig = new HikariConfig();
         hikariConfig.setJdbcUrl(postgresqlContainer.getJdbcUrl());
@@ -107,7 +148,7 @@ public class DataSourceManager {
 
             if (Duration.between(managedDataSource.getLastAccessTime(), now).compareTo(managedDataSource.getTimeout()) >
                 0) {
-                managedDataSource.getContainer().stop();
+                managedDataSource.release();
                 iterator.remove();
             }
         }
@@ -116,7 +157,7 @@ public class DataSourceManager {
     @PreDestroy
     public void cleanUp() {
         for (ManagedDataSource managedDataSource : dataSources.values()) {
-            managedDataSource.getContainer().stop();
+            managedDataSource.release();
         }
     }
 
@@ -124,14 +165,16 @@ public class DataSourceManager {
     public static class ManagedDataSource {
 
         private final DataSource dataSource;
-        private final PostgreSQLContainer container;
+        // stops the container or drops the cloned database
+        @Getter(AccessLevel.NONE)
+        private final Runnable release;
         private LocalDateTime lastAccessTime;
         @Setter
         private Duration timeout;
 
-        public ManagedDataSource(DataSource dataSource, PostgreSQLContainer container, Duration timeout) {
+        public ManagedDataSource(DataSource dataSource, Runnable release, Duration timeout) {
             this.dataSource = dataSource;
-            this.container = container;
+            this.release = release;
             this.timeout = timeout;
             this.lastAccessTime = LocalDateTime.now();
         }
@@ -139,6 +182,10 @@ public class DataSourceManager {
         public void updateLastAccessTime() {
             this.lastAccessTime = LocalDateTime.now();
         }
+
+        public void release() {
+            release.run();
+        }
     }
 }
 
@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 @Slf4j
@@ -112,6 +114,30 @@ public class GlobalExceptionHandler {
             HttpStatus.CONFLICT.value());
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ProblemDetail> handleRejectedExecutionException(RejectedExecutionException ex,
+                                                                                HttpServletRequest request) {
+        return toProblemDetail(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            MessageKeys.SERVICE_UNAVAILABLE,
+            Collections.singletonList("Too many pending tasks, please try again later"),
+            request,
+            ex,
+            HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    @ExceptionHandler(CancellationException.class)
+    public ResponseEntity<ProblemDetail> handleCancellationException(CancellationException ex,
+                                                                           HttpServletRequest request) {
+        return toProblemDetail(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            MessageKeys.SERVICE_UNAVAILABLE,
+            Collections.singletonList("The request was cancelled, please try again later"),
+            request,
+            ex,
+            HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ProblemDetail> handleIllegalArgumentException(IllegalArgumentException ex,
                                                                               HttpServletRequest request) {
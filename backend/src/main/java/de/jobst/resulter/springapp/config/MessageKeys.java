@@ -11,4 +11,5 @@ public class MessageKeys {
     public static final MessageKey BAD_REQUEST = new MessageKey("bad_request");
     public static final MessageKey METHOD_NOT_ALLOWED = new MessageKey("method_not_allowed");
     public static final MessageKey ENTITY_LOCK_CONFLICT = new MessageKey("entity_lock_conflict");
+    public static final MessageKey SERVICE_UNAVAILABLE = new MessageKey("service_unavailable");
 }
@@ -43,7 +43,7 @@ public class OAuth2ResourceServerNoSecurityConfiguration {
         configuration.setAllowedOrigins(allowedOrigins);
         configuration.setAllowedMethods(List.of("*"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Content-Disposition"));
+        configuration.setExposedHeaders(List.of("Content-Disposition", "X-Next-Cursor", "X-Total-Count-Estimated"));
         configuration.setMaxAge(CORS_PREFLIGHT_CACHE_MAX_AGE);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -74,7 +74,7 @@ public class OAuth2ResourceServerSecurityConfiguration {
         configuration.setAllowedHeaders(List.of(
             "Authorization", "Content-Type", "Accept", "Origin",
             "X-Requested-With", "X-XSRF-TOKEN", "Cache-Control"));
-        configuration.setExposedHeaders(List.of("Content-Disposition"));
+        configuration.setExposedHeaders(List.of("Content-Disposition", "X-Next-Cursor", "X-Total-Count-Estimated"));
         configuration.setAllowCredentials(true); // Required for session cookies
         configuration.setMaxAge(CORS_PREFLIGHT_CACHE_MAX_AGE);
 
@@ -210,6 +210,7 @@ public class OAuth2ResourceServerSecurityConfiguration {
                                 "/event_status",
                                 "/media",
                                 "/media/all",
+                                "/media/{id}/thumbnail",
                                 "/organisation",
                                 "/organisation/all",
                                 "/person",
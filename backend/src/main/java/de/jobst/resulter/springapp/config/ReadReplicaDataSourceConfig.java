@@ -0,0 +1,69 @@
+package de.jobst.resulter.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separate connection pool for read-only transactions, e.g. the public GET endpoints, so that they neither wait for
+ * nor starve the connections of imports and other writes.
+ * <p>
+ * Active when {@code resulter.datasource.read.jdbc-url} is set; it may point to a streaming replica or to the primary
+ * database itself. Missing credentials are taken from {@code spring.datasource}. The pool is configured like a Hikari
+ * pool below {@code resulter.datasource.read} and its metrics are published under the pool name
+ * {@code resulter-read}, next to {@code resulter-write}.
+ * <p>
+ * A replica may lag behind the primary, so read-only requests can see data from before a recent commit. Loads that
+ * fill caches keyed by a content version or that cache misses, like the media thumbnails and the person duplicate
+ * index, are marked with {@link de.jobst.resulter.application.util.PrimaryReads} and use the write pool.
+ * <p>
+ * Not used with the {@code dev} profile, whose {@link DevDatasourceConfig} defines the data source itself.
+ */
+@Configuration
+@Profile("!e2e-frontend-tests && !dev")
+@ConditionalOnProperty(name = "resulter.datasource.read.jdbc-url")
+public class ReadReplicaDataSourceConfig {
+
+    static final String WRITE_POOL_NAME = "resulter-write";
+    static final String READ_POOL_NAME = "resulter-read";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(WRITE_POOL_NAME);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("resulter.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(READ_POOL_NAME);
+        dataSource.setReadOnly(true);
+        // defaults, overwritten by the bound resulter.datasource.read properties
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setUsername(properties.determineUsername());
+        dataSource.setPassword(properties.determinePassword());
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDataSource, readDataSource));
+    }
+}
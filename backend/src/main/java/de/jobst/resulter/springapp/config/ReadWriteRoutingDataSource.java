@@ -0,0 +1,50 @@
+package de.jobst.resulter.springapp.config;
+
+import de.jobst.resulter.application.util.PrimaryReads;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routing DataSource that sends read-only transactions to the read pool and everything else to the write pool.
+ * <p>
+ * The route is decided when the physical connection is fetched, so this DataSource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for the
+ * connection before the read-only flag of the transaction is published. Work outside a transaction and writing
+ * transactions always use the write pool, and a read-only method joining a writing transaction keeps its connection.
+ * Reads marked with {@link PrimaryReads} use the write pool as well, as the read pool may lag behind the primary.
+ * A DataSource set in the {@link DataSourceContextHolder} (E2E test database isolation) takes precedence.
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        WRITE,
+        READ
+    }
+
+    public ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource) {
+        setTargetDataSources(Map.of(Route.WRITE, writeDataSource, Route.READ, readDataSource));
+        setDefaultTargetDataSource(writeDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Nullable
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                        && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                        && !PrimaryReads.isActive()
+                ? Route.READ
+                : Route.WRITE;
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        DataSource contextDataSource = DataSourceContextHolder.getDataSource();
+        return contextDataSource != null ? contextDataSource : super.determineTargetDataSource();
+    }
+}
@@ -0,0 +1,167 @@
+package de.jobst.resulter.springapp.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isolated E2E test databases cloned from a migrated template database.
+ * <p>
+ * One long-lived PostgreSQL container holds the template database, which is migrated by Liquibase once. Each test
+ * database is created with {@code CREATE DATABASE ... TEMPLATE}, which copies the files of the template instead of
+ * running the changelog again. A few databases are created ahead of demand in the background, so that
+ * {@code /createDatabase} usually only takes one from the pool. Released databases are dropped.
+ */
+@Component
+@Profile("e2e-frontend-tests")
+@ConditionalOnProperty(name = "resulter.e2e.databases.template.enabled", havingValue = "true")
+@Slf4j
+public class TemplateDatabasePool {
+
+    private static final String TEMPLATE_DATABASE = "resulter_template";
+
+    private final LiquibaseConfig liquibaseConfig;
+    private final PostgreSQLContainer container;
+    private final int poolSize;
+    private final BlockingQueue<String> databases = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "template-database-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private HikariDataSource adminDataSource;
+    private JdbcTemplate admin;
+
+    public TemplateDatabasePool(
+            LiquibaseConfig liquibaseConfig,
+            @Value("${resulter.e2e.databases.template.pool-size:4}") int poolSize) {
+        this.liquibaseConfig = liquibaseConfig;
+        this.poolSize = poolSize;
+        this.container = new PostgreSQLContainer(DockerImageName.parse("postgres:latest"))
+                .withDatabaseName("postgres")
+                .withUsername("test")
+                .withPassword("test");
+    }
+
+    /**
+     * Starts the container, migrates the template database and starts filling the pool.
+     */
+    @PostConstruct
+    void start() {
+        container.start();
+        this.adminDataSource = dataSource("postgres", "test-db-admin", 2);
+        this.admin = new JdbcTemplate(adminDataSource);
+
+        long startTime = System.currentTimeMillis();
+        admin.execute("CREATE DATABASE " + TEMPLATE_DATABASE);
+        try (HikariDataSource template = dataSource(TEMPLATE_DATABASE, "test-db-template", 1)) {
+            liquibaseConfig.runLiquibaseForDataSource(template);
+        }
+        // no connection to the template may remain open while it is copied
+        admin.execute("ALTER DATABASE " + TEMPLATE_DATABASE + " WITH IS_TEMPLATE true ALLOW_CONNECTIONS false");
+        log.info("Migrated template database in {} ms", System.currentTimeMillis() - startTime);
+        refill();
+    }
+
+    /**
+     * Takes a database from the pool, or creates one if the pool is empty.
+     *
+     * @return the name of the database
+     */
+    public String acquire() {
+        String database = databases.poll();
+        if (database == null) {
+            database = createDatabase();
+        }
+        refill();
+        return database;
+    }
+
+    /**
+     * Creates a DataSource for a database of the pool.
+     */
+    public HikariDataSource dataSource(String database, String poolName, int maximumPoolSize) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl("jdbc:postgresql://%s:%d/%s".formatted(
+                container.getHost(), container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), database));
+        hikariConfig.setUsername(container.getUsername());
+        hikariConfig.setPassword(container.getPassword());
+        hikariConfig.setDriverClassName(container.getDriverClassName());
+
+        hikariConfig.setKeepaliveTime(0);
+        hikariConfig.setMaximumPoolSize(maximumPoolSize);
+        hikariConfig.setMinimumIdle(0);
+        hikariConfig.setIdleTimeout(10_000);
+        hikariConfig.setMaxLifetime(30_000);
+
+        hikariConfig.setPoolName(poolName);
+
+        return new HikariDataSource(hikariConfig);
+    }
+
+    /**
+     * Drops a database; open connections of the test are terminated.
+     */
+    public void release(String database) {
+        admin.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+    }
+
+    @PreDestroy
+    public void cleanUp() {
+        executor.shutdownNow();
+        adminDataSource.close();
+        container.stop();
+    }
+
+    private String createDatabase() {
+        // names are generated and therefore safe to use in the statement
+        String database = "test_" + UUID.randomUUID().toString().replace("-", "");
+        admin.execute("CREATE DATABASE " + database + " TEMPLATE " + TEMPLATE_DATABASE);
+        return database;
+    }
+
+    private void refill() {
+        while (true) {
+            int current = pending.get();
+            if (databases.size() + current >= poolSize) {
+                return;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    databases.add(createDatabase());
+                } catch (RuntimeException e) {
+                    log.warn("Creating a pooled test database failed", e);
+                    return;
+                } finally {
+                    pending.decrementAndGet();
+                }
+                refill();
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package de.jobst.resulter.springapp.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -20,4 +21,9 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(dataSourceInterceptor)
             .addPathPatterns("/**"); // optional, um nur bestimmte Pfade zu intercepten
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(dataSourceInterceptor);
+    }
 }
@@ -1,5 +1,7 @@
 package de.jobst.resulter.adapter.driven.inmemory;
 
+import de.jobst.resulter.application.port.ClassGroupOption;
+import de.jobst.resulter.application.port.CourseGroupOption;
 import de.jobst.resulter.domain.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
@@ -232,14 +234,6 @@ class InMemoryRepositoriesTest {
         assertThat(result).containsKey(OrganisationId.of(1L));
     }
 
-    @Test
-    void orgRepo_loadOrganisationTree_returnsNull() {
-        InMemoryOrganisationRepository repo = new InMemoryOrganisationRepository();
-        repo.save(Organisation.of(1L, "TSB", "T"));
-        var result = repo.loadOrganisationTree(Set.of(OrganisationId.of(1L)));
-        assertThat(result).isNull();
-    }
-
     @Test
     void orgRepo_findAll_paged_returnsPage() {
         InMemoryOrganisationRepository repo = new InMemoryOrganisationRepository();
@@ -586,6 +580,36 @@ class InMemoryRepositoriesTest {
         assertThat(repo.findAllByEvent(EventId.of(1L))).hasSize(1);
     }
 
+    @Test
+    void statRepo_deleteAllByEventId_removesOnlyStatsOfEvent() {
+        InMemoryEventCertificateStatRepository repo = new InMemoryEventCertificateStatRepository();
+        repo.save(EventCertificateStat.of(null, EventId.of(1L), PersonId.of(1L), Instant.now()));
+        repo.save(EventCertificateStat.of(null, EventId.of(2L), PersonId.of(2L), Instant.now()));
+        repo.deleteAllByEventId(EventId.of(1L));
+        assertThat(repo.findAllByEvent(EventId.of(1L))).isEmpty();
+        assertThat(repo.findAll()).hasSize(1);
+    }
+
+    @Test
+    void statRepo_findAllByEvent_followsChangedEvent() {
+        InMemoryEventCertificateStatRepository repo = new InMemoryEventCertificateStatRepository();
+        EventCertificateStat saved = repo.save(stat());
+        saved.setEvent(EventId.of(2L));
+        repo.save(saved);
+        assertThat(repo.findAllByEvent(EventId.of(1L))).isEmpty();
+        assertThat(repo.findAllByEvent(EventId.of(2L))).containsExactly(saved);
+    }
+
+    @Test
+    void statRepo_replacePersonId_movesStatsToNewPerson() {
+        InMemoryEventCertificateStatRepository repo = new InMemoryEventCertificateStatRepository();
+        EventCertificateStat saved = repo.save(stat());
+        repo.save(EventCertificateStat.of(null, EventId.of(1L), PersonId.of(3L), Instant.now()));
+        assertThat(repo.replacePersonId(PersonId.of(1L), PersonId.of(2L))).isEqualTo(1L);
+        assertThat(repo.findById(saved.getId()).orElseThrow().getPerson()).isEqualTo(PersonId.of(2L));
+        assertThat(repo.replacePersonId(PersonId.of(1L), PersonId.of(2L))).isZero();
+    }
+
     @Test
     void statRepo_saveAll_savesAll() {
         InMemoryEventCertificateStatRepository repo = new InMemoryEventCertificateStatRepository();
@@ -669,6 +693,16 @@ class InMemoryRepositoriesTest {
         assertThat(repo.findById(saved.getId())).isEmpty();
     }
 
+    @Test
+    void cupRepo_deleteCup_removesItFromFindByEvent() {
+        InMemoryCupRepository repo = new InMemoryCupRepository();
+        Cup saved = repo.save(Cup.of(null, "A", CupType.ADD, Year.of(2024), List.of(EventId.of(1L))));
+        assertThat(repo.findByEvent(EventId.of(1L))).containsExactly(saved);
+        repo.deleteCup(saved);
+        assertThat(repo.findByEvent(EventId.of(1L))).isEmpty();
+        assertThat(repo.findOrCreate(cup("A")).getId()).isNotEqualTo(saved.getId());
+    }
+
     @Test
     void cupRepo_deleteCup_withNullId_doesNothing() {
         InMemoryCupRepository repo = new InMemoryCupRepository();
@@ -879,11 +913,59 @@ class InMemoryRepositoriesTest {
     }
 
     @Test
-    void resultListRepo_replacePersonId_throwsUnsupported() {
+    void resultListRepo_findByResultListIdAndClassResultShortNameAndPersonId_returnsListOfPerson() {
         InMemoryResultListRepository repo = new InMemoryResultListRepository();
-        assertThatThrownBy(
-                () -> repo.replacePersonId(PersonId.of(1L), PersonId.of(2L)))
-                .isInstanceOf(UnsupportedOperationException.class);
+        ResultList saved = repo.save(resultListWithPerson(1L, 1L));
+        assertThat(repo.findByResultListIdAndClassResultShortNameAndPersonId(
+                        saved.getId(), ClassResultShortName.of("D10"), PersonId.of(1L)))
+                .isSameAs(saved);
+        assertThat(repo.findByResultListIdAndClassResultShortNameAndPersonId(
+                        saved.getId(), ClassResultShortName.of("D10"), PersonId.of(2L)))
+                .isNull();
+    }
+
+    @Test
+    void resultListRepo_findOrCreate_findsExistingByDomainKeyOnly() {
+        InMemoryResultListRepository repo = new InMemoryResultListRepository();
+        ResultList saved = repo.save(resultList(1L));
+        assertThat(repo.findOrCreate(resultList(1L)).getId()).isEqualTo(saved.getId());
+        assertThat(repo.findOrCreate(resultList(2L)).getId()).isNotEqualTo(saved.getId());
+        assertThat(repo.findAll()).hasSize(2);
+    }
+
+    @Test
+    void resultListRepo_replacePersonId_movesResultsToNewPerson() {
+        InMemoryResultListRepository repo = new InMemoryResultListRepository();
+        ResultList saved = repo.save(resultListWithPerson(1L, 1L));
+        repo.save(resultListWithPerson(1L, 3L));
+
+        repo.replacePersonId(PersonId.of(1L), PersonId.of(2L));
+
+        PersonResult personResult = repo.findById(saved.getId()).orElseThrow().getClassResults().stream()
+                .flatMap(classResult -> classResult.personResults().value().stream())
+                .findFirst()
+                .orElseThrow();
+        assertThat(personResult.personId()).isEqualTo(PersonId.of(2L));
+        assertThat(personResult.personRaceResults().value())
+                .allSatisfy(raceResult -> assertThat(raceResult.getPersonId()).isEqualTo(PersonId.of(2L)));
+        assertThat(repo.findByResultListIdAndClassResultShortNameAndPersonId(
+                        saved.getId(), ClassResultShortName.of("D10"), PersonId.of(2L)))
+                .isSameAs(saved);
+    }
+
+    private static ResultList resultListWithPerson(long eventId, long personId) {
+        PersonRaceResult raceResult = PersonRaceResult.of(
+                "D10", personId, null, null, 600.0, 1L, (byte) 1, ResultStatus.OK);
+        PersonResult personResult =
+                PersonResult.of(ClassResultShortName.of("D10"), PersonId.of(personId), null, List.of(raceResult));
+        return new ResultList(
+                ResultListId.empty(),
+                EventId.of(eventId),
+                RaceId.of(1L),
+                "creator-" + personId,
+                null,
+                null,
+                List.of(ClassResult.of("D10", "D10", Gender.F, List.of(personResult), null)));
     }
 
     @Test
@@ -985,6 +1067,22 @@ class InMemoryRepositoriesTest {
         assertThat(page.getTotalElements()).isGreaterThan(0L);
     }
 
+    @Test
+    void personRepo_findPage_followsCursorToLastPage() {
+        InMemoryPersonRepository repo = new InMemoryPersonRepository();
+        repo.save(person("Müller", "Hans"));
+        repo.save(person("Schmidt", "Klaus"));
+        repo.save(person("Adam", "Eva"));
+        var first = repo.findPage(null, PageRequest.of(0, 2), false, null,
+                de.jobst.resulter.application.port.KeysetPage.CountMode.EXACT);
+        var second = repo.findPage(null, PageRequest.of(0, 2), false, first.nextCursor(),
+                de.jobst.resulter.application.port.KeysetPage.CountMode.EXACT);
+        assertThat(first.content()).hasSize(2);
+        assertThat(first.totalElements()).isEqualTo(3L);
+        assertThat(second.content()).hasSize(1).doesNotContainAnyElementsOf(first.content());
+        assertThat(second.nextCursor()).isNull();
+    }
+
     @Test
     void personRepo_findAllById_returnsMatchingPersons() {
         InMemoryPersonRepository repo = new InMemoryPersonRepository();
@@ -1018,16 +1116,20 @@ class InMemoryRepositoriesTest {
                 List.of());
     }
 
+    private static InMemorySplitTimeListRepository splitTimeRepo() {
+        return new InMemorySplitTimeListRepository(new InMemoryResultListRepository(), new InMemoryCourseRepository());
+    }
+
     @Test
     void splitTimeRepo_save_withNullId_assignsNewId() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         SplitTimeList saved = repo.save(splitTimeList(1L, 1L, 1L));
         assertThat(saved.getId().value()).isGreaterThan(0L);
     }
 
     @Test
     void splitTimeRepo_findAll_returnsAllSaved() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         repo.save(splitTimeList(1L, 1L, 1L));
         repo.save(splitTimeList(1L, 1L, 2L));
         assertThat(repo.findAll()).hasSize(2);
@@ -1035,20 +1137,20 @@ class InMemoryRepositoriesTest {
 
     @Test
     void splitTimeRepo_findById_returnsWhenPresent() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         SplitTimeList saved = repo.save(splitTimeList(1L, 1L, 1L));
         assertThat(repo.findById(saved.getId())).isPresent();
     }
 
     @Test
     void splitTimeRepo_findById_returnsEmptyWhenAbsent() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         assertThat(repo.findById(SplitTimeListId.of(99L))).isEmpty();
     }
 
     @Test
     void splitTimeRepo_findOrCreate_findsExisting() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         repo.save(splitTimeList(1L, 1L, 1L));
         SplitTimeList found = repo.findOrCreate(splitTimeList(1L, 1L, 1L));
         assertThat(found).isNotNull();
@@ -1056,14 +1158,14 @@ class InMemoryRepositoriesTest {
 
     @Test
     void splitTimeRepo_findOrCreate_collection() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         var results = repo.findOrCreate(List.of(splitTimeList(1L, 1L, 1L)));
         assertThat(results).hasSize(1);
     }
 
     @Test
     void splitTimeRepo_findByResultListId_returnsMatching() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         repo.save(splitTimeList(1L, 1L, 1L));
         repo.save(splitTimeList(1L, 2L, 2L));
         assertThat(repo.findByResultListId(ResultListId.of(1L))).hasSize(1);
@@ -1071,7 +1173,7 @@ class InMemoryRepositoriesTest {
 
     @Test
     void splitTimeRepo_existsByResultListIds_returnsMatchingIds() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         repo.save(splitTimeList(1L, 1L, 1L));
         var result = repo.existsByResultListIds(List.of(ResultListId.of(1L), ResultListId.of(99L)));
         assertThat(result).containsExactly(ResultListId.of(1L));
@@ -1079,13 +1181,57 @@ class InMemoryRepositoriesTest {
 
     @Test
     void splitTimeRepo_existsByResultListIds_emptyInput_returnsEmpty() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         assertThat(repo.existsByResultListIds(List.of())).isEmpty();
     }
 
+    @Test
+    void splitTimeRepo_findByResultListIdAndClassResultShortNames_returnsOnlyGivenClasses() {
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
+        repo.save(splitTimeList(1L, 1L, 1L));
+        repo.save(new SplitTimeList(SplitTimeListId.empty(), EventId.of(1L), ResultListId.of(1L),
+                ClassResultShortName.of("H10"), PersonId.of(2L), RaceNumber.of((byte) 1), List.of()));
+        repo.save(splitTimeList(1L, 2L, 3L));
+        assertThat(repo.findByResultListIdAndClassResultShortNames(
+                        ResultListId.of(1L), List.of(ClassResultShortName.of("D10"))))
+                .extracting(SplitTimeList::getPersonId)
+                .containsExactly(PersonId.of(1L));
+    }
+
+    @Test
+    void splitTimeRepo_countRunnersByClass_countsListsPerClassSorted() {
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
+        repo.save(splitTimeList(1L, 1L, 1L));
+        repo.save(splitTimeList(1L, 1L, 2L));
+        repo.save(new SplitTimeList(SplitTimeListId.empty(), EventId.of(1L), ResultListId.of(1L),
+                ClassResultShortName.of("A10"), PersonId.of(3L), RaceNumber.of((byte) 1), List.of()));
+        repo.save(splitTimeList(1L, 2L, 4L));
+        assertThat(repo.countRunnersByClass(ResultListId.of(1L)))
+                .containsExactly(new ClassGroupOption("A10", 1), new ClassGroupOption("D10", 2));
+    }
+
+    @Test
+    void splitTimeRepo_countRunnersByCourse_usesCourseNamesAndClassesWithoutSplits() {
+        InMemoryResultListRepository resultListRepo = new InMemoryResultListRepository();
+        InMemoryCourseRepository courseRepo = new InMemoryCourseRepository();
+        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository(resultListRepo, courseRepo);
+        Course course = courseRepo.save(Course.of(EventId.of(1L), "Bahn A", 3.0, 100.0, 10));
+        ResultList resultList = resultListRepo.save(new ResultList(ResultListId.empty(), EventId.of(1L),
+                RaceId.of(1L), null, null, null, List.of(
+                        ClassResult.of("Damen 10", "D10", Gender.F, List.of(), course.getId()),
+                        ClassResult.of("Herren 10", "H10", Gender.M, List.of(), course.getId()),
+                        ClassResult.of("Offen", "OK", Gender.M, List.of(), null))));
+        repo.save(splitTimeList(1L, resultList.getId().value(), 1L));
+        repo.save(splitTimeList(1L, resultList.getId().value(), 2L));
+
+        assertThat(repo.countRunnersByCourse(resultList.getId()))
+                .containsExactly(new CourseGroupOption(course.getId().value(), "Bahn A", List.of("D10", "H10"), 2));
+        assertThat(repo.countRunnersByCourse(ResultListId.of(99L))).isEmpty();
+    }
+
     @Test
     void splitTimeRepo_saveCount_andReset() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
         repo.save(splitTimeList(1L, 1L, 1L));
         assertThat(repo.saveCount()).isEqualTo(1);
         repo.resetSaveCount();
@@ -1093,9 +1239,61 @@ class InMemoryRepositoriesTest {
     }
 
     @Test
-    void splitTimeRepo_replacePersonId_throwsUnsupported() {
-        InMemorySplitTimeListRepository repo = new InMemorySplitTimeListRepository();
-        assertThatThrownBy(() -> repo.replacePersonId(PersonId.of(1L), PersonId.of(2L)))
-                .isInstanceOf(UnsupportedOperationException.class);
+    void splitTimeRepo_findOrCreate_createsForOtherDomainKey() {
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
+        SplitTimeList saved = repo.save(splitTimeList(1L, 1L, 1L));
+        assertThat(repo.findOrCreate(splitTimeList(1L, 1L, 1L)).getId()).isEqualTo(saved.getId());
+        assertThat(repo.findOrCreate(splitTimeList(1L, 1L, 2L)).getId()).isNotEqualTo(saved.getId());
+    }
+
+    @Test
+    void splitTimeRepo_replacePersonId_keepsIdAndMovesDomainKey() {
+        InMemorySplitTimeListRepository repo = splitTimeRepo();
+        SplitTimeList saved = repo.save(splitTimeList(1L, 1L, 1L));
+        repo.save(splitTimeList(1L, 1L, 3L));
+
+        repo.replacePersonId(PersonId.of(1L), PersonId.of(2L));
+
+        assertThat(repo.findById(saved.getId()).orElseThrow().getPersonId()).isEqualTo(PersonId.of(2L));
+        assertThat(repo.findByResultListId(ResultListId.of(1L))).hasSize(2);
+        assertThat(repo.findOrCreate(splitTimeList(1L, 1L, 2L)).getId()).isEqualTo(saved.getId());
+        assertThat(repo.findOrCreate(splitTimeList(1L, 1L, 1L)).getId()).isNotEqualTo(saved.getId());
+    }
+
+    // -------------------------------------------------------------------------
+    // InMemoryAnalysisResultRepository
+    // -------------------------------------------------------------------------
+
+    @Test
+    void analysisResultRepo_find_returnsPayloadOfCurrentVersion() {
+        InMemoryAnalysisResultRepository repo = new InMemoryAnalysisResultRepository();
+        assertThat(repo.save(ResultListId.of(1L), "ranking", "all", 0L, new byte[] {1})).isTrue();
+        assertThat(repo.find(ResultListId.of(1L), "ranking", "all")).contains(new byte[] {1});
+        assertThat(repo.find(ResultListId.of(1L), "hanging", "all")).isEmpty();
+    }
+
+    @Test
+    void analysisResultRepo_invalidate_discardsResultsAndRejectsOutdatedSave() {
+        InMemoryAnalysisResultRepository repo = new InMemoryAnalysisResultRepository();
+        repo.save(ResultListId.of(1L), "ranking", "all", 0L, new byte[] {1});
+        repo.save(ResultListId.of(2L), "ranking", "all", 0L, new byte[] {2});
+
+        assertThat(repo.invalidate(ResultListId.of(1L))).isEqualTo(1L);
+
+        assertThat(repo.find(ResultListId.of(1L), "ranking", "all")).isEmpty();
+        assertThat(repo.find(ResultListId.of(2L), "ranking", "all")).isPresent();
+        assertThat(repo.save(ResultListId.of(1L), "ranking", "all", 0L, new byte[] {3})).isFalse();
+    }
+
+    @Test
+    void analysisResultRepo_invalidateAll_increasesVersionOfEveryResultList() {
+        InMemoryAnalysisResultRepository repo = new InMemoryAnalysisResultRepository();
+        repo.save(ResultListId.of(1L), "ranking", "all", 0L, new byte[] {1});
+
+        repo.invalidateAll();
+
+        assertThat(repo.find(ResultListId.of(1L), "ranking", "all")).isEmpty();
+        assertThat(repo.currentVersion(ResultListId.of(1L))).isEqualTo(1L);
+        assertThat(repo.save(ResultListId.of(3L), "ranking", "all", 0L, new byte[] {3})).isFalse();
     }
 }
@@ -0,0 +1,76 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.ResultListId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultJdbcRepositoryTest {
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+    private final AnalysisResultJdbcRepository repository =
+            new AnalysisResultJdbcRepository(JdbcClient.create(database), jdbcTemplate);
+
+    private final ResultListId resultListId = ResultListId.of(1L);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                CREATE TABLE analysis_result_version (
+                    result_list_id BIGINT PRIMARY KEY,
+                    version BIGINT NOT NULL
+                );
+                CREATE TABLE analysis_result (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    result_list_id BIGINT NOT NULL,
+                    analysis_type VARCHAR(40) NOT NULL,
+                    parameters VARCHAR(255) NOT NULL,
+                    version BIGINT NOT NULL,
+                    payload BLOB NOT NULL,
+                    created TIMESTAMP WITH TIME ZONE NOT NULL,
+                    CONSTRAINT uk_analysis_result_result_list_type_parameters
+                        UNIQUE (result_list_id, analysis_type, parameters)
+                );
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void save_replacesTheStoredResultOfTheSameAnalysis() {
+        assertThat(repository.save(resultListId, "hanging", "all", 0, new byte[] {1})).isTrue();
+        assertThat(repository.save(resultListId, "hanging", "all", 0, new byte[] {2})).isTrue();
+        assertThat(repository.save(resultListId, "hanging", "class:H21", 0, new byte[] {3})).isTrue();
+
+        assertThat(repository.find(resultListId, "hanging", "all")).hasValueSatisfying(payload ->
+                assertThat(payload).containsExactly(2));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM analysis_result", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void save_skipsResultsOfAnOutdatedVersion() {
+        assertThat(repository.invalidate(resultListId)).isEqualTo(1);
+
+        assertThat(repository.save(resultListId, "hanging", "all", 0, new byte[] {1})).isFalse();
+        assertThat(repository.find(resultListId, "hanging", "all")).isEmpty();
+
+        assertThat(repository.save(resultListId, "hanging", "all", 1, new byte[] {2})).isTrue();
+        assertThat(repository.currentVersion(resultListId)).isEqualTo(1);
+        assertThat(repository.find(resultListId, "hanging", "all")).hasValueSatisfying(payload ->
+                assertThat(payload).containsExactly(2));
+    }
+}
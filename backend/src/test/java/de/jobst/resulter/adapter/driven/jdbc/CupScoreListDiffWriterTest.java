@@ -0,0 +1,101 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CupScoreListDiffWriterTest {
+
+    static final String SCHEMA = """
+            CREATE TABLE cup_score_list (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                result_list_id BIGINT NOT NULL,
+                cup_id BIGINT NOT NULL,
+                creator VARCHAR(255),
+                create_time TIMESTAMP,
+                create_time_zone VARCHAR(60),
+                status VARCHAR(60) NOT NULL,
+                input_hash VARCHAR(64)
+            );
+            CREATE TABLE cup_score (
+                cup_score_list_id BIGINT NOT NULL REFERENCES cup_score_list (id) ON DELETE CASCADE,
+                class_result_short_name VARCHAR(20) NOT NULL,
+                person_id BIGINT NOT NULL,
+                organisation_id BIGINT NOT NULL,
+                score DOUBLE PRECISION NOT NULL,
+                UNIQUE (cup_score_list_id, class_result_short_name, person_id)
+            );
+            """;
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+    private final CupScoreListDiffWriter writer = new CupScoreListDiffWriter(jdbcTemplate);
+
+    private static CupScore score(long personId, long organisationId, double score) {
+        return CupScore.of(PersonId.of(personId), OrganisationId.of(organisationId), ClassResultShortName.of("H21"),
+                score);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute(SCHEMA);
+        jdbcTemplate.update("INSERT INTO cup_score_list (id, result_list_id, cup_id, creator, status, input_hash) "
+                + "VALUES (7, 1, 1, 'old', 'COMPLETE', 'old-hash')");
+        jdbcTemplate.batchUpdate(CupScoreListDiffWriter.INSERT_CUP_SCORE_SQL, List.of(
+                new Object[] {7L, "H21", 1L, 10L, 12.0},
+                new Object[] {7L, "H21", 2L, 10L, 11.0},
+                new Object[] {7L, "H21", 3L, 10L, 10.0}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void update_writesOnlyChangedCupScores() {
+        ZonedDateTime now = ZonedDateTime.of(2024, 10, 1, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+        CupScoreList calculated = new CupScoreList(CupScoreListId.of(7L), CupId.of(1L), ResultListId.of(1L),
+                List.of(score(1, 10, 12.0), score(2, 11, 11.0), score(4, 10, 9.0)), "new", now, "new-hash");
+
+        CupScoreListDiffWriter.Changes changes = writer.update(List.of(calculated));
+
+        // person 1 unchanged, person 2 changed club, person 3 removed, person 4 new
+        assertThat(changes).isEqualTo(new CupScoreListDiffWriter.Changes(1, 1, 1));
+        assertThat(jdbcTemplate.queryForList(
+                        "SELECT person_id, organisation_id, score FROM cup_score ORDER BY person_id"))
+                .extracting(row -> List.of(((Number) row.get("PERSON_ID")).longValue(),
+                        ((Number) row.get("ORGANISATION_ID")).longValue(), ((Number) row.get("SCORE")).doubleValue()))
+                .containsExactly(List.of(1L, 10L, 12.0), List.of(2L, 11L, 11.0), List.of(4L, 10L, 9.0));
+        Map<String, Object> list = jdbcTemplate.queryForMap(
+                "SELECT creator, create_time_zone, input_hash FROM cup_score_list WHERE id = 7");
+        assertThat(list).containsEntry("CREATOR", "new")
+                .containsEntry("CREATE_TIME_ZONE", "Europe/Berlin")
+                .containsEntry("INPUT_HASH", "new-hash");
+    }
+
+    @Test
+    void update_withSameCupScores_changesNoRows() {
+        CupScoreList calculated = new CupScoreList(CupScoreListId.of(7L), CupId.of(1L), ResultListId.of(1L),
+                List.of(score(3, 10, 10.0), score(2, 10, 11.0), score(1, 10, 12.0)), null, null, "new-hash");
+
+        assertThat(writer.update(List.of(calculated))).isEqualTo(new CupScoreListDiffWriter.Changes(0, 0, 0));
+        assertThat(writer.update(List.of())).isEqualTo(new CupScoreListDiffWriter.Changes(0, 0, 0));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cup_score", Integer.class)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,114 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.application.port.KeysetPage;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventJdbcRepositoryImplTest {
+
+    private static final String SCHEMA = """
+            CREATE TABLE event (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                name VARCHAR(255) NOT NULL,
+                start_time TIMESTAMP WITH TIME ZONE,
+                start_time_zone VARCHAR(60),
+                end_time TIMESTAMP WITH TIME ZONE,
+                end_time_zone VARCHAR(60),
+                state VARCHAR(20),
+                discipline VARCHAR(20) DEFAULT 'LONG' NOT NULL,
+                aggregate_score BOOLEAN DEFAULT FALSE NOT NULL
+            );
+            """;
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcClient jdbcClient = JdbcClient.create(database);
+    private final EventJdbcRepositoryImpl repository =
+            new EventJdbcRepositoryImpl(jdbcClient, new PageCountCache(jdbcClient, 16, Duration.ofMinutes(1)));
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql(SCHEMA).update();
+        insert("Sprint", Instant.parse("2024-05-04T08:00:00.250Z"));
+        insert("Langdistanz", null);
+        insert("Nacht-OL", Instant.parse("2024-05-04T08:00:00.250Z"));
+        insert("Staffel", Instant.parse("2023-09-10T07:30:00Z"));
+        insert("Sprint Staffel", null);
+        insert("Mitteldistanz", Instant.parse("2024-06-01T09:15:00Z"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void insert(String name, @Nullable Instant startTime) {
+        jdbcClient.sql("INSERT INTO event (name, start_time) VALUES (?, ?)")
+                .params(name, startTime != null ? Timestamp.from(startTime) : null)
+                .update();
+    }
+
+    private List<Long> readAllPages(@Nullable String nameFilter, Pageable pageable) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<EventDbo> page = repository.findPageWithoutOrganisations(
+                    nameFilter, ExampleMatcher.StringMatcher.CONTAINING, pageable, cursor, KeysetPage.CountMode.EXACT);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(pageable.getPageSize());
+            page.content().forEach(event -> ids.add(event.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    void findPageWithoutOrganisations_followsCursorThroughTimestampsWithTiesAndNulls() {
+        List<Long> ids = readAllPages(null, PageRequest.of(0, 2, Sort.by(Sort.Order.desc("startTime"))));
+
+        assertThat(ids).containsExactly(6L, 1L, 3L, 4L, 2L, 5L);
+    }
+
+    @Test
+    void findPageWithoutOrganisations_appliesTheNameFilterToPagesAndTotal() {
+        KeysetPage<EventDbo> first = repository.findPageWithoutOrganisations(
+                "sprint",
+                ExampleMatcher.StringMatcher.CONTAINING,
+                PageRequest.of(0, 1, Sort.by("name")),
+                null,
+                KeysetPage.CountMode.ESTIMATED);
+
+        assertThat(first.content()).extracting(EventDbo::getName).containsExactly("Sprint");
+        assertThat(first.totalElements()).isEqualTo(2L);
+        assertThat(first.totalEstimated()).isTrue();
+        assertThat(readAllPages("sprint", PageRequest.of(0, 1, Sort.by("name")))).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void findAllWithoutOrganisations_bindsTheNameFilterByName() {
+        assertThat(repository
+                        .findAllWithoutOrganisations(
+                                "staffel", ExampleMatcher.StringMatcher.ENDING, PageRequest.of(0, 10, Sort.by("id")))
+                        .getContent())
+                .extracting(EventDbo::getId)
+                .containsExactly(4L, 5L);
+    }
+}
@@ -0,0 +1,157 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import com.turkraft.springfilter.converter.FilterStringConverter;
+import de.jobst.resulter.application.port.KeysetPage;
+import de.jobst.resulter.domain.Person;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class KeysetQueryTest {
+
+    private static final String SCHEMA = """
+            CREATE TABLE person (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                family_name VARCHAR(255) NOT NULL,
+                given_name VARCHAR(255) NOT NULL,
+                birth_date DATE,
+                gender VARCHAR(3) NOT NULL
+            );
+            """;
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcClient jdbcClient = JdbcClient.create(database);
+    private PersonRepositoryDataJdbcAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql(SCHEMA).update();
+        insert("Meier", "Hans", LocalDate.of(1980, 1, 1));
+        insert("Meier", "Hans", null);
+        insert("Adam", "Eva", LocalDate.of(1990, 5, 5));
+        insert("Zander", "Paul", null);
+        insert("Meier", "Anna", LocalDate.of(1980, 1, 1));
+        insert("Berg", "Otto", LocalDate.of(2001, 2, 3));
+        insert("Adam", "Eva", null);
+        adapter = new PersonRepositoryDataJdbcAdapter(mock(PersonJdbcRepository.class),
+                mock(FilterStringConverter.class), jdbcClient,
+                new PageCountCache(jdbcClient, 16, Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void insert(String familyName, String givenName, @Nullable LocalDate birthDate) {
+        jdbcClient.sql("INSERT INTO person (family_name, given_name, birth_date, gender) VALUES (?, ?, ?, 'M')")
+                .params(familyName, givenName, birthDate)
+                .update();
+    }
+
+    private List<Long> readAllPages(Pageable pageable, boolean duplicates) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<Person> page =
+                    adapter.findPage(null, pageable, duplicates, cursor, KeysetPage.CountMode.EXACT);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(pageable.getPageSize());
+            page.content().forEach(person -> ids.add(person.id().value()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> readAllRows(Pageable pageable, boolean duplicates) {
+        return adapter.findPage(null, PageRequest.of(0, 100, pageable.getSort()), duplicates, null,
+                        KeysetPage.CountMode.EXACT)
+                .content().stream()
+                .map(person -> person.id().value())
+                .toList();
+    }
+
+    @Test
+    void findPage_withCursor_returnsSameOrderAsSingleQuery() {
+        for (Sort sort : List.of(
+                Sort.unsorted(),
+                Sort.by("personName.familyName.value"),
+                Sort.by(Sort.Order.desc("birthDate.value"), Sort.Order.asc("personName.givenName.value")),
+                Sort.by(Sort.Order.asc("birthDate.value"), Sort.Order.desc("id.value")))) {
+            Pageable pageable = PageRequest.of(0, 2, sort);
+            List<Long> expected = readAllRows(pageable, false);
+
+            assertThat(expected).hasSize(7);
+            assertThat(readAllPages(pageable, false)).as(sort.toString()).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void findPage_sortedByNullableColumn_sortsNullsLast() {
+        List<Long> ids = readAllPages(PageRequest.of(0, 3, Sort.by(Sort.Order.desc("birthDate.value"))), false);
+
+        assertThat(ids).containsExactly(6L, 3L, 1L, 5L, 2L, 4L, 7L);
+    }
+
+    @Test
+    void findPage_duplicates_pagesOnlyDuplicates() {
+        List<Long> ids = readAllPages(PageRequest.of(0, 1, Sort.by("personName.familyName.value")), true);
+
+        assertThat(ids).containsExactly(3L, 7L, 1L, 2L);
+    }
+
+    @Test
+    void findPage_estimatedCount_reusesCachedTotal() {
+        Pageable pageable = PageRequest.of(0, 2);
+        KeysetPage<Person> first = adapter.findPage(null, pageable, false, null, KeysetPage.CountMode.ESTIMATED);
+        insert("Neu", "Nina", null);
+
+        KeysetPage<Person> next =
+                adapter.findPage(null, pageable, false, first.nextCursor(), KeysetPage.CountMode.ESTIMATED);
+        KeysetPage<Person> exact =
+                adapter.findPage(null, pageable, false, first.nextCursor(), KeysetPage.CountMode.EXACT);
+
+        assertThat(first.totalElements()).isEqualTo(7);
+        assertThat(next.totalElements()).isEqualTo(7);
+        assertThat(next.totalEstimated()).isTrue();
+        assertThat(exact.totalElements()).isEqualTo(8);
+        assertThat(exact.totalEstimated()).isFalse();
+    }
+
+    @Test
+    void findPage_withoutCursor_usesPageNumber() {
+        KeysetPage<Person> page = adapter.findPage(null, PageRequest.of(3, 2), false, null,
+                KeysetPage.CountMode.EXACT);
+
+        assertThat(page.content()).extracting(person -> person.id().value()).containsExactly(7L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_cursorOfOtherSortOrder_throws() {
+        String cursor = adapter.findPage(null, PageRequest.of(0, 2), false, null, KeysetPage.CountMode.EXACT)
+                .nextCursor();
+
+        assertThatThrownBy(() -> adapter.findPage(null, PageRequest.of(0, 2, Sort.by("personName.familyName.value")),
+                false, cursor, KeysetPage.CountMode.EXACT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
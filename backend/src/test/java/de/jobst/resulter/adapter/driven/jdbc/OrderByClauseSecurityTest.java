@@ -14,7 +14,7 @@ class OrderByClauseSecurityTest {
 
     @Test
     void cupRepository_shouldFallbackToIdForUnknownSortProperty() throws Exception {
-        CupJdbcRepositoryImpl repository = new CupJdbcRepositoryImpl(mock(JdbcClient.class));
+        CupJdbcRepositoryImpl repository = new CupJdbcRepositoryImpl(mock(JdbcClient.class), mock(PageCountCache.class));
 
         String mappedProperty = (String) invokePrivate(repository, "mapSortProperty", MALICIOUS_PROPERTY);
         String orderBy = (String) invokePrivate(
@@ -28,7 +28,7 @@ class OrderByClauseSecurityTest {
 
     @Test
     void eventRepository_shouldFallbackToIdForUnknownSortProperty() throws Exception {
-        EventJdbcRepositoryImpl repository = new EventJdbcRepositoryImpl(mock(JdbcClient.class));
+        EventJdbcRepositoryImpl repository = new EventJdbcRepositoryImpl(mock(JdbcClient.class), mock(PageCountCache.class));
 
         String mappedProperty = (String) invokePrivate(repository, "mapSortProperty", MALICIOUS_PROPERTY);
         String orderBy = (String) invokePrivate(
@@ -42,7 +42,7 @@ class OrderByClauseSecurityTest {
 
     @Test
     void organisationRepository_shouldFallbackToIdForUnknownSortProperty() throws Exception {
-        OrganisationJdbcRepositoryImpl repository = new OrganisationJdbcRepositoryImpl(mock(JdbcClient.class));
+        OrganisationJdbcRepositoryImpl repository = new OrganisationJdbcRepositoryImpl(mock(JdbcClient.class), mock(PageCountCache.class));
 
         String mappedProperty = (String) invokePrivate(repository, "mapSortProperty", MALICIOUS_PROPERTY);
         String orderBy = (String) invokePrivate(
@@ -54,6 +54,21 @@ class OrderByClauseSecurityTest {
         assertThat(orderBy).isEqualTo("ORDER BY id ASC");
     }
 
+    @Test
+    void keysetColumns_shouldFallbackToIdForUnknownSortProperty() throws Exception {
+        Object[] repositories = {
+            new CupJdbcRepositoryImpl(mock(JdbcClient.class), mock(PageCountCache.class)),
+            new EventJdbcRepositoryImpl(mock(JdbcClient.class), mock(PageCountCache.class)),
+            new OrganisationJdbcRepositoryImpl(mock(JdbcClient.class), mock(PageCountCache.class))
+        };
+
+        for (Object repository : repositories) {
+            KeysetQuery.Column<?> column =
+                    (KeysetQuery.Column<?>) invokePrivate(repository, "keysetColumn", MALICIOUS_PROPERTY);
+            assertThat(column.sql()).isEqualTo("id");
+        }
+    }
+
     private static Object invokePrivate(Object target, String methodName, Object argument) throws Exception {
         Method method = target.getClass().getDeclaredMethod(methodName, argument.getClass());
         method.setAccessible(true);
@@ -0,0 +1,133 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.ResultList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a result list of 5000 race results (50 classes of 100 runners) with its class, person and race
+ * results: the former {@code SELECT DISTINCT} mapped to {@link PersonRaceResultJdbcDto}s and grouped by
+ * {@link PersonRaceResultJdbcDto#asResultLists}, and the query without {@code DISTINCT} read in one pass by
+ * {@link ResultListAssembler} with a fetch size.
+ *
+ * <p>Run from the IDE or with {@code java -cp <test classpath> ...ResultListAssemblerBenchmark}; the
+ * {@code postgres} parameter starts a PostgreSQL container and needs a Docker environment.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultListAssemblerBenchmark {
+
+    private static final int CLASSES = 50;
+    private static final int RUNNERS_PER_CLASS = 100;
+
+    @Param({"h2", "postgres"})
+    private String database;
+
+    private PostgreSQLContainer postgresContainer;
+    private EmbeddedDatabase embeddedDatabase;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        DataSource dataSource;
+        if ("postgres".equals(database)) {
+            postgresContainer = new PostgreSQLContainer(DockerImageName.parse("postgres:latest"));
+            postgresContainer.start();
+            dataSource = new SimpleDriverDataSource(new org.postgresql.Driver(), postgresContainer.getJdbcUrl(),
+                    postgresContainer.getUsername(), postgresContainer.getPassword());
+        } else {
+            embeddedDatabase = new EmbeddedDatabaseBuilder()
+                    .generateUniqueName(true)
+                    .setType(EmbeddedDatabaseType.H2)
+                    .build();
+            dataSource = embeddedDatabase;
+        }
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute(ResultListAssemblerTest.SCHEMA);
+        template.update("INSERT INTO result_list (id, event_id, race_id, status) VALUES (1, 1, 1, 'COMPLETE')");
+
+        Random random = new Random(42);
+        List<Object[]> classResults = new ArrayList<>();
+        List<Object[]> personResults = new ArrayList<>();
+        List<Object[]> raceResults = new ArrayList<>();
+        for (int classIndex = 0; classIndex < CLASSES; classIndex++) {
+            String shortName = "C" + classIndex;
+            classResults.add(new Object[] {"Class " + classIndex, shortName});
+            for (int runner = 0; runner < RUNNERS_PER_CLASS; runner++) {
+                long personId = (long) classIndex * RUNNERS_PER_CLASS + runner;
+                personResults.add(new Object[] {shortName, personId, (long) random.nextInt(200)});
+                raceResults.add(new Object[] {shortName, personId, 1800.0 + random.nextInt(3600), runner + 1L});
+            }
+        }
+        template.batchUpdate("INSERT INTO class_result (result_list_id, name, short_name, gender) VALUES (1, ?, ?, 'M')",
+                classResults);
+        template.batchUpdate("INSERT INTO person_result (result_list_id, class_result_short_name, person_id, "
+                + "organisation_id) VALUES (1, ?, ?, ?)", personResults);
+        template.batchUpdate("INSERT INTO person_race_result (result_list_id, class_result_short_name, person_id, "
+                + "punch_time, position, race_number, state) VALUES (1, ?, ?, ?, ?, 1, 'OK')", raceResults);
+
+        jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(ResultListRepositoryDataJdbcAdapter.FETCH_SIZE);
+        streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (embeddedDatabase != null) {
+            embeddedDatabase.shutdown();
+        }
+        if (postgresContainer != null) {
+            postgresContainer.stop();
+        }
+    }
+
+    @Benchmark
+    public List<ResultList> distinctRowsGrouped() {
+        return transactionTemplate.execute(status -> PersonRaceResultJdbcDto.asResultLists(jdbcTemplate.query(
+                ResultListAssembler.SELECT_BY_RESULT_LIST_ID_SQL.replace("SELECT", "SELECT DISTINCT"),
+                Map.of("resultListId", 1L),
+                new DataClassRowMapper<>(PersonRaceResultJdbcDto.class))));
+    }
+
+    @Benchmark
+    public List<ResultList> streamingAssembler() {
+        return transactionTemplate.execute(status -> streamingJdbcTemplate.query(
+                ResultListAssembler.SELECT_BY_RESULT_LIST_ID_SQL, Map.of("resultListId", 1L),
+                new ResultListAssembler()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResultListAssemblerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,221 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultListAssemblerTest {
+
+    static final String SCHEMA = """
+            CREATE TABLE result_list (
+                id BIGINT PRIMARY KEY,
+                event_id BIGINT NOT NULL,
+                race_id BIGINT NOT NULL,
+                creator VARCHAR(255),
+                create_time TIMESTAMP WITH TIME ZONE,
+                create_time_zone VARCHAR(50),
+                status VARCHAR(50) NOT NULL
+            );
+            CREATE TABLE class_result (
+                result_list_id BIGINT NOT NULL,
+                name VARCHAR(255) NOT NULL,
+                short_name VARCHAR(255) NOT NULL,
+                gender VARCHAR(10) NOT NULL,
+                course_id BIGINT,
+                UNIQUE (result_list_id, short_name)
+            );
+            CREATE TABLE person_result (
+                result_list_id BIGINT NOT NULL,
+                class_result_short_name VARCHAR(255) NOT NULL,
+                person_id BIGINT NOT NULL,
+                organisation_id BIGINT,
+                UNIQUE (result_list_id, class_result_short_name, person_id, organisation_id)
+            );
+            CREATE TABLE person_race_result (
+                result_list_id BIGINT NOT NULL,
+                class_result_short_name VARCHAR(255) NOT NULL,
+                person_id BIGINT NOT NULL,
+                start_time TIMESTAMP WITH TIME ZONE,
+                start_time_zone VARCHAR(50),
+                punch_time DOUBLE PRECISION,
+                position BIGINT,
+                race_number SMALLINT NOT NULL,
+                state VARCHAR(50) NOT NULL,
+                UNIQUE (result_list_id, class_result_short_name, person_id, race_number)
+            );
+            """;
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+    private final NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute(SCHEMA);
+        jdbcTemplate.update("""
+                INSERT INTO result_list (id, event_id, race_id, creator, create_time, create_time_zone, status) VALUES
+                    (1, 10, 100, 'creator', TIMESTAMP WITH TIME ZONE '2026-05-01 08:00:00+00', 'Europe/Berlin', 'COMPLETE'),
+                    (2, 10, 101, NULL, NULL, NULL, 'COMPLETE'),
+                    (3, 11, 102, NULL, NULL, NULL, 'COMPLETE')
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO class_result (result_list_id, name, short_name, gender, course_id) VALUES
+                    (1, 'Herren 21', 'H21', 'M', 5), (1, 'Damen 21', 'D21', 'F', NULL),
+                    (2, 'Herren 21', 'H21', 'M', NULL), (3, 'Herren 21', 'H21', 'M', NULL)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO person_result (result_list_id, class_result_short_name, person_id, organisation_id) VALUES
+                    (1, 'H21', 1, 7), (1, 'H21', 2, NULL), (1, 'H21', 3, 8), (1, 'H21', 3, 7), (1, 'D21', 4, 7),
+                    (2, 'H21', 1, 7), (3, 'H21', 9, NULL)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO person_race_result
+                    (result_list_id, class_result_short_name, person_id, start_time, start_time_zone, punch_time, position, race_number, state)
+                VALUES
+                    (1, 'H21', 1, TIMESTAMP WITH TIME ZONE '2026-05-01 09:00:00+00', 'Europe/Berlin', 1800.0, 2, 1, 'OK'),
+                    (1, 'H21', 2, NULL, NULL, 1700.0, 1, 1, 'OK'),
+                    (1, 'H21', 3, NULL, NULL, 1900.0, 3, 1, 'OK'),
+                    (1, 'H21', 1, NULL, NULL, 1500.0, 1, 2, 'OK'),
+                    (1, 'D21', 4, NULL, NULL, NULL, NULL, 1, 'DISQUALIFIED'),
+                    (1, 'D21', 4, NULL, NULL, NULL, NULL, 2, 'DID_NOT_START'),
+                    (2, 'H21', 1, NULL, NULL, 1600.0, 1, 1, 'OK'),
+                    (3, 'H21', 9, NULL, NULL, 1600.0, 1, 1, 'OK')
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void extractData_buildsOneResultListPerRaceNumberWithOrderedClassesAndPersons() {
+        List<ResultList> resultLists = query(ResultListAssembler.SELECT_BY_RESULT_LIST_ID_SQL, "resultListId", 1L);
+
+        assertThat(resultLists).hasSize(2);
+        ResultList first = resultLists.getFirst();
+        assertThat(first.getId()).isEqualTo(ResultListId.of(1L));
+        assertThat(first.getEventId()).isEqualTo(EventId.of(10L));
+        assertThat(first.getRaceId()).isEqualTo(RaceId.of(100L));
+        assertThat(first.getCreateTime())
+                .isEqualTo(ZonedDateTime.of(2026, 5, 1, 10, 0, 0, 0, ZoneId.of("Europe/Berlin")));
+        assertThat(first.getClassResults()).extracting(classResult -> classResult.classResultShortName().value())
+                .containsExactly("D21", "H21");
+
+        ClassResult h21 = first.getClassResults().stream()
+                .filter(classResult -> classResult.classResultShortName().value().equals("H21"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(h21.courseId()).isEqualTo(CourseId.of(5L));
+        assertThat(h21.personResults().value()).extracting(personResult -> personResult.personId().value())
+                .containsExactly(2L, 1L, 3L);
+        assertThat(h21.personResults().value()).extracting(PersonResult::organisationId)
+                .containsExactly(null, OrganisationId.of(7L), OrganisationId.of(7L));
+        assertThat(h21.personResults().value()).allSatisfy(personResult ->
+                assertThat(personResult.personRaceResults().value()).singleElement()
+                        .satisfies(raceResult -> assertThat(raceResult.getRaceNumber().value()).isEqualTo((byte) 1)));
+
+        ClassResult d21 = first.getClassResults().stream()
+                .filter(classResult -> classResult.classResultShortName().value().equals("D21"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(d21.courseId()).isNull();
+        assertThat(d21.personResults().value()).singleElement().satisfies(personResult -> {
+            assertThat(personResult.organisationId()).isEqualTo(OrganisationId.of(7L));
+            assertThat(personResult.personRaceResults().value()).singleElement()
+                    .satisfies(raceResult -> {
+                        assertThat(raceResult.getState()).isEqualTo(ResultStatus.DISQUALIFIED);
+                        assertThat(raceResult.getRuntime().value()).isNull();
+                        assertThat(raceResult.getPosition().value()).isNull();
+                    });
+        });
+
+        assertThat(resultLists.get(1).getClassResults()).singleElement()
+                .satisfies(classResult -> assertThat(classResult.personResults().value()).singleElement()
+                        .satisfies(personResult -> assertThat(personResult.personRaceResults().value())
+                                .singleElement()
+                                .satisfies(raceResult ->
+                                        assertThat(raceResult.getRaceNumber().value()).isEqualTo((byte) 2))));
+    }
+
+    @Test
+    void extractData_usesFirstRowOfPersonWithSeveralPersonResults() {
+        List<ResultList> resultLists = query(ResultListAssembler.SELECT_BY_RESULT_LIST_ID_SQL, "resultListId", 1L);
+
+        assertThat(resultLists.getFirst().getClassResults().stream()
+                .flatMap(classResult -> classResult.personResults().value().stream())
+                .filter(personResult -> personResult.personId().value().equals(3L)))
+                .singleElement()
+                .satisfies(personResult ->
+                        assertThat(personResult.personRaceResults().value()).hasSize(1));
+    }
+
+    @Test
+    void extractData_byEventIdReadsAllResultListsOfEvent() {
+        List<ResultList> resultLists = query(ResultListAssembler.SELECT_BY_EVENT_ID_SQL, "eventId", 10L);
+
+        assertThat(resultLists).extracting(resultList -> resultList.getId().value()).containsExactly(1L, 1L, 2L);
+        assertThat(query(ResultListAssembler.SELECT_BY_EVENT_ID_SQL, "eventId", 12L)).isEmpty();
+    }
+
+    @Test
+    void extractData_matchesFormerAssemblyWithoutRepeatedRaceResults() {
+        List<PersonRaceResultJdbcDto> rows = namedJdbcTemplate.query(
+                ResultListAssembler.SELECT_BY_EVENT_ID_SQL.replace("SELECT", "SELECT DISTINCT"),
+                Map.of("eventId", 10L),
+                new DataClassRowMapper<>(PersonRaceResultJdbcDto.class));
+        Comparator<ResultList> order = Comparator.comparing((ResultList resultList) -> resultList.getId().value())
+                .thenComparing(resultList -> resultList.getClassResults().size());
+
+        List<ResultList> expected =
+                PersonRaceResultJdbcDto.asResultLists(rows).stream().sorted(order).toList();
+        List<ResultList> actual =
+                query(ResultListAssembler.SELECT_BY_EVENT_ID_SQL, "eventId", 10L).stream().sorted(order).toList();
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(summary(actual.get(i))).isEqualTo(summary(expected.get(i)));
+        }
+    }
+
+    private List<ResultList> query(String sql, String parameter, long value) {
+        return namedJdbcTemplate.query(sql, Map.of(parameter, value), new ResultListAssembler());
+    }
+
+    private static List<String> summary(ResultList resultList) {
+        return resultList.getClassResults().stream()
+                .flatMap(classResult -> classResult.personResults().value().stream()
+                        .flatMap(personResult -> personResult.personRaceResults().value().stream()
+                                .map(raceResult -> String.join("/",
+                                        String.valueOf(resultList.getCreateTime()),
+                                        classResult.classResultName().value(),
+                                        String.valueOf(classResult.courseId()),
+                                        String.valueOf(personResult.personId().value()),
+                                        String.valueOf(raceResult.getStartTime().value()),
+                                        String.valueOf(raceResult.getRuntime().value()),
+                                        String.valueOf(raceResult.getPosition().value()),
+                                        String.valueOf(raceResult.getRaceNumber().value()),
+                                        String.valueOf(raceResult.getState())))))
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,145 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the import throughput of split times, in rows per second, for a large event (2000 runners, 30 controls per
+ * runner): one insert per split time list followed by its split times, as the aggregate save did it, and
+ * {@link SplitTimeBulkWriter}, which uses {@code COPY} on PostgreSQL and JDBC batches on H2.
+ *
+ * <p>Run from the IDE or with {@code java -cp <test classpath> ...SplitTimeBulkWriterBenchmark}; the
+ * {@code postgres} parameter starts a PostgreSQL container and needs a Docker environment.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(SplitTimeBulkWriterBenchmark.ROWS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitTimeBulkWriterBenchmark {
+
+    private static final int RUNNERS = 2000;
+    private static final int CONTROLS = 30;
+    static final int ROWS = RUNNERS * CONTROLS;
+
+    @Param({"h2", "postgres"})
+    private String database;
+
+    private PostgreSQLContainer postgresContainer;
+    private EmbeddedDatabase embeddedDatabase;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SplitTimeBulkWriter writer;
+    private List<SplitTimeList> splitTimeLists;
+
+    @Setup
+    public void setUp() {
+        DataSource dataSource;
+        if ("postgres".equals(database)) {
+            postgresContainer = new PostgreSQLContainer(DockerImageName.parse("postgres:latest"));
+            postgresContainer.start();
+            dataSource = new SimpleDriverDataSource(new org.postgresql.Driver(), postgresContainer.getJdbcUrl(),
+                    postgresContainer.getUsername(), postgresContainer.getPassword());
+        } else {
+            embeddedDatabase = new EmbeddedDatabaseBuilder()
+                    .generateUniqueName(true)
+                    .setType(EmbeddedDatabaseType.H2)
+                    .build();
+            dataSource = embeddedDatabase;
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(SplitTimeBulkWriterTest.SCHEMA);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        writer = new SplitTimeBulkWriter(jdbcTemplate);
+
+        Random random = new Random(42);
+        splitTimeLists = new ArrayList<>(RUNNERS);
+        for (int runner = 0; runner < RUNNERS; runner++) {
+            List<SplitTime> splitTimes = new ArrayList<>(CONTROLS);
+            double punchTime = 0;
+            for (int control = 0; control < CONTROLS; control++) {
+                punchTime += 60 + random.nextInt(240);
+                splitTimes.add(SplitTime.of(String.valueOf(31 + control), punchTime, SplitTimeListId.empty()));
+            }
+            splitTimeLists.add(new SplitTimeList(SplitTimeListId.empty(), EventId.of(1L), ResultListId.of(1L),
+                    ClassResultShortName.of("C" + runner % 30), PersonId.of((long) runner), RaceNumber.of((byte) 1),
+                    splitTimes));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTables() {
+        jdbcTemplate.execute("DELETE FROM split_time");
+        jdbcTemplate.execute("DELETE FROM split_time_list");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (embeddedDatabase != null) {
+            embeddedDatabase.shutdown();
+        }
+        if (postgresContainer != null) {
+            postgresContainer.stop();
+        }
+    }
+
+    @Benchmark
+    public int insertPerSplitTimeList() {
+        return transactionTemplate.execute(status -> {
+            int rows = 0;
+            for (SplitTimeList splitTimeList : splitTimeLists) {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            SplitTimeBulkWriter.INSERT_SPLIT_TIME_LIST_SQL, new String[] {"id"});
+                    statement.setLong(1, splitTimeList.getEventId().value());
+                    statement.setLong(2, splitTimeList.getResultListId().value());
+                    statement.setString(3, splitTimeList.getClassResultShortName().value());
+                    statement.setLong(4, splitTimeList.getPersonId().value());
+                    statement.setByte(5, splitTimeList.getRaceNumber().value());
+                    return statement;
+                }, keyHolder);
+                long id = keyHolder.getKeyAs(Long.class);
+                rows += jdbcTemplate.batchUpdate(SplitTimeBulkWriter.INSERT_SPLIT_TIME_SQL,
+                        splitTimeList.getSplitTimes().stream()
+                                .map(x -> new Object[] {id, x.controlCode().value(), x.punchTime().value()})
+                                .toList()).length;
+            }
+            return rows;
+        });
+    }
+
+    @Benchmark
+    public List<SplitTimeList> bulkInsert() {
+        return transactionTemplate.execute(status -> writer.insert(splitTimeLists));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SplitTimeBulkWriterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SplitTimeBulkWriterTest {
+
+    static final String SCHEMA = """
+            CREATE TABLE split_time_list (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                event_id BIGINT NOT NULL,
+                result_list_id BIGINT NOT NULL,
+                class_result_short_name VARCHAR(20) NOT NULL,
+                person_id BIGINT NOT NULL,
+                race_number SMALLINT NOT NULL
+            );
+            CREATE TABLE split_time (
+                split_time_list_id BIGINT NOT NULL REFERENCES split_time_list (id) ON DELETE CASCADE,
+                control_code VARCHAR(3),
+                punch_time DOUBLE PRECISION
+            );
+            """;
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+
+    private static SplitTimeList splitTimeList(long personId, RaceNumber raceNumber, List<SplitTime> splitTimes) {
+        return new SplitTimeList(SplitTimeListId.empty(), EventId.of(1L), ResultListId.of(2L),
+                ClassResultShortName.of("H21"), PersonId.of(personId), raceNumber, splitTimes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void insert_withoutCopySupport_insertsSplitTimesInBatches() {
+        jdbcTemplate.execute(SCHEMA);
+        SplitTimeBulkWriter writer = new SplitTimeBulkWriter(jdbcTemplate);
+
+        List<SplitTimeList> created = writer.insert(List.of(
+                splitTimeList(10L, RaceNumber.of((byte) 2), List.of(
+                        SplitTime.of("31", 60.0, SplitTimeListId.empty()),
+                        SplitTime.of("31", 60.0, SplitTimeListId.empty()),
+                        SplitTime.of("32", null, SplitTimeListId.empty()))),
+                splitTimeList(11L, RaceNumber.of(null), List.of(
+                        SplitTime.of(null, 95.5, SplitTimeListId.empty())))));
+
+        assertThat(created).extracting(x -> x.getPersonId().value()).containsExactly(10L, 11L);
+        assertThat(created).extracting(x -> x.getRaceNumber().value()).containsExactly((byte) 2, (byte) 1);
+        assertThat(created).allSatisfy(x -> {
+            assertThat(x.getId().isPersistent()).isTrue();
+            assertThat(x.getSplitTimes()).extracting(SplitTime::splitTimeListId).containsOnly(x.getId());
+        });
+        assertThat(created.getFirst().getSplitTimes()).hasSize(2);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT split_time_list_id, control_code, punch_time FROM split_time ORDER BY split_time_list_id, "
+                        + "control_code");
+        assertThat(rows).hasSize(3);
+        assertThat(rows).extracting(x -> ((Number) x.get("SPLIT_TIME_LIST_ID")).longValue())
+                .containsExactly(created.get(0).getId().value(), created.get(0).getId().value(),
+                        created.get(1).getId().value());
+        assertThat(rows).extracting(x -> x.get("PUNCH_TIME")).containsExactly(60.0, null, 95.5);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT race_number FROM split_time_list WHERE person_id = 11", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void insert_withEmptyList_doesNotTouchTheDatabase() {
+        assertThat(new SplitTimeBulkWriter(jdbcTemplate).insert(List.of())).isEmpty();
+    }
+
+    @Test
+    void appendCopyRow_escapesTextFormat() {
+        StringBuilder buffer = new StringBuilder();
+
+        SplitTimeBulkWriter.appendCopyRow(buffer, SplitTime.of("3\t\\", null, SplitTimeListId.of(7L)));
+        SplitTimeBulkWriter.appendCopyRow(buffer, SplitTime.of(null, 61.5, SplitTimeListId.of(8L)));
+
+        assertThat(buffer).hasToString("7\t3\\t\\\\\t\\N\n8\t\\N\t61.5\n");
+    }
+}
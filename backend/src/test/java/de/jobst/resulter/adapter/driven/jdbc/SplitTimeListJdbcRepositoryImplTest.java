@@ -0,0 +1,95 @@
+package de.jobst.resulter.adapter.driven.jdbc;
+
+import de.jobst.resulter.application.port.ClassGroupOption;
+import de.jobst.resulter.application.port.CourseGroupOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SplitTimeListJdbcRepositoryImplTest {
+
+    private static final String SCHEMA = SplitTimeBulkWriterTest.SCHEMA + """
+            CREATE TABLE course (
+                id BIGINT PRIMARY KEY,
+                name VARCHAR(50)
+            );
+            CREATE TABLE class_result (
+                result_list_id BIGINT NOT NULL,
+                short_name VARCHAR(20) NOT NULL,
+                course_id BIGINT
+            );
+            """;
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .generateUniqueName(true)
+            .setType(EmbeddedDatabaseType.H2)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+    private final SplitTimeListJdbcRepositoryImpl repository =
+            new SplitTimeListJdbcRepositoryImpl(JdbcClient.create(database));
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute(SCHEMA);
+        jdbcTemplate.update("INSERT INTO course (id, name) VALUES (1, 'Bahn A'), (2, NULL)");
+        jdbcTemplate.update("""
+                INSERT INTO class_result (result_list_id, short_name, course_id) VALUES
+                    (10, 'D21', 1), (10, 'H21', 1), (10, 'H40', 2), (10, 'OK', NULL), (11, 'D21', 1)
+                """);
+        splitTimeList(1L, 10L, "H21", 1L, "31", "32");
+        splitTimeList(2L, 10L, "H21", 2L, "31");
+        splitTimeList(3L, 10L, "D21", 3L);
+        splitTimeList(4L, 10L, "OK", 4L, "31");
+        splitTimeList(5L, 11L, "D21", 5L, "31");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void findByResultListIdAndClassResultShortNames_loadsOnlyListsOfClasses() {
+        var lists = repository.findByResultListIdAndClassResultShortNames(10L, List.of("H21", "OK"));
+
+        assertThat(lists).extracting(SplitTimeListDbo::getId).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(lists).filteredOn(list -> list.getId().equals(1L)).singleElement()
+                .satisfies(list -> assertThat(list.getSplitTimes()).hasSize(2));
+        assertThat(repository.findByResultListIdAndClassResultShortNames(10L, List.of())).isEmpty();
+    }
+
+    @Test
+    void countRunnersByClass_countsListsOfResultListPerClass() {
+        assertThat(repository.countRunnersByClass(10L)).containsExactly(
+                new ClassGroupOption("D21", 1),
+                new ClassGroupOption("H21", 2),
+                new ClassGroupOption("OK", 1));
+    }
+
+    @Test
+    void countRunnersByCourse_groupsClassesByCourseWithCourseName() {
+        assertThat(repository.countRunnersByCourse(10L)).containsExactly(
+                new CourseGroupOption(1L, "Bahn A", List.of("D21", "H21"), 3),
+                new CourseGroupOption(2L, "Course 2", List.of("H40"), 0));
+    }
+
+    private void splitTimeList(long id, long resultListId, String className, long personId, String... controls) {
+        jdbcTemplate.update("""
+                INSERT INTO split_time_list (id, event_id, result_list_id, class_result_short_name, person_id, race_number)
+                VALUES (?, 1, ?, ?, ?, 1)
+                """, id, resultListId, className, personId);
+        for (int i = 0; i < controls.length; i++) {
+            jdbcTemplate.update("INSERT INTO split_time (split_time_list_id, control_code, punch_time) VALUES (?, ?, ?)",
+                    id, controls[i], 60.0 * (i + 1));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import de.jobst.resulter.domain.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ImportJobServiceTest {
+
+    private final XMLImportService importService = mock(XMLImportService.class);
+    private final XmlParser xmlParser = new XmlParser(new XmlConfig().jaxb2Marshaller());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ImportJobService importJobService;
+
+    private static ByteArrayResource upload(String eventName) {
+        return new ByteArrayResource(XmlParserTest.RESULT_LIST_XML
+                .replace("<Name>Example event</Name>", "<Name>" + eventName + "</Name>")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private void importBlocksUntilReleased() throws Exception {
+        when(importService.importFile(any(InputStreamSource.class), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    ImportProgress progress = invocation.getArgument(1);
+                    progress.phaseStarted(ImportPhase.READING);
+                    progress.classResultsFound(2);
+                    release.await(10, TimeUnit.SECONDS);
+                    progress.classResultImported();
+                    return new XMLImportService.ImportResult(Event.of("Example event"), null, null, null, null);
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (importJobService != null) {
+            importJobService.close();
+        }
+    }
+
+    @Test
+    void submit_runsImportInBackground() throws Exception {
+        importBlocksUntilReleased();
+        importJobService = new ImportJobService(importService, xmlParser, 1, 1, 10);
+
+        ImportJob job = importJobService.submit("results.xml", upload("Example event"));
+        await(() -> job.getPhase() == ImportPhase.READING);
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.RUNNING);
+        assertThat(job.getClassResults()).isEqualTo(2);
+        assertThat(importJobService.findById(job.getId())).containsSame(job);
+
+        release.countDown();
+        await(job::isFinished);
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.SUCCEEDED);
+        assertThat(job.getEvent()).isNotNull().extracting(x -> x.getName().value()).isEqualTo("Example event");
+        assertThat(job.getClassResultsImported()).isEqualTo(1);
+        assertThat(job.getPhase()).isNull();
+        assertThat(job.getPhaseDurations()).containsOnlyKeys(ImportPhase.WAITING, ImportPhase.READING);
+    }
+
+    @Test
+    void submit_reportsFailedImport() throws Exception {
+        importJobService = new ImportJobService(importService, xmlParser, 1, 1, 10);
+
+        ImportJob job = importJobService.submit("results.xml",
+                new ByteArrayResource("<EntryList/>".getBytes(StandardCharsets.UTF_8)));
+        await(job::isFinished);
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(job.getError()).contains("EntryList");
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void submit_rejectsUploads_whenQueueIsFull() throws Exception {
+        importBlocksUntilReleased();
+        importJobService = new ImportJobService(importService, xmlParser, 1, 1, 10);
+
+        ImportJob running = importJobService.submit("1.xml", upload("Event 1"));
+        await(() -> running.getStatus() == ImportJob.Status.RUNNING);
+        ImportJob queued = importJobService.submit("2.xml", upload("Event 2"));
+
+        assertThatThrownBy(() -> importJobService.submit("3.xml", upload("Event 3")))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(queued.getStatus()).isEqualTo(ImportJob.Status.QUEUED);
+    }
+
+    @Test
+    void submit_serializesImportsOfTheSameEvent() throws Exception {
+        importBlocksUntilReleased();
+        importJobService = new ImportJobService(importService, xmlParser, 3, 3, 10);
+
+        ImportJob first = importJobService.submit("1.xml", upload("Event 1"));
+        await(() -> first.getPhase() == ImportPhase.READING);
+        ImportJob sameEvent = importJobService.submit("2.xml", upload("Event 1"));
+        ImportJob otherEvent = importJobService.submit("3.xml", upload("Event 2"));
+        await(() -> otherEvent.getPhase() == ImportPhase.READING);
+        await(() -> sameEvent.getPhase() == ImportPhase.WAITING);
+
+        verify(importService, times(2)).importFile(any(InputStreamSource.class), any(ImportProgress.class));
+
+        release.countDown();
+        await(() -> first.isFinished() && sameEvent.isFinished() && otherEvent.isFinished());
+        verify(importService, times(3)).importFile(any(InputStreamSource.class), any(ImportProgress.class));
+    }
+}
@@ -1,5 +1,6 @@
 package de.jobst.resulter.adapter.driver.web;
 
+import de.jobst.resulter.application.ContentVersions;
 import de.jobst.resulter.application.port.AnomalyDetectionService;
 import de.jobst.resulter.application.port.ClassGroupOption;
 import de.jobst.resulter.application.port.CourseGroupOption;
@@ -18,19 +19,41 @@ import de.jobst.resulter.domain.analysis.MriStatistics;
 import de.jobst.resulter.domain.analysis.SplitTimeAnalysis;
 import de.jobst.resulter.domain.analysis.SplitTimeTable;
 import de.jobst.resulter.domain.analysis.SplitTimeTableMetadata;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.Test;
-
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SplitTimeAnalysisControllerTest {
 
+    private static final Duration ANALYSIS_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ContentVersions contentVersions = new ContentVersions();
+
     @Test
     void analyzeSplitTimesRanking_shouldForwardSequenceOptions() {
         SplitTimeRankingService splitTimeRankingService = mock(SplitTimeRankingService.class);
@@ -39,13 +62,15 @@ class SplitTimeAnalysisControllerTest {
                 mock(MentalResilienceService.class),
                 mock(AnomalyDetectionService.class),
                 mock(HangingDetectionService.class),
-                mock(SplitTimeTableService.class)
+                mock(SplitTimeTableService.class),
+                new ContentVersions(),
+                ANALYSIS_TIMEOUT
         );
 
         when(splitTimeRankingService.analyzeSplitTimesRanking(any(ResultListId.class), any(Boolean.class), any(), any(Boolean.class), any(Boolean.class), any(Integer.class)))
                 .thenReturn(List.of());
 
-        controller.analyzeSplitTimesRanking(123L, false, List.of(1L, 2L), true, true, 4);
+        controller.analyzeSplitTimesRanking(123L, false, List.of(1L, 2L), true, true, 4, request());
 
         verify(splitTimeRankingService).analyzeSplitTimesRanking(
                 ResultListId.of(123L),
@@ -65,7 +90,9 @@ class SplitTimeAnalysisControllerTest {
                 mock(MentalResilienceService.class),
                 mock(AnomalyDetectionService.class),
                 mock(HangingDetectionService.class),
-                mock(SplitTimeTableService.class)
+                mock(SplitTimeTableService.class),
+                new ContentVersions(),
+                ANALYSIS_TIMEOUT
         );
 
         when(splitTimeRankingService.analyzeSplitTimesRanking(any(ResultListId.class), any(Boolean.class), any(), any(Boolean.class), any(Boolean.class), any(Integer.class)))
@@ -77,7 +104,7 @@ class SplitTimeAnalysisControllerTest {
                         List.of()
                 )));
 
-        controller.analyzeSplitTimesRanking(123L, null, null, null, null, null);
+        controller.analyzeSplitTimesRanking(123L, null, null, null, null, null, request());
 
         verify(splitTimeRankingService).analyzeSplitTimesRanking(
                 ResultListId.of(123L),
@@ -96,7 +123,7 @@ class SplitTimeAnalysisControllerTest {
 
         when(rankingService.getPersonsForResultList(ResultListId.of(5L))).thenReturn(List.of());
 
-        var result = controller.getPersonsForResultList(5L);
+        var result = controller.getPersonsForResultList(5L, request());
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         assertThat(result.getBody()).isEmpty();
@@ -104,7 +131,7 @@ class SplitTimeAnalysisControllerTest {
     }
 
     @Test
-    void analyzeMentalResilience_shouldReturnOk_whenNoMistakes() {
+    void analyzeMentalResilience_shouldReturnOk_whenNoMistakes() throws Exception {
         MentalResilienceService mentalService = mock(MentalResilienceService.class);
         SplitTimeAnalysisController controller = controller(null, mentalService, null, null, null);
 
@@ -113,13 +140,13 @@ class SplitTimeAnalysisControllerTest {
                 new MriStatistics(5, 0, 0, 0, 0, 0, null, null));
         when(mentalService.analyzeMentalResilience(ResultListId.of(1L), List.of())).thenReturn(analysis);
 
-        var result = controller.analyzeMentalResilience(1L, null);
+        var result = call(controller.analyzeMentalResilience(1L, null, request()));
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
     }
 
     @Test
-    void analyzeMentalResilience_shouldReturnOk_whenMistakesDetected() {
+    void analyzeMentalResilience_shouldReturnOk_whenMistakesDetected() throws Exception {
         MentalResilienceService mentalService = mock(MentalResilienceService.class);
         SplitTimeAnalysisController controller = controller(null, mentalService, null, null, null);
 
@@ -128,26 +155,26 @@ class SplitTimeAnalysisControllerTest {
                 new MriStatistics(5, 2, 3, 1, 1, 0, 1.2, 1.1));
         when(mentalService.analyzeMentalResilience(ResultListId.of(2L), List.of(1L))).thenReturn(analysis);
 
-        var result = controller.analyzeMentalResilience(2L, List.of(1L));
+        var result = call(controller.analyzeMentalResilience(2L, List.of(1L), request()));
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
     }
 
     @Test
-    void anomalyDetection_shouldReturnOk() {
+    void anomalyDetection_shouldReturnOk() throws Exception {
         AnomalyDetectionService anomalyService = mock(AnomalyDetectionService.class);
         SplitTimeAnalysisController controller = controller(null, null, anomalyService, null, null);
 
         AnomalyAnalysis analysis = new AnomalyAnalysis(ResultListId.of(1L), EventId.of(1L), List.of());
         when(anomalyService.analyzeAnomaly(ResultListId.of(1L), List.of())).thenReturn(analysis);
 
-        var result = controller.anomalyDetection(1L, null);
+        var result = call(controller.anomalyDetection(1L, null, request()));
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
     }
 
     @Test
-    void hangingDetection_shouldReturnOk_whenNoHanging() {
+    void hangingDetection_shouldReturnOk_whenNoHanging() throws Exception {
         HangingDetectionService hangingService = mock(HangingDetectionService.class);
         SplitTimeAnalysisController controller = controller(null, null, null, hangingService, null);
 
@@ -155,13 +182,13 @@ class SplitTimeAnalysisControllerTest {
                 new HangingStatistics(5, 0, 0, 0, 0, null, null));
         when(hangingService.analyzeHanging(ResultListId.of(1L), List.of())).thenReturn(analysis);
 
-        var result = controller.hangingDetection(1L, null);
+        var result = call(controller.hangingDetection(1L, null, request()));
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
     }
 
     @Test
-    void hangingDetection_shouldReturnOk_whenHangingDetected() {
+    void hangingDetection_shouldReturnOk_whenHangingDetected() throws Exception {
         HangingDetectionService hangingService = mock(HangingDetectionService.class);
         SplitTimeAnalysisController controller = controller(null, null, null, hangingService, null);
 
@@ -169,11 +196,48 @@ class SplitTimeAnalysisControllerTest {
                 new HangingStatistics(5, 2, 4, 1, 1, 0.75, 0.80));
         when(hangingService.analyzeHanging(ResultListId.of(3L), List.of(1L))).thenReturn(analysis);
 
-        var result = controller.hangingDetection(3L, List.of(1L));
+        var result = call(controller.hangingDetection(3L, List.of(1L), request()));
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
     }
 
+    @Test
+    void hangingDetection_onRequestTimeout_interruptsAnalysisAndAnswersCancelled() throws Exception {
+        HangingDetectionService hangingService = mock(HangingDetectionService.class);
+        SplitTimeAnalysisController controller = controller(null, null, null, hangingService, null);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(hangingService.analyzeHanging(ResultListId.of(1L), List.of())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new CancellationException("interrupted");
+        });
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/");
+        servletRequest.setAsyncSupported(true);
+        StandardServletAsyncWebRequest asyncRequest =
+                new StandardServletAsyncWebRequest(servletRequest, new MockHttpServletResponse());
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(servletRequest);
+        asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor());
+        asyncManager.setAsyncWebRequest(asyncRequest);
+
+        WebAsyncTask<?> task = controller.hangingDetection(1L, null, asyncRequest);
+        asyncManager.startCallableProcessing(task);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        MockAsyncContext asyncContext = (MockAsyncContext) servletRequest.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertThat(task.getTimeout()).isEqualTo(ANALYSIS_TIMEOUT.toMillis());
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(asyncManager.getConcurrentResult()).isInstanceOf(CancellationException.class);
+    }
+
     @Test
     void getSplitTimeTable_byClass_shouldReturnTable() {
         SplitTimeTableService tableService = mock(SplitTimeTableService.class);
@@ -184,7 +248,7 @@ class SplitTimeAnalysisControllerTest {
                 new SplitTimeTableMetadata(5, 3, 3, true, 360.0));
         when(tableService.generateByClass(ResultListId.of(1L), "H21")).thenReturn(table);
 
-        var result = controller.getSplitTimeTable(1L, "class", "H21");
+        var result = controller.getSplitTimeTable(1L, "class", "H21", request());
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         verify(tableService).generateByClass(ResultListId.of(1L), "H21");
@@ -200,7 +264,7 @@ class SplitTimeAnalysisControllerTest {
                 new SplitTimeTableMetadata(5, 3, 3, true, 360.0));
         when(tableService.generateByCourse(ResultListId.of(1L), 42L)).thenReturn(table);
 
-        var result = controller.getSplitTimeTable(1L, "course", "42");
+        var result = controller.getSplitTimeTable(1L, "course", "42", request());
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         verify(tableService).generateByCourse(ResultListId.of(1L), 42L);
@@ -210,7 +274,7 @@ class SplitTimeAnalysisControllerTest {
     void getSplitTimeTable_invalidGroupBy_shouldThrowIllegalArgument() {
         SplitTimeAnalysisController controller = controller(null, null, null, null, mock(SplitTimeTableService.class));
 
-        assertThatThrownBy(() -> controller.getSplitTimeTable(1L, "invalid", "H21"))
+        assertThatThrownBy(() -> controller.getSplitTimeTable(1L, "invalid", "H21", request()))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Invalid groupBy");
     }
@@ -225,13 +289,59 @@ class SplitTimeAnalysisControllerTest {
         when(tableService.getAvailableCourses(ResultListId.of(1L)))
                 .thenReturn(List.of(new CourseGroupOption(1L, "Bahn A", List.of("H21"), 5)));
 
-        var result = controller.getSplitTableOptions(1L);
+        var result = controller.getSplitTableOptions(1L, request());
 
         assertThat(result.getStatusCode().value()).isEqualTo(200);
         assertThat(result.getBody().classes()).hasSize(1);
         assertThat(result.getBody().courses()).hasSize(1);
     }
 
+    @Test
+    void getPersonsForResultList_withCurrentETag_returnsNotModifiedWithoutAnalysis() {
+        SplitTimeRankingService ranking = mock(SplitTimeRankingService.class);
+        when(ranking.getPersonsForResultList(any())).thenReturn(List.of());
+        SplitTimeAnalysisController controller = controller(ranking, null, null, null, null);
+
+        var first = controller.getPersonsForResultList(5L, request());
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeaders().getETag());
+        var second = controller.getPersonsForResultList(5L, new ServletWebRequest(conditional,
+                new MockHttpServletResponse()));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getCacheControl()).contains("no-cache");
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        verify(ranking, times(1)).getPersonsForResultList(ResultListId.of(5L));
+    }
+
+    @Test
+    void getPersonsForResultList_afterResultListChanged_returnsNewBody() {
+        SplitTimeRankingService ranking = mock(SplitTimeRankingService.class);
+        when(ranking.getPersonsForResultList(any())).thenReturn(List.of());
+        SplitTimeAnalysisController controller = controller(ranking, null, null, null, null);
+
+        var first = controller.getPersonsForResultList(5L, request());
+        contentVersions.resultListsChanged(List.of(ResultListId.of(5L)));
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeaders().getETag());
+        var second = controller.getPersonsForResultList(5L, new ServletWebRequest(conditional,
+                new MockHttpServletResponse()));
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeaders().getETag()).isNotEqualTo(first.getHeaders().getETag());
+        verify(ranking, times(2)).getPersonsForResultList(ResultListId.of(5L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T call(WebAsyncTask<T> task) throws Exception {
+        return (T) task.getCallable().call();
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+
     private SplitTimeAnalysisController controller(
             SplitTimeRankingService ranking,
             MentalResilienceService mental,
@@ -243,6 +353,8 @@ class SplitTimeAnalysisControllerTest {
                 mental != null ? mental : mock(MentalResilienceService.class),
                 anomaly != null ? anomaly : mock(AnomalyDetectionService.class),
                 hanging != null ? hanging : mock(HangingDetectionService.class),
-                table != null ? table : mock(SplitTimeTableService.class));
+                table != null ? table : mock(SplitTimeTableService.class),
+                contentVersions,
+                ANALYSIS_TIMEOUT);
     }
 }
@@ -0,0 +1,126 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import de.jobst.resulter.application.port.*;
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class XMLImportServiceStreamingTest {
+
+    private final EventService eventService = mock(EventService.class);
+    private final CountryService countryService = mock(CountryService.class);
+    private final OrganisationService organisationService = mock(OrganisationService.class);
+    private final PersonService personService = mock(PersonService.class);
+    private final CourseService courseService = mock(CourseService.class);
+    private final ResultListService resultListService = mock(ResultListService.class);
+    private final SplitTimeListService splitTimeListService = mock(SplitTimeListService.class);
+    private final RaceService raceService = mock(RaceService.class);
+    private final List<Integer> splitTimeListChunkSizes = new ArrayList<>();
+
+    private static ByteArrayResource source(String xml) {
+        return new ByteArrayResource(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<PersonRaceResult> personRaceResults(ResultList resultList) {
+        return Objects.requireNonNull(resultList.getClassResults()).stream()
+                .flatMap(x -> x.personResults().value().stream())
+                .flatMap(x -> x.personRaceResults().value().stream())
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(countryService.findOrCreate(anyCollection())).thenAnswer(invocation -> List.copyOf(
+                invocation.<Collection<Country>>getArgument(0)));
+        when(organisationService.findOrCreate(anyCollection())).thenAnswer(invocation -> List.copyOf(
+                invocation.<Collection<Organisation>>getArgument(0)));
+        when(courseService.findOrCreate(anyCollection())).thenAnswer(invocation -> List.copyOf(
+                invocation.<Collection<Course>>getArgument(0)));
+        when(personService.findOrCreate(anyCollection())).thenAnswer(invocation -> invocation
+                .<Collection<Person>>getArgument(0).stream()
+                .map(p -> new PersonRepository.PersonPerson(p, new Person(
+                        PersonId.of((long) p.personName().givenName().value().length()), p.personName(),
+                        p.birthDate(), p.gender())))
+                .toList());
+        when(eventService.findOrCreate(any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            event.setId(EventId.of(1L));
+            return event;
+        });
+        when(raceService.findOrCreate(any(Race.class))).thenAnswer(invocation -> {
+            Race race = invocation.getArgument(0);
+            race.setId(RaceId.of(2L));
+            return race;
+        });
+        when(resultListService.findOrCreate(any(ResultList.class))).thenAnswer(invocation -> {
+            ResultList resultList = invocation.getArgument(0);
+            resultList.setId(ResultListId.of(3L));
+            return resultList;
+        });
+        when(resultListService.update(any(ResultList.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(splitTimeListService.findOrCreate(anyCollection())).thenAnswer(invocation -> {
+            Collection<SplitTimeList> splitTimeLists = invocation.getArgument(0);
+            splitTimeListChunkSizes.add(splitTimeLists.size());
+            splitTimeLists.forEach(x -> x.setId(SplitTimeListId.of(100 + x.getPersonId().value())));
+            return splitTimeLists;
+        });
+    }
+
+    private XMLImportService importService(boolean streaming, int chunkSize) {
+        return new XMLImportService(new XmlParser(new XmlConfig().jaxb2Marshaller()), eventService, countryService,
+                organisationService, personService, courseService, resultListService, splitTimeListService,
+                raceService, streaming, chunkSize);
+    }
+
+    @Test
+    void importFile_streaming_persistsSplitTimeListsInChunks() throws Exception {
+        XMLImportService.ImportResult importResult =
+                importService(true, 1).importFile(source(XmlParserTest.RESULT_LIST_XML));
+
+        assertThat(importResult.event().getName().value()).isEqualTo("Example event");
+        assertThat(importResult.organisationMap()).containsOnlyKeys("Club A");
+        assertThat(importResult.countryMap()).containsOnlyKeys("GER");
+        assertThat(importResult.resultLists()).singleElement()
+                .satisfies(resultList -> assertThat(personRaceResults(resultList))
+                        .extracting(PersonRaceResult::getSplitTimeListId)
+                        .containsExactly(SplitTimeListId.of(103L), SplitTimeListId.of(105L)));
+        assertThat(splitTimeListChunkSizes).containsExactly(1, 1);
+        verify(personService, times(2)).findOrCreate(anyCollection());
+    }
+
+    @Test
+    void importFile_streaming_importsSameResultListsAsWholeDocument() throws Exception {
+        XMLImportService.ImportResult streamed =
+                importService(true, 500).importFile(source(XmlParserTest.RESULT_LIST_XML));
+        XMLImportService.ImportResult unmarshalled =
+                importService(false, 500).importFile(source(XmlParserTest.RESULT_LIST_XML));
+
+        assertThat(streamed.resultLists()).usingRecursiveComparison().isEqualTo(unmarshalled.resultLists());
+        assertThat(streamed.personMap()).isEqualTo(unmarshalled.personMap());
+        assertThat(streamed.event().getStartTime()).isEqualTo(unmarshalled.event().getStartTime());
+    }
+
+    @Test
+    void importFile_streaming_skipsSplitTimeLists_withoutSplitTimes() throws Exception {
+        String xml = XmlParserTest.RESULT_LIST_XML.replaceAll("(?s)<SplitTime>.*?</SplitTime>", "");
+
+        XMLImportService.ImportResult importResult = importService(true, 1).importFile(source(xml));
+
+        assertThat(personRaceResults(importResult.resultLists().getFirst()))
+                .extracting(PersonRaceResult::getSplitTimeListId)
+                .containsOnlyNulls();
+        verifyNoInteractions(splitTimeListService);
+    }
+}
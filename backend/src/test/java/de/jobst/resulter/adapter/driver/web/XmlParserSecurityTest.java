@@ -49,4 +49,18 @@ class XmlParserSecurityTest {
                 () -> xmlParser.parseXmlFile(new ByteArrayInputStream(xxeXml.getBytes(StandardCharsets.UTF_8))),
                 "Parser must reject XML with external entity references");
     }
+
+    @Test
+    void streamXmlFile_rejectsDoctypeDeclaration() {
+        String xxeXml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE ResultList [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <ResultList xmlns="http://www.orienteering.org/datastandard/3.0" creator="&xxe;"/>
+                """;
+
+        assertThrows(Exception.class,
+                () -> xmlParser.streamXmlFile(new ByteArrayInputStream(xxeXml.getBytes(StandardCharsets.UTF_8)),
+                        classResult -> {}),
+                "Streaming parser must reject XML with DOCTYPE declarations to prevent XXE attacks");
+    }
 }
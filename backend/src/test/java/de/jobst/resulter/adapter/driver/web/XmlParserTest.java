@@ -0,0 +1,143 @@
+package de.jobst.resulter.adapter.driver.web;
+
+import de.jobst.resulter.adapter.driver.web.jaxb.ClassResult;
+import de.jobst.resulter.adapter.driver.web.jaxb.ResultList;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XmlParserTest {
+
+    static final String RESULT_LIST_XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!-- result list with two classes and split times -->
+            <ResultList xmlns="http://www.orienteering.org/datastandard/3.0" iofVersion="3.0"
+                        createTime="2011-07-31T22:46:33+01:00" creator="Example Software" status=" Complete ">
+              <Event>
+                <Name>Example event</Name>
+                <Race>
+                  <RaceNumber>1</RaceNumber>
+                  <Name>Day 1</Name>
+                </Race>
+              </Event>
+              <ClassResult>
+                <Class>
+                  <Name>Men Elite</Name>
+                  <ShortName>H21</ShortName>
+                </Class>
+                <Course>
+                  <Name>A</Name>
+                  <Length>4650</Length>
+                  <Climb>160</Climb>
+                </Course>
+                <PersonResult>
+                  <Person sex="M">
+                    <Name>
+                      <Family>Muster</Family>
+                      <Given>Max</Given>
+                    </Name>
+                  </Person>
+                  <Organisation>
+                    <Name>Club A</Name>
+                    <Country code="GER">Germany</Country>
+                  </Organisation>
+                  <Result>
+                    <StartTime>2011-07-30T10:00:00+01:00</StartTime>
+                    <Time>2001</Time>
+                    <Position>1</Position>
+                    <Status>OK</Status>
+                    <SplitTime>
+                      <ControlCode>31</ControlCode>
+                      <Time>501</Time>
+                    </SplitTime>
+                    <SplitTime>
+                      <ControlCode>32</ControlCode>
+                      <Time>1102</Time>
+                    </SplitTime>
+                  </Result>
+                </PersonResult>
+              </ClassResult>
+              <ClassResult>
+                <Class>
+                  <Name>Women Elite</Name>
+                </Class>
+                <PersonResult>
+                  <Person sex="F">
+                    <Name>
+                      <Family>Muster</Family>
+                      <Given>Erika</Given>
+                    </Name>
+                  </Person>
+                  <Result>
+                    <StartTime>2011-07-30T10:02:00+01:00</StartTime>
+                    <Time>2200</Time>
+                    <Position>1</Position>
+                    <Status>OK</Status>
+                  </Result>
+                </PersonResult>
+              </ClassResult>
+              <Extensions>
+                <Note>ignored</Note>
+              </Extensions>
+            </ResultList>
+            """;
+
+    private final XmlParser xmlParser = new XmlParser(new XmlConfig().jaxb2Marshaller());
+
+    private static InputStream inputStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamXmlFile_readsSameResultListAsParseXmlFile() throws Exception {
+        ResultList parsed = xmlParser.parseXmlFile(inputStream(RESULT_LIST_XML));
+        List<ClassResult> classResults = new ArrayList<>();
+
+        ResultList streamed = xmlParser.streamXmlFile(inputStream(RESULT_LIST_XML), classResults::add);
+
+        assertThat(streamed.getClassResults()).isEmpty();
+        assertThat(streamed.getIofVersion()).isEqualTo(parsed.getIofVersion());
+        assertThat(streamed.getCreator()).isEqualTo("Example Software");
+        assertThat(streamed.getCreateTime()).isEqualTo(parsed.getCreateTime());
+        assertThat(streamed.getStatus()).isEqualTo("Complete").isEqualTo(parsed.getStatus());
+        assertThat(streamed.getEvent().getName()).isEqualTo("Example event");
+        assertThat(streamed.getEvent().getRaces()).singleElement().extracting("name").isEqualTo("Day 1");
+
+        assertThat(classResults).extracting(x -> x.getClazz().getName())
+                .containsExactly("Men Elite", "Women Elite")
+                .isEqualTo(parsed.getClassResults().stream().map(x -> x.getClazz().getName()).toList());
+        var personRaceResult = classResults.getFirst().getPersonResults().getFirst().getResults().getFirst();
+        assertThat(personRaceResult.getSplitTimes()).extracting("controlCode").containsExactly("31", "32");
+        assertThat(classResults.getFirst().getPersonResults().getFirst().getOrganisation().getCountry().getCode())
+                .isEqualTo("GER");
+    }
+
+    @Test
+    void streamXmlFile_acceptsByteOrderMark() throws Exception {
+        List<ClassResult> classResults = new ArrayList<>();
+
+        xmlParser.streamXmlFile(inputStream("\uFEFF" + RESULT_LIST_XML), classResults::add);
+
+        assertThat(classResults).hasSize(2);
+    }
+
+    @Test
+    void streamXmlFile_rejectsOtherRootElement() {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <EntryList xmlns="http://www.orienteering.org/datastandard/3.0" iofVersion="3.0"/>
+                """;
+
+        assertThatThrownBy(() -> xmlParser.streamXmlFile(inputStream(xml), x -> {}))
+                .isInstanceOf(XMLStreamException.class)
+                .hasMessageContaining("EntryList");
+    }
+}
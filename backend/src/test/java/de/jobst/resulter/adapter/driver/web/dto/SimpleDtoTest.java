@@ -174,10 +174,10 @@ class SimpleDtoTest {
 
     @Test
     void mediaFileKeyDto_accessorsReturnCorrectValues() {
-        MediaFileKeyDto dto = new MediaFileKeyDto(5L, "photo.jpg", "thumb-base64");
+        MediaFileKeyDto dto = new MediaFileKeyDto(5L, "photo.jpg", "/media/5/thumbnail");
         assertThat(dto.id()).isEqualTo(5L);
         assertThat(dto.fileName()).isEqualTo("photo.jpg");
-        assertThat(dto.thumbnailContent()).isEqualTo("thumb-base64");
+        assertThat(dto.thumbnailUrl()).isEqualTo("/media/5/thumbnail");
     }
 
     // -------------------------------------------------------------------------
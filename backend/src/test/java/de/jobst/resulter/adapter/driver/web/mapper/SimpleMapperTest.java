@@ -538,7 +538,7 @@ class SimpleMapperTest {
     @Test
     void eventCertificateMapper_toDto_withNoEventAndNoMediaFile() {
         EventCertificate cert = EventCertificate.of(1L, "Urkunde", null, null, null, true);
-        var dto = EventCertificateMapper.toDto(cert, Map.of(), Map.of(), "/tmp/");
+        var dto = EventCertificateMapper.toDto(cert, Map.of(), Map.of());
         assertThat(dto.id()).isEqualTo(1L);
         assertThat(dto.name()).isEqualTo("Urkunde");
         assertThat(dto.event()).isNull();
@@ -550,7 +550,7 @@ class SimpleMapperTest {
     void eventCertificateMapper_toDto_withEvent() {
         Event event = Event.of(5L, "Stadtlauf");
         EventCertificate cert = EventCertificate.of(2L, "Zertifikat", EventId.of(5L), null, null, false);
-        var dto = EventCertificateMapper.toDto(cert, Map.of(EventId.of(5L), event), Map.of(), "/tmp/");
+        var dto = EventCertificateMapper.toDto(cert, Map.of(EventId.of(5L), event), Map.of());
         assertThat(dto.event()).isNotNull();
         assertThat(dto.event().id()).isEqualTo(5L);
     }
@@ -558,7 +558,7 @@ class SimpleMapperTest {
     @Test
     void eventCertificateMapper_toDtos_returnsList() {
         EventCertificate cert = EventCertificate.of(1L, "Test", null, null, null, false);
-        var dtos = EventCertificateMapper.toDtos(List.of(cert), Map.of(), Map.of(), "/tmp/");
+        var dtos = EventCertificateMapper.toDtos(List.of(cert), Map.of(), Map.of());
         assertThat(dtos).hasSize(1);
     }
 
@@ -1,5 +1,7 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisPrecomputeService;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
 import de.jobst.resulter.application.port.OrganisationRepository;
 import de.jobst.resulter.application.port.RaceRepository;
 import de.jobst.resulter.application.port.ResultListRepository;
@@ -43,7 +45,8 @@ class ChampionshipFilterServiceImplTest {
         raceRepository = mock(RaceRepository.class);
         auditorAware = mock(SpringSecurityAuditorAware.class);
         service = new ChampionshipFilterServiceImpl(
-                resultListRepository, organisationRepository, raceRepository, auditorAware);
+                resultListRepository, new OrganisationHierarchyIndex(organisationRepository), raceRepository, auditorAware,
+                mock(AnalysisSnapshotCache.class), mock(AnalysisPrecomputeService.class), mock(CupStandingsCache.class));
 
         eventId = EventId.of(1L);
         baseOrgId = OrganisationId.of(BASE_ORG_ID);
@@ -120,7 +123,7 @@ class ChampionshipFilterServiceImplTest {
 
         Map<OrganisationId, Organisation> tree = orgTree();
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(tree);
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(tree.values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of());
 
@@ -142,7 +145,7 @@ class ChampionshipFilterServiceImplTest {
 
         Map<OrganisationId, Organisation> tree = orgTree();
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(tree);
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(tree.values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of());
 
@@ -171,7 +174,7 @@ class ChampionshipFilterServiceImplTest {
 
         Map<OrganisationId, Organisation> tree = orgTree();
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(tree);
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(tree.values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of());
 
@@ -204,7 +207,7 @@ class ChampionshipFilterServiceImplTest {
 
         Map<OrganisationId, Organisation> tree = orgTree();
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(tree);
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(tree.values()));
 
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
@@ -264,7 +267,7 @@ class ChampionshipFilterServiceImplTest {
 
         Map<OrganisationId, Organisation> tree = orgTree();
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(tree);
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(tree.values()));
 
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
@@ -332,7 +335,7 @@ class ChampionshipFilterServiceImplTest {
 
         Race race0 = Race.of(eventId, (byte) 0);
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceList, existingRace0List));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("test"));
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -348,7 +351,7 @@ class ChampionshipFilterServiceImplTest {
     @Test
     void ranking_emptySourceResultLists_returnsEmpty() {
         when(resultListRepository.findByEventId(eventId)).thenReturn(Collections.emptyList());
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
 
         List<ResultList> result = service.addChampionshipRanking(eventId, baseOrgId, Set.of());
 
@@ -381,7 +384,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, null);
         Map<OrganisationId, Organisation> tree = orgTree();
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(tree);
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(tree.values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of());
 
@@ -399,7 +402,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(classResult));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of());
 
@@ -414,7 +417,7 @@ class ChampionshipFilterServiceImplTest {
     void cleanup_excludedClass_isSkipped() {
         ResultList resultList = makeResultList(ELIGIBLE_PERSON_ID, eligibleClubId, ResultStatus.OK, (byte) 1);
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of("M21"));
 
@@ -427,7 +430,7 @@ class ChampionshipFilterServiceImplTest {
     void ranking_excludedClass_isNotIncluded() {
         ResultList sourceResultList = makeResultList(ELIGIBLE_PERSON_ID, eligibleClubId, ResultStatus.OK, (byte) 1);
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -454,7 +457,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(classResult));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -474,7 +477,7 @@ class ChampionshipFilterServiceImplTest {
         ResultList resultList = makeResultList(ELIGIBLE_PERSON_ID, eligibleClubId, ResultStatus.OK, (byte) 1);
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
         // Return a tree that does NOT contain baseOrgId
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(Map.of());
+        when(organisationRepository.findAll()).thenReturn(List.of());
 
         org.assertj.core.api.Assertions.assertThatThrownBy(
                 () -> service.applyChampionshipCleanup(eventId, baseOrgId, Set.of()))
@@ -498,7 +501,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(6L), eventId, RaceId.of(1L), "test", null, null, List.of(sourceCr));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(tricky, sourceList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -524,7 +527,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(cr));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(source));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -546,7 +549,7 @@ class ChampionshipFilterServiceImplTest {
         ResultList nullClassResultsList = new ResultList(
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, null);
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(nullClassResultsList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -573,7 +576,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(classResult));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -600,7 +603,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(cr));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(source));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -636,7 +639,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(cr));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(source));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -665,7 +668,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(cr));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(resultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
 
         service.applyChampionshipCleanup(eventId, baseOrgId, Set.of());
 
@@ -697,7 +700,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(classResult));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -729,7 +732,7 @@ class ChampionshipFilterServiceImplTest {
                 ResultListId.of(1L), eventId, RaceId.of(1L), "test", null, null, List.of(classResult));
 
         when(resultListRepository.findByEventId(eventId)).thenReturn(List.of(sourceResultList));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(orgTree());
+        when(organisationRepository.findAll()).thenReturn(List.copyOf(orgTree().values()));
         Race race0 = Race.of(RaceId.of(100L), eventId, null, (byte) 0);
         when(raceRepository.findOrCreate(any(Race.class))).thenReturn(race0);
         when(resultListRepository.save(any(ResultList.class))).thenAnswer(inv -> inv.getArgument(0));
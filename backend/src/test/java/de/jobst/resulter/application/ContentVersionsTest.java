@@ -0,0 +1,136 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.ContentVersions.ContentVersion;
+import de.jobst.resulter.domain.Cup;
+import de.jobst.resulter.domain.CupId;
+import de.jobst.resulter.domain.CupType;
+import de.jobst.resulter.domain.EventId;
+import de.jobst.resulter.domain.ResultListId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentVersionsTest {
+
+    private static final Instant START = Instant.parse("2026-05-01T10:00:00.250Z");
+
+    private final MutableClock clock = new MutableClock(START);
+    private final ContentVersions contentVersions = new ContentVersions(clock);
+    private final Cup cup = Cup.of(1L, "Cup", CupType.NOR, Year.of(2026), List.of(EventId.of(10L), EventId.of(11L)));
+
+    @Test
+    void unchangedContent_keepsVersion() {
+        ContentVersion first = contentVersions.event(EventId.of(10L));
+
+        assertThat(contentVersions.event(EventId.of(10L))).isEqualTo(first);
+        assertThat(first.lastModified()).isEqualTo(Instant.parse("2026-05-01T10:00:00Z"));
+    }
+
+    @Test
+    void eventsChanged_changesEventAndCupButNotOtherEvents() {
+        ContentVersion event = contentVersions.event(EventId.of(10L));
+        ContentVersion otherEvent = contentVersions.event(EventId.of(12L));
+        ContentVersion cupVersion = contentVersions.cup(cup);
+        clock.advance(Duration.ofMinutes(5));
+
+        contentVersions.eventsChanged(List.of(EventId.of(10L)));
+
+        assertThat(contentVersions.event(EventId.of(10L)).etag()).isNotEqualTo(event.etag());
+        assertThat(contentVersions.event(EventId.of(10L)).lastModified())
+                .isEqualTo(Instant.parse("2026-05-01T10:05:00Z"));
+        assertThat(contentVersions.cup(cup).etag()).isNotEqualTo(cupVersion.etag());
+        assertThat(contentVersions.event(EventId.of(12L))).isEqualTo(otherEvent);
+    }
+
+    @Test
+    void cupChanged_changesCupAndEventPages() {
+        ContentVersion event = contentVersions.event(EventId.of(12L));
+        ContentVersion cupVersion = contentVersions.cup(cup);
+        ContentVersion resultList = contentVersions.resultList(ResultListId.of(3L));
+
+        contentVersions.cupChanged(CupId.of(1L));
+
+        assertThat(contentVersions.cup(cup).etag()).isNotEqualTo(cupVersion.etag());
+        assertThat(contentVersions.event(EventId.of(12L)).etag()).isNotEqualTo(event.etag());
+        assertThat(contentVersions.resultList(ResultListId.of(3L))).isEqualTo(resultList);
+    }
+
+    @Test
+    void allChanged_changesEveryVersion() {
+        ContentVersion event = contentVersions.event(EventId.of(10L));
+        ContentVersion cupVersion = contentVersions.cup(cup);
+        ContentVersion resultList = contentVersions.resultList(ResultListId.of(3L));
+
+        contentVersions.allChanged();
+
+        assertThat(contentVersions.event(EventId.of(10L)).etag()).isNotEqualTo(event.etag());
+        assertThat(contentVersions.cup(cup).etag()).isNotEqualTo(cupVersion.etag());
+        assertThat(contentVersions.resultList(ResultListId.of(3L)).etag()).isNotEqualTo(resultList.etag());
+    }
+
+    @Test
+    void removedEventWithSeveralChanges_doesNotRepeatAnEarlierCupETag() {
+        Cup withoutEvent = Cup.of(1L, "Cup", CupType.NOR, Year.of(2026), List.of(EventId.of(10L)));
+        contentVersions.eventsChanged(List.of(EventId.of(11L)));
+        String earlier = contentVersions.cup(cup).etag();
+        contentVersions.eventsChanged(List.of(EventId.of(11L)));
+        contentVersions.eventsChanged(List.of(EventId.of(11L)));
+
+        // removing the event bumps the cup once, while its event counter of 3 no longer counts
+        contentVersions.cupChanged(CupId.of(1L));
+
+        assertThat(contentVersions.cup(withoutEvent).etag()).isNotEqualTo(earlier);
+    }
+
+    @Test
+    void sameCountersOfOtherScope_haveDifferentETags() {
+        assertThat(contentVersions.event(EventId.of(3L)).etag())
+                .isNotEqualTo(contentVersions.resultList(ResultListId.of(3L)).etag());
+    }
+
+    @Test
+    void restartedInstance_usesNewETags() {
+        ContentVersion before = contentVersions.event(EventId.of(10L));
+        clock.advance(Duration.ofMillis(1));
+
+        ContentVersion after = new ContentVersions(clock).event(EventId.of(10L));
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
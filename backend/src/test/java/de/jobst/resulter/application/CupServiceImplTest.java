@@ -9,10 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.time.Year;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +37,10 @@ class CupServiceImplTest {
     @Mock CupScoreListRepository cupScoreListRepository;
     @Mock SpringSecurityAuditorAware springSecurityAuditorAware;
     @Mock PersonRepository personRepository;
+    @Spy CupStandingsCache cupStandingsCache = new CupStandingsCache(new ContentVersions(), 16, Duration.ofHours(1));
+    @Mock DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
+    @Spy OrganisationHierarchyIndex organisationHierarchyIndex =
+            new OrganisationHierarchyIndex(mock(OrganisationRepository.class));
 
     @InjectMocks
     CupServiceImpl service;
@@ -142,7 +148,7 @@ class CupServiceImplTest {
         Cup c = cup(1L); // no eventIds
         when(cupRepository.findById(CupId.of(1L))).thenReturn(Optional.of(c));
         when(springSecurityAuditorAware.getCurrentAuditor()).thenReturn(Optional.of("test-user"));
-        when(cupScoreListRepository.saveAll(any())).thenReturn(List.of());
+        when(cupScoreListRepository.saveAllChanged(any())).thenReturn(List.of());
 
         List<CupScoreList> result = service.calculateScore(CupId.of(1L));
 
@@ -150,7 +156,7 @@ class CupServiceImplTest {
     }
 
     @Test
-    void calculateScore_shouldInvokeSaveAll_whenSingleResultListExists() {
+    void calculateScore_shouldSaveChangedLists_whenSingleResultListExists() {
         Cup c = Cup.of(1L, "MyCup", CupType.ADD, Year.of(2024), List.of(EventId.of(1L)));
         Event event = Event.of(1L, "TestEvent");
         // EventId.of(99L) is not in cup.eventIds → ResultList.calculate() returns null (invalid)
@@ -164,8 +170,41 @@ class CupServiceImplTest {
 
         service.calculateScore(CupId.of(1L));
 
-        verify(cupScoreListRepository).saveAll(any());
-        verify(cupScoreListRepository).deleteAllByDomainKey(any());
+        verify(cupScoreListRepository).saveAllChanged(List.of());
+        verify(cupScoreListRepository, never()).deleteAllByDomainKey(any());
+    }
+
+    private ResultList scorableResultList() {
+        PersonRaceResult prr = PersonRaceResult.of("H21", 1L, null, null, 100.0, 1L, (byte) 1, ResultStatus.OK);
+        PersonResult pr = PersonResult.of(
+                ClassResultShortName.of("H21"), PersonId.of(1L), OrganisationId.of(1L), List.of(prr));
+        ClassResult cr = ClassResult.of("H21", "H21", Gender.M, List.of(pr), null);
+        return new ResultList(ResultListId.of(1L), EventId.of(1L), RaceId.of(1L), null, null, null, List.of(cr));
+    }
+
+    @Test
+    void calculateScore_recalculatesResultListsWithChangedInputs_only() {
+        Cup c = Cup.of(1L, "MyCup", CupType.ADD, Year.of(2024), List.of(EventId.of(1L)));
+        ResultList rl = scorableResultList();
+        when(cupRepository.findById(CupId.of(1L))).thenReturn(Optional.of(c));
+        when(eventService.getByIds(any())).thenReturn(List.of(Event.of(1L, "TestEvent")));
+        when(resultListService.findAllByEventIds(any())).thenReturn(Map.of(EventId.of(1L), List.of(rl)));
+        when(springSecurityAuditorAware.getCurrentAuditor()).thenReturn(Optional.of("test-user"));
+        when(cupScoreListRepository.saveAllChanged(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CupScoreList> first = service.calculateScore(CupId.of(1L));
+
+        assertThat(first).singleElement().satisfies(csl -> {
+            assertThat(csl.getResultListId()).isEqualTo(ResultListId.of(1L));
+            assertThat(csl.getInputHash()).isNotBlank();
+        });
+
+        // the stored hash matches: nothing to calculate or write
+        when(cupScoreListRepository.findInputHashesByResultListIdsAndCupId(any(), any()))
+                .thenReturn(Map.of(ResultListId.of(1L), first.getFirst().getInputHash()));
+
+        assertThat(service.calculateScore(CupId.of(1L))).isEmpty();
+        verify(cupScoreListRepository).saveAllChanged(List.of());
     }
 
     @Test
@@ -204,7 +243,8 @@ class CupServiceImplTest {
         when(raceService.findAllByEventIds(any())).thenReturn(List.of(race));
         when(eventService.findAllByIdAsMap(any())).thenReturn(Map.of(EventId.of(1L), event));
         when(resultListService.findAllByEventIds(any())).thenReturn(Map.of(EventId.of(1L), List.of(rl)));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(Map.of(OrganisationId.of(1L), org));
+        when(organisationHierarchyIndex.current())
+                .thenReturn(OrganisationHierarchy.of(List.of(org)));
 
         CupDetailed result = service.getCupDetailed(CupId.of(1L));
 
@@ -277,8 +317,8 @@ class CupServiceImplTest {
         when(raceService.findAllByEventIds(any())).thenReturn(List.of(race));
         when(eventService.findAllByIdAsMap(any())).thenReturn(Map.of(EventId.of(4L), event));
         when(resultListService.findAllByEventIds(any())).thenReturn(Map.of(EventId.of(4L), List.of(rl)));
-        when(organisationRepository.loadOrganisationTree(any()))
-                .thenReturn(Map.of(OrganisationId.of(2L), org));
+        when(organisationHierarchyIndex.current())
+                .thenReturn(OrganisationHierarchy.of(List.of(org)));
         when(personRepository.findAllById(any())).thenReturn(Map.of());
 
         CupDetailed result = service.getCupDetailed(CupId.of(1L));
@@ -309,7 +349,7 @@ class CupServiceImplTest {
         when(resultListService.getCupScoreListsByResultListIds(any(), any()))
                 .thenReturn(Map.of(ResultListId.of(3L), List.of(csl)));
         // Empty organisationById → KJStrategy.validClubs empty → all orgs valid
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(Map.of());
+        when(organisationHierarchyIndex.current()).thenReturn(OrganisationHierarchy.empty());
         when(organisationService.findAllById(any())).thenReturn(List.of(org));
         when(personRepository.findAllById(any())).thenReturn(Map.of());
 
@@ -319,4 +359,37 @@ class CupServiceImplTest {
         assertThat(result.getAggregatedPersonScoresList()).isEmpty(); // KJ is org-grouped → empty
     }
 
+    @Test
+    void getCupDetailed_servesRepeatedViewsFromCache_untilAnEventOfTheCupChanges() {
+        Cup c = Cup.of(1L, "MyCup", CupType.ADD, Year.of(2024), List.of(EventId.of(1L)));
+        ResultList rl = new ResultList(ResultListId.of(1L), EventId.of(1L), RaceId.of(1L),
+                null, null, null, null);
+        when(cupRepository.findById(CupId.of(1L))).thenReturn(Optional.of(c));
+        when(eventService.findAllByIdAsMap(any())).thenReturn(Map.of(EventId.of(1L), Event.of(1L, "TestEvent")));
+        when(resultListService.findAllByEventIds(any())).thenReturn(Map.of(EventId.of(1L), List.of(rl)));
+
+        CupDetailed first = service.getCupDetailed(CupId.of(1L));
+        cupStandingsCache.invalidateEvent(EventId.of(2L));
+        CupDetailed second = service.getCupDetailed(CupId.of(1L));
+        cupStandingsCache.invalidateEvent(EventId.of(1L));
+        CupDetailed third = service.getCupDetailed(CupId.of(1L));
+
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+        verify(resultListService, times(2)).findAllByEventIds(any());
+    }
+
+    @Test
+    void calculateScore_invalidatesCachedStandings() {
+        Cup c = cup(1L);
+        when(cupRepository.findById(CupId.of(1L))).thenReturn(Optional.of(c));
+        when(springSecurityAuditorAware.getCurrentAuditor()).thenReturn(Optional.of("test-user"));
+        when(cupScoreListRepository.saveAllChanged(any())).thenReturn(List.of());
+
+        CupDetailed before = service.getCupDetailed(CupId.of(1L));
+        service.calculateScore(CupId.of(1L));
+
+        assertThat(service.getCupDetailed(CupId.of(1L))).isNotSameAs(before);
+        verify(cupStandingsCache).invalidateCup(CupId.of(1L));
+    }
 }
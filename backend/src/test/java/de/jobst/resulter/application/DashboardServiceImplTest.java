@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -17,7 +19,8 @@ class DashboardServiceImplTest {
     @BeforeEach
     void setUp() {
         dashboardRepository = Mockito.mock(DashboardRepository.class);
-        dashboardService = new DashboardServiceImpl(dashboardRepository);
+        dashboardService = new DashboardServiceImpl(new DashboardStatisticsSnapshot(
+            dashboardRepository, Duration.ofMinutes(15), Duration.ZERO, Duration.ZERO, System::nanoTime));
     }
 
     @Test
@@ -0,0 +1,103 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.port.DashboardRepository;
+import de.jobst.resulter.application.port.DashboardStatisticsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class DashboardStatisticsSnapshotTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private DashboardRepository dashboardRepository;
+    private DashboardStatisticsSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        dashboardRepository = Mockito.mock(DashboardRepository.class);
+        when(dashboardRepository.countEvents()).thenReturn(10L);
+        when(dashboardRepository.countCups()).thenReturn(2L);
+        when(dashboardRepository.countPersons()).thenReturn(100L);
+        when(dashboardRepository.countCertificates()).thenReturn(5L);
+        snapshot = new DashboardStatisticsSnapshot(
+                dashboardRepository, Duration.ofMinutes(15), Duration.ZERO, Duration.ZERO, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.close();
+    }
+
+    @Test
+    void get_servesSnapshotWithinMaxAge() {
+        snapshot.get();
+        clock.addAndGet(Duration.ofMinutes(14).toNanos());
+
+        assertThat(snapshot.get().eventCount()).isEqualTo(10L);
+        verify(dashboardRepository, times(1)).countEvents();
+    }
+
+    @Test
+    void get_recountsSnapshotOlderThanMaxAge() {
+        snapshot.get();
+        when(dashboardRepository.countEvents()).thenReturn(11L);
+        clock.addAndGet(Duration.ofMinutes(16).toNanos());
+
+        assertThat(snapshot.get().eventCount()).isEqualTo(11L);
+        verify(dashboardRepository, times(2)).countEvents();
+    }
+
+    @Test
+    void adjust_changesOnlyTheCounterWithoutQuery() {
+        snapshot.get();
+
+        snapshot.adjust(DashboardStatisticsSnapshot.Counter.PERSONS, -1);
+        snapshot.adjust(DashboardStatisticsSnapshot.Counter.CERTIFICATES, 3);
+        snapshot.adjust(DashboardStatisticsSnapshot.Counter.CUPS, -5);
+
+        DashboardStatisticsDto statistics = snapshot.get();
+        assertThat(statistics.personCount()).isEqualTo(99L);
+        assertThat(statistics.certificateCount()).isEqualTo(8L);
+        assertThat(statistics.cupCount()).isZero();
+        assertThat(statistics.eventCount()).isEqualTo(10L);
+        verify(dashboardRepository, times(1)).countPersons();
+    }
+
+    @Test
+    void changed_recountsInBackground() {
+        snapshot.get();
+        when(dashboardRepository.countEvents()).thenReturn(12L);
+
+        snapshot.changed();
+
+        verify(dashboardRepository, timeout(5000).times(2)).countCertificates();
+        assertThat(snapshot.get().eventCount()).isEqualTo(12L);
+    }
+
+    @Test
+    void start_reconcilesPeriodically() {
+        try (DashboardStatisticsSnapshot reconciling = new DashboardStatisticsSnapshot(
+                dashboardRepository, Duration.ofMinutes(15), Duration.ofMillis(20), Duration.ZERO, clock::get)) {
+            reconciling.get();
+
+            reconciling.start();
+
+            verify(dashboardRepository, timeout(5000).atLeast(3)).countEvents();
+        }
+    }
+
+    @Test
+    void changed_beforeFirstRead_doesNotCount() {
+        snapshot.changed();
+        snapshot.reconcile();
+
+        verifyNoInteractions(dashboardRepository);
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.jobst.resulter.application.certificate.CertificateTemplateCache;
 import de.jobst.resulter.application.port.EventCertificateRepository;
 import de.jobst.resulter.application.port.EventRepository;
 import de.jobst.resulter.application.port.MediaFileRepository;
@@ -20,6 +21,7 @@ import de.jobst.resulter.domain.EventCertificateName;
 import de.jobst.resulter.domain.EventId;
 import de.jobst.resulter.domain.MediaFile;
 import de.jobst.resulter.domain.MediaFileId;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,7 +48,8 @@ class EventCertificateServiceImplTest {
                 personRepository,
                 organisationRepository,
                 eventRepository,
-                mediaFileRepository);
+                mediaFileRepository,
+                new CertificateTemplateCache(16, Duration.ofHours(1)));
     }
 
     @Test
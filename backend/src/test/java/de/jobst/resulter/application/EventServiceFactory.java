@@ -2,6 +2,9 @@ package de.jobst.resulter.application;
 
 import de.jobst.resulter.application.port.*;
 import org.jetbrains.annotations.NotNull;
+import org.mockito.Mockito;
+
+import java.time.Duration;
 
 public class EventServiceFactory {
 
@@ -15,7 +18,9 @@ public class EventServiceFactory {
             personRepository,
             organisationRepository,
             eventCertificateRepository,
-            eventCertificateStatRepository);
+            eventCertificateStatRepository,
+            new CupStandingsCache(new ContentVersions(), 16, Duration.ofHours(1)),
+            Mockito.mock(DashboardStatisticsSnapshot.class));
     }
 
 }
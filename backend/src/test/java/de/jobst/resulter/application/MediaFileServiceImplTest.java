@@ -1,6 +1,7 @@
 package de.jobst.resulter.application;
 
 import de.jobst.resulter.application.port.MediaFileRepository;
+import de.jobst.resulter.application.util.PrimaryReads;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.domain.util.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -287,4 +289,84 @@ class MediaFileServiceImplTest {
         assertThat(result.getMediaFileName().value()).isEqualTo("photo.jpg");
         verify(mediaFileRepository).save(any());
     }
+
+    // --- getThumbnail tests ---
+
+    private MediaFile jpegWithThumbnail(Path thumbDir, byte[] thumbnail) throws IOException {
+        java.nio.file.Files.write(thumbDir.resolve("photo.thumbnail.jpg"), thumbnail);
+        ReflectionTestUtils.setField(service, "mediaFileThumbnailsPath", thumbDir + File.separator);
+        return MediaFile.of(3L, "photo.jpg", "photo.thumbnail.jpg", "image/jpeg", 100L);
+    }
+
+    @Test
+    void getThumbnail_loadsOnce_untilTheMediaFileChanges(@TempDir Path tempDir) throws Exception {
+        MediaFile mf = jpegWithThumbnail(tempDir, new byte[] {1, 2, 3});
+        when(mediaFileRepository.findById(MediaFileId.of(3L))).thenReturn(Optional.of(mf));
+
+        var first = service.getThumbnail(MediaFileId.of(3L));
+        // changed on disk behind the service's back: still served from the cache without a repository lookup
+        java.nio.file.Files.delete(tempDir.resolve("photo.thumbnail.jpg"));
+        var second = service.getThumbnail(MediaFileId.of(3L));
+
+        assertThat(first.orElseThrow().content()).containsExactly(1, 2, 3);
+        assertThat(first.get().eTag()).startsWith("\"").endsWith("\"");
+        assertThat(second).containsSame(first.get());
+        verify(mediaFileRepository, times(1)).findById(MediaFileId.of(3L));
+    }
+
+    @Test
+    void getThumbnail_reloads_afterUpdate(@TempDir Path tempDir) throws Exception {
+        MediaFile mf = jpegWithThumbnail(tempDir, new byte[] {1, 2, 3});
+        when(mediaFileRepository.findById(MediaFileId.of(3L))).thenReturn(Optional.of(mf));
+        when(mediaFileRepository.save(mf)).thenReturn(mf);
+        var first = service.getThumbnail(MediaFileId.of(3L)).orElseThrow();
+
+        java.nio.file.Files.write(tempDir.resolve("photo.thumbnail.jpg"), new byte[] {4, 5});
+        service.update(MediaFileId.of(3L),
+                MediaFileName.of("photo.jpg"),
+                MediaFileContentType.of("image/jpeg"),
+                MediaFileSize.of(100L),
+                null);
+        var second = service.getThumbnail(MediaFileId.of(3L)).orElseThrow();
+
+        assertThat(second.content()).containsExactly(4, 5);
+        assertThat(second.eTag()).isNotEqualTo(first.eTag());
+    }
+
+    @Test
+    void getThumbnail_returnsEmpty_afterDelete(@TempDir Path tempDir) throws Exception {
+        MediaFile mf = jpegWithThumbnail(tempDir, new byte[] {1, 2, 3});
+        when(mediaFileRepository.findById(MediaFileId.of(3L))).thenReturn(Optional.of(mf), Optional.empty());
+        assertThat(service.getThumbnail(MediaFileId.of(3L))).isPresent();
+
+        service.delete(MediaFileId.of(3L));
+
+        assertThat(service.getThumbnail(MediaFileId.of(3L))).isEmpty();
+    }
+
+    @Test
+    void getThumbnail_readsTheMediaFileFromThePrimary() {
+        List<Boolean> primaryReads = new ArrayList<>();
+        when(mediaFileRepository.findById(MediaFileId.of(5L))).thenAnswer(invocation -> {
+            primaryReads.add(PrimaryReads.isActive());
+            return Optional.empty();
+        });
+
+        assertThat(service.getThumbnail(MediaFileId.of(5L))).isEmpty();
+        assertThat(primaryReads).containsExactly(true);
+    }
+
+    @Test
+    void getThumbnail_returnsEmpty_forTypesWithoutThumbnail() {
+        when(mediaFileRepository.findById(MediaFileId.of(1L))).thenReturn(Optional.of(mediaFile(1L)));
+        assertThat(service.getThumbnail(MediaFileId.of(1L))).isEmpty();
+    }
+
+    @Test
+    void getThumbnail_returnsEmpty_whenFileIsMissing(@TempDir Path tempDir) {
+        ReflectionTestUtils.setField(service, "mediaFileThumbnailsPath", tempDir + File.separator);
+        when(mediaFileRepository.findById(MediaFileId.of(3L)))
+                .thenReturn(Optional.of(MediaFile.of(3L, "photo.jpg", "missing.jpg", "image/jpeg", 100L)));
+        assertThat(service.getThumbnail(MediaFileId.of(3L))).isEmpty();
+    }
 }
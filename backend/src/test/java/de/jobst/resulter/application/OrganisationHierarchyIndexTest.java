@@ -0,0 +1,52 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.port.OrganisationRepository;
+import de.jobst.resulter.domain.Organisation;
+import de.jobst.resulter.domain.OrganisationHierarchy;
+import de.jobst.resulter.domain.OrganisationId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class OrganisationHierarchyIndexTest {
+
+    private final OrganisationRepository organisationRepository = mock(OrganisationRepository.class);
+    private final OrganisationHierarchyIndex index = new OrganisationHierarchyIndex(organisationRepository);
+
+    private final Organisation region =
+            Organisation.of(1L, "Region", "REG", "Other", null, List.of(OrganisationId.of(2L)));
+    private final Organisation club = Organisation.of(2L, "Club", "CC", "Other", null, List.of());
+
+    @Test
+    void current_loadsOnceUntilOrganisationsChange() {
+        when(organisationRepository.findAll()).thenReturn(List.of(region, club));
+
+        OrganisationHierarchy first = index.current();
+
+        assertThat(index.current()).isSameAs(first);
+        assertThat(first.isPartOf(club.getId(), region.getId())).isTrue();
+        verify(organisationRepository, times(1)).findAll();
+
+        index.organisationsChanged();
+        OrganisationHierarchy second = index.current();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.version()).isGreaterThan(first.version());
+        verify(organisationRepository, times(2)).findAll();
+    }
+
+    @Test
+    void organisationsFoundOrCreated_reloadsOnlyForNewOrganisations() {
+        when(organisationRepository.findAll()).thenReturn(List.of(region));
+        OrganisationHierarchy first = index.current();
+
+        index.organisationsFoundOrCreated(List.of(region));
+        assertThat(index.current()).isSameAs(first);
+
+        index.organisationsFoundOrCreated(List.of(region, club));
+        assertThat(index.current()).isNotSameAs(first);
+    }
+}
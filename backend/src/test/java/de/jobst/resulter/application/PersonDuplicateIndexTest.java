@@ -0,0 +1,117 @@
+package de.jobst.resulter.application;
+
+import de.jobst.resulter.application.port.PersonRepository;
+import de.jobst.resulter.application.util.PrimaryReads;
+import de.jobst.resulter.domain.Gender;
+import de.jobst.resulter.domain.Person;
+import de.jobst.resulter.domain.PersonId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PersonDuplicateIndexTest {
+
+    private final PersonRepository personRepository = mock(PersonRepository.class);
+    private final PersonDuplicateIndex index = new PersonDuplicateIndex(personRepository);
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void blockingKeys_phoneticVariantsShareABlock() {
+        Person meier = Person.of(1L, "Meier", "Hans", null, Gender.M);
+        Person mayer = Person.of(2L, "Mayer", "Hans", null, Gender.M);
+        Person mueller = Person.of(3L, "Müller", "Hans", null, Gender.M);
+
+        assertThat(PersonDuplicateIndex.isCandidate(meier, mayer)).isTrue();
+        assertThat(PersonDuplicateIndex.isCandidate(meier, mueller)).isFalse();
+    }
+
+    @Test
+    void blockingKeys_sameGivenNameAndBirthYearShareABlock() {
+        Person person = Person.of(1L, "Schulze", "Anna", LocalDate.of(1990, 3, 1), Gender.F);
+        Person renamed = Person.of(2L, "Krüger", "Anna", LocalDate.of(1990, 3, 2), Gender.F);
+
+        assertThat(PersonDuplicateIndex.isCandidate(person, renamed)).isTrue();
+    }
+
+    @Test
+    void normalize_removesDiacriticsAndSeparators() {
+        assertThat(PersonDuplicateIndex.normalize("Groß-Müller ")).isEqualTo("grossmuller");
+        assertThat(PersonDuplicateIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void matcher_comparesOnlyPersonsOfTheSameBlock() {
+        List<Person> persons = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            persons.add(Person.of(i, "Name" + (char) ('A' + i % 26) + "x" + i, "Given", null, Gender.M));
+        }
+        persons.add(Person.of(101L, "Zimmermann", "Eva", null, Gender.F));
+        persons.add(Person.of(102L, "Zimmermann", "Eva", null, Gender.F));
+
+        PersonDuplicateIndex.Matcher matcher = PersonDuplicateIndex.Matcher.of(persons);
+
+        assertThat(matcher.matches(PersonId.of(101L))).containsOnlyKeys(PersonId.of(102L));
+        assertThat(matcher.doubles(PersonId.of(102L))).extracting(Person::id).containsExactly(PersonId.of(101L));
+    }
+
+    @Test
+    void findDoubles_buildsIndexOnceAndSortsBySimilarity() {
+        Person person = Person.of(1L, "Meier", "Hans", LocalDate.of(1980, 5, 1), Gender.M);
+        Person same = Person.of(2L, "Meier", "Hans", LocalDate.of(1980, 5, 1), Gender.M);
+        Person similar = Person.of(3L, "Maier", "Hans", null, Gender.M);
+        Person other = Person.of(4L, "Schmidt", "Petra", null, Gender.F);
+        when(personRepository.findAll()).thenReturn(List.of(person, same, similar, other));
+
+        assertThat(index.findDoubles(PersonId.of(1L))).containsExactly(same, similar);
+        assertThat(index.findDoubles(PersonId.of(4L))).isEmpty();
+        verify(personRepository, times(1)).findAll();
+    }
+
+    @Test
+    void personsChanged_reindexesCreatedAndRemovedPersons() {
+        Person person = Person.of(1L, "Meier", "Hans", null, Gender.M);
+        Person same = Person.of(2L, "Meier", "Hans", null, Gender.M);
+        when(personRepository.findAll()).thenReturn(List.of(person, same));
+        assertThat(index.findDoubles(PersonId.of(1L))).containsExactly(same);
+
+        Person imported = Person.of(3L, "Meyer", "Hans", null, Gender.M);
+        when(personRepository.findAllById(any())).thenReturn(Map.of(PersonId.of(3L), imported));
+        index.personsChanged(Set.of(PersonId.of(2L), PersonId.of(3L)));
+
+        assertThat(index.findDoubles(PersonId.of(1L))).containsExactly(imported);
+        assertThat(index.findDoubles(PersonId.of(2L))).isEmpty();
+        verify(personRepository, times(1)).findAll();
+    }
+
+    @Test
+    void personsChanged_readsFromThePrimary() {
+        List<Boolean> primaryReads = new ArrayList<>();
+        when(personRepository.findAll()).thenAnswer(invocation -> {
+            primaryReads.add(PrimaryReads.isActive());
+            return List.of(Person.of(1L, "Meier", "Hans", null, Gender.M));
+        });
+        when(personRepository.findAllById(any())).thenAnswer(invocation -> {
+            primaryReads.add(PrimaryReads.isActive());
+            return Map.of();
+        });
+
+        index.findDoubles(PersonId.of(1L));
+        index.personsChanged(Set.of(PersonId.of(2L)));
+        index.findDoubles(PersonId.of(1L));
+
+        assertThat(primaryReads).containsExactly(true, true);
+    }
+}
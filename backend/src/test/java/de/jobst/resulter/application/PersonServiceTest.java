@@ -1,5 +1,7 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisResultStore;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.domain.Gender;
 import de.jobst.resulter.domain.Person;
@@ -26,7 +28,9 @@ class PersonServiceTest {
         CupScoreListRepository cupScoreListRepository = Mockito.mock(CupScoreListRepository.class);
         EventCertificateStatRepository eventCertificateStatRepository = Mockito.mock(EventCertificateStatRepository.class);
         personService = new PersonServiceImpl(personRepository, resultListRepository, splitTimeListRepository,
-            cupScoreListRepository, eventCertificateStatRepository);
+            cupScoreListRepository, eventCertificateStatRepository, Mockito.mock(AnalysisSnapshotCache.class),
+            Mockito.mock(AnalysisResultStore.class), Mockito.mock(CupStandingsCache.class),
+            new PersonDuplicateIndex(personRepository), Mockito.mock(DashboardStatisticsSnapshot.class));
     }
 
     @Test
@@ -1,12 +1,16 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisPrecomputeService;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
 import de.jobst.resulter.application.port.*;
 import de.jobst.resulter.domain.*;
 import de.jobst.resulter.springapp.config.SpringSecurityAuditorAware;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
@@ -19,7 +23,9 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +43,12 @@ class ResultListServiceImplTest {
     @Mock EventCertificateService eventCertificateService;
     @Mock MediaFileService mediaFileService;
     @Mock SplitTimeListRepository splitTimeListRepository;
+    @Mock AnalysisSnapshotCache analysisSnapshotCache;
+    @Mock AnalysisPrecomputeService analysisPrecomputeService;
+    @Mock CupStandingsCache cupStandingsCache;
+    @Mock DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
+    @Spy OrganisationHierarchyIndex organisationHierarchyIndex =
+            new OrganisationHierarchyIndex(mock(OrganisationRepository.class));
 
     @InjectMocks
     ResultListServiceImpl service;
@@ -77,6 +89,17 @@ class ResultListServiceImplTest {
         assertThat(service.update(rl)).isEqualTo(rl);
     }
 
+    @Test
+    void update_invalidatesAndPrecomputesAnalyses() {
+        ResultList rl = resultList(1L);
+        when(resultListRepository.update(rl)).thenReturn(rl);
+
+        service.update(rl);
+
+        verify(analysisSnapshotCache).invalidate(ResultListId.of(1L));
+        verify(analysisPrecomputeService).resultListChanged(ResultListId.of(1L));
+    }
+
     @Test
     void findByEventId_delegatesToRepository() {
         when(resultListRepository.findByEventId(EventId.of(1L))).thenReturn(List.of(resultList(1L)));
@@ -264,7 +287,7 @@ class ResultListServiceImplTest {
 
         when(resultListRepository.findById(ResultListId.of(1L))).thenReturn(Optional.of(rl));
         when(cupRepository.findByEvent(EventId.of(1L))).thenReturn(List.of(cup));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(Map.of());
+        when(organisationHierarchyIndex.current()).thenReturn(OrganisationHierarchy.empty());
         when(springSecurityAuditorAware.getCurrentAuditor()).thenReturn(Optional.of("user"));
         // 1 ResultList → shouldDeleteEventWide = true → deleteAllByEventId
         when(resultListRepository.findByEventId(EventId.of(1L))).thenReturn(List.of(rl));
@@ -274,6 +297,8 @@ class ResultListServiceImplTest {
 
         verify(cupScoreListRepository).deleteAllByEventId(EventId.of(1L));
         verify(cupScoreListRepository, never()).deleteAllByDomainKey(any());
+        verify(cupScoreListRepository).saveAll(argThat(cupScoreLists ->
+                cupScoreLists.size() == 1 && cupScoreLists.getFirst().getInputHash() != null));
     }
 
     @Test
@@ -289,7 +314,7 @@ class ResultListServiceImplTest {
 
         when(resultListRepository.findById(ResultListId.of(1L))).thenReturn(Optional.of(rl1));
         when(cupRepository.findByEvent(EventId.of(1L))).thenReturn(List.of(cup));
-        when(organisationRepository.loadOrganisationTree(any())).thenReturn(Map.of());
+        when(organisationHierarchyIndex.current()).thenReturn(OrganisationHierarchy.empty());
         when(springSecurityAuditorAware.getCurrentAuditor()).thenReturn(Optional.of("user"));
         // 2 ResultLists auf verschiedenen Tagen → shouldDeleteEventWide = false → deleteAllByDomainKey
         when(resultListRepository.findByEventId(EventId.of(1L))).thenReturn(List.of(rl1, rl2));
@@ -352,4 +377,115 @@ class ResultListServiceImplTest {
         assertThat(result).isNotNull();
         verify(eventCertificateStatRepository).save(any());
     }
+
+    private static PersonResult personResult(String classShortName, long personId, @Nullable Long position) {
+        PersonRaceResult prr = PersonRaceResult.of(
+                classShortName, personId, null, null, 100.0, position, (byte) 1, ResultStatus.OK);
+        return PersonResult.of(ClassResultShortName.of(classShortName), PersonId.of(personId),
+                OrganisationId.of(7L), List.of(prr));
+    }
+
+    @Test
+    void prepareCertificates_filtersByClassAndTopN_withOneLookupPerKind() {
+        ClassResult h21 = ClassResult.of("H21", "H21", Gender.M, List.of(
+                personResult("H21", 3L, 3L),
+                personResult("H21", 1L, 1L),
+                personResult("H21", 4L, null),
+                personResult("H21", 2L, 2L)), null);
+        ClassResult d21 = ClassResult.of("D21", "D21", Gender.F, List.of(personResult("D21", 5L, 1L)), null);
+        ResultList rl = new ResultList(ResultListId.of(1L), EventId.of(1L), RaceId.empty(),
+                null, null, null, List.of(h21, d21));
+        Event event = Event.of(1L, "TestEvent", null, null, List.of(), null,
+                EventCertificateId.of(1L), Discipline.getDefault(), false);
+        EventCertificate eventCert = EventCertificate.of(1L, "TestCert", null, null, null, false);
+        when(resultListRepository.findById(ResultListId.of(1L))).thenReturn(Optional.of(rl));
+        when(eventRepository.findById(EventId.of(1L))).thenReturn(Optional.of(event));
+        when(eventCertificateService.getById(EventCertificateId.of(1L))).thenReturn(eventCert);
+        when(personRepository.findAllById(Set.of(PersonId.of(1L), PersonId.of(2L)))).thenReturn(Map.of(
+                PersonId.of(1L), Person.of(1L, "Eins", "Max", null, Gender.M),
+                PersonId.of(2L), Person.of(2L, "Zwei", "Moritz", null, Gender.M)));
+        when(organisationRepository.findAllById(Set.of(OrganisationId.of(7L))))
+                .thenReturn(Map.of(OrganisationId.of(7L), Organisation.of(7L, "TestOrg", "TO")));
+
+        var batch = service.prepareCertificates(ResultListId.of(1L), List.of(ClassResultShortName.of("H21")), 2);
+
+        assertThat(batch).isPresent();
+        assertThat(batch.get().eventCertificate()).isSameAs(eventCert);
+        assertThat(batch.get().recipients())
+                .extracting(x -> x.person().personName().familyName().value())
+                .containsExactly("Eins", "Zwei");
+        assertThat(batch.get().recipients()).allSatisfy(x -> assertThat(x.organisation()).isNotNull());
+        verify(personRepository, never()).findById(any());
+        verify(organisationRepository, never()).findById(any());
+    }
+
+    @Test
+    void prepareCertificates_returnsEmpty_whenEventHasNoCertificate() {
+        ResultList rl = new ResultList(ResultListId.of(1L), EventId.of(1L), RaceId.empty(),
+                null, null, null, List.of());
+        when(resultListRepository.findById(ResultListId.of(1L))).thenReturn(Optional.of(rl));
+        when(eventRepository.findById(EventId.of(1L))).thenReturn(Optional.of(Event.of(1L, "TestEvent")));
+
+        assertThat(service.prepareCertificates(ResultListId.of(1L), List.of(), null)).isEmpty();
+    }
+
+    @Test
+    void writeCertificates_savesStatsInOneBatch() throws Exception {
+        Event event = Event.of(1L, "TestEvent");
+        EventCertificate eventCert = EventCertificate.of(1L, "TestCert", null, null, null, false);
+        List<CertificateService.Recipient> recipients = List.of(
+                new CertificateService.Recipient(Person.of(1L, "Eins", "Max", null, Gender.M), null,
+                        personResult("H21", 1L, 1L).personRaceResults().value().iterator().next()),
+                new CertificateService.Recipient(Person.of(2L, "Zwei", "Moritz", null, Gender.M), null,
+                        personResult("H21", 2L, 2L).personRaceResults().value().iterator().next()));
+        var batch = new ResultListService.CertificateBatch(event, eventCert, recipients);
+        var outputStream = new java.io.ByteArrayOutputStream();
+        when(certificateService.writeCertificates(
+                event, eventCert, recipients, CertificateService.BatchFormat.PDF, mediaFileService, outputStream))
+                .thenReturn(2);
+
+        service.writeCertificates(batch, CertificateService.BatchFormat.PDF, outputStream);
+
+        verify(eventCertificateStatRepository).saveAll(argThat(stats -> stats.size() == 2
+                && stats.stream().allMatch(x -> x.getEvent().equals(EventId.of(1L)))));
+        verify(eventCertificateStatRepository, never()).save(any());
+        verify(dashboardStatisticsSnapshot).adjust(DashboardStatisticsSnapshot.Counter.CERTIFICATES, 2);
+    }
+
+    @Test
+    void writeCertificates_savesNoStats_whenNothingWasWritten() throws Exception {
+        Event event = Event.of(1L, "TestEvent");
+        EventCertificate eventCert = EventCertificate.of(1L, "TestCert", null, null, null, false);
+        List<CertificateService.Recipient> recipients = List.of(
+                new CertificateService.Recipient(Person.of(1L, "Eins", "Max", null, Gender.M), null,
+                        personResult("H21", 1L, 1L).personRaceResults().value().iterator().next()));
+        var batch = new ResultListService.CertificateBatch(event, eventCert, recipients);
+        var outputStream = new java.io.ByteArrayOutputStream();
+        when(certificateService.writeCertificates(
+                event, eventCert, recipients, CertificateService.BatchFormat.ZIP, mediaFileService, outputStream))
+                .thenReturn(0);
+
+        service.writeCertificates(batch, CertificateService.BatchFormat.ZIP, outputStream);
+
+        verifyNoInteractions(eventCertificateStatRepository, dashboardStatisticsSnapshot);
+    }
+
+    @Test
+    void prepareCertificates_throws_whenLayoutIsInvalid() {
+        ResultList rl = new ResultList(ResultListId.of(1L), EventId.of(1L), RaceId.empty(),
+                null, null, null, List.of());
+        Event event = Event.of(1L, "TestEvent", null, null, List.of(), null,
+                EventCertificateId.of(1L), Discipline.getDefault(), false);
+        EventCertificate eventCert = EventCertificate.of(1L, "TestCert", null, null, null, false);
+        when(resultListRepository.findById(ResultListId.of(1L))).thenReturn(Optional.of(rl));
+        when(eventRepository.findById(EventId.of(1L))).thenReturn(Optional.of(event));
+        when(eventCertificateService.getById(EventCertificateId.of(1L))).thenReturn(eventCert);
+        when(certificateService.validateLayout(eventCert, mediaFileService))
+                .thenReturn(List.of("required property 'paragraphs' not found"));
+
+        assertThatThrownBy(() -> service.prepareCertificates(ResultListId.of(1L), List.of(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("paragraphs");
+        verifyNoInteractions(personRepository);
+    }
 }
@@ -1,5 +1,8 @@
 package de.jobst.resulter.application;
 
+import de.jobst.resulter.application.analysis.AnalysisResultStore;
+import de.jobst.resulter.application.analysis.AnalysisSnapshotCache;
+import de.jobst.resulter.application.certificate.CertificateTemplateCache;
 import de.jobst.resulter.application.port.CountryRepository;
 import de.jobst.resulter.application.port.CourseRepository;
 import de.jobst.resulter.application.port.CupScoreListRepository;
@@ -215,6 +218,9 @@ class SimpleServiceImplTest {
     // -------------------------------------------------------------------------
 
     @Mock OrganisationRepository organisationRepository;
+    @Mock CupStandingsCache cupStandingsCache;
+    @Mock DashboardStatisticsSnapshot dashboardStatisticsSnapshot;
+    @Mock OrganisationHierarchyIndex organisationHierarchyIndex;
     @InjectMocks OrganisationServiceImpl organisationService;
 
     @Test
@@ -348,6 +354,9 @@ class SimpleServiceImplTest {
     @Mock ResultListRepository resultListRepository;
     @Mock CupScoreListRepository cupScoreListRepository;
     @Mock EventCertificateStatRepository eventCertificateStatRepository;
+    @Mock AnalysisSnapshotCache analysisSnapshotCache;
+    @Mock AnalysisResultStore analysisResultStore;
+    @Mock PersonDuplicateIndex personDuplicateIndex;
     @InjectMocks PersonServiceImpl personService;
 
     @Test
@@ -448,6 +457,7 @@ class SimpleServiceImplTest {
         when(personRepository.findById(PersonId.of(1L))).thenReturn(Optional.of(person));
         personService.deletePerson(PersonId.of(1L));
         verify(personRepository).delete(person);
+        verify(personDuplicateIndex).personsChanged(List.of(PersonId.of(1L)));
     }
 
     @Test
@@ -485,11 +495,9 @@ class SimpleServiceImplTest {
     }
 
     @Test
-    void personService_findDoubles_viaPersonId_usesRepository() {
-        Person base = Person.of(1L, "Müller", "Hans", null, Gender.M);
+    void personService_findDoubles_viaPersonId_usesDuplicateIndex() {
         Person similar = Person.of(2L, "Müller", "Hans", null, Gender.M);
-        when(personRepository.findById(PersonId.of(1L))).thenReturn(Optional.of(base));
-        when(personRepository.findAll()).thenReturn(List.of(base, similar));
+        when(personDuplicateIndex.findDoubles(PersonId.of(1L))).thenReturn(List.of(similar));
         var result = personService.findDoubles(PersonId.of(1L));
         assertThat(result).hasSize(1);
     }
@@ -764,6 +772,7 @@ class SimpleServiceImplTest {
     // -------------------------------------------------------------------------
 
     @Mock MediaFileRepository mediaFileRepository;
+    @Mock CertificateTemplateCache certificateTemplateCache;
     @InjectMocks EventCertificateServiceImpl eventCertService;
 
     @Test
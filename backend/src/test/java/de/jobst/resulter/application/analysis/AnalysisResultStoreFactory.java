@@ -0,0 +1,12 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.port.AnalysisResultRepository;
+
+import static org.mockito.Mockito.mock;
+
+public class AnalysisResultStoreFactory {
+
+    public static AnalysisResultStore disabled() {
+        return new AnalysisResultStore(mock(AnalysisResultRepository.class), false);
+    }
+}
@@ -0,0 +1,118 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.port.AnalysisResultRepository;
+import de.jobst.resulter.domain.*;
+import de.jobst.resulter.domain.analysis.*;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.type.TypeReference;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AnalysisResultStoreTest {
+
+    private static final ResultListId RESULT_LIST_ID = ResultListId.of(7L);
+
+    private final AnalysisResultRepository repository = mock(AnalysisResultRepository.class);
+
+    private static SplitTimeAnalysis ranking() {
+        RunnerSplit split = new RunnerSplit(PersonId.of(1L), "H21", 1, 61.5, 0.0, false);
+        ControlSegment segment = new ControlSegment(ControlCode.of("31"), ControlCode.of("32"), List.of(split),
+                List.of("H21"), false);
+        SequenceRunnerSplit sequenceSplit = new SequenceRunnerSplit(PersonId.of(1L), "H21", 1, 120.0, 0.0,
+                List.of(61.5, 58.5));
+        ControlSequenceSegment sequence = new ControlSequenceSegment(
+                List.of(ControlCode.of("31"), ControlCode.of("32"), ControlCode.of("33")), List.of(sequenceSplit),
+                List.of("H21", "D21"));
+        return new SplitTimeAnalysis(RESULT_LIST_ID, EventId.of(3L), ClassResultShortName.of("H21"),
+                List.of(segment), List.of(sequence));
+    }
+
+    private static HangingAnalysis hanging() {
+        HangingPair pair = new HangingPair(2, ControlCode.of("31"), ControlCode.of("32"), PersonId.of(2L), "D21",
+                RaceNumber.of((byte) 1), 12.0, new PerformanceIndex(0.9), new PerformanceIndex(0.8),
+                new HangingIndex(0.8), 90.0, 80.0, 100.0);
+        RunnerHangingProfile profile = new RunnerHangingProfile(PersonId.of(1L), "H21", RaceNumber.of((byte) 1),
+                PunchTime.of(3600.0), 12, true, new PerformanceIndex(1.1), List.of(pair), 0.8,
+                HangingClassification.values()[0], 9);
+        return new HangingAnalysis(RESULT_LIST_ID, EventId.of(3L), List.of(profile),
+                new HangingStatistics(1, 1, 1, 0, 1, 0.8, null));
+    }
+
+    @Test
+    void getOrCompute_computesWithoutStorage_whenDisabled() {
+        AnalysisResultStore store = new AnalysisResultStore(repository, false);
+
+        String result = store.getOrCompute(RESULT_LIST_ID, "ranking", "all", new TypeReference<>() {}, () -> "live");
+
+        assertThat(result).isEqualTo("live");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getOrCompute_servesStoredResult_withoutComputing() {
+        AnalysisResultStore store = new AnalysisResultStore(repository, true);
+        when(repository.find(RESULT_LIST_ID, "hanging", "all")).thenReturn(Optional.of(store.write(hanging())));
+        AtomicInteger computations = new AtomicInteger();
+
+        HangingAnalysis result = store.getOrCompute(RESULT_LIST_ID, "hanging", "all", new TypeReference<>() {},
+                () -> {
+                    computations.incrementAndGet();
+                    return hanging();
+                });
+
+        assertThat(result).isEqualTo(hanging());
+        assertThat(computations).hasValue(0);
+        verify(repository, never()).save(any(), anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void getOrCompute_storesComputedResult_withVersionReadBeforeComputation() {
+        AnalysisResultStore store = new AnalysisResultStore(repository, true);
+        when(repository.currentVersion(RESULT_LIST_ID)).thenReturn(4L);
+        when(repository.find(RESULT_LIST_ID, "ranking", "merge=false")).thenReturn(Optional.empty());
+
+        List<SplitTimeAnalysis> result = store.getOrCompute(RESULT_LIST_ID, "ranking", "merge=false",
+                new TypeReference<>() {}, () -> {
+                    when(repository.currentVersion(RESULT_LIST_ID)).thenReturn(5L);
+                    return List.of(ranking());
+                });
+
+        assertThat(result).containsExactly(ranking());
+        verify(repository).save(eq(RESULT_LIST_ID), eq("ranking"), eq("merge=false"), eq(4L), any());
+    }
+
+    @Test
+    void getOrCompute_computesLive_whenStoredResultIsNotReadable() {
+        AnalysisResultStore store = new AnalysisResultStore(repository, true);
+        when(repository.find(RESULT_LIST_ID, "hanging", "all")).thenReturn(Optional.of(new byte[] {1, 2, 3}));
+
+        HangingAnalysis result = store.getOrCompute(RESULT_LIST_ID, "hanging", "all", new TypeReference<>() {},
+                AnalysisResultStoreTest::hanging);
+
+        assertThat(result).isEqualTo(hanging());
+        verify(repository).save(eq(RESULT_LIST_ID), eq("hanging"), eq("all"), eq(0L), any());
+    }
+
+    @Test
+    void write_read_roundTripsAnalysisResults() {
+        AnalysisResultStore store = new AnalysisResultStore(repository, true);
+        SplitTimeTable table = new SplitTimeTable("CLASS", "H21", List.of("H21"), List.of("S", "31", "F"),
+                List.of(new SplitTimeTableRow(1L, "Muster, Max", "H21", List.of(new SplitTimeTableCell("31", 61.5, 1,
+                        61.5, 1, true, ErrorSeverity.values()[0], null, true, true)), false, false, 300.0, 1)),
+                new SplitTimeTableMetadata(1, 1, 3, false, 300.0));
+
+        assertThat(store.read(store.write(List.of(ranking())), new TypeReference<List<SplitTimeAnalysis>>() {}))
+                .containsExactly(ranking());
+        assertThat(store.read(store.write(hanging()), new TypeReference<HangingAnalysis>() {})).isEqualTo(hanging());
+        assertThat(store.read(store.write(table), new TypeReference<SplitTimeTable>() {})).isEqualTo(table);
+    }
+}
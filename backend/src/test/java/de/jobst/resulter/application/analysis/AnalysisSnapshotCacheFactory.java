@@ -0,0 +1,33 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.ContentVersions;
+import de.jobst.resulter.application.port.PersonRepository;
+import de.jobst.resulter.application.port.ResultListRepository;
+import de.jobst.resulter.application.port.SplitTimeListRepository;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+
+public class AnalysisSnapshotCacheFactory {
+
+    public static AnalysisSnapshotCache createWith(SplitTimeListRepository splitTimeListRepository,
+                                                   ResultListRepository resultListRepository,
+                                                   PersonRepository personRepository,
+                                                   SplitTimeAnalysisServiceImpl splitTimeAnalysisService) {
+        return new AnalysisSnapshotCache(splitTimeListRepository,
+            resultListRepository,
+            personRepository,
+            splitTimeAnalysisService,
+            new ContentVersions(),
+            32,
+            Duration.ZERO);
+    }
+
+    public static AnalysisSnapshotCache createWith(SplitTimeListRepository splitTimeListRepository,
+                                                   ResultListRepository resultListRepository,
+                                                   SplitTimeAnalysisServiceImpl splitTimeAnalysisService) {
+        return createWith(splitTimeListRepository, resultListRepository, mock(PersonRepository.class),
+            splitTimeAnalysisService);
+    }
+}
@@ -0,0 +1,107 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.application.ContentVersions;
+import de.jobst.resulter.application.port.PersonRepository;
+import de.jobst.resulter.application.port.ResultListRepository;
+import de.jobst.resulter.application.port.SplitTimeListRepository;
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+class AnalysisSnapshotCacheTest {
+
+    SplitTimeListRepository splitTimeListRepository;
+    ResultListRepository resultListRepository;
+    PersonRepository personRepository;
+    AnalysisSnapshotCache cache;
+
+    ResultListId resultListId = ResultListId.of(1L);
+
+    @BeforeEach
+    void setUp() {
+        splitTimeListRepository = mock(SplitTimeListRepository.class);
+        resultListRepository = mock(ResultListRepository.class);
+        personRepository = mock(PersonRepository.class);
+        cache = new AnalysisSnapshotCache(splitTimeListRepository, resultListRepository, personRepository,
+                new SplitTimeAnalysisServiceImpl(), new ContentVersions(), 4, Duration.ZERO);
+    }
+
+    @Test
+    void get_loadsSnapshotOnlyOnce() {
+        stubResultList(PersonId.of(7L));
+
+        AnalysisSnapshot first = cache.get(resultListId);
+        AnalysisSnapshot second = cache.get(resultListId);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.hasSplitTimes()).isTrue();
+        assertThat(first.splitTimeLists()).hasSize(1);
+        assertThat(first.personMap()).containsKey(PersonId.of(7L));
+        verify(splitTimeListRepository, times(1)).findByResultListId(resultListId);
+        verify(resultListRepository, times(1)).findById(resultListId);
+        verify(personRepository, times(1)).findAllById(anySet());
+    }
+
+    @Test
+    void get_returnsEmptySnapshotWithoutLoadingPersons_whenNoSplitTimes() {
+        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of());
+        when(resultListRepository.findById(resultListId)).thenReturn(Optional.empty());
+
+        AnalysisSnapshot snapshot = cache.get(resultListId);
+
+        assertThat(snapshot.hasSplitTimes()).isFalse();
+        assertThatThrownBy(snapshot::requireResultList)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Result list not found");
+        verifyNoInteractions(personRepository);
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        stubResultList(PersonId.of(7L));
+        AnalysisSnapshot first = cache.get(resultListId);
+
+        cache.invalidate(resultListId);
+
+        assertThat(cache.get(resultListId)).isNotSameAs(first);
+        verify(splitTimeListRepository, times(2)).findByResultListId(resultListId);
+    }
+
+    @Test
+    void invalidateByPerson_onlyDropsSnapshotsContainingPerson() {
+        stubResultList(PersonId.of(7L));
+        ResultListId otherId = ResultListId.of(2L);
+        when(splitTimeListRepository.findByResultListId(otherId)).thenReturn(List.of());
+        when(resultListRepository.findById(otherId)).thenReturn(Optional.empty());
+        AnalysisSnapshot withPerson = cache.get(resultListId);
+        AnalysisSnapshot withoutPerson = cache.get(otherId);
+
+        cache.invalidateByPerson(PersonId.of(7L));
+
+        assertThat(cache.get(resultListId)).isNotSameAs(withPerson);
+        assertThat(cache.get(otherId)).isSameAs(withoutPerson);
+    }
+
+    private void stubResultList(PersonId personId) {
+        SplitTimeList splitTimeList = new SplitTimeList(SplitTimeListId.of(1L), EventId.of(1L), resultListId,
+                ClassResultShortName.of("H21"), personId, RaceNumber.of((byte) 1), List.of(
+                        SplitTime.of("31", 100.0, SplitTimeListId.of(1L))));
+        ResultList resultList = new ResultList(resultListId, EventId.of(1L), RaceId.of(1L), null, null, null,
+                List.of());
+        Person person = Person.of(personId.value(), "John", "Doe", null, Gender.M);
+
+        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(splitTimeList));
+        when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
+        when(personRepository.findAllById(anySet())).thenReturn(Map.of(personId, person));
+    }
+}
@@ -37,7 +37,8 @@ class AnomalyDetectionServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        service = new AnomalyDetectionServiceImpl(null, null, null);
+        service = new AnomalyDetectionServiceImpl(null, null, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
     }
 
     @Nested
@@ -843,7 +844,8 @@ class AnomalyDetectionServiceImplTest {
         @Test
         @DisplayName("Returns empty analysis when all dependencies are null")
         void returnsEmpty_whenDependenciesNull() {
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(null, null, null);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(null, null, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             AnomalyAnalysis result = svc.analyzeAnomaly(ResultListId.of(1L), List.of());
 
@@ -856,7 +858,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             when(stlRepo.findByResultListId(any())).thenReturn(List.of());
 
@@ -871,7 +875,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             SplitTimeList stl = splitTimeList("H21", 1L);
             when(stlRepo.findByResultListId(any())).thenReturn(List.of(stl));
@@ -888,7 +894,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(4L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -899,9 +907,9 @@ class AnomalyDetectionServiceImplTest {
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             // Only 2 runners → below MIN_RUNNERS_PER_CLASS_FOR_ANALYSIS (3)
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 2));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
 
             AnomalyAnalysis result = svc.analyzeAnomaly(resultListId, List.of());
 
@@ -914,7 +922,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(5L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -924,10 +934,10 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(Map.of());
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
             // Empty segment times → runner is skipped
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
 
             AnomalyAnalysis result = svc.analyzeAnomaly(resultListId, List.of());
 
@@ -940,7 +950,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(6L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -950,9 +962,9 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateSegmentTimes(any(), any()))
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                     .thenReturn(List.of(new SegmentTime(0, "31", "32", 100.0)));
             when(analysisService.calculateSegmentPIs(any(), any(), any()))
                     .thenReturn(List.of(new SegmentPI(0, "31", "32", 100.0, 100.0, new PerformanceIndex(1.0))));
@@ -969,7 +981,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(7L);
             SplitTimeList stl1 = splitTimeList("H21", 1L);
@@ -980,9 +994,9 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
 
             // Filter: only person 1 → only stl1 analyzed
             AnomalyAnalysis result = svc.analyzeAnomaly(resultListId, List.of(1L));
@@ -997,7 +1011,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(10L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -1020,9 +1036,9 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(classSpecificTimes);
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(segTimes);
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(classSpecificTimes);
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(segTimes);
             when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
             when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
 
@@ -1040,7 +1056,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(11L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -1058,9 +1076,9 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(classSpecificTimes);
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(segTimes);
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(classSpecificTimes);
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(segTimes);
             when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
             when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
 
@@ -1075,7 +1093,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(20L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -1104,9 +1124,9 @@ class AnomalyDetectionServiceImplTest {
             // classRunnerCount=3: above MIN_RUNNERS_PER_CLASS (3), below RELIABLE_RUNNERS_THRESHOLD (5)
             // → reliableData=false is exercised in analyzeRunner
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 3));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(classSpecificTimes);
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(segTimes);
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(classSpecificTimes);
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(segTimes);
             when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
             when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
 
@@ -1124,7 +1144,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(21L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -1142,10 +1164,10 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(Map.of());
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
             // First call: calculateAllTimesPerSegmentCrossClass; Second call: analyzeRunner
-            when(analysisService.calculateSegmentTimes(any(), any()))
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(crossClassSegTimes)
                 .thenReturn(runnerSegTimes);
             when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
@@ -1163,7 +1185,9 @@ class AnomalyDetectionServiceImplTest {
             SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
             ResultListRepository rlRepo = mock(ResultListRepository.class);
             SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+            AnomalyDetectionServiceImpl svc = new AnomalyDetectionServiceImpl(
+                    AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                    AnalysisResultStoreFactory.disabled());
 
             ResultListId resultListId = ResultListId.of(12L);
             SplitTimeList stl = splitTimeList("H21", 1L);
@@ -1177,11 +1201,11 @@ class AnomalyDetectionServiceImplTest {
             when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
             when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-            when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+            when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
             // No class-specific times → triggers cross-class fallback
-            when(analysisService.calculateAllTimesPerSegment(any(), any())).thenReturn(Map.of());
+            when(analysisService.calculateAllTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
             // cross-class contains only runner's own time → filtered out → cleanedRefTime=0 → NO_DATA
-            when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(segTimes);
+            when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(segTimes);
             when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
             when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
 
@@ -0,0 +1,197 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.domain.*;
+import de.jobst.resulter.domain.analysis.ControlSequenceSegment;
+import de.jobst.resulter.domain.analysis.SequenceRunnerSplit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ControlSequenceRankingTest {
+
+    private static final Comparator<String> CODE_ORDER =
+            Comparator.comparing((String code) -> !"S".equals(code)).thenComparing(Comparator.naturalOrder());
+
+    private static SplitTimeList runner(long personId, String className, Map<String, Double> punches) {
+        SplitTimeListId id = SplitTimeListId.of(personId);
+        List<SplitTime> splitTimes = new ArrayList<>();
+        punches.forEach((code, time) -> splitTimes.add(SplitTime.of(code, time, id)));
+        return new SplitTimeList(id, EventId.of(1L), ResultListId.of(1L), ClassResultShortName.of(className),
+                PersonId.of(personId), RaceNumber.of((byte) 1), splitTimes);
+    }
+
+    private static List<ControlSequenceSegment> rank(SplitTimeColumns columns, int minControls, int maxRunners) {
+        int[] runners = IntStream.range(0, columns.runnerCount()).toArray();
+        // every class is its own course
+        int[] courseKeyIds = IntStream.range(0, columns.runnerCount()).map(columns::classId).toArray();
+        ControlSequenceRanking ranking = new ControlSequenceRanking(columns, minControls, maxRunners, CODE_ORDER);
+        ranking.addRunners(runners, courseKeyIds);
+        return ranking.rank(false, -1, Integer.MAX_VALUE);
+    }
+
+    private static List<String> codes(ControlSequenceSegment segment) {
+        return segment.controls().stream().map(ControlCode::value).toList();
+    }
+
+    @Test
+    void rank_removesSubSequencesCoveredByLongerSequenceWithSameRunners() {
+        SplitTimeColumns columns = SplitTimeColumns.of(List.of(
+                runner(1L, "H21", Map.of("31", 60.0, "32", 120.0, "33", 200.0)),
+                runner(2L, "D21", Map.of("31", 70.0, "32", 150.0, "33", 230.0))), Map.of());
+
+        List<ControlSequenceSegment> segments = rank(columns, 2, 100);
+
+        // S>31>32>33 is not a window (n-1 controls at most), all shorter windows are covered by the two 3-windows
+        assertThat(segments).extracting(ControlSequenceRankingTest::codes)
+                .containsExactly(List.of("S", "31", "32"), List.of("31", "32", "33"));
+    }
+
+    @Test
+    void rank_keepsOnlyFastestRunnersButCountsAllClasses() {
+        List<SplitTimeList> lists = new ArrayList<>();
+        for (long person = 1; person <= 5; person++) {
+            lists.add(runner(person, "C" + person, Map.of("31", 10.0 * person, "32", 25.0 * person)));
+        }
+        SplitTimeColumns columns = SplitTimeColumns.of(lists, Map.of());
+
+        ControlSequenceSegment segment = rank(columns, 2, 2).stream()
+                .filter(s -> codes(s).equals(List.of("31", "32")))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(segment.runnerSplits()).extracting(split -> split.personId().value()).containsExactly(1L, 2L);
+        assertThat(segment.runnerSplits()).extracting(SequenceRunnerSplit::legSplitTimesSeconds)
+                .containsExactly(List.of(15.0), List.of(30.0));
+        assertThat(segment.classes()).containsExactly("C1", "C2", "C3", "C4", "C5");
+    }
+
+    @Test
+    void rank_matchesExhaustiveWindowComparison_forRandomCourses() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            List<SplitTimeList> lists = new ArrayList<>();
+            int runners = 5 + random.nextInt(20);
+            for (int runner = 0; runner < runners; runner++) {
+                Map<String, Double> punches = new HashMap<>();
+                double time = 0;
+                int controls = 2 + random.nextInt(6);
+                for (int control = 0; control < controls; control++) {
+                    time += 10 + random.nextInt(5);
+                    // small control pool, so courses share and repeat control sequences
+                    punches.putIfAbsent(String.valueOf(31 + random.nextInt(6)), time);
+                }
+                // some persons start twice
+                long personId = 1 + random.nextInt(runners);
+                lists.add(runner(personId, "C" + random.nextInt(3), punches));
+            }
+            SplitTimeColumns columns = SplitTimeColumns.of(lists, Map.of());
+            int minControls = 2 + random.nextInt(2);
+            int maxRunners = 1 + random.nextInt(4);
+
+            assertThat(describe(rank(columns, minControls, maxRunners)))
+                    .as("round %d", round)
+                    .isEqualTo(describe(exhaustive(columns, minControls, maxRunners)));
+        }
+    }
+
+    private static List<String> describe(List<ControlSequenceSegment> segments) {
+        return segments.stream()
+                .map(segment -> codes(segment) + " " + segment.classes() + " " + segment.runnerSplits().stream()
+                        .map(split -> split.personId().value() + "@" + split.position() + ":" + split.splitTimeSeconds()
+                                + split.legSplitTimesSeconds())
+                        .toList())
+                .toList();
+    }
+
+    private static int compareCodes(List<String> first, List<String> second) {
+        for (int i = 0; i < Math.min(first.size(), second.size()); i++) {
+            int compare = CODE_ORDER.compare(first.get(i), second.get(i));
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return Integer.compare(first.size(), second.size());
+    }
+
+    /**
+     * All windows as control code lists, merged per person, covered sequences removed by comparing all pairs.
+     */
+    private static List<ControlSequenceSegment> exhaustive(SplitTimeColumns columns, int minControls, int maxRunners) {
+        record Entry(long personId, int runner, int firstPunch, double time) {}
+        Map<List<String>, Map<Long, Entry>> windows = new HashMap<>();
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            int start = columns.start(runner);
+            int validEnd = start;
+            while (validEnd < columns.end(runner) && columns.hasPunchTime(validEnd)) {
+                validEnd++;
+            }
+            for (int length = minControls; length <= validEnd - start - 1; length++) {
+                for (int first = start; first + length <= validEnd; first++) {
+                    List<String> codes = new ArrayList<>();
+                    for (int punch = first; punch < first + length; punch++) {
+                        codes.add(columns.controlCode(columns.controlId(punch)));
+                    }
+                    Entry entry = new Entry(columns.personIdValue(runner), runner, first,
+                            columns.punchTime(first + length - 1) - columns.punchTime(first));
+                    windows.computeIfAbsent(codes, k -> new HashMap<>())
+                            .merge(entry.personId(), entry, (a, b) -> b.time() < a.time() ? b : a);
+                }
+            }
+        }
+
+        List<ControlSequenceSegment> segments = new ArrayList<>();
+        windows.forEach((codes, byPerson) -> {
+            List<Entry> entries = byPerson.values().stream()
+                    .sorted(Comparator.comparingDouble(Entry::time).thenComparingLong(Entry::personId))
+                    .toList();
+            boolean multipleCourses = entries.stream().map(e -> columns.classId(e.runner())).distinct().count() > 1;
+            if (entries.size() <= 1 || !multipleCourses) {
+                return;
+            }
+            List<SequenceRunnerSplit> splits = new ArrayList<>();
+            int position = 1;
+            for (int i = 0; i < Math.min(entries.size(), maxRunners); i++) {
+                Entry entry = entries.get(i);
+                if (i > 0 && Math.abs(entry.time() - entries.get(i - 1).time()) > 0.001) {
+                    position = i + 1;
+                }
+                List<Double> legs = new ArrayList<>();
+                for (int punch = entry.firstPunch() + 1; punch < entry.firstPunch() + codes.size(); punch++) {
+                    legs.add(columns.punchTime(punch) - columns.punchTime(punch - 1));
+                }
+                splits.add(new SequenceRunnerSplit(PersonId.of(entry.personId()), columns.className(entry.runner()),
+                        position, entry.time(), entry.time() - entries.getFirst().time(), legs));
+            }
+            List<String> classes = entries.stream().map(e -> columns.className(e.runner())).distinct().sorted()
+                    .toList();
+            segments.add(new ControlSequenceSegment(codes.stream().map(ControlCode::of).toList(), splits, classes));
+        });
+
+        segments.sort(Comparator.comparingInt((ControlSequenceSegment s) -> s.controls().size()).reversed()
+                .thenComparing(Comparator.comparingInt((ControlSequenceSegment s) -> s.runnerSplits().size())
+                        .reversed()));
+        List<ControlSequenceSegment> kept = new ArrayList<>();
+        for (ControlSequenceSegment candidate : segments) {
+            boolean covered = kept.stream().anyMatch(longer -> longer.controls().size() > candidate.controls().size()
+                    && longer.runnerSplits().size() == candidate.runnerSplits().size()
+                    && Collections.indexOfSubList(longer.controls(), candidate.controls()) >= 0);
+            if (!covered) {
+                kept.add(candidate);
+            }
+        }
+        kept.sort(Comparator.comparingInt((ControlSequenceSegment s) -> s.controls().size()).reversed()
+                .thenComparing(Comparator.comparingInt((ControlSequenceSegment s) -> s.runnerSplits().size())
+                        .reversed())
+                .thenComparing((a, b) -> compareCodes(codes(a), codes(b))));
+        return kept;
+    }
+}
@@ -28,7 +28,8 @@ class HangingDetectionServiceImplTest {
 
     @Test
     void analyzeHanging_returnsEmpty_whenAllDependenciesNull() {
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(null, null, null);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(null, null, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         HangingAnalysis result = service.analyzeHanging(resultListId, List.of());
 
@@ -42,7 +43,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         when(stlRepo.findByResultListId(resultListId)).thenReturn(List.of());
 
@@ -57,15 +60,17 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl = splitTimeList("H21", 1L);
         when(stlRepo.findByResultListId(resultListId)).thenReturn(List.of(stl));
         when(rlRepo.findById(resultListId)).thenReturn(Optional.empty());
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of());
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(List.of());
 
         assertThatThrownBy(() -> service.analyzeHanging(resultListId, List.of()))
@@ -78,7 +83,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl = splitTimeList("H21", 1L);
         ResultList resultList = emptyResultList();
@@ -88,8 +95,8 @@ class HangingDetectionServiceImplTest {
         when(analysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         // Only 2 runners → below MIN_RUNNERS_PER_CLASS_FOR_ANALYSIS (3)
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 2));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(List.of());
 
         HangingAnalysis result = service.analyzeHanging(resultListId, List.of());
@@ -104,7 +111,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl1 = splitTimeList("H21", 1L);
         SplitTimeList stl2 = splitTimeList("H21", 2L);
@@ -114,8 +123,8 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(List.of());
 
         // Filter: only person 1
@@ -123,7 +132,7 @@ class HangingDetectionServiceImplTest {
 
         // preComputeAllSegmentPIs runs on both runners (2 calls),
         // analyzeRunner runs only for person 1 (1 additional call) → 3 total
-        verify(analysisService, times(3)).calculateSegmentTimes(any(), any());
+        verify(analysisService, times(3)).calculateSegmentTimes(any(SplitTimeColumns.class), anyInt());
         // All runners are returned (no filter in profile list for HangingDetection)
         assertThat(result.statistics().totalRunners()).isEqualTo(2);
     }
@@ -137,7 +146,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl1 = splitTimeListWithSplits("H21", 1L, List.of(
                 SplitTime.of("31", 100.0, SplitTimeListId.empty()),
@@ -155,8 +166,8 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 90.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
         when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
@@ -175,7 +186,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl = splitTimeList("H21", 1L);
         ResultList resultList = emptyResultList();
@@ -190,8 +203,8 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new SegmentTime(1, "S", "31", 90.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
         when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
@@ -208,7 +221,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl = splitTimeList("H21", 1L);
         ResultList resultList = emptyResultList();
@@ -217,8 +232,8 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(
                 List.of(new SegmentPI(1, "31", "32", 90.0, 90.0, new PerformanceIndex(1.0))));
         when(analysisService.calculateNormalPI(any())).thenReturn(null);
@@ -235,7 +250,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         // Passenger kommt 20s nach Driver an "32" an → innerhalb 30s Fenster
         SplitTimeList passenger = splitTimeListWithSplits("H21", 1L, List.of(
@@ -260,10 +277,10 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(eq(passenger), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(0)))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 30.0)));
-        when(analysisService.calculateSegmentTimes(eq(driver), any()))
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(1)))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 20.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), eq("H21")))
                 .thenReturn(passengerSegPIs) // preCompute passenger
@@ -287,12 +304,72 @@ class HangingDetectionServiceImplTest {
         assertThat(result.statistics().highHangingRunners()).isEqualTo(1);
     }
 
+    @Test
+    void analyzeHanging_findsBusDriversOnlyWithinThirtySecondsBeforePassenger() {
+        SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
+        ResultListRepository rlRepo = mock(ResultListRepository.class);
+        SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
+
+        SplitTimeList passenger = splitTimeListWithSplits("H21", 1L, List.of(
+                SplitTime.of("31", 100.0, SplitTimeListId.empty()),
+                SplitTime.of("32", 130.0, SplitTimeListId.empty())));
+        // exactly 30s before → bus driver
+        SplitTimeList driverAtLimit = splitTimeListWithSplits("H21", 2L, List.of(
+                SplitTime.of("31", 80.0, SplitTimeListId.empty()),
+                SplitTime.of("32", 100.0, SplitTimeListId.empty())));
+        // 31s before → too early
+        SplitTimeList tooEarly = splitTimeListWithSplits("H21", 3L, List.of(
+                SplitTime.of("31", 79.0, SplitTimeListId.empty()),
+                SplitTime.of("32", 99.0, SplitTimeListId.empty())));
+        // same second → not before the passenger
+        SplitTimeList sameTime = splitTimeListWithSplits("H21", 4L, List.of(
+                SplitTime.of("31", 110.0, SplitTimeListId.empty()),
+                SplitTime.of("32", 130.0, SplitTimeListId.empty())));
+
+        List<SegmentTime> passengerSegmentTimes = List.of(new SegmentTime(1, "31", "32", 30.0));
+        List<SegmentTime> driverSegmentTimes = List.of(new SegmentTime(1, "31", "32", 20.0));
+        List<SegmentPI> passengerSegPIs = List.of(
+                new SegmentPI(1, "31", "32", 30.0, 90.0, new PerformanceIndex(0.5)));
+        List<SegmentPI> driverSegPIs = List.of(
+                new SegmentPI(1, "31", "32", 20.0, 90.0, new PerformanceIndex(0.3)));
+
+        when(stlRepo.findByResultListId(resultListId))
+                .thenReturn(List.of(passenger, driverAtLimit, tooEarly, sameTime));
+        when(rlRepo.findById(resultListId)).thenReturn(Optional.of(emptyResultList()));
+        when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
+        when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(0))).thenReturn(passengerSegmentTimes);
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(1))).thenReturn(driverSegmentTimes);
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(2))).thenReturn(driverSegmentTimes);
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(3))).thenReturn(driverSegmentTimes);
+        when(analysisService.calculateSegmentPIs(eq(passengerSegmentTimes), any(), eq("H21")))
+                .thenReturn(passengerSegPIs);
+        when(analysisService.calculateSegmentPIs(eq(driverSegmentTimes), any(), eq("H21")))
+                .thenReturn(driverSegPIs);
+        when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
+        when(analysisService.calculateNormalPI(eq(List.of()))).thenReturn(null);
+
+        HangingAnalysis result = service.analyzeHanging(resultListId, List.of(1L));
+
+        assertThat(result.runnerProfiles()).hasSize(1);
+        assertThat(result.runnerProfiles().getFirst().hangingPairs())
+                .extracting(pair -> pair.busDriverId().value())
+                .containsExactly(2L);
+        assertThat(result.runnerProfiles().getFirst().hangingPairs().getFirst().timeDeltaSeconds()).isEqualTo(30.0);
+    }
+
     @Test
     void analyzeHanging_returnsModerateHanging_whenOneSegmentOutOfFive() {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         // Passenger arrives at "32" at 170s, Driver at 150s → 20s within 30s window
         SplitTimeList passenger = splitTimeListWithSplits("H21", 1L, List.of(
@@ -339,10 +416,10 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(eq(passenger), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(0)))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 70.0)));
-        when(analysisService.calculateSegmentTimes(eq(driver), any()))
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(1)))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 70.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), eq("H21")))
                 .thenReturn(passengerSegPIs)
@@ -371,7 +448,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         SplitTimeList stl1 = splitTimeListWithSplits("H21", 1L, List.of(
                 SplitTime.of("31", 100.0, SplitTimeListId.empty()),
@@ -396,8 +475,8 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(rlWithClassData));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 90.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), any())).thenReturn(segPIs);
         when(analysisService.calculateNormalPI(any())).thenReturn(new PerformanceIndex(1.0));
@@ -426,7 +505,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         // Passenger: 31@100s, 32@170s, 33@240s
         SplitTimeList passenger = splitTimeListWithSplits("H21", 1L, List.of(
@@ -456,10 +537,10 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(eq(passenger), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(0)))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 70.0)));
-        when(analysisService.calculateSegmentTimes(eq(driver), any()))
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(1)))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 70.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), any()))
                 .thenReturn(passengerSegPIs)  // preCompute Passenger
@@ -497,7 +578,9 @@ class HangingDetectionServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl analysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(stlRepo, rlRepo, analysisService);
+        HangingDetectionServiceImpl service = new HangingDetectionServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, analysisService), analysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
 
         // p1@32=130s, p2@32=140s, driver@32=110s
         SplitTimeList p1 = splitTimeListWithSplits("H21", 1L, List.of(
@@ -525,8 +608,8 @@ class HangingDetectionServiceImplTest {
         when(rlRepo.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(analysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(analysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(analysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
-        when(analysisService.calculateSegmentTimes(any(), any()))
+        when(analysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
+        when(analysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new SegmentTime(1, "31", "32", 30.0)));
         when(analysisService.calculateSegmentPIs(any(), any(), any()))
                 .thenReturn(p1SegPIs)      // preCompute p1
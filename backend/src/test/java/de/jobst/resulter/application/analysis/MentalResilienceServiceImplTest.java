@@ -37,7 +37,10 @@ class MentalResilienceServiceImplTest {
         splitTimeListRepository = mock(SplitTimeListRepository.class);
         resultListRepository = mock(ResultListRepository.class);
         splitTimeAnalysisService = mock(SplitTimeAnalysisServiceImpl.class);
-        service = new MentalResilienceServiceImpl(splitTimeListRepository, resultListRepository, splitTimeAnalysisService);
+        service = new MentalResilienceServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(splitTimeListRepository, resultListRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, RunnerAnalysisExecutorFactory.sequential(),
+                AnalysisResultStoreFactory.disabled());
     }
 
     @Test
@@ -58,7 +61,7 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.empty());
         when(splitTimeAnalysisService.buildRuntimeMap(any())).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         assertThatThrownBy(() -> service.analyzeMentalResilience(resultListId, List.of()))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -75,7 +78,7 @@ class MentalResilienceServiceImplTest {
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         // countRunnersPerClass returns 2 for H21 → below MIN_RUNNERS_PER_CLASS_FOR_ANALYSIS (3)
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 2));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         MentalResilienceAnalysis result = service.analyzeMentalResilience(resultListId, List.of());
 
@@ -93,17 +96,17 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
         // Segment times empty → analyzeRunner returns empty
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
 
         // Filter to only person 1
         MentalResilienceAnalysis result = service.analyzeMentalResilience(resultListId, List.of(1L));
 
         // Both runners are in list, but only person 1 passes filter — both return empty profiles
         assertThat(result.runnerProfiles()).isEmpty();
-        verify(splitTimeAnalysisService, times(1)).calculateSegmentTimes(eq(stl1), any());
-        verify(splitTimeAnalysisService, never()).calculateSegmentTimes(eq(stl2), any());
+        verify(splitTimeAnalysisService, times(1)).calculateSegmentTimes(any(SplitTimeColumns.class), eq(0));
+        verify(splitTimeAnalysisService, never()).calculateSegmentTimes(any(SplitTimeColumns.class), eq(1));
     }
 
     @Test
@@ -116,7 +119,7 @@ class MentalResilienceServiceImplTest {
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         // 5 runners → above threshold
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         // Segment times: 5 segments to trigger normalPI calculation
         List<SegmentTime> segments = List.of(
@@ -126,7 +129,7 @@ class MentalResilienceServiceImplTest {
                 new SegmentTime(3, "33", "34", 100.0),
                 new SegmentTime(4, "34", "F", 100.0)
         );
-        when(splitTimeAnalysisService.calculateSegmentTimes(stl, Map.of())).thenReturn(segments);
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), eq(0))).thenReturn(segments);
 
         // PIs for segments: all at 1.1 (no mistakes)
         List<SegmentPI> segmentPIs = List.of(
@@ -155,14 +158,14 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         // 3 segments: seg0 (mistake), seg1 (reaction, PANIC pi=0.8), seg2 (last, not mistake)
         SegmentPI seg0 = new SegmentPI(0, "31", "32", 500.0, 100.0, new PerformanceIndex(5.0));
         SegmentPI seg1 = new SegmentPI(1, "32", "33", 80.0, 100.0, new PerformanceIndex(0.8));
         SegmentPI seg2 = new SegmentPI(2, "33", "F", 100.0, 100.0, new PerformanceIndex(1.0));
 
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of(
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of(
                 new SegmentTime(0, "31", "32", 500.0),
                 new SegmentTime(1, "32", "33", 80.0),
                 new SegmentTime(2, "33", "F", 100.0)
@@ -196,13 +199,13 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         SegmentPI seg0 = new SegmentPI(0, "31", "32", 500.0, 100.0, new PerformanceIndex(5.0));
         SegmentPI seg1 = new SegmentPI(1, "32", "33", 500.0, 100.0, new PerformanceIndex(5.0));
         SegmentPI seg2 = new SegmentPI(2, "33", "F", 100.0, 100.0, new PerformanceIndex(1.0));
 
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of(
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of(
                 new SegmentTime(0, "31", "32", 500.0),
                 new SegmentTime(1, "32", "33", 500.0),
                 new SegmentTime(2, "33", "F", 100.0)
@@ -233,13 +236,13 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         // 2 segments: seg0 (mistake), seg1 (next = final "F") → reaction skipped
         SegmentPI seg0 = new SegmentPI(0, "31", "32", 500.0, 100.0, new PerformanceIndex(5.0));
         SegmentPI seg1 = new SegmentPI(1, "32", "F", 50.0, 50.0, new PerformanceIndex(1.0));
 
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of(
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of(
                 new SegmentTime(0, "31", "32", 500.0),
                 new SegmentTime(1, "32", "F", 50.0)
         ));
@@ -267,14 +270,14 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 5));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         // 3 segments: seg0 (not mistake), seg1 (not mistake), seg2 (last = mistake)
         SegmentPI seg0 = new SegmentPI(0, "S", "31", 100.0, 100.0, new PerformanceIndex(1.0));
         SegmentPI seg1 = new SegmentPI(1, "31", "32", 100.0, 100.0, new PerformanceIndex(1.0));
         SegmentPI seg2 = new SegmentPI(2, "32", "F", 500.0, 100.0, new PerformanceIndex(5.0));
 
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of(
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of(
                 new SegmentTime(0, "S", "31", 100.0),
                 new SegmentTime(1, "31", "32", 100.0),
                 new SegmentTime(2, "32", "F", 500.0)
@@ -312,7 +315,7 @@ class MentalResilienceServiceImplTest {
             when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
             when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
             when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 2));
-            when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+            when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
             MentalResilienceAnalysis result = service.analyzeMentalResilience(resultListId, List.of());
 
@@ -333,13 +336,13 @@ class MentalResilienceServiceImplTest {
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
         when(splitTimeAnalysisService.countRunnersPerClass(any())).thenReturn(Map.of("H21", 4));
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(), any())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class))).thenReturn(Map.of());
 
         SegmentPI seg0 = new SegmentPI(0, "31", "32", 500.0, 100.0, new PerformanceIndex(5.0));
         SegmentPI seg1 = new SegmentPI(1, "32", "33", 80.0, 100.0, new PerformanceIndex(0.8));
         SegmentPI seg2 = new SegmentPI(2, "33", "F", 100.0, 100.0, new PerformanceIndex(1.0));
 
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(), any())).thenReturn(List.of(
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of(
             new SegmentTime(0, "31", "32", 500.0),
             new SegmentTime(1, "32", "33", 80.0),
             new SegmentTime(2, "33", "F", 100.0)));
@@ -0,0 +1,12 @@
+package de.jobst.resulter.application.analysis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+public class RunnerAnalysisExecutorFactory {
+
+    public static RunnerAnalysisExecutor sequential() {
+        return new RunnerAnalysisExecutor(false, 1, 32, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,121 @@
+package de.jobst.resulter.application.analysis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RunnerAnalysisExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RunnerAnalysisExecutor executor =
+            new RunnerAnalysisExecutor(true, 4, 3, Duration.ofSeconds(10), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void analyzeRunners_returnsResultsInRunnerOrder_whenRunInParallel() {
+        List<Integer> runners = IntStream.range(0, 100).boxed().toList();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> results = executor.analyzeRunners("test", runners, runner -> {
+            threads.add(Thread.currentThread().getName());
+            return runner * 2;
+        });
+
+        assertThat(results).containsExactlyElementsOf(runners.stream().map(runner -> runner * 2).toList());
+        assertThat(threads).anyMatch(name -> name.startsWith("analysis-"));
+        assertThat(meterRegistry.get("resulter.analysis.phase").tag("analysis", "test").tag("phase", "runners")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("resulter.analysis.queue").tag("analysis", "test").timer().count())
+                .isEqualTo(34);
+    }
+
+    @Test
+    void analyzeRunners_runsOnCallingThread_whenDisabled() {
+        executor = new RunnerAnalysisExecutor(false, 4, 3, Duration.ofSeconds(10), meterRegistry);
+        String caller = Thread.currentThread().getName();
+
+        List<String> threads = executor.analyzeRunners("test", List.of(1, 2, 3, 4, 5),
+                runner -> Thread.currentThread().getName());
+
+        assertThat(threads).containsOnly(caller);
+    }
+
+    @Test
+    void analyzeRunners_rethrowsFailureOfRunner() {
+        List<Integer> runners = IntStream.range(0, 20).boxed().toList();
+
+        assertThatThrownBy(() -> executor.analyzeRunners("test", runners, runner -> {
+            if (runner == 13) {
+                throw new IllegalArgumentException("runner 13");
+            }
+            return runner;
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("runner 13");
+    }
+
+    @Test
+    void analyzeRunners_cancelsOutstandingChunks_whenTimeoutExceeded() throws InterruptedException {
+        executor = new RunnerAnalysisExecutor(true, 2, 1, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<Integer> runners = IntStream.range(0, 4).boxed().toList();
+
+        assertThatThrownBy(() -> executor.analyzeRunners("test", runners, runner -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return runner;
+        })).isInstanceOf(CancellationException.class).hasMessageContaining("timeout");
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void analyzeRunners_cancelsOutstandingChunks_whenRequestTaskIsCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<Integer> runners = IntStream.range(0, 8).boxed().toList();
+        ExecutorService requestExecutor = Executors.newSingleThreadExecutor();
+        try {
+            // the async request lifecycle cancels the handler task the same way on timeout or client disconnect
+            Future<List<Integer>> request = requestExecutor.submit(() -> executor.analyzeRunners("test", runners,
+                    runner -> {
+                        started.countDown();
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                            Thread.currentThread().interrupt();
+                        }
+                        return runner;
+                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            request.cancel(true);
+
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            requestExecutor.shutdownNow();
+        }
+    }
+}
@@ -104,7 +104,7 @@ class SplitTimeAnalysisServiceImplTest {
         SplitTimeList stl = splitTimeList("H21", 1L, List.of());
         Map<RuntimeKey, Double> runtimeMap = Map.of();
 
-        List<SegmentTime> result = service.calculateSegmentTimes(stl, runtimeMap);
+        List<SegmentTime> result = segmentTimes(stl, runtimeMap);
 
         assertThat(result).isEmpty();
     }
@@ -114,7 +114,7 @@ class SplitTimeAnalysisServiceImplTest {
         SplitTimeList stl = splitTimeList("H21", 1L, List.of());
         Map<RuntimeKey, Double> runtimeMap = Map.of(new RuntimeKey(1L, "H21", 1), 300.0);
 
-        List<SegmentTime> result = service.calculateSegmentTimes(stl, runtimeMap);
+        List<SegmentTime> result = segmentTimes(stl, runtimeMap);
 
         // S→F: 300s
         assertThat(result).hasSize(1);
@@ -130,7 +130,7 @@ class SplitTimeAnalysisServiceImplTest {
         ));
         Map<RuntimeKey, Double> runtimeMap = Map.of(new RuntimeKey(1L, "H21", 1), 200.0);
 
-        List<SegmentTime> segments = service.calculateSegmentTimes(stl, runtimeMap);
+        List<SegmentTime> segments = segmentTimes(stl, runtimeMap);
 
         // S→31: 60s, 31→32: 90s, 32→F: 50s
         assertThat(segments).hasSize(3);
@@ -150,13 +150,36 @@ class SplitTimeAnalysisServiceImplTest {
         // No runtime in map → finish not added
         Map<RuntimeKey, Double> runtimeMap = Map.of();
 
-        List<SegmentTime> segments = service.calculateSegmentTimes(stl, runtimeMap);
+        List<SegmentTime> segments = segmentTimes(stl, runtimeMap);
 
         // Only S→31
         assertThat(segments).hasSize(1);
         assertThat(segments.getFirst().toControl()).isEqualTo("31");
     }
 
+    @Test
+    void calculateSegmentTimes_fromColumns_usesTheSortedTimelineOfTheRunner() {
+        SplitTimeList first = splitTimeList("H21", 1L, List.of(
+                SplitTime.of("31", 60.0, SplitTimeListId.empty())
+        ));
+        SplitTimeList second = splitTimeList("H21", 2L, List.of(
+                SplitTime.of("32", 150.0, SplitTimeListId.empty()),
+                SplitTime.of("33", null, SplitTimeListId.empty()),
+                SplitTime.of("31", 70.0, SplitTimeListId.empty())
+        ));
+        Map<RuntimeKey, Double> runtimeMap = Map.of(new RuntimeKey(2L, "H21", 1), 200.0);
+        SplitTimeColumns columns = SplitTimeColumns.of(List.of(first, second), runtimeMap);
+
+        List<SegmentTime> segments = service.calculateSegmentTimes(columns, 1);
+
+        // S→31: 70s, 31→32: 80s, 32→F: 50s; the missing punch of 33 sorts last
+        assertThat(segments).containsExactly(
+                new SegmentTime(0, "S", "31", 70.0),
+                new SegmentTime(1, "31", "32", 80.0),
+                new SegmentTime(2, "32", "F", 50.0));
+        assertThat(segments).isEqualTo(segmentTimes(second, runtimeMap));
+    }
+
     // -------------------------------------------------------------------------
     // calculateAllTimesPerSegment
     // -------------------------------------------------------------------------
@@ -175,7 +198,7 @@ class SplitTimeAnalysisServiceImplTest {
         );
 
         Map<SegmentKey, List<Double>> result = service.calculateAllTimesPerSegment(
-                List.of(stl1, stl2), runtimeMap);
+                SplitTimeColumns.of(List.of(stl1, stl2), runtimeMap));
 
         SegmentKey sToControl = new SegmentKey("H21", "S", "31");
         assertThat(result).containsKey(sToControl);
@@ -204,7 +227,8 @@ class SplitTimeAnalysisServiceImplTest {
                 new RuntimeKey(5L, "H21", 1), 100.0
         );
 
-        Map<SegmentKey, Double> refs = service.calculateReferenceTimesPerSegment(lists, runtimeMap);
+        Map<SegmentKey, Double> refs = service.calculateReferenceTimesPerSegment(
+                SplitTimeColumns.of(lists, runtimeMap));
 
         SegmentKey key = new SegmentKey("H21", "S", "31");
         assertThat(refs).containsKey(key);
@@ -213,7 +237,7 @@ class SplitTimeAnalysisServiceImplTest {
 
     @Test
     void calculateReferenceTimesPerSegment_returnsEmpty_whenNoSegmentTimes() {
-        Map<SegmentKey, Double> refs = service.calculateReferenceTimesPerSegment(List.of(), Map.of());
+        Map<SegmentKey, Double> refs = service.calculateReferenceTimesPerSegment(SplitTimeColumns.empty());
         assertThat(refs).isEmpty();
     }
 
@@ -364,6 +388,10 @@ class SplitTimeAnalysisServiceImplTest {
         );
     }
 
+    private List<SegmentTime> segmentTimes(SplitTimeList stl, Map<RuntimeKey, Double> runtimeMap) {
+        return service.calculateSegmentTimes(SplitTimeColumns.of(List.of(stl), runtimeMap), 0);
+    }
+
     private SplitTimeList splitTimeListWithSplit(String className, long personId,
                                                   String control, double time) {
         return splitTimeList(className, personId,
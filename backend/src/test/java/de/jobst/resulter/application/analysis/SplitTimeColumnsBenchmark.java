@@ -0,0 +1,129 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.domain.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the object based split time traversal with {@link SplitTimeColumns} for a national event sized result list
+ * (1500 runners, 30 classes, 25 controls per runner).
+ *
+ * <p>Run from the IDE or with {@code java -cp <test classpath> ...SplitTimeColumnsBenchmark}; the GC profiler
+ * reports allocations per operation ({@code gc.alloc.rate.norm}).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitTimeColumnsBenchmark {
+
+    private static final int RUNNERS = 1500;
+    private static final int CLASSES = 30;
+    private static final int CONTROLS = 25;
+
+    private List<SplitTimeList> splitTimeLists;
+    private Map<RuntimeKey, Double> runtimeMap;
+    private Map<String, Double> stringRuntimeMap;
+    private SplitTimeColumns columns;
+    private SplitTimeAnalysisServiceImpl analysisService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        splitTimeLists = new ArrayList<>(RUNNERS);
+        runtimeMap = new HashMap<>();
+        stringRuntimeMap = new HashMap<>();
+        for (int runner = 0; runner < RUNNERS; runner++) {
+            SplitTimeListId id = SplitTimeListId.of((long) runner);
+            String className = "C" + (runner % CLASSES);
+            List<SplitTime> splitTimes = new ArrayList<>(CONTROLS);
+            double punchTime = 0;
+            for (int control = 0; control < CONTROLS; control++) {
+                punchTime += 60 + random.nextInt(240);
+                splitTimes.add(SplitTime.of(String.valueOf(31 + (control + runner % CLASSES) % 60), punchTime, id));
+            }
+            double runtime = punchTime + 30 + random.nextInt(30);
+            splitTimeLists.add(new SplitTimeList(id, EventId.of(1L), ResultListId.of(1L),
+                    ClassResultShortName.of(className), PersonId.of((long) runner), RaceNumber.of((byte) 1),
+                    splitTimes));
+            runtimeMap.put(new RuntimeKey((long) runner, className, 1), runtime);
+            stringRuntimeMap.put(runner + "-" + className + "-" + 1, runtime);
+        }
+        columns = SplitTimeColumns.of(splitTimeLists, runtimeMap);
+        analysisService = new SplitTimeAnalysisServiceImpl();
+    }
+
+    @Benchmark
+    public SplitTimeColumns buildColumns() {
+        return SplitTimeColumns.of(splitTimeLists, runtimeMap);
+    }
+
+    /**
+     * Leg traversal as the ranking did it before: string runtime keys, temporary split time objects, sort per runner.
+     */
+    @Benchmark
+    public void legsFromObjects(Blackhole blackhole) {
+        for (SplitTimeList splitTimeList : splitTimeLists) {
+            List<SplitTime> extended = new ArrayList<>();
+            extended.add(SplitTime.of("S", 0.0, splitTimeList.getId()));
+            extended.addAll(splitTimeList.getSplitTimes());
+            String runtimeKey = splitTimeList.getPersonId().value() + "-"
+                    + splitTimeList.getClassResultShortName().value() + "-"
+                    + splitTimeList.getRaceNumber().value();
+            Double runtime = stringRuntimeMap.get(runtimeKey);
+            if (runtime != null && runtime > 0) {
+                extended.add(SplitTime.of("F", runtime, splitTimeList.getId()));
+            }
+            extended.sort(Comparator.comparing(st -> st.punchTime().value(),
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+            for (int i = 1; i < extended.size(); i++) {
+                Double previous = extended.get(i - 1).punchTime().value();
+                Double current = extended.get(i).punchTime().value();
+                if (previous != null && current != null) {
+                    blackhole.consume(extended.get(i).controlCode().value());
+                    blackhole.consume(current - previous);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void legsFromColumns(Blackhole blackhole) {
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            for (int punch = columns.start(runner) + 1; punch < columns.end(runner); punch++) {
+                if (columns.hasPunchTime(punch - 1) && columns.hasPunchTime(punch)) {
+                    blackhole.consume(columns.controlCode(columns.controlId(punch)));
+                    blackhole.consume(columns.punchTime(punch) - columns.punchTime(punch - 1));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void segmentTimes(Blackhole blackhole) {
+        for (int runner = 0; runner < columns.runnerCount(); runner++) {
+            blackhole.consume(analysisService.calculateSegmentTimes(columns, runner));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SplitTimeColumnsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
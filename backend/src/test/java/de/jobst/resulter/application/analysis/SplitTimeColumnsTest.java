@@ -0,0 +1,101 @@
+package de.jobst.resulter.application.analysis;
+
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SplitTimeColumnsTest {
+
+    private static SplitTimeList splitTimeList(long personId, String className, SplitTime... splitTimes) {
+        return new SplitTimeList(SplitTimeListId.of(personId), EventId.of(1L), ResultListId.of(1L),
+                ClassResultShortName.of(className), PersonId.of(personId), RaceNumber.of((byte) 1),
+                List.of(splitTimes));
+    }
+
+    private static List<String> controlCodes(SplitTimeColumns columns, int runner) {
+        List<String> codes = new ArrayList<>();
+        for (int punch = columns.start(runner); punch < columns.end(runner); punch++) {
+            codes.add(columns.controlCode(columns.controlId(punch)));
+        }
+        return codes;
+    }
+
+    @Test
+    void of_addsVirtualStartAndFinishAndSortsByPunchTime() {
+        SplitTimeListId id = SplitTimeListId.of(1L);
+        SplitTimeList runner = splitTimeList(1L, "H21",
+                SplitTime.of("32", 200.0, id),
+                SplitTime.of("31", 100.0, id),
+                SplitTime.of("33", null, id));
+
+        SplitTimeColumns columns = SplitTimeColumns.of(List.of(runner), Map.of(new RuntimeKey(1L, "H21", 1), 300.0));
+
+        assertThat(columns.runnerCount()).isEqualTo(1);
+        assertThat(controlCodes(columns, 0)).containsExactly("S", "31", "32", "F", "33");
+        assertThat(columns.punchTime(columns.start(0) + 3)).isEqualTo(300.0);
+        assertThat(columns.hasPunchTime(columns.end(0) - 1)).isFalse();
+        assertThat(columns.isVirtual(columns.start(0))).isTrue();
+        assertThat(columns.isVirtual(columns.start(0) + 1)).isFalse();
+        assertThat(columns.runtime(0)).isEqualTo(300.0);
+    }
+
+    @Test
+    void of_omitsFinish_whenNoPositiveRuntime() {
+        SplitTimeListId id = SplitTimeListId.of(1L);
+        SplitTimeList runner = splitTimeList(1L, "H21", SplitTime.of("31", 100.0, id));
+
+        SplitTimeColumns columns = SplitTimeColumns.of(List.of(runner), Map.of(new RuntimeKey(1L, "H21", 1), 0.0));
+
+        assertThat(controlCodes(columns, 0)).containsExactly("S", "31");
+        assertThat(columns.runtime(0)).isNaN();
+    }
+
+    @Test
+    void of_internsControlCodesAndClassesAcrossRunners() {
+        SplitTimeList first = splitTimeList(1L, "H21",
+                SplitTime.of("31", 100.0, SplitTimeListId.of(1L)));
+        SplitTimeList second = splitTimeList(2L, "D21",
+                SplitTime.of("31", 110.0, SplitTimeListId.of(2L)),
+                SplitTime.of("40", 210.0, SplitTimeListId.of(2L)));
+        SplitTimeList third = splitTimeList(3L, "H21",
+                SplitTime.of("40", 120.0, SplitTimeListId.of(3L)));
+
+        SplitTimeColumns columns = SplitTimeColumns.of(List.of(first, second, third), Map.of());
+
+        assertThat(columns.runnerCount()).isEqualTo(3);
+        assertThat(columns.controlCount()).isEqualTo(4); // S, F, 31, 40
+        assertThat(columns.controlIdOf("31")).isEqualTo(columns.controlId(columns.start(1) + 1));
+        assertThat(columns.controlIdOf("99")).isEqualTo(-1);
+        assertThat(columns.classId(0)).isEqualTo(columns.classId(2));
+        assertThat(columns.className(1)).isEqualTo("D21");
+        assertThat(columns.personIdValue(2)).isEqualTo(3L);
+        assertThat(columns.end(0)).isEqualTo(columns.start(1));
+    }
+
+    @Test
+    void timeline_matchesSegmentTimesOfAnalysisService() {
+        SplitTimeListId id = SplitTimeListId.of(1L);
+        SplitTimeList runner = splitTimeList(1L, "H21",
+                SplitTime.of("31", 100.0, id),
+                SplitTime.of("33", 260.0, id),
+                SplitTime.of("32", 190.0, id));
+        Map<RuntimeKey, Double> runtimeMap = Map.of(new RuntimeKey(1L, "H21", 1), 320.0);
+
+        SplitTimeColumns columns = SplitTimeColumns.of(List.of(runner), runtimeMap);
+        List<SegmentTime> segmentTimes = new SplitTimeAnalysisServiceImpl().calculateSegmentTimes(columns, 0);
+
+        List<SegmentTime> fromColumns = new ArrayList<>();
+        for (int punch = columns.start(0) + 1; punch < columns.end(0); punch++) {
+            fromColumns.add(new SegmentTime(punch - columns.start(0) - 1,
+                    columns.controlCode(columns.controlId(punch - 1)),
+                    columns.controlCode(columns.controlId(punch)),
+                    columns.punchTime(punch) - columns.punchTime(punch - 1)));
+        }
+        assertThat(fromColumns).containsExactlyElementsOf(segmentTimes);
+    }
+}
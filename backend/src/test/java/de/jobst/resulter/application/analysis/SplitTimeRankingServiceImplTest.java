@@ -44,10 +44,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(10L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -97,10 +99,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(11L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -132,10 +136,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(13L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -177,10 +183,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(14L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -222,10 +230,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(15L);
         // runner1 (H21) and runner2 (D21) share a sequence; runner3 (H21) should be filtered out
@@ -276,10 +286,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(16L);
         // runner1 (H21): runs 31->32->33; runner2 (D21): runs only 31->32; runner3 (H21): runs 31->32->33
@@ -328,10 +340,12 @@ class SplitTimeRankingServiceImplTest {
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
         SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository,
-                personRepository,
-                resultListRepository
-        );
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(12L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -370,8 +384,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(20L);
         // Beide Läufer passieren Posten 31 und 32
@@ -410,8 +425,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(21L);
         // Runner1: S→31 = 100s; Runner2: S→31 = 90s (schneller)
@@ -450,8 +466,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(22L);
         // Nur ein Läufer → Segment S→31 hat nur einen Eintrag → soll nicht erscheinen
@@ -475,8 +492,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(23L);
         // Runner1: Posten 31 fehlt (null → DNF-Stempel), Runner2: normaler Lauf
@@ -517,8 +535,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(24L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -556,8 +575,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(25L);
         // Runner1+2 laufen 31→32; Runner3+4 laufen 32→31 (umgekehrter Kurs)
@@ -616,8 +636,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(50L);
         when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of());
@@ -638,8 +659,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(51L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -679,8 +701,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(52L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -723,8 +746,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(53L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of(
@@ -766,8 +790,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(60L);
         when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of());
@@ -783,8 +808,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(61L);
         SplitTimeList runner1 = splitTimeList(1L, "H21", List.of());
@@ -810,8 +836,9 @@ class SplitTimeRankingServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
 
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
-                splitTimeListRepository, personRepository, resultListRepository);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(AnalysisSnapshotCacheFactory.createWith(
+                splitTimeListRepository, resultListRepository, personRepository, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId resultListId = ResultListId.of(70L);
         // Runner1 and Runner2 have exactly the same split time at control "31" → tied at position 1
@@ -858,7 +885,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(90L);
         when(stlRepo.findByResultListId(id)).thenReturn(List.of(
@@ -880,7 +909,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(91L);
         SplitTimeList stl1 = splitTimeList(1L, "H21", List.of());
@@ -907,7 +938,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(92L);
         // Runner1: butterfly — passes 31→32 twice (90s first, 70s second); faster time must be kept
@@ -950,7 +983,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(93L);
         // Runner1 (H21): butterfly — same "31>32" appears twice (90s first pass, 70s second pass)
@@ -998,7 +1033,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(95L);
         // Runner1+2: course 90→80 (larger control first)
@@ -1059,7 +1096,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(94L);
         // Two runners in H21 with valid OK results but different control sequences → controlsKeyCounts has 2 entries with count=1
@@ -1105,7 +1144,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(96L);
         // runner1: 1 Original-Stempelung → extended=[S,31] → validSplits=2 < minControls=3 → L338 continue
@@ -1140,7 +1181,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(97L);
         SplitTimeList runner1 = new SplitTimeList(SplitTimeListId.of(1L), EventId.of(1L), id,
@@ -1177,7 +1220,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(98L);
         SplitTimeList runner1 = new SplitTimeList(SplitTimeListId.of(1L), EventId.of(1L), id,
@@ -1222,7 +1267,9 @@ class SplitTimeRankingServiceImplTest {
         SplitTimeListRepository stlRepo = mock(SplitTimeListRepository.class);
         PersonRepository personRepo = mock(PersonRepository.class);
         ResultListRepository rlRepo = mock(ResultListRepository.class);
-        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(stlRepo, personRepo, rlRepo);
+        SplitTimeRankingServiceImpl service = new SplitTimeRankingServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(stlRepo, rlRepo, personRepo, new SplitTimeAnalysisServiceImpl()),
+                AnalysisResultStoreFactory.disabled());
 
         ResultListId id = ResultListId.of(99L);
         // runner1+2: haben Posten 31→32 und Runtime → Segment 31→32 UND 32→F
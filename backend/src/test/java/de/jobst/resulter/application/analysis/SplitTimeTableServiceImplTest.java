@@ -15,12 +15,15 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImpl.FINAL_CODE;
 import static de.jobst.resulter.application.analysis.SplitTimeAnalysisServiceImpl.START_CODE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SplitTimeTableServiceImplTest {
@@ -33,11 +36,14 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository,
-                resultListRepository,
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        splitTimeAnalysisService),
                 splitTimeAnalysisService,
-                personRepository
-        );
+                AnalysisResultStoreFactory.disabled(),
+                splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(10L);
         String className = "H21";
@@ -63,12 +69,12 @@ class SplitTimeTableServiceImplTest {
                 List.of()
         );
 
-        when(splitTimeListRepository.findByResultListId(resultListId))
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection()))
                 .thenReturn(List.of(referenceRunner, runnerWithMissingControl));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -100,11 +106,14 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository,
-                resultListRepository,
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        splitTimeAnalysisService),
                 splitTimeAnalysisService,
-                personRepository
-        );
+                AnalysisResultStoreFactory.disabled(),
+                splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(10L);
         String className = "H19";
@@ -131,12 +140,12 @@ class SplitTimeTableServiceImplTest {
                 List.of()
         );
 
-        when(splitTimeListRepository.findByResultListId(resultListId))
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection()))
                 .thenReturn(List.of(referenceRunner, runnerWithZeroTimes));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -162,11 +171,14 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository,
-                resultListRepository,
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        splitTimeAnalysisService),
                 splitTimeAnalysisService,
-                personRepository
-        );
+                AnalysisResultStoreFactory.disabled(),
+                splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(10L);
         String className = "D21";
@@ -192,7 +204,7 @@ class SplitTimeTableServiceImplTest {
                 List.of()
         );
 
-        when(splitTimeListRepository.findByResultListId(resultListId))
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection()))
                 .thenReturn(List.of(completeRunner, incompleteRunner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         Map<RuntimeKey, Double> runtimeMap = Map.of(
@@ -200,8 +212,8 @@ class SplitTimeTableServiceImplTest {
                 new RuntimeKey(2L, className, 1), 290.0
         );
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(runtimeMap);
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -225,11 +237,14 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository,
-                resultListRepository,
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository,
+                        resultListRepository,
+                        personRepository,
+                        splitTimeAnalysisService),
                 splitTimeAnalysisService,
-                personRepository
-        );
+                AnalysisResultStoreFactory.disabled(),
+                splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(10L);
         String className = "H19";
@@ -259,7 +274,7 @@ class SplitTimeTableServiceImplTest {
                 List.of()
         );
 
-        when(splitTimeListRepository.findByResultListId(resultListId))
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection()))
                 .thenReturn(List.of(referenceRunner, incompleteRunner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         Map<RuntimeKey, Double> runtimeMap = Map.of(
@@ -267,8 +282,8 @@ class SplitTimeTableServiceImplTest {
                 new RuntimeKey(2L, className, 1), 430.0
         );
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(runtimeMap);
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -288,7 +303,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(70L);
         String className = "H21";
@@ -305,12 +322,12 @@ class SplitTimeTableServiceImplTest {
                 SplitTime.of("33", 300.0, SplitTimeListId.empty())
         ));
 
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         Map<RuntimeKey, Double> runtimeMap = Map.of(new RuntimeKey(1L, className, 1), 300.0);
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(runtimeMap);
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -330,7 +347,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(71L);
         String className = "H21";
@@ -343,16 +362,16 @@ class SplitTimeTableServiceImplTest {
         ResultList resultList = new ResultList(
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of());
 
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
 
         // normalPI = 1.0; segment 31→32 PI = 1.12 → magnitude = 0.12 → LOW severity
         List<de.jobst.resulter.application.analysis.SegmentTime> segTimes = List.of(
                 new de.jobst.resulter.application.analysis.SegmentTime(1, "31", "32", 112.0)
         );
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap()))
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(segTimes);
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString()))
                 .thenReturn(List.of(new SegmentPI(1, "31", "32", 112.0, 100.0, new PerformanceIndex(1.12))));
@@ -375,7 +394,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(72L);
         String className = "D21";
@@ -388,13 +409,13 @@ class SplitTimeTableServiceImplTest {
         ResultList resultList = new ResultList(
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of());
 
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
 
         // normalPI = 1.0; segment 41→42 PI = 1.20 → magnitude = 0.20 → MEDIUM severity
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap()))
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new de.jobst.resulter.application.analysis.SegmentTime(1, "41", "42", 120.0)));
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString()))
                 .thenReturn(List.of(new SegmentPI(1, "41", "42", 120.0, 100.0, new PerformanceIndex(1.20))));
@@ -417,7 +438,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(73L);
         String className = "H10";
@@ -430,13 +453,13 @@ class SplitTimeTableServiceImplTest {
         ResultList resultList = new ResultList(
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of());
 
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
 
         // normalPI = 1.0; PI = 1.40 → magnitude = 0.40 → HIGH
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap()))
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new de.jobst.resulter.application.analysis.SegmentTime(1, "51", "52", 140.0)));
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString()))
                 .thenReturn(List.of(new SegmentPI(1, "51", "52", 140.0, 100.0, new PerformanceIndex(1.40))));
@@ -457,7 +480,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(74L);
         String className = "H12";
@@ -470,13 +495,13 @@ class SplitTimeTableServiceImplTest {
         ResultList resultList = new ResultList(
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of());
 
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
 
         // normalPI = 1.0; PI = 1.60 → magnitude = 0.60 → SEVERE
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap()))
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt()))
                 .thenReturn(List.of(new de.jobst.resulter.application.analysis.SegmentTime(1, "61", "62", 160.0)));
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString()))
                 .thenReturn(List.of(new SegmentPI(1, "61", "62", 160.0, 100.0, new PerformanceIndex(1.60))));
@@ -497,11 +522,13 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(30L);
 
-        when(splitTimeListRepository.findByResultListId(resultListId))
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection()))
                 .thenReturn(List.of(splitTimeList(1L, "D21", List.of())));
 
         SplitTimeTable table = service.generateByClass(resultListId, "H21");
@@ -512,29 +539,53 @@ class SplitTimeTableServiceImplTest {
     }
 
     @Test
-    void getAvailableClasses_returnsGroupedAndSortedOptions() {
+    void generateByClass_loadsOnlySplitTimesOfClass_whenSnapshotIsNotCached() {
         SplitTimeListRepository splitTimeListRepository = mock(SplitTimeListRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl splitTimeAnalysisService = mock(SplitTimeAnalysisServiceImpl.class);
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
+
+        ResultListId resultListId = ResultListId.of(31L);
+        ResultList resultList = new ResultList(
+                resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of());
+        when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection()))
+                .thenReturn(List.of());
+
+        service.generateByClass(resultListId, "H21");
+
+        verify(splitTimeListRepository)
+                .findByResultListIdAndClassResultShortNames(resultListId, Set.of(ClassResultShortName.of("H21")));
+        verify(splitTimeListRepository, never()).findByResultListId(any());
+    }
+
+    @Test
+    void getAvailableClasses_countsRunnersWithoutLoadingSplitTimes() {
+        SplitTimeListRepository splitTimeListRepository = mock(SplitTimeListRepository.class);
+        ResultListRepository resultListRepository = mock(ResultListRepository.class);
+        SplitTimeAnalysisServiceImpl splitTimeAnalysisService = mock(SplitTimeAnalysisServiceImpl.class);
+        PersonRepository personRepository = mock(PersonRepository.class);
+
+        SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(40L);
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(
-                splitTimeList(1L, "H21", List.of()),
-                splitTimeList(2L, "H21", List.of()),
-                splitTimeList(3L, "D21", List.of())
+        when(splitTimeListRepository.countRunnersByClass(resultListId)).thenReturn(List.of(
+                new ClassGroupOption("D21", 1),
+                new ClassGroupOption("H21", 2)
         ));
 
         List<ClassGroupOption> options = service.getAvailableClasses(resultListId);
 
-        assertThat(options).hasSize(2);
-        assertThat(options.get(0).className()).isEqualTo("D21");
-        assertThat(options.get(0).runnerCount()).isEqualTo(1);
-        assertThat(options.get(1).className()).isEqualTo("H21");
-        assertThat(options.get(1).runnerCount()).isEqualTo(2);
+        assertThat(options).containsExactly(new ClassGroupOption("D21", 1), new ClassGroupOption("H21", 2));
+        verify(splitTimeListRepository, never()).findByResultListId(any());
     }
 
     @Test
@@ -545,10 +596,12 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(41L);
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of());
+        when(splitTimeListRepository.countRunnersByClass(resultListId)).thenReturn(List.of());
 
         List<ClassGroupOption> options = service.getAvailableClasses(resultListId);
 
@@ -563,7 +616,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(50L);
         ResultList resultList = new ResultList(
@@ -585,7 +640,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(51L);
         ClassResult classResult = ClassResult.of("Herren 21", "H21", Gender.M, List.of(), CourseId.of(1L));
@@ -593,7 +650,7 @@ class SplitTimeTableServiceImplTest {
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of(classResult));
 
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of());
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of());
 
         SplitTimeTable table = service.generateByCourse(resultListId, 1L);
 
@@ -609,7 +666,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(52L);
         ClassResult classResult = ClassResult.of("Herren 21", "H21", Gender.M, List.of(), CourseId.of(2L));
@@ -622,10 +681,10 @@ class SplitTimeTableServiceImplTest {
         ));
 
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -645,14 +704,16 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(60L);
         ResultList resultList = new ResultList(
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, null);
 
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of());
+        when(splitTimeListRepository.countRunnersByCourse(resultListId)).thenReturn(List.of());
 
         List<CourseGroupOption> options = service.getAvailableCourses(resultListId);
 
@@ -660,33 +721,26 @@ class SplitTimeTableServiceImplTest {
     }
 
     @Test
-    void getAvailableCourses_returnsCourseOptions_whenClassResultsHaveCourseId() {
+    void getAvailableCourses_countsRunnersWithoutLoadingSplitTimes() {
         SplitTimeListRepository splitTimeListRepository = mock(SplitTimeListRepository.class);
         ResultListRepository resultListRepository = mock(ResultListRepository.class);
         SplitTimeAnalysisServiceImpl splitTimeAnalysisService = mock(SplitTimeAnalysisServiceImpl.class);
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(61L);
-        ClassResult cr1 = ClassResult.of("Herren 21", "H21", Gender.M, List.of(), CourseId.of(1L));
-        ClassResult cr2 = ClassResult.of("Damen 21", "D21", Gender.F, List.of(), CourseId.of(1L));
-        ResultList resultList = new ResultList(
-                resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of(cr1, cr2));
-
-        when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(
-                splitTimeList(1L, "H21", List.of()),
-                splitTimeList(2L, "D21", List.of())
-        ));
+        CourseGroupOption course = new CourseGroupOption(1L, "Bahn A", List.of("D21", "H21"), 2);
+        when(splitTimeListRepository.countRunnersByCourse(resultListId)).thenReturn(List.of(course));
 
         List<CourseGroupOption> options = service.getAvailableCourses(resultListId);
 
-        assertThat(options).hasSize(1);
-        assertThat(options.getFirst().courseId()).isEqualTo(1L);
-        assertThat(options.getFirst().classNames()).containsExactlyInAnyOrder("H21", "D21");
-        assertThat(options.getFirst().runnerCount()).isEqualTo(2);
+        assertThat(options).containsExactly(course);
+        verify(splitTimeListRepository, never()).findByResultListId(any());
+        verify(resultListRepository, never()).findById(any());
     }
 
     @Test
@@ -697,7 +751,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(53L);
         ResultList resultList = new ResultList(
@@ -719,7 +775,9 @@ class SplitTimeTableServiceImplTest {
         PersonRepository personRepository = mock(PersonRepository.class);
 
         SplitTimeTableServiceImpl service = new SplitTimeTableServiceImpl(
-                splitTimeListRepository, resultListRepository, splitTimeAnalysisService, personRepository);
+                AnalysisSnapshotCacheFactory.createWith(
+                        splitTimeListRepository, resultListRepository, personRepository, splitTimeAnalysisService),
+                splitTimeAnalysisService, AnalysisResultStoreFactory.disabled(), splitTimeListRepository);
 
         ResultListId resultListId = ResultListId.of(80L);
         String className = "H21";
@@ -729,11 +787,11 @@ class SplitTimeTableServiceImplTest {
         ResultList resultList = new ResultList(
                 resultListId, EventId.of(1L), RaceId.of(1L), null, null, null, List.of());
 
-        when(splitTimeListRepository.findByResultListId(resultListId)).thenReturn(List.of(runner));
+        when(splitTimeListRepository.findByResultListIdAndClassResultShortNames(eq(resultListId), anyCollection())).thenReturn(List.of(runner));
         when(resultListRepository.findById(resultListId)).thenReturn(Optional.of(resultList));
         when(splitTimeAnalysisService.buildRuntimeMap(resultList)).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(anyList(), anyMap())).thenReturn(Map.of());
-        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeList.class), anyMap())).thenReturn(List.of());
+        when(splitTimeAnalysisService.calculateReferenceTimesPerSegment(any(SplitTimeColumns.class), any(int[].class))).thenReturn(Map.of());
+        when(splitTimeAnalysisService.calculateSegmentTimes(any(SplitTimeColumns.class), anyInt())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateSegmentPIs(anyList(), anyMap(), anyString())).thenReturn(List.of());
         when(splitTimeAnalysisService.calculateNormalPI(anyList())).thenReturn(null);
         when(personRepository.findAllById(anySet())).thenReturn(Map.of());
@@ -3,10 +3,29 @@ package de.jobst.resulter.application.certificate;
 import de.jobst.resulter.application.port.CertificateService;
 import de.jobst.resulter.application.port.MediaFileService;
 import de.jobst.resulter.domain.*;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class CertificateServiceImplTest {
 
@@ -151,4 +170,125 @@ class CertificateServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.filename()).startsWith("Certificate_");
     }
+
+    @Test
+    void createCertificate_compilesTemplateOncePerLayout() {
+        CertificateTemplateCache templateCache = new CertificateTemplateCache(16, Duration.ofHours(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CertificateServiceImpl service = new CertificateServiceImpl("/tmp", templateCache, meterRegistry);
+        Event event = Event.of("TestEvent");
+        String layout = "{\"paragraphs\":[{\"blocks\":[" +
+                "{\"block\":{\"text\":\"{{GIVEN_NAME}} {{FAMILY_NAME}}\",\"font\":\"Courier\"}}]}]}";
+        EventCertificate cert = EventCertificate.of(1L, "Test", null, layout, null, false);
+
+        service.createCertificate(Person.of("Doe", "Jane", null, Gender.F), null, event, cert, samplePrr(),
+                mock(MediaFileService.class));
+        service.createCertificate(Person.of("Roe", "John", null, Gender.M), null, event, cert, samplePrr(),
+                mock(MediaFileService.class));
+
+        assertThat(templateCache.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("resulter.certificate.stage").tag("stage", "validate").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("resulter.certificate.stage").tag("stage", "placeholders").timer().count())
+                .isEqualTo(2);
+
+        cert.setLayoutDescription(EventCertificateLayoutDescription.of(layout.replace("Courier", "Helvetica")));
+        service.createCertificate(Person.of("Doe", "Jane", null, Gender.F), null, event, cert, samplePrr(),
+                mock(MediaFileService.class));
+
+        assertThat(meterRegistry.get("resulter.certificate.stage").tag("stage", "validate").timer().count())
+                .isEqualTo(2);
+
+        templateCache.invalidate(cert.getId());
+        assertThat(templateCache.size()).isZero();
+    }
+
+    private static List<CertificateService.Recipient> recipients(String... familyNames) {
+        return Arrays.stream(familyNames)
+                .map(familyName -> new CertificateService.Recipient(
+                        Person.of(familyName, "Jane", null, Gender.F), null, samplePrr()))
+                .toList();
+    }
+
+    @Test
+    void writeCertificates_asPdf_writesOnePagePerRecipient(@TempDir Path tempDir) throws Exception {
+        ImageIO.write(new BufferedImage(20, 30, BufferedImage.TYPE_INT_RGB), "jpeg",
+                tempDir.resolve("blank.jpg").toFile());
+        MediaFileService mediaFileService = mock(MediaFileService.class);
+        when(mediaFileService.getById(MediaFileId.of(9L)))
+                .thenReturn(MediaFile.of(9L, "blank.jpg", "blank.thumbnail.jpg", "image/jpeg", 100L));
+        CertificateServiceImpl service = new CertificateServiceImpl(tempDir.toString());
+        EventCertificate cert =
+                EventCertificate.of(1L, "Test", null, LAYOUT_WITH_DOCUMENT, MediaFileId.of(9L), false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        int written = service.writeCertificates(Event.of("TestEvent"), cert, recipients("Doe", "Roe", "Poe"),
+                CertificateService.BatchFormat.PDF, mediaFileService, outputStream);
+
+        assertThat(written).isEqualTo(3);
+        try (PdfDocument pdfDocument =
+                new PdfDocument(new PdfReader(new ByteArrayInputStream(outputStream.toByteArray())))) {
+            assertThat(pdfDocument.getNumberOfPages()).isEqualTo(3);
+            for (int page = 1; page <= 3; page++) {
+                // the background image is embedded once and drawn on every page
+                assertThat(pdfDocument.getPage(page).getResources().getResourceNames()).isNotEmpty();
+            }
+        }
+        verify(mediaFileService, times(1)).getById(MediaFileId.of(9L));
+    }
+
+    @Test
+    void writeCertificates_asZip_writesOneEntryPerRecipient() throws Exception {
+        CertificateServiceImpl service = new CertificateServiceImpl("/tmp");
+        EventCertificate cert = EventCertificate.of(1L, "Test", null, LAYOUT_WITH_DOCUMENT, null, false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        service.writeCertificates(Event.of("Berlin/Brandenburg"), cert, recipients("Doe", "Doe"),
+                CertificateService.BatchFormat.ZIP, mock(MediaFileService.class), outputStream);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zipInputStream =
+                new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                names.add(entry.getName());
+                assertThat(new String(zipInputStream.readNBytes(5))).isEqualTo("%PDF-");
+            }
+        }
+        assertThat(names).containsExactly(
+                "Certificate_Berlin_Brandenburg_Doe_Jane.pdf", "Certificate_Berlin_Brandenburg_Doe_Jane_2.pdf");
+    }
+
+    @Test
+    void writeCertificates_asZip_withInvalidLayout_writesOnlyTheLayoutErrors() throws Exception {
+        CertificateServiceImpl service = new CertificateServiceImpl("/tmp");
+        EventCertificate cert = EventCertificate.of(1L, "Test", null, INVALID_LAYOUT, null, false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        int written = service.writeCertificates(Event.of("TestEvent"), cert, recipients("Doe", "Roe"),
+                CertificateService.BatchFormat.ZIP, mock(MediaFileService.class), outputStream);
+
+        assertThat(written).isZero();
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zipInputStream =
+                new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                names.add(entry.getName());
+                assertThat(new String(zipInputStream.readNBytes(5))).isEqualTo("%PDF-");
+            }
+        }
+        assertThat(names).containsExactly("LayoutDescriptionErrors.pdf");
+    }
+
+    @Test
+    void validateLayout_returnsTheErrorsOfAnInvalidLayout() {
+        CertificateServiceImpl service = new CertificateServiceImpl("/tmp");
+        MediaFileService mediaFileService = mock(MediaFileService.class);
+
+        assertThat(service.validateLayout(
+                EventCertificate.of(1L, "Test", null, INVALID_LAYOUT, null, false), mediaFileService))
+                .isNotEmpty();
+        assertThat(service.validateLayout(
+                EventCertificate.of(2L, "Test", null, LAYOUT_WITH_DOCUMENT, null, false), mediaFileService))
+                .isEmpty();
+    }
 }
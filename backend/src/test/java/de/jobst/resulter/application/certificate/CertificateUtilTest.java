@@ -227,6 +227,29 @@ class CertificateUtilTest {
         assertThat(text).doesNotContain("{{GIVEN_NAME}}");
     }
 
+    @Test
+    void textBlockProcessor_doesNotModifyTheGivenDefinitions() {
+        List<ParagraphDefinition.ParagraphDefinitionBlock> blocks = new ArrayList<>();
+        blocks.add(new ParagraphDefinition.ParagraphDefinitionBlock(
+                new TextBlock(new TextBlock.Text("{{GIVEN_NAME}}", null, false, false, 12f, null)), 2));
+        blocks.add(new ParagraphDefinition.ParagraphDefinitionBlock(new MediaBlock(50, "logo.png"), 1));
+        List<ParagraphDefinition> paragraphs =
+                List.of(new ParagraphDefinition(List.of(), blocks, 5, null, null, null));
+        Event event = Event.of("Event");
+        PersonRaceResult prr = PersonRaceResult.of("H21", 1L, null, null, 600.0, 1L, (byte) 1, ResultStatus.OK);
+
+        List<ParagraphDefinition> first = TextBlockProcessor.processPlaceholders(
+                paragraphs, Person.of("Müller", "Max", null, Gender.M), null, event, prr);
+        List<ParagraphDefinition> second = TextBlockProcessor.processPlaceholders(
+                paragraphs, Person.of("Meier", "Eva", null, Gender.F), null, event, prr);
+
+        assertThat(((TextBlock) blocks.get(0).block()).text().content()).isEqualTo("{{GIVEN_NAME}}");
+        assertThat(((TextBlock) first.get(0).blocks().get(0).block()).text().content()).isEqualTo("Max");
+        assertThat(((TextBlock) second.get(0).blocks().get(0).block()).text().content()).isEqualTo("Eva");
+        assertThat(second.get(0).blocks().get(1)).isSameAs(blocks.get(1));
+        assertThat(second.get(0).marginTop()).isEqualTo(5);
+    }
+
     @Test
     void textBlockProcessor_withNullRuntimeAndTimePlaceholder_skipsTimeReplacement() {
         List<ParagraphDefinition.ParagraphDefinitionBlock> blocks = new ArrayList<>();
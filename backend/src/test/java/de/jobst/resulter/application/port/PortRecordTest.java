@@ -63,12 +63,14 @@ class PortRecordTest {
         Event event = Event.of("TestEvent");
         EventId eventId = EventId.of(99L);
         CupBatchResult result = new CupBatchResult(
-                List.of(cup), 1L, Pageable.unpaged(), Map.of(eventId, event));
+                List.of(cup), 1L, Pageable.unpaged(), Map.of(eventId, event), false, null);
 
         assertThat(result.cups()).hasSize(1);
         assertThat(result.totalElements()).isEqualTo(1L);
         assertThat(result.resolvedPageable()).isEqualTo(Pageable.unpaged());
         assertThat(result.eventMap()).containsKey(eventId);
+        assertThat(result.totalEstimated()).isFalse();
+        assertThat(result.nextCursor()).isNull();
     }
 
     // -------------------------------------------------------------------------
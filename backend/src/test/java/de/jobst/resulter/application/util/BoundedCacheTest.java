@@ -0,0 +1,91 @@
+package de.jobst.resulter.application.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+
+    @Test
+    void get_loadsOnceAndReturnsCachedValue() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(4, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", key -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get("a", key -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ZERO);
+        cache.get("a", key -> "A");
+        cache.get("b", key -> "B");
+        cache.get("a", key -> "unused");
+        cache.get("c", key -> "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent("a")).contains("A");
+        assertThat(cache.getIfPresent("b")).isEmpty();
+        assertThat(cache.getIfPresent("c")).contains("C");
+    }
+
+    @Test
+    void get_reloadsExpiredEntry() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, Long> cache = new BoundedCache<>(4, Duration.ofSeconds(10), now::get);
+
+        assertThat(cache.get("a", key -> now.get())).isZero();
+        now.set(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("a", key -> now.get())).isZero();
+        now.set(Duration.ofSeconds(10).toNanos());
+        assertThat(cache.getIfPresent("a")).isEmpty();
+        assertThat(cache.get("a", key -> now.get())).isEqualTo(Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    void invalidate_removesSingleEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4, Duration.ZERO);
+        cache.get("a", key -> "A");
+        cache.get("b", key -> "B");
+
+        cache.invalidate("a");
+
+        assertThat(cache.getIfPresent("a")).isEmpty();
+        assertThat(cache.getIfPresent("b")).contains("B");
+    }
+
+    @Test
+    void invalidateIf_removesMatchingValues() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(4, Duration.ZERO);
+        cache.get("a", key -> 1);
+        cache.get("b", key -> 2);
+        cache.get("c", key -> 3);
+
+        cache.invalidateIf((key, value) -> value % 2 == 1);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getIfPresent("b")).contains(2);
+    }
+
+    @Test
+    void invalidateAll_clearsCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4, Duration.ZERO);
+        cache.get("a", key -> "A");
+
+        cache.invalidateAll();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveSize() {
+        assertThatThrownBy(() -> new BoundedCache<String, String>(0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package de.jobst.resulter.application.util;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encode_decode_roundTripsAllValueTypes() {
+        List<Object> values = Arrays.asList("Müller", 42L, LocalDate.of(1990, 3, 1), null);
+
+        String token = KeysetCursor.encode("familyName:a,id:a", values);
+
+        assertThat(token).doesNotContain("Müller", "=", "+", "/");
+        assertThat(KeysetCursor.decode(token, "familyName:a,id:a")).containsExactly("Müller", 42L,
+                LocalDate.of(1990, 3, 1), null);
+    }
+
+    @Test
+    void encode_intIsDecodedAsLong() {
+        assertThat(KeysetCursor.decode(KeysetCursor.encode("id:a", List.of(7)), "id:a")).containsExactly(7L);
+    }
+
+    @Test
+    void encode_timestampIsDecodedInUtc() {
+        OffsetDateTime start = OffsetDateTime.of(2024, 5, 4, 10, 30, 0, 123_000_000, ZoneOffset.ofHours(2));
+
+        List<Object> values = KeysetCursor.decode(KeysetCursor.encode("startTime:d", List.of(start)), "startTime:d");
+
+        assertThat(values).containsExactly(OffsetDateTime.of(2024, 5, 4, 8, 30, 0, 123_000_000, ZoneOffset.UTC));
+    }
+
+    @Test
+    void decode_otherSortOrder_throws() {
+        String token = KeysetCursor.encode("familyName:a,id:a", List.of("Meier", 1L));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(token, "familyName:d,id:a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_malformedToken_throws() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a token!", "id:a"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("AAA", "id:a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_unsupportedType_throws() {
+        assertThatThrownBy(() -> KeysetCursor.encode("x:a", List.of(1.5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package de.jobst.resulter.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrganisationHierarchyTest {
+
+    private static final OrganisationId TOP = OrganisationId.of(1L);
+    private static final OrganisationId REGION = OrganisationId.of(2L);
+    private static final OrganisationId CLUB = OrganisationId.of(3L);
+    private static final OrganisationId OTHER = OrganisationId.of(4L);
+    private static final OrganisationId MISSING = OrganisationId.of(99L);
+
+    private final OrganisationHierarchy hierarchy = OrganisationHierarchy.of(List.of(
+            Organisation.of(1L, "Top", "TOP", "Other", null, List.of(REGION, MISSING)),
+            Organisation.of(2L, "Region", "REG", "Other", null, List.of(CLUB)),
+            Organisation.of(3L, "Club", "CC", "Other", null, List.of()),
+            Organisation.of(4L, "Other", "OTH", "Other", null, List.of())), 7);
+
+    @Test
+    void isPartOf_includesSelfAndIndirectChildren() {
+        assertThat(hierarchy.isPartOf(CLUB, TOP)).isTrue();
+        assertThat(hierarchy.isPartOf(CLUB, REGION)).isTrue();
+        assertThat(hierarchy.isPartOf(REGION, REGION)).isTrue();
+        assertThat(hierarchy.isPartOf(TOP, CLUB)).isFalse();
+        assertThat(hierarchy.isPartOf(OTHER, TOP)).isFalse();
+        assertThat(hierarchy.isPartOf(null, TOP)).isFalse();
+    }
+
+    @Test
+    void missingChildOrganisations_areIgnored() {
+        assertThat(hierarchy.isPartOf(MISSING, TOP)).isFalse();
+        assertThat(hierarchy.descendantsOrSelf(TOP)).containsExactlyInAnyOrder(TOP, REGION, CLUB);
+        assertThat(hierarchy.get(MISSING)).isNull();
+    }
+
+    @Test
+    void ancestorsOrSelf_containsAllParents() {
+        assertThat(hierarchy.ancestorsOrSelf(CLUB)).containsExactlyInAnyOrder(CLUB, REGION, TOP);
+        assertThat(hierarchy.ancestorsOrSelf(MISSING)).isEmpty();
+    }
+
+    @Test
+    void containsShortName_searchesSelfAndChildren() {
+        assertThat(hierarchy.containsShortName(TOP, "CC")).isTrue();
+        assertThat(hierarchy.containsShortName(CLUB, "CC")).isTrue();
+        assertThat(hierarchy.containsShortName(CLUB, "REG")).isFalse();
+        assertThat(hierarchy.findByShortName("REG")).extracting(Organisation::getId).containsExactly(REGION);
+    }
+
+    @Test
+    void cycles_doNotLoop() {
+        OrganisationHierarchy cyclic = OrganisationHierarchy.of(List.of(
+                Organisation.of(1L, "A", "A", "Other", null, List.of(OrganisationId.of(2L))),
+                Organisation.of(2L, "B", "B", "Other", null, List.of(OrganisationId.of(1L)))));
+
+        assertThat(cyclic.isPartOf(OrganisationId.of(1L), OrganisationId.of(2L))).isTrue();
+        assertThat(cyclic.isPartOf(OrganisationId.of(2L), OrganisationId.of(1L))).isTrue();
+    }
+
+    @Test
+    void version_isKept() {
+        assertThat(hierarchy.version()).isEqualTo(7);
+        assertThat(OrganisationHierarchy.empty().organisationById()).isEmpty();
+    }
+}
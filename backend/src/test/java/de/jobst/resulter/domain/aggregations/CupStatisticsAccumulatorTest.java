@@ -0,0 +1,77 @@
+package de.jobst.resulter.domain.aggregations;
+
+import de.jobst.resulter.domain.*;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CupStatisticsAccumulatorTest {
+
+    private static final Organisation CLUB_A = Organisation.of(1L, "Club A", "CA");
+    private static final Organisation CLUB_B = Organisation.of(2L, "Club B", "CB");
+
+    private static PersonResult personResult(long personId, @Nullable Long organisationId, ResultStatus... states) {
+        List<PersonRaceResult> raceResults = new ArrayList<>();
+        byte raceNumber = 1;
+        for (ResultStatus state : states) {
+            raceResults.add(PersonRaceResult.of("H21", personId, null, null, null, 1L, raceNumber++, state));
+        }
+        return PersonResult.of(ClassResultShortName.of("H21"), PersonId.of(personId),
+                organisationId != null ? OrganisationId.of(organisationId) : null, raceResults);
+    }
+
+    @Test
+    void countsStartsAndDistinctPersonsOverallAndPerOrganisation() {
+        CupStatisticsAccumulator accumulator = new CupStatisticsAccumulator();
+        accumulator.add(personResult(10, 1L, ResultStatus.OK, ResultStatus.DID_NOT_FINISH));
+        accumulator.add(personResult(10, 1L, ResultStatus.OK));
+        accumulator.add(personResult(11, 1L, ResultStatus.MISSING_PUNCH));
+        accumulator.add(personResult(20, 2L, ResultStatus.OK));
+        accumulator.add(personResult(30, null, ResultStatus.OK));
+
+        CupStatistics statistics = accumulator.toCupStatistics(Map.of(
+                CLUB_A.getId(), CLUB_A, CLUB_B.getId(), CLUB_B));
+
+        CupOverallStatistics overall = statistics.overallStatistics();
+        assertThat(overall.totalRunners()).isEqualTo(4);
+        assertThat(overall.totalOrganisations()).isEqualTo(2);
+        assertThat(overall.totalStarts()).isEqualTo(6);
+        assertThat(overall.totalNonScoringStarts()).isEqualTo(2);
+
+        assertThat(statistics.organisationStatistics())
+                .extracting(OrganisationStatistics::organisation, OrganisationStatistics::runnerCount,
+                        OrganisationStatistics::totalStarts, OrganisationStatistics::nonScoringStarts)
+                .containsExactly(
+                        tuple(CLUB_A, 2, 4, 2),
+                        tuple(CLUB_B, 1, 1, 0));
+    }
+
+    @Test
+    void personResultsWithoutStarts_andUnknownOrganisations() {
+        CupStatisticsAccumulator accumulator = new CupStatisticsAccumulator();
+        accumulator.add(personResult(10, 1L));
+        accumulator.add(personResult(20, 2L, ResultStatus.OK));
+
+        CupStatistics statistics = accumulator.toCupStatistics(Map.of(CLUB_A.getId(), CLUB_A));
+
+        // person 10 has no start; organisation 2 is counted overall but has no organisation to report
+        assertThat(statistics.overallStatistics().totalRunners()).isEqualTo(1);
+        assertThat(statistics.overallStatistics().totalOrganisations()).isEqualTo(1);
+        assertThat(statistics.organisationStatistics()).isEmpty();
+    }
+
+    @Test
+    void emptyAccumulator_returnsZeroStatistics() {
+        CupStatistics statistics = new CupStatisticsAccumulator().toCupStatistics(Map.of());
+
+        assertThat(statistics.overallStatistics().totalStarts()).isZero();
+        assertThat(statistics.overallStatistics().startsPerRunner()).isZero();
+        assertThat(statistics.organisationStatistics()).isEmpty();
+    }
+}
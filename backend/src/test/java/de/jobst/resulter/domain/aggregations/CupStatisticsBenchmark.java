@@ -0,0 +1,105 @@
+package de.jobst.resulter.domain.aggregations;
+
+import de.jobst.resulter.domain.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares calculating the {@link CupStatistics} of a regional cup with 150 clubs and about 20000 starts: the former
+ * calculation, which flattened all race results and streamed the whole list again for every organisation, and the
+ * single pass of {@link CupStatisticsAccumulator}.
+ *
+ * <p>Run from the IDE or with {@code java -cp <test classpath> ...CupStatisticsBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CupStatisticsBenchmark {
+
+    private static final int ORGANISATIONS = 150;
+    private static final int PERSONS = 5_000;
+    private static final int RACES = 4;
+
+    private List<PersonResult> personResults;
+    private Map<OrganisationId, Organisation> organisationById;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        organisationById = new HashMap<>();
+        for (long id = 1; id <= ORGANISATIONS; id++) {
+            Organisation organisation = Organisation.of(id, "Club " + id, "C" + id);
+            organisationById.put(organisation.getId(), organisation);
+        }
+        personResults = new ArrayList<>();
+        for (byte race = 1; race <= RACES; race++) {
+            for (long personId = 1; personId <= PERSONS; personId++) {
+                ResultStatus state = random.nextInt(20) == 0 ? ResultStatus.DID_NOT_FINISH : ResultStatus.OK;
+                PersonRaceResult raceResult = PersonRaceResult.of("H21", personId, null, null, 1800.0, 1L, race, state);
+                personResults.add(PersonResult.of(ClassResultShortName.of("H21"), PersonId.of(personId),
+                        OrganisationId.of(personId % ORGANISATIONS + 1), List.of(raceResult)));
+            }
+        }
+    }
+
+    @Benchmark
+    public CupStatistics rescanPerOrganisation() {
+        List<Start> starts = personResults.stream()
+                .flatMap(personResult -> personResult.personRaceResults().value().stream()
+                        .map(raceResult -> new Start(
+                                raceResult, personResult.personId(), personResult.organisationId())))
+                .toList();
+        Set<PersonId> persons = starts.stream().map(Start::personId).collect(Collectors.toSet());
+        Set<OrganisationId> organisations = starts.stream()
+                .map(Start::organisationId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        int nonScoringStarts = (int) starts.stream()
+                .filter(start -> !start.raceResult().getState().equals(ResultStatus.OK))
+                .count();
+        List<OrganisationStatistics> organisationStatistics = organisations.stream()
+                .map(organisationId -> {
+                    List<Start> organisationStarts = starts.stream()
+                            .filter(start -> organisationId.equals(start.organisationId()))
+                            .toList();
+                    return OrganisationStatistics.of(
+                            organisationById.get(organisationId),
+                            organisationStarts.stream().map(Start::personId).collect(Collectors.toSet()).size(),
+                            organisationStarts.size(),
+                            (int) organisationStarts.stream()
+                                    .filter(start -> !start.raceResult().getState().equals(ResultStatus.OK))
+                                    .count());
+                })
+                .sorted()
+                .toList();
+        return new CupStatistics(
+                CupOverallStatistics.of(persons.size(), organisations.size(), starts.size(), nonScoringStarts),
+                organisationStatistics);
+    }
+
+    @Benchmark
+    public CupStatistics singlePassAccumulator() {
+        CupStatisticsAccumulator accumulator = new CupStatisticsAccumulator();
+        for (PersonResult personResult : personResults) {
+            accumulator.add(personResult);
+        }
+        return accumulator.toCupStatistics(organisationById);
+    }
+
+    private record Start(PersonRaceResult raceResult, PersonId personId, OrganisationId organisationId) {}
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CupStatisticsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package de.jobst.resulter.domain.scoring;
+
+import de.jobst.resulter.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CupScoreInputHashTest {
+
+    private static final Cup CUP = Cup.of(1L, "Cup", CupType.NEBEL, Year.of(2024), List.of(EventId.of(1L)));
+    private static final OrganisationHierarchy ORGANISATIONS = OrganisationHierarchy.of(List.of(
+            Organisation.of(1L, "Club", "CC", "Other", null, List.of())));
+
+    private static PersonResult personResult(long personId, double runtime, ResultStatus state) {
+        return PersonResult.of(ClassResultShortName.of("H21"), PersonId.of(personId), OrganisationId.of(1L),
+                List.of(PersonRaceResult.of("H21", personId, null, null, runtime, personId, (byte) 1, state)));
+    }
+
+    private static ResultList resultList(List<ClassResult> classResults) {
+        return new ResultList(ResultListId.of(5L), EventId.of(1L), RaceId.of(1L), null, null, null, classResults);
+    }
+
+    private static String hash(ResultList resultList) {
+        return CupScoreInputHash.forCup(CUP, ORGANISATIONS).of(resultList);
+    }
+
+    @Test
+    void sameContent_inDifferentOrder_hasSameHash() {
+        ClassResult h21 = ClassResult.of("H21", "H21", Gender.M, List.of(
+                personResult(1, 100.0, ResultStatus.OK), personResult(2, 110.0, ResultStatus.OK)), null);
+        ClassResult h21Reversed = ClassResult.of("H21", "H21", Gender.M, List.of(
+                personResult(2, 110.0, ResultStatus.OK), personResult(1, 100.0, ResultStatus.OK)), null);
+        ClassResult d21 = ClassResult.of("D21", "D21", Gender.F, List.of(), null);
+
+        assertThat(hash(resultList(List.of(h21, d21))))
+                .hasSize(64)
+                .isEqualTo(hash(resultList(List.of(d21, h21Reversed))));
+    }
+
+    @Test
+    void changedResult_changesHash() {
+        String original = hash(resultList(List.of(ClassResult.of("H21", "H21", Gender.M,
+                List.of(personResult(1, 100.0, ResultStatus.OK)), null))));
+
+        assertThat(hash(resultList(List.of(ClassResult.of("H21", "H21", Gender.M,
+                List.of(personResult(1, 101.0, ResultStatus.OK)), null))))).isNotEqualTo(original);
+        assertThat(hash(resultList(List.of(ClassResult.of("H21", "H21", Gender.M,
+                List.of(personResult(1, 100.0, ResultStatus.DISQUALIFIED)), null))))).isNotEqualTo(original);
+        assertThat(hash(resultList(List.of(ClassResult.of("H21", "H21", Gender.M,
+                List.of(personResult(3, 100.0, ResultStatus.OK)), null))))).isNotEqualTo(original);
+    }
+
+    @Test
+    void changedCupOrOrganisations_changesHash() {
+        ResultList resultList = resultList(List.of(ClassResult.of("H21", "H21", Gender.M,
+                List.of(personResult(1, 100.0, ResultStatus.OK)), null)));
+        Cup otherType = Cup.of(1L, "Cup", CupType.KRISTALL, Year.of(2024), List.of(EventId.of(1L)));
+        OrganisationHierarchy renamed = OrganisationHierarchy.of(List.of(
+                Organisation.of(1L, "Club", "CX", "Other", null, List.of())));
+
+        assertThat(CupScoreInputHash.forCup(otherType, ORGANISATIONS).of(resultList)).isNotEqualTo(hash(resultList));
+        assertThat(CupScoreInputHash.forCup(CUP, renamed).of(resultList)).isNotEqualTo(hash(resultList));
+    }
+
+    @Test
+    void sharedInstance_isUsableFromSeveralThreads() {
+        CupScoreInputHash inputHash = CupScoreInputHash.forCup(CUP, ORGANISATIONS);
+        List<ResultList> resultLists = IntStream.range(0, 200)
+                .mapToObj(i -> resultList(List.of(ClassResult.of("H21", "H21", Gender.M,
+                        List.of(personResult(1, 100.0 + i % 2, ResultStatus.OK)), null))))
+                .toList();
+
+        assertThat(resultLists.parallelStream().map(inputHash::of).distinct().toList()).hasSize(2);
+        assertThat(inputHash.of(resultList(null))).isNotEqualTo(inputHash.of(resultList(List.of())));
+    }
+}
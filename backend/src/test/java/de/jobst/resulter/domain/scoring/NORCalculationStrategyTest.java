@@ -243,7 +243,7 @@ class NORCalculationStrategyTest {
         // organisationById ohne eine Org mit ShortName "NOR" → norOrganisation bleibt null
         Organisation club = Organisation.of(1L, "Testclub", "TC");
         Map<OrganisationId, Organisation> orgById = Map.of(OrganisationId.of(1L), club);
-        NORCalculationStrategy strategy = new NORCalculationStrategy(orgById);
+        NORCalculationStrategy strategy = new NORCalculationStrategy(OrganisationHierarchy.of(orgById.values()));
         PersonResult pr = PersonResult.of(
                 ClassResultShortName.of("H21"), PersonId.of(1L), OrganisationId.of(1L), null);
         assertThatIllegalArgumentException().isThrownBy(() -> strategy.valid(pr));
@@ -272,7 +272,7 @@ class NORCalculationStrategyTest {
                 List.of(clubId));
 
         Map<OrganisationId, Organisation> orgById = Map.of(norId, norOrg, clubId, club);
-        NORCalculationStrategy strategy = new NORCalculationStrategy(orgById);
+        NORCalculationStrategy strategy = new NORCalculationStrategy(OrganisationHierarchy.of(orgById.values()));
 
         PersonResult pr = PersonResult.of(
                 ClassResultShortName.of("H21"), PersonId.of(1L), clubId, null);
@@ -301,13 +301,37 @@ class NORCalculationStrategyTest {
                 new ArrayList<>());
 
         Map<OrganisationId, Organisation> orgById = Map.of(norId, norOrg, foreignId, foreign);
-        NORCalculationStrategy strategy = new NORCalculationStrategy(orgById);
+        NORCalculationStrategy strategy = new NORCalculationStrategy(OrganisationHierarchy.of(orgById.values()));
 
         PersonResult pr = PersonResult.of(
                 ClassResultShortName.of("H21"), PersonId.of(1L), foreignId, null);
         assertThat(strategy.valid(pr)).isFalse();
     }
 
+    @Test
+    void valid_personResult_usesNorOrganisationNotItsParent() {
+        OrganisationId federationId = OrganisationId.of(1L);
+        OrganisationId norId = OrganisationId.of(100L);
+        OrganisationId clubId = OrganisationId.of(101L);
+        OrganisationId otherClubId = OrganisationId.of(201L);
+
+        Organisation federation = Organisation.of(1L, "Verband", "DOSV", "NationalFederation", null,
+                List.of(norId, otherClubId));
+        Organisation norOrg = Organisation.of(100L, "Nordost", "NOR", "NationalRegion", null, List.of(clubId));
+        Organisation club = Organisation.of(101L, "Testclub", "TC", "Club", null, List.of());
+        Organisation otherClub = Organisation.of(201L, "Otherclub", "OC", "Club", null, List.of());
+
+        NORCalculationStrategy strategy = new NORCalculationStrategy(
+                OrganisationHierarchy.of(List.of(federation, norOrg, club, otherClub)));
+
+        assertThat(strategy.valid(PersonResult.of(ClassResultShortName.of("H21"), PersonId.of(1L), clubId, null)))
+                .isTrue();
+        assertThat(strategy.valid(
+                        PersonResult.of(ClassResultShortName.of("H21"), PersonId.of(2L), otherClubId, null)))
+                .isFalse();
+        assertThat(strategy.valid(federation)).isFalse();
+    }
+
     // -------------------------------------------------------------------------
     // valid(Organisation)
     // -------------------------------------------------------------------------
@@ -315,7 +339,7 @@ class NORCalculationStrategyTest {
     @Test
     void valid_organisation_returnsFalseWhenNorOrganisationNull() {
         Organisation club = Organisation.of(1L, "Testclub", "TC");
-        NORCalculationStrategy strategy = new NORCalculationStrategy(Map.of(OrganisationId.of(1L), club));
+        NORCalculationStrategy strategy = new NORCalculationStrategy(OrganisationHierarchy.of(List.of(club)));
         assertThat(strategy.valid(club)).isFalse();
     }
 
@@ -330,7 +354,7 @@ class NORCalculationStrategyTest {
                 null,
                 new ArrayList<>());
         Map<OrganisationId, Organisation> orgById = Map.of(norId, norOrg);
-        NORCalculationStrategy strategy = new NORCalculationStrategy(orgById);
+        NORCalculationStrategy strategy = new NORCalculationStrategy(OrganisationHierarchy.of(orgById.values()));
         assertThat(strategy.valid(norOrg)).isTrue();
     }
 
@@ -356,7 +380,7 @@ class NORCalculationStrategyTest {
                 List.of(clubId));
 
         Map<OrganisationId, Organisation> orgById = Map.of(norId, norOrg, clubId, club);
-        NORCalculationStrategy strategy = new NORCalculationStrategy(orgById);
+        NORCalculationStrategy strategy = new NORCalculationStrategy(OrganisationHierarchy.of(orgById.values()));
 
         // Person's orgId is not in the map at all → optionalOrganisation.isEmpty()
         OrganisationId unknownId = OrganisationId.of(999L);
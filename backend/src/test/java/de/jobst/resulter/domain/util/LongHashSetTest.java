@@ -0,0 +1,53 @@
+package de.jobst.resulter.domain.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    void add_returnsWhetherTheValueIsNew() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.add(42L)).isTrue();
+        assertThat(set.add(42L)).isFalse();
+        assertThat(set.contains(42L)).isTrue();
+        assertThat(set.contains(43L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroAndNegativeValues_areStored() {
+        LongHashSet set = new LongHashSet(1);
+
+        assertThat(set.isEmpty()).isTrue();
+        assertThat(set.add(0L)).isTrue();
+        assertThat(set.add(0L)).isFalse();
+        assertThat(set.add(-1L)).isTrue();
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.toArray()).containsExactlyInAnyOrder(0L, -1L);
+        assertThat(set).hasToString("[-1, 0]");
+    }
+
+    @Test
+    void growingSet_matchesHashSet() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextInt(5_000);
+            assertThat(set.add(value)).isEqualTo(expected.add(value));
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.toArray()).hasSize(expected.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(set.contains(i)).isEqualTo(expected.contains((long) i));
+        }
+    }
+}
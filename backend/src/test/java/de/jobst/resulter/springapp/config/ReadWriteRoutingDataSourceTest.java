@@ -0,0 +1,106 @@
+package de.jobst.resulter.springapp.config;
+
+import de.jobst.resulter.application.util.PrimaryReads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final EmbeddedDatabase writeDatabase = database("write");
+    private final EmbeddedDatabase readDatabase = database("read");
+    private final DataSource dataSource =
+            new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDatabase, readDatabase));
+    private final JdbcClient jdbcClient = JdbcClient.create(dataSource);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+        JdbcClient client = JdbcClient.create(database);
+        client.sql("CREATE TABLE pool (name VARCHAR(10))").update();
+        client.sql("INSERT INTO pool VALUES (?)").param(name).update();
+        return database;
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceContextHolder.clearDataSource();
+        writeDatabase.shutdown();
+        readDatabase.shutdown();
+    }
+
+    private String pool() {
+        return jdbcClient.sql("SELECT name FROM pool").query(String.class).single();
+    }
+
+    private String poolInTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> pool());
+    }
+
+    @Test
+    void readOnlyTransaction_usesReadPool() {
+        assertThat(poolInTransaction(true)).isEqualTo("read");
+    }
+
+    @Test
+    void writingTransaction_usesWritePool() {
+        assertThat(poolInTransaction(false)).isEqualTo("write");
+    }
+
+    @Test
+    void readOnlyTransactionWithPrimaryReads_usesWritePool() {
+        assertThat(PrimaryReads.call(() -> poolInTransaction(true))).isEqualTo("write");
+        assertThat(PrimaryReads.isActive()).isFalse();
+        assertThat(poolInTransaction(true)).isEqualTo("read");
+    }
+
+    @Test
+    void withoutTransaction_usesWritePool() {
+        assertThat(pool()).isEqualTo("write");
+    }
+
+    @Test
+    void readOnlyMethodJoiningWritingTransaction_keepsWritePool() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setReadOnly(true);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        String pool = outer.execute(status -> {
+            jdbcClient.sql("INSERT INTO pool VALUES ('written')").update();
+            return inner.execute(innerStatus -> String.join(",",
+                    jdbcClient.sql("SELECT name FROM pool ORDER BY name").query(String.class).list()));
+        });
+
+        assertThat(pool).isEqualTo("write,written");
+    }
+
+    @Test
+    void contextDataSource_takesPrecedence() {
+        EmbeddedDatabase contextDatabase = database("context");
+        try {
+            DataSourceContextHolder.setDataSource(contextDatabase);
+
+            assertThat(poolInTransaction(true)).isEqualTo("context");
+            assertThat(poolInTransaction(false)).isEqualTo("context");
+        } finally {
+            contextDatabase.shutdown();
+        }
+    }
+}
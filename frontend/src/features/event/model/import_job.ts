@@ -0,0 +1,23 @@
+import type { EventKey } from '@/features/event/model/event_key'
+
+export type ImportJobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED'
+
+export interface ImportPhase {
+    phase: string
+    durationMillis: number
+}
+
+export interface ImportJob {
+    id: string
+    fileName: string | null
+    status: ImportJobStatus
+    phase: string | null
+    phases: ImportPhase[]
+    classResults: number
+    classResultsImported: number
+    createdAt: string
+    startedAt: string | null
+    finishedAt: string | null
+    event: EventKey | null
+    error: string | null
+}
@@ -8,6 +8,7 @@ import type { Discipline } from '@/features/event/model/discipline'
 import type { EventCertificateStats } from '@/features/event/model/event_certificate_stats'
 import type { EventResults } from '@/features/event/model/event_results'
 import type { EventStatus } from '@/features/event/model/event_status'
+import type { ImportJob } from '@/features/event/model/import_job'
 import type { ResultList } from '@/features/event/model/result_list'
 import type { SplitTimeAnalysis } from '@/features/event/model/split_time_analysis'
 import type { SportEvent } from '@/features/event/model/sportEvent'
@@ -24,6 +25,8 @@ const eventUrl: string = '/event'
 const resultListUrl: string = '/result_list'
 const eventStatusUrl: string = '/event_status'
 const disciplineUrl: string = '/discipline'
+const importUrl: string = '/import'
+const importPollInterval: number = 1000
 const splitTimeAnalysisUrl: string = '/split_time_analysis'
 
 export class EventService extends GenericService<SportEvent> {
@@ -156,7 +159,7 @@ export class EventService extends GenericService<SportEvent> {
             })
     }
 
-    static async upload(formData: FormData, _t: (key: string) => string) {
+    static async upload(formData: FormData, _t: (key: string) => string): Promise<ImportJob> {
         return axiosInstance
             .post('/upload', formData, {
                 headers: {
@@ -166,6 +169,24 @@ export class EventService extends GenericService<SportEvent> {
             .then(response => response.data)
     }
 
+    static async getImportJob(jobId: string): Promise<ImportJob> {
+        return axiosInstance
+            .get(`${importUrl}/${jobId}`)
+            .then(response => response.data)
+    }
+
+    /**
+     * Polls the import job started by an upload until it succeeded or failed.
+     */
+    static async waitForImport(job: ImportJob): Promise<ImportJob> {
+        let current = job
+        while (current.status !== 'SUCCEEDED' && current.status !== 'FAILED') {
+            await new Promise(r => setTimeout(r, importPollInterval))
+            current = await EventService.getImportJob(current.id)
+        }
+        return current
+    }
+
     static async certificate(
         id: number,
         classResultShortName: string,
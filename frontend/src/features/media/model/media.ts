@@ -4,5 +4,5 @@ export interface Media {
     contentType: string
     fileSize: number
     description: string
-    thumbnailContent: string
+    thumbnailUrl: string
 }
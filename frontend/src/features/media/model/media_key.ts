@@ -1,5 +1,5 @@
 export interface MediaKey {
     id: number
     fileName: string
-    thumbnailContent: string
+    thumbnailUrl: string
 }
@@ -9,3 +9,7 @@ export function truncateString(obj: any, path: string, maxLength: number = 1000)
 
     return str
 }
+
+export function apiUrl(path: string): string {
+    return `${import.meta.env.VITE_API_ENDPOINT}${path}`
+}